@@ -0,0 +1,146 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.Column;
+import com.epam.parso.ColumnStatistics;
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.ByteArrayPageSource;
+import com.epam.parso.impl.SasFileParser;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The benchmark of computing the sums of all numeric columns of a file from the rows read with
+ * {@link SasFileReader#readNext()} and with {@link SasFileReader#aggregate(List)}, one operation is one pass over
+ * the file including reading its metadata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregateBenchmark {
+    /**
+     * The file to read.
+     */
+    @Param({Fixtures.UNCOMPRESSED, Fixtures.CHAR_COMPRESSED})
+    private String file;
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The names of the numeric columns of the file.
+     */
+    private List<String> columnNames;
+
+    /**
+     * The method to load the file and to find its numeric columns.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(file);
+        columnNames = new ArrayList<>();
+        for (Column column : new SasFileReaderImpl(new ByteArrayInputStream(content)).getColumns()) {
+            if (column.getType() == Number.class) {
+                columnNames.add(column.getName());
+            }
+        }
+    }
+
+    /**
+     * The benchmark of adding up the numeric cells of the rows converted into objects.
+     *
+     * @return the sum of the numeric cells.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public double readNext() throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        List<Column> columns = reader.getColumns();
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        double sum = 0;
+        for (long i = 0; i < rowCount; i++) {
+            Object[] row = reader.readNext();
+            for (int column = 0; row != null && column < row.length; column++) {
+                if (columns.get(column).getType() == Number.class && row[column] instanceof Number) {
+                    sum += ((Number) row[column]).doubleValue();
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * The benchmark of aggregating the rows read from an input stream one by one.
+     *
+     * @return the sum of the numeric cells.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public double aggregate() throws IOException {
+        return sum(new SasFileReaderImpl(new ByteArrayInputStream(content)).aggregate(columnNames));
+    }
+
+    /**
+     * The benchmark of aggregating ranges of pages read from a random access page source in parallel.
+     *
+     * @return the sum of the numeric cells.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public double aggregateParallel() throws IOException {
+        return sum(new SasFileReaderImpl(new SasFileParser.Builder(new ByteArrayPageSource(content)))
+                .aggregate(columnNames));
+    }
+
+    /**
+     * The function to add up the sums of the columns.
+     *
+     * @param statistics the statistics of the columns.
+     * @return the sum of the numeric cells.
+     */
+    private static double sum(List<ColumnStatistics> statistics) {
+        double sum = 0;
+        for (ColumnStatistics columnStatistics : statistics) {
+            sum += columnStatistics.getSum();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.CSVDataWriter;
+import com.epam.parso.Column;
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.BufferedCSVDataWriterImpl;
+import com.epam.parso.impl.CSVDataWriterImpl;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The benchmark of the export of a file into CSV end-to-end, one operation is reading all rows of the file
+ * and writing them into a writer that discards the text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVDataWriterBenchmark {
+    /**
+     * The file to export.
+     */
+    @Param({Fixtures.UNCOMPRESSED, Fixtures.CHAR_COMPRESSED})
+    private String file;
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The method to load the file.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(file);
+    }
+
+    /**
+     * The benchmark of {@link CSVDataWriterImpl}.
+     *
+     * @return the number of characters written.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public long csvDataWriter() throws IOException {
+        Fixtures.NullWriter writer = new Fixtures.NullWriter();
+        export(new CSVDataWriterImpl(writer, ",", "\n", Locale.US));
+        return writer.getLength();
+    }
+
+    /**
+     * The benchmark of {@link BufferedCSVDataWriterImpl}.
+     *
+     * @return the number of characters written.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public long bufferedCsvDataWriter() throws IOException {
+        Fixtures.NullWriter writer = new Fixtures.NullWriter();
+        BufferedCSVDataWriterImpl csvDataWriter = new BufferedCSVDataWriterImpl(writer, ",", "\n", Locale.US);
+        export(csvDataWriter);
+        csvDataWriter.flush();
+        return writer.getLength();
+    }
+
+    /**
+     * The method to read the file and write its rows.
+     *
+     * @param csvDataWriter the writer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    private void export(CSVDataWriter csvDataWriter) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        List<Column> columns = reader.getColumns();
+        csvDataWriter.writeColumnNames(columns);
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            csvDataWriter.writeRow(columns, reader.readNext());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.Column;
+import com.epam.parso.RowCursor;
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The benchmark of decoding character columns in different encodings, one operation is one pass over the file
+ * including reading its metadata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharsetBenchmark {
+    /**
+     * The file to read.
+     */
+    @Param({Fixtures.CHARSET_UTF8, Fixtures.CHARSET_LATIN1, Fixtures.CHARSET_WINDOWS_1250, Fixtures.CHARSET_BIG5,
+            Fixtures.CHARSET_GBK})
+    private String file;
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The method to load the file.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(file);
+    }
+
+    /**
+     * The benchmark of reading rows with character columns decoded into strings.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNext(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            blackhole.consume(reader.readNext());
+        }
+    }
+
+    /**
+     * The benchmark of decoding character cells with {@link RowCursor#getString(int)}.
+     *
+     * @param blackhole the consumer of the cells.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void cursorStrings(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        List<Column> columns = reader.getColumns();
+        RowCursor cursor = reader.cursor();
+        while (cursor.next()) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getType() == String.class) {
+                    blackhole.consume(cursor.getString(i));
+                }
+            }
+        }
+    }
+}
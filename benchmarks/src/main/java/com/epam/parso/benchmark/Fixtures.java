@@ -0,0 +1,158 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Utility methods to load the sas7bdat files measured by the benchmarks. The files are copied from the test
+ * resources of Parso into the benchmark jar, so the benchmarks measure parsing, not reading from disk.
+ */
+public final class Fixtures {
+    /**
+     * The uncompressed file.
+     */
+    public static final String UNCOMPRESSED = "sas7bdat/extend_no.sas7bdat";
+
+    /**
+     * The CHAR-compressed file.
+     */
+    public static final String CHAR_COMPRESSED = "sas7bdat/mix_data_misc.sas7bdat";
+
+    /**
+     * The file in UTF-8.
+     */
+    public static final String CHARSET_UTF8 = "sas7bdat/charset_utf8.sas7bdat";
+
+    /**
+     * The file in ISO-8859-1.
+     */
+    public static final String CHARSET_LATIN1 = "sas7bdat/charset_lat1.sas7bdat";
+
+    /**
+     * The file in windows-1250.
+     */
+    public static final String CHARSET_WINDOWS_1250 = "sas7bdat/charset_wlt2.sas7bdat";
+
+    /**
+     * The file in Big5.
+     */
+    public static final String CHARSET_BIG5 = "sas7bdat/charset_big5.sas7bdat";
+
+    /**
+     * The file in GBK.
+     */
+    public static final String CHARSET_GBK = "sas7bdat/charset_zeuc.sas7bdat";
+
+    /**
+     * The size of the buffer used to read the files.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Disable creation of utility instances.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * The function to read a file from the benchmark jar into memory. Names of files that are not in the jar
+     * are read as paths, so the benchmarks can measure other files.
+     *
+     * @param name the name of the file.
+     * @return the content of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static byte[] load(String name) throws IOException {
+        Path path = Paths.get(name);
+        try (InputStream is = Files.isRegularFile(path) ? Files.newInputStream(path)
+                : Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            if (is == null) {
+                throw new IOException("No benchmark fixture " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = is.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * The writer that discards its output, so the benchmarks of the CSV export do not measure storing the text.
+     */
+    public static final class NullWriter extends Writer {
+        /**
+         * The number of characters written, kept so the output cannot be optimized away.
+         */
+        private long length;
+
+        /**
+         * The number of calls of {@link #flush()}.
+         */
+        private long flushCount;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            length += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            length += len;
+        }
+
+        @Override
+        public void flush() {
+            flushCount++;
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        /**
+         * The function to get the number of characters written.
+         *
+         * @return the number of characters written.
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * The function to get the number of calls of {@link #flush()}.
+         *
+         * @return the number of flushes.
+         */
+        public long getFlushCount() {
+            return flushCount;
+        }
+    }
+}
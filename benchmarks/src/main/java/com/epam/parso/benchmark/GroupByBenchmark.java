@@ -0,0 +1,130 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.GroupStatistics;
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.ByteArrayPageSource;
+import com.epam.parso.impl.SasFileParser;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The benchmark of summing two numeric columns of {@link Fixtures#CHAR_COMPRESSED} by the values of its character
+ * column, from the rows read with {@link SasFileReader#readNext()} into a map and with
+ * {@link SasFileReader#groupBy(List, List)}. One operation is one pass over the file including reading its metadata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupByBenchmark {
+    /**
+     * The name of the character column the rows are grouped by.
+     */
+    private static final String KEY_COLUMN = "x3";
+
+    /**
+     * The names of the numeric columns to sum.
+     */
+    private static final List<String> COLUMNS = Arrays.asList("x1", "x2");
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The method to load the file.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(Fixtures.CHAR_COMPRESSED);
+    }
+
+    /**
+     * The benchmark of summing the cells of the rows converted into objects in a map by the decoded strings.
+     *
+     * @return the sums of the groups.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public Map<Object, double[]> readNext() throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        Map<Object, double[]> sums = new HashMap<>();
+        for (long i = 0; i < rowCount; i++) {
+            Object[] row = reader.readNext();
+            if (row == null) {
+                continue;
+            }
+            double[] groupSums = sums.computeIfAbsent(row[2], key -> new double[COLUMNS.size()]);
+            for (int column = 0; column < groupSums.length; column++) {
+                if (row[column] != null) {
+                    groupSums[column] += ((Number) row[column]).doubleValue();
+                }
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * The benchmark of grouping the rows read from an input stream one by one.
+     *
+     * @return the statistics of the groups.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public List<GroupStatistics> groupBy() throws IOException {
+        return new SasFileReaderImpl(new ByteArrayInputStream(content))
+                .groupBy(Collections.singletonList(KEY_COLUMN), COLUMNS);
+    }
+
+    /**
+     * The benchmark of grouping ranges of pages read from a random access page source in parallel.
+     *
+     * @return the statistics of the groups.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public List<GroupStatistics> groupByParallel() throws IOException {
+        return new SasFileReaderImpl(new SasFileParser.Builder(new ByteArrayPageSource(content)))
+                .groupBy(Collections.singletonList(KEY_COLUMN), COLUMNS);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.SasFileParser;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of opening a file, one operation is reading the header and the metadata subheaders up to
+ * the description of the last column. The time depends mostly on the number of columns, to measure a wide file
+ * pass its path, for example "-p file=/data/wide.sas7bdat".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenBenchmark {
+    /**
+     * The file to open.
+     */
+    @Param({Fixtures.UNCOMPRESSED, Fixtures.CHAR_COMPRESSED})
+    private String file;
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The method to load the file.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(file);
+    }
+
+    /**
+     * The benchmark of opening the file in the metadata-only mode.
+     *
+     * @return the number of columns.
+     */
+    @Benchmark
+    public int open() {
+        SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(new ByteArrayInputStream(content))
+                .metadataOnly(true));
+        return reader.getColumns().size();
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.BufferPool;
+import com.epam.parso.ByteCharSequence;
+import com.epam.parso.Column;
+import com.epam.parso.MemoryBudget;
+import com.epam.parso.RowCursor;
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.SasFileParser;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The benchmark of reading all rows of a file with {@link SasFileReader#readNext()}, {@link RowCursor},
+ * {@link SasFileReader#readAll()} and {@link SasFileReader#chunks(int)}, one operation is one pass over the file
+ * including reading its metadata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadNextBenchmark {
+    /**
+     * The number of rows of a chunk.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * The file to read.
+     */
+    @Param({Fixtures.UNCOMPRESSED, Fixtures.CHAR_COMPRESSED})
+    private String file;
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The memory budget whose pool keeps the buffers of the file between operations.
+     */
+    private MemoryBudget pooledBudget;
+
+    /**
+     * The method to load the file.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(file);
+        pooledBudget = new MemoryBudget(Long.MAX_VALUE, new BufferPool(1 << 20));
+    }
+
+    /**
+     * The benchmark of reading rows converted into objects.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNext(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            blackhole.consume(reader.readNext());
+        }
+    }
+
+    /**
+     * The benchmark of reading rows converted into objects with the page and row buffers taken from a pool and
+     * released after the last row.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextPooled(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(new ByteArrayInputStream(content))
+                .memoryBudget(pooledBudget));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            blackhole.consume(reader.readNext());
+        }
+        reader.releaseBuffers();
+    }
+
+    /**
+     * The benchmark of reading rows with character columns as arrays of bytes.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextBytes(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content), true);
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            blackhole.consume(reader.readNext());
+        }
+    }
+
+    /**
+     * The benchmark of reading rows with character columns as {@link ByteCharSequence} views that are not decoded.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextCharSequences(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(new ByteArrayInputStream(content))
+                .charSequenceOutput(true));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            blackhole.consume(reader.readNext());
+        }
+    }
+
+    /**
+     * The benchmark of reading all rows at once with {@link SasFileReader#readAll()}.
+     *
+     * @return the rows.
+     */
+    @Benchmark
+    public Object[][] readAll() {
+        return new SasFileReaderImpl(new ByteArrayInputStream(content)).readAll();
+    }
+
+    /**
+     * The benchmark of reading rows in chunks of 1000 rows with {@link SasFileReader#chunks(int)}, the arrays
+     * of the chunk and of its rows are reused.
+     *
+     * @param blackhole the consumer of the chunks.
+     */
+    @Benchmark
+    public void chunks(Blackhole blackhole) {
+        for (Object[][] chunk : new SasFileReaderImpl(new ByteArrayInputStream(content)).chunks(CHUNK_SIZE)) {
+            blackhole.consume(chunk);
+        }
+    }
+
+    /**
+     * The benchmark of reading the numeric cells of all rows with {@link SasFileReader#cursor()}.
+     *
+     * @return the sum of the numeric cells.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public double cursor() throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        List<Column> columns = reader.getColumns();
+        RowCursor cursor = reader.cursor();
+        double sum = 0;
+        while (cursor.next()) {
+            for (int column = 0; column < columns.size(); column++) {
+                if (columns.get(column).getType() == Number.class && !cursor.isNull(column)) {
+                    sum += cursor.getDouble(column);
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.RowFilter;
+import com.epam.parso.SasFileReader;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * The benchmark of reading the rows of {@link Fixtures#CHAR_COMPRESSED} that pass a filter selecting about one
+ * in twenty rows, checked before the rows are converted or after. One operation is one pass over the file including
+ * reading its metadata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowFilterBenchmark {
+    /**
+     * The lower bound of the values of the numeric column that pass the filter.
+     */
+    private static final long FROM = 1000;
+
+    /**
+     * The upper bound of the values of the numeric column that pass the filter.
+     */
+    private static final long TO = 1600;
+
+    /**
+     * The value of the character column that passes the filter.
+     */
+    private static final String VALUE = "CCCC";
+
+    /**
+     * The content of the file.
+     */
+    private byte[] content;
+
+    /**
+     * The method to load the file.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        content = Fixtures.load(Fixtures.CHAR_COMPRESSED);
+    }
+
+    /**
+     * The benchmark of converting all rows and checking the numeric column of the objects.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextThenFilterNumber(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            Object[] row = reader.readNext();
+            if (row != null && row[0] != null && ((Number) row[0]).longValue() >= FROM
+                    && ((Number) row[0]).longValue() <= TO) {
+                blackhole.consume(row);
+            }
+        }
+    }
+
+    /**
+     * The benchmark of checking the numeric column before the rows are converted.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextFilteredNumber(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        RowFilter filter = RowFilter.between("x1", FROM, TO);
+        Object[] row;
+        while ((row = reader.readNext(filter)) != null) {
+            blackhole.consume(row);
+        }
+    }
+
+    /**
+     * The benchmark of converting all rows and checking the character column of the objects.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextThenFilterString(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        long rowCount = reader.getSasFileProperties().getRowCount();
+        for (long i = 0; i < rowCount; i++) {
+            Object[] row = reader.readNext();
+            if (row != null && VALUE.equals(row[2])) {
+                blackhole.consume(row);
+            }
+        }
+    }
+
+    /**
+     * The benchmark of checking the character column before the rows are converted.
+     *
+     * @param blackhole the consumer of the rows.
+     * @throws IOException if the file cannot be parsed.
+     */
+    @Benchmark
+    public void readNextFilteredString(Blackhole blackhole) throws IOException {
+        SasFileReader reader = new SasFileReaderImpl(new ByteArrayInputStream(content));
+        RowFilter filter = RowFilter.equalTo("x3", VALUE);
+        Object[] row;
+        while ((row = reader.readNext(filter)) != null) {
+            blackhole.consume(row);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.benchmark;
+
+import com.epam.parso.date.OutputDateType;
+import com.epam.parso.date.SasTemporalFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * The benchmark of {@link SasTemporalFormatter} for every {@link OutputDateType}, one operation is the conversion
+ * of one value. The values are dates between 1900 and 2100, times of a day and datetimes in the same range.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SasTemporalFormatterBenchmark {
+    /**
+     * The number of values converted by an invocation.
+     */
+    private static final int VALUE_COUNT = 1024;
+
+    /**
+     * The number of days between 1900 and 2100.
+     */
+    private static final int DAYS_RANGE = 73000;
+
+    /**
+     * The number of seconds in a day.
+     */
+    private static final int SECONDS_IN_DAY = 86400;
+
+    /**
+     * The representation of the converted values.
+     */
+    @Param
+    private OutputDateType outputDateType;
+
+    /**
+     * The formatter.
+     */
+    private final SasTemporalFormatter formatter = new SasTemporalFormatter();
+
+    /**
+     * The dates in SAS days.
+     */
+    private final Double[] dates = new Double[VALUE_COUNT];
+
+    /**
+     * The times in SAS seconds.
+     */
+    private final Double[] times = new Double[VALUE_COUNT];
+
+    /**
+     * The datetimes in SAS seconds.
+     */
+    private final Double[] dateTimes = new Double[VALUE_COUNT];
+
+    /**
+     * The function converting the dates, resolved once as it is done when rows are read.
+     */
+    private Function<Double, Object> dateFunction;
+
+    /**
+     * The method to generate the values.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            dates[i] = (double) (random.nextInt(DAYS_RANGE) - DAYS_RANGE / 2);
+            times[i] = (double) random.nextInt(SECONDS_IN_DAY);
+            dateTimes[i] = dates[i] * SECONDS_IN_DAY + times[i];
+        }
+        dateFunction = formatter.getDateFormatFunction(outputDateType, "DATE", 9, 0);
+    }
+
+    /**
+     * The benchmark of the conversion of dates.
+     *
+     * @param blackhole the consumer of the converted values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatSasDate(Blackhole blackhole) {
+        for (Double date : dates) {
+            blackhole.consume(formatter.formatSasDate(date, outputDateType, "DATE", 9, 0));
+        }
+    }
+
+    /**
+     * The benchmark of the conversion of dates with the function resolved once.
+     *
+     * @param blackhole the consumer of the converted values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void dateFormatFunction(Blackhole blackhole) {
+        for (Double date : dates) {
+            blackhole.consume(dateFunction.apply(date));
+        }
+    }
+
+    /**
+     * The benchmark of the conversion of times.
+     *
+     * @param blackhole the consumer of the converted values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatSasTime(Blackhole blackhole) {
+        for (Double time : times) {
+            blackhole.consume(formatter.formatSasTime(time, outputDateType, "TIME", 8, 0));
+        }
+    }
+
+    /**
+     * The benchmark of the conversion of datetimes.
+     *
+     * @param blackhole the consumer of the converted values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatSasDateTime(Blackhole blackhole) {
+        for (Double dateTime : dateTimes) {
+            blackhole.consume(formatter.formatSasDateTime(dateTime, outputDateType, "DATETIME", 20, 0));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * The benchmark of {@link CharDecompressor} and {@link BinDecompressor} in isolation, one operation is
+ * the decompression of one row into a reused array. The compressed rows are built in the setup: a row consists of
+ * blocks of sixteen literal bytes followed by a run of eight equal bytes, the last quarter of the row is a run
+ * of zeros, as in rows with short values in wide character columns. The benchmark is placed in the package of
+ * the decompressors because they are not public.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecompressorBenchmark {
+    /**
+     * The number of literal bytes in a block.
+     */
+    private static final int LITERAL_LENGTH = 16;
+
+    /**
+     * The number of equal bytes following the literal bytes of a block.
+     */
+    private static final int RUN_LENGTH = 8;
+
+    /**
+     * The length of the decompressed row.
+     */
+    @Param({"256", "4096"})
+    private int rowLength;
+
+    /**
+     * The CHAR-compressed row.
+     */
+    private byte[] charRow;
+
+    /**
+     * The BIN-compressed row.
+     */
+    private byte[] binRow;
+
+    /**
+     * The array the rows are decompressed into.
+     */
+    private byte[] result;
+
+    /**
+     * The method to build the compressed rows.
+     */
+    @Setup
+    public void setUp() {
+        byte[] row = new byte[rowLength];
+        int dataLength = rowLength - rowLength / 4;
+        int position = 0;
+        while (position + LITERAL_LENGTH + RUN_LENGTH <= dataLength) {
+            for (int i = 0; i < LITERAL_LENGTH; i++) {
+                row[position++] = (byte) ('A' + (position * 7) % 26);
+            }
+            Arrays.fill(row, position, position + RUN_LENGTH, (byte) 'x');
+            position += RUN_LENGTH;
+        }
+        charRow = compressChar(row, position);
+        binRow = compressBin(row, position);
+        result = new byte[rowLength];
+        check(CharDecompressor.INSTANCE.decompressRow(0, charRow.length, rowLength, charRow), row);
+        check(BinDecompressor.INSTANCE.decompressRow(0, binRow.length, rowLength, binRow), row);
+    }
+
+    /**
+     * The benchmark of the decompression of CHAR-compressed rows.
+     *
+     * @return the decompressed row.
+     */
+    @Benchmark
+    public byte[] charDecompress() {
+        CharDecompressor.INSTANCE.decompressRow(0, charRow.length, rowLength, charRow, result);
+        return result;
+    }
+
+    /**
+     * The benchmark of the decompression of BIN-compressed rows.
+     *
+     * @return the decompressed row.
+     */
+    @Benchmark
+    public byte[] binDecompress() {
+        BinDecompressor.INSTANCE.decompressRow(0, binRow.length, rowLength, binRow, result);
+        return result;
+    }
+
+    /**
+     * The benchmark of the decompression of CHAR-compressed rows into new arrays.
+     *
+     * @return the decompressed row.
+     */
+    @Benchmark
+    public byte[] charDecompressAllocating() {
+        return CharDecompressor.INSTANCE.decompressRow(0, charRow.length, rowLength, charRow);
+    }
+
+    /**
+     * The function to compress a row with the CHAR method: blocks are stored as copy commands followed
+     * by repeat commands, the trailing zeros are not stored.
+     *
+     * @param row        the row.
+     * @param dataLength the length of the row without trailing zeros.
+     * @return the compressed row.
+     */
+    private static byte[] compressChar(byte[] row, int dataLength) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int position = 0; position < dataLength; position += LITERAL_LENGTH + RUN_LENGTH) {
+            out.write(0x80 | (LITERAL_LENGTH - 1));
+            out.write(row, position, LITERAL_LENGTH);
+            out.write(0xC0 | (RUN_LENGTH - 3));
+            out.write(row[position + LITERAL_LENGTH]);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The function to compress a row with the BIN method: every byte of a block is a literal, every run is a short
+     * RLE command, the trailing zeros are not stored.
+     *
+     * @param row        the row.
+     * @param dataLength the length of the row without trailing zeros.
+     * @return the compressed row.
+     */
+    private static byte[] compressBin(byte[] row, int dataLength) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream items = new ByteArrayOutputStream();
+        int controlBits = 0;
+        int itemCount = 0;
+        int position = 0;
+        while (position < dataLength) {
+            boolean command = (position % (LITERAL_LENGTH + RUN_LENGTH)) == LITERAL_LENGTH;
+            if (command) {
+                controlBits |= 0x8000 >> itemCount;
+                items.write(RUN_LENGTH - 3);
+                items.write(row[position]);
+                position += RUN_LENGTH;
+            } else {
+                items.write(row[position++]);
+            }
+            if (++itemCount == LITERAL_LENGTH || position >= dataLength) {
+                out.write(controlBits >> 8);
+                out.write(controlBits);
+                byte[] itemBytes = items.toByteArray();
+                out.write(itemBytes, 0, itemBytes.length);
+                items.reset();
+                controlBits = 0;
+                itemCount = 0;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The method to check that a compressed row is decompressed into the original row.
+     *
+     * @param actual   the decompressed row.
+     * @param expected the original row.
+     */
+    private static void check(byte[] actual, byte[] expected) {
+        if (!Arrays.equals(actual, expected)) {
+            throw new IllegalStateException("The compressed row does not match the original row");
+        }
+    }
+}
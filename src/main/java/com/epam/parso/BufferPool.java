@@ -0,0 +1,113 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pool of arrays of bytes shared by the parsers of many files, see {@link MemoryBudget}. The parsers take their
+ * page and row buffers from the pool and return them when their buffers are released, so the buffers of files with
+ * the same page length are reused instead of being allocated for every file. The pool keeps the returned arrays
+ * until their total length reaches its capacity, the arrays returned after that are left to the garbage collector.
+ * The pool is thread-safe.
+ */
+public final class BufferPool {
+    /**
+     * The maximum total length of the arrays kept by the pool.
+     */
+    private final long capacity;
+
+    /**
+     * The arrays kept by the pool by their length.
+     */
+    private final Map<Integer, Deque<byte[]>> buffers = new HashMap<>();
+
+    /**
+     * The total length of the arrays kept by the pool.
+     */
+    private long pooledBytes;
+
+    /**
+     * The constructor of the empty pool.
+     *
+     * @param capacity the maximum total length in bytes of the arrays kept by the pool.
+     */
+    public BufferPool(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Pool capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * The function to take an array of the specified length from the pool, a new array is created if the pool
+     * does not have one. The content of a reused array is not cleared.
+     *
+     * @param length the length of the array.
+     * @return the array.
+     */
+    public byte[] acquire(int length) {
+        synchronized (buffers) {
+            Deque<byte[]> sameLength = buffers.get(length);
+            if (sameLength != null && !sameLength.isEmpty()) {
+                pooledBytes -= length;
+                return sameLength.pop();
+            }
+        }
+        return new byte[length];
+    }
+
+    /**
+     * The method to return an array to the pool, the array is not kept if the pool is full. The array must not be
+     * used after it is returned.
+     *
+     * @param buffer the array, null is ignored.
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        synchronized (buffers) {
+            if (pooledBytes + buffer.length <= capacity) {
+                buffers.computeIfAbsent(buffer.length, length -> new ArrayDeque<>()).push(buffer);
+                pooledBytes += buffer.length;
+            }
+        }
+    }
+
+    /**
+     * The function to get the total length of the arrays kept by the pool.
+     *
+     * @return the number of bytes.
+     */
+    public long getPooledBytes() {
+        synchronized (buffers) {
+            return pooledBytes;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPool{pooledBytes=" + getPooledBytes() + ", capacity=" + capacity + "}";
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import com.epam.parso.impl.AsciiUtils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A character cell of a sas7bdat file kept as the bytes stored in the file, returned instead of a string when
+ * the file is opened with {@link com.epam.parso.impl.SasFileParser.Builder#charSequenceOutput(Boolean)}.
+ * The bytes are decoded only when the string is needed, so cells that are only compared or hashed are never decoded:
+ * {@link ByteCharSequence#equals(Object)} and {@link ByteCharSequence#hashCode()} compare the bytes.
+ * If the charset encodes ASCII characters as single bytes and the cell consists of ASCII characters only,
+ * {@link ByteCharSequence#length()} and {@link ByteCharSequence#charAt(int)} read the bytes without decoding them.
+ */
+public final class ByteCharSequence implements CharSequence {
+    /**
+     * The array storing the bytes of the cell.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The offset of the first byte of the cell in {@link ByteCharSequence#bytes}.
+     */
+    private final int offset;
+
+    /**
+     * The number of bytes of the cell.
+     */
+    private final int length;
+
+    /**
+     * The charset the bytes are decoded with.
+     */
+    private final Charset charset;
+
+    /**
+     * True if every byte of the cell is the ASCII character it encodes, null until it is needed.
+     */
+    private Boolean ascii;
+
+    /**
+     * The decoded string, null until it is needed.
+     */
+    private String string;
+
+    /**
+     * The constructor that wraps the bytes of a cell, the bytes are not copied and must not be changed.
+     *
+     * @param bytes   the array storing the bytes of the cell.
+     * @param offset  the offset of the first byte of the cell in bytes.
+     * @param length  the number of bytes of the cell.
+     * @param charset the charset of the file.
+     */
+    public ByteCharSequence(byte[] bytes, int offset, int length, Charset charset) {
+        this(bytes, offset, length, charset, null);
+    }
+
+    /**
+     * The constructor that wraps the bytes of a cell whose ASCII check may be known.
+     *
+     * @param bytes   the array storing the bytes of the cell.
+     * @param offset  the offset of the first byte of the cell in bytes.
+     * @param length  the number of bytes of the cell.
+     * @param charset the charset of the file.
+     * @param ascii   true if every byte of the cell is the ASCII character it encodes, null if it is unknown.
+     */
+    private ByteCharSequence(byte[] bytes, int offset, int length, Charset charset, Boolean ascii) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.charset = charset;
+        this.ascii = ascii;
+    }
+
+    /**
+     * The function to get the charset the bytes are decoded with.
+     *
+     * @return the charset of the cell.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * The function to get the bytes of the cell as a new array.
+     *
+     * @return the bytes of the cell.
+     */
+    public byte[] getBytes() {
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    @Override
+    public int length() {
+        return isAscii() ? length : toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (!isAscii()) {
+            return toString().charAt(index);
+        }
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (!isAscii()) {
+            return toString().subSequence(start, end);
+        }
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new ByteCharSequence(bytes, offset + start, end - start, charset, Boolean.TRUE);
+    }
+
+    @Override
+    public String toString() {
+        if (string == null) {
+            string = new String(bytes, offset, length, isAscii() ? StandardCharsets.ISO_8859_1 : charset);
+        }
+        return string;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ByteCharSequence)) {
+            return false;
+        }
+        ByteCharSequence other = (ByteCharSequence) o;
+        if (length != other.length || !charset.equals(other.charset)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] != other.bytes[other.offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    /**
+     * The function to check if every byte of the cell is the ASCII character it encodes, the check is done once.
+     *
+     * @return true if the bytes can be read as characters without decoding.
+     */
+    private boolean isAscii() {
+        if (ascii == null) {
+            ascii = AsciiUtils.isAsciiCompatible(charset) && AsciiUtils.isAscii(bytes, offset, length);
+        }
+        return ascii;
+    }
+}
@@ -0,0 +1,322 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable columnar container for a batch of rows, filled by {@link SasFileReader#readBatch(ColumnBatch, int)}.
+ * Every column is stored in primitive arrays so that reading a batch does not create an object per cell:
+ * <ul>
+ * <li>numeric columns are stored in a double array. Values are not converted, so the cells of columns with date,
+ * time or datetime formats keep the SAS numbers of days or seconds since 1960-01-01.</li>
+ * <li>character columns are stored as offsets and lengths of their bytes in the byte array that is shared by all
+ * character columns. The bytes are not decoded, trailing spaces, tabulation and null characters are removed.</li>
+ * </ul>
+ * The cells that {@link SasFileReader#readNext()} returns as null are marked in the validity bitmap of the column
+ * and have no value. A batch is not thread-safe.
+ */
+public class ColumnBatch {
+    /**
+     * The number of bits in an element of a validity bitmap.
+     */
+    private static final int BITS_IN_WORD = 64;
+
+    /**
+     * The initial size of {@link ColumnBatch#stringData}, the array grows when needed.
+     */
+    private static final int INITIAL_STRING_DATA_LENGTH = 1 << 16;
+
+    /**
+     * The columns of the batch.
+     */
+    private final List<Column> columns;
+
+    /**
+     * The maximum number of rows of the batch.
+     */
+    private final int capacity;
+
+    /**
+     * The values of the numeric columns by column index, null for character columns.
+     */
+    private final double[][] numbers;
+
+    /**
+     * The offsets of the cells in {@link ColumnBatch#stringData} by column index, null for numeric columns.
+     */
+    private final int[][] stringOffsets;
+
+    /**
+     * The lengths of the cells in {@link ColumnBatch#stringData} by column index, null for numeric columns.
+     */
+    private final int[][] stringLengths;
+
+    /**
+     * The validity bitmaps by column index, the bit of a row is set if the cell is not null.
+     */
+    private final long[][] validity;
+
+    /**
+     * The bytes of the cells of all character columns.
+     */
+    private byte[] stringData;
+
+    /**
+     * The number of used bytes of {@link ColumnBatch#stringData}.
+     */
+    private int stringDataLength;
+
+    /**
+     * The number of rows of the batch.
+     */
+    private int rowCount;
+
+    /**
+     * The constructor that allocates the arrays of the batch.
+     *
+     * @param columns  the columns of the file, as returned by {@link SasFileReader#getColumns()}.
+     * @param capacity the maximum number of rows of the batch.
+     */
+    public ColumnBatch(List<Column> columns, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Batch capacity must be positive: " + capacity);
+        }
+        this.columns = columns;
+        this.capacity = capacity;
+        int columnCount = columns.size();
+        numbers = new double[columnCount][];
+        stringOffsets = new int[columnCount][];
+        stringLengths = new int[columnCount][];
+        validity = new long[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            if (columns.get(i).getType() == Number.class) {
+                numbers[i] = new double[capacity];
+            } else {
+                stringOffsets[i] = new int[capacity];
+                stringLengths[i] = new int[capacity];
+            }
+            validity[i] = new long[(capacity + BITS_IN_WORD - 1) / BITS_IN_WORD];
+        }
+        stringData = new byte[INITIAL_STRING_DATA_LENGTH];
+    }
+
+    /**
+     * The function to get {@link ColumnBatch#columns}.
+     *
+     * @return the list of columns of the batch.
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * The function to get {@link ColumnBatch#capacity}.
+     *
+     * @return the maximum number of rows of the batch.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The function to get {@link ColumnBatch#rowCount}.
+     *
+     * @return the number of rows of the batch.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * The function to check if a cell is null.
+     *
+     * @param column the index of the column.
+     * @param row    the index of the row in the batch.
+     * @return true if the cell is null.
+     */
+    public boolean isNull(int column, int row) {
+        return (validity[column][row / BITS_IN_WORD] & (1L << row)) == 0;
+    }
+
+    /**
+     * The function to get the value of a numeric cell, the value of a null cell is undefined.
+     *
+     * @param column the index of the numeric column.
+     * @param row    the index of the row in the batch.
+     * @return the value of the cell.
+     */
+    public double getDouble(int column, int row) {
+        return numbers[column][row];
+    }
+
+    /**
+     * The function to get the value of a numeric cell rounded to the nearest long number.
+     *
+     * @param column the index of the numeric column.
+     * @param row    the index of the row in the batch.
+     * @return the value of the cell.
+     */
+    public long getLong(int column, int row) {
+        return Math.round(numbers[column][row]);
+    }
+
+    /**
+     * The function to get the offset of a character cell in the array returned by {@link ColumnBatch#getStringData()}.
+     *
+     * @param column the index of the character column.
+     * @param row    the index of the row in the batch.
+     * @return the offset of the first byte of the cell, undefined for null cells.
+     */
+    public int getStringOffset(int column, int row) {
+        return stringOffsets[column][row];
+    }
+
+    /**
+     * The function to get the number of bytes of a character cell.
+     *
+     * @param column the index of the character column.
+     * @param row    the index of the row in the batch.
+     * @return the length of the cell in bytes, undefined for null cells.
+     */
+    public int getStringLength(int column, int row) {
+        return stringLengths[column][row];
+    }
+
+    /**
+     * The function to get the bytes of a character cell as a new array.
+     *
+     * @param column the index of the character column.
+     * @param row    the index of the row in the batch.
+     * @return the bytes of the cell, null if the cell is null.
+     */
+    public byte[] getBytes(int column, int row) {
+        if (isNull(column, row)) {
+            return null;
+        }
+        int offset = stringOffsets[column][row];
+        return Arrays.copyOfRange(stringData, offset, offset + stringLengths[column][row]);
+    }
+
+    /**
+     * The function to decode a character cell into a string.
+     *
+     * @param column  the index of the character column.
+     * @param row     the index of the row in the batch.
+     * @param charset the charset of the file.
+     * @return the string value of the cell, null if the cell is null.
+     */
+    public String getString(int column, int row, Charset charset) {
+        if (isNull(column, row)) {
+            return null;
+        }
+        return new String(stringData, stringOffsets[column][row], stringLengths[column][row], charset);
+    }
+
+    /**
+     * The function to get the array storing the values of a numeric column. Only the first
+     * {@link ColumnBatch#getRowCount()} elements belong to the batch.
+     *
+     * @param column the index of the numeric column.
+     * @return the values of the column, null if the column is not numeric.
+     */
+    public double[] getDoubles(int column) {
+        return numbers[column];
+    }
+
+    /**
+     * The function to get the validity bitmap of a column, the bit {@code row % 64} of the element {@code row / 64}
+     * is set if the cell of the row is not null.
+     *
+     * @param column the index of the column.
+     * @return the validity bitmap of the column.
+     */
+    public long[] getValidity(int column) {
+        return validity[column];
+    }
+
+    /**
+     * The function to get the array storing the bytes of the character cells, see
+     * {@link ColumnBatch#getStringOffset(int, int)} and {@link ColumnBatch#getStringLength(int, int)}.
+     *
+     * @return the bytes of the character cells.
+     */
+    public byte[] getStringData() {
+        return stringData;
+    }
+
+    /**
+     * The method to remove all rows from the batch, the arrays of the batch are kept.
+     */
+    public void clear() {
+        int usedWords = (rowCount + BITS_IN_WORD - 1) / BITS_IN_WORD;
+        for (long[] bitmap : validity) {
+            Arrays.fill(bitmap, 0, usedWords, 0);
+        }
+        rowCount = 0;
+        stringDataLength = 0;
+    }
+
+    /**
+     * The function to add a row with null cells to the batch.
+     *
+     * @return the index of the added row.
+     */
+    public int addRow() {
+        if (rowCount == capacity) {
+            throw new IllegalStateException("Batch is full: " + capacity);
+        }
+        return rowCount++;
+    }
+
+    /**
+     * The method to set the value of a numeric cell.
+     *
+     * @param column the index of the numeric column.
+     * @param row    the index of the row in the batch.
+     * @param value  the value of the cell.
+     */
+    public void setDouble(int column, int row, double value) {
+        numbers[column][row] = value;
+        validity[column][row / BITS_IN_WORD] |= 1L << row;
+    }
+
+    /**
+     * The method to set the value of a character cell by copying its bytes into the batch.
+     *
+     * @param column the index of the character column.
+     * @param row    the index of the row in the batch.
+     * @param source the array storing the bytes of the cell.
+     * @param offset the offset of the first byte of the cell in source.
+     * @param length the number of bytes of the cell.
+     */
+    public void setBytes(int column, int row, byte[] source, int offset, int length) {
+        if (stringDataLength + length > stringData.length) {
+            stringData = Arrays.copyOf(stringData, Math.max(stringDataLength + length, stringData.length * 2));
+        }
+        System.arraycopy(source, offset, stringData, stringDataLength, length);
+        stringOffsets[column][row] = stringDataLength;
+        stringLengths[column][row] = length;
+        stringDataLength += length;
+        validity[column][row / BITS_IN_WORD] |= 1L << row;
+    }
+}
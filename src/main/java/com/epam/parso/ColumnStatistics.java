@@ -0,0 +1,195 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+/**
+ * A class to accumulate the statistics of the cells of a numeric column computed by
+ * {@link SasFileReader#aggregate(java.util.List)}: the numbers of the cells and of the null cells, the sum, minimum,
+ * maximum and mean of the cells that are not null. The values are kept in primitive fields, the sum is compensated
+ * for the rounding errors of adding many numbers. The statistics of parts of a file can be merged into
+ * the statistics of the whole file. The class is not thread-safe.
+ */
+public final class ColumnStatistics {
+    /**
+     * The name of the column.
+     */
+    private final String columnName;
+
+    /**
+     * The number of cells that are not null.
+     */
+    private long count;
+
+    /**
+     * The number of null cells.
+     */
+    private long nullCount;
+
+    /**
+     * The sum of the cells that are not null without the compensation.
+     */
+    private double sum;
+
+    /**
+     * The compensation of the rounding errors of {@link ColumnStatistics#sum}.
+     */
+    private double compensation;
+
+    /**
+     * The minimum of the cells that are not null.
+     */
+    private double min = Double.POSITIVE_INFINITY;
+
+    /**
+     * The maximum of the cells that are not null.
+     */
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The constructor of the statistics of a column with no cells.
+     *
+     * @param columnName the name of the column.
+     */
+    public ColumnStatistics(String columnName) {
+        this.columnName = columnName;
+    }
+
+    /**
+     * The method to add a cell to the statistics.
+     *
+     * @param value the number stored in the cell, NaN if the cell is null.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            nullCount++;
+            return;
+        }
+        count++;
+        addToSum(value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * The method to add a null cell to the statistics.
+     */
+    public void addNull() {
+        nullCount++;
+    }
+
+    /**
+     * The method to add the statistics of other cells of the column to the statistics.
+     *
+     * @param other the statistics of other cells.
+     */
+    public void merge(ColumnStatistics other) {
+        count += other.count;
+        nullCount += other.nullCount;
+        addToSum(other.sum);
+        compensation += other.compensation;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * The function to get the name of the column.
+     *
+     * @return the name of the column.
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * The function to get the number of cells that are not null.
+     *
+     * @return the number of cells that are not null.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The function to get the number of null cells.
+     *
+     * @return the number of null cells.
+     */
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * The function to get the sum of the cells that are not null.
+     *
+     * @return the sum, 0 if all cells are null.
+     */
+    public double getSum() {
+        return sum + compensation;
+    }
+
+    /**
+     * The function to get the minimum of the cells that are not null.
+     *
+     * @return the minimum, NaN if all cells are null.
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * The function to get the maximum of the cells that are not null.
+     *
+     * @return the maximum, NaN if all cells are null.
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * The function to get the mean of the cells that are not null.
+     *
+     * @return the mean, NaN if all cells are null.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : getSum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return columnName + "{count=" + count + ", nullCount=" + nullCount + ", sum=" + getSum() + ", min="
+                + getMin() + ", max=" + getMax() + ", mean=" + getMean() + "}";
+    }
+
+    /**
+     * The method to add a number to the sum with the Neumaier compensated summation, the low-order bits lost
+     * by the addition are accumulated in {@link ColumnStatistics#compensation}.
+     *
+     * @param value the number.
+     */
+    private void addToSum(double value) {
+        double newSum = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - newSum) + value;
+        } else {
+            compensation += (value - newSum) + sum;
+        }
+        sum = newSum;
+    }
+}
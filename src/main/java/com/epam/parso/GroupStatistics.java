@@ -0,0 +1,92 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.util.List;
+
+/**
+ * A class to store the statistics of a group of rows with the same cells in the key columns computed by
+ * {@link SasFileReader#groupBy(List, List)}: the cells of the key columns, the number of rows and
+ * the {@link ColumnStatistics} of the aggregated columns.
+ */
+public final class GroupStatistics {
+    /**
+     * The cells of the key columns shared by the rows of the group.
+     */
+    private final List<Object> key;
+
+    /**
+     * The number of rows of the group.
+     */
+    private final long rowCount;
+
+    /**
+     * The statistics of the aggregated columns.
+     */
+    private final List<ColumnStatistics> statistics;
+
+    /**
+     * The constructor of the statistics of a group.
+     *
+     * @param key        the cells of the key columns.
+     * @param rowCount   the number of rows of the group.
+     * @param statistics the statistics of the aggregated columns.
+     */
+    public GroupStatistics(List<Object> key, long rowCount, List<ColumnStatistics> statistics) {
+        this.key = key;
+        this.rowCount = rowCount;
+        this.statistics = statistics;
+    }
+
+    /**
+     * The function to get the cells of the key columns shared by the rows of the group. Strings are stored without
+     * the trailing spaces, numbers are long or double numbers, the numbers of the columns with date, time and
+     * datetime formats are the numbers of days or seconds elapsed from 01/01/1960. Empty strings and missing numbers
+     * are null.
+     *
+     * @return the cells in the order of the names of the key columns.
+     */
+    public List<Object> getKey() {
+        return key;
+    }
+
+    /**
+     * The function to get the number of rows of the group.
+     *
+     * @return the number of rows.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * The function to get the statistics of the aggregated columns over the rows of the group.
+     *
+     * @return the statistics in the order of the names of the aggregated columns.
+     */
+    public List<ColumnStatistics> getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return key + "{rowCount=" + rowCount + ", statistics=" + statistics + "}";
+    }
+}
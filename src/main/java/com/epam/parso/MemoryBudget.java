@@ -0,0 +1,87 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+/**
+ * The memory budget of a parser set with
+ * {@link com.epam.parso.impl.SasFileParser.Builder#memoryBudget(MemoryBudget)}. The limit bounds the memory
+ * the parser uses optionally: the pages decoded ahead by the parallel reading and the rows read at once by
+ * {@link SasFileReader#readBatch(int)} and {@link SasFileReader#chunks(int)}, the rows are counted by their length
+ * in the file. The buffers needed to read one page and one row are allocated even if they exceed the limit.
+ * The page and row buffers are taken from the {@link BufferPool} of the budget if there is one, so the pool can be
+ * shared by the parsers of many files.
+ */
+public final class MemoryBudget {
+    /**
+     * The limit in bytes.
+     */
+    private final long limit;
+
+    /**
+     * The pool of the page and row buffers, null if the buffers are not pooled.
+     */
+    private final BufferPool bufferPool;
+
+    /**
+     * The constructor of the budget whose buffers are not pooled.
+     *
+     * @param limit the limit in bytes.
+     */
+    public MemoryBudget(long limit) {
+        this(limit, null);
+    }
+
+    /**
+     * The constructor of the budget whose buffers are taken from the pool.
+     *
+     * @param limit      the limit in bytes.
+     * @param bufferPool the pool of the page and row buffers, null if the buffers are not pooled.
+     */
+    public MemoryBudget(long limit, BufferPool bufferPool) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + limit);
+        }
+        this.limit = limit;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * The function to get the limit of the budget.
+     *
+     * @return the limit in bytes.
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * The function to get the pool of the page and row buffers.
+     *
+     * @return the pool, null if the buffers are not pooled.
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryBudget{limit=" + limit + ", bufferPool=" + bufferPool + "}";
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface for the storage backends the sas7bdat file is read from. The parser reads the file header field by field
+ * and then pulls whole pages by their number, every read is addressed by the absolute position in the file.
+ * Implementations for input streams, file channels, memory-mapped files and byte arrays are available in
+ * the {@link com.epam.parso.impl} package. A source is not closed by the parser.
+ */
+public interface PageSource extends Closeable {
+    /**
+     * The function to read bytes of the sas7bdat file starting from the specified position into the buffer.
+     * Fewer bytes than requested are read only if the end of the file is reached.
+     *
+     * @param position the position in the file of the first byte to read.
+     * @param buffer   the buffer to read bytes into.
+     * @param offset   the offset in the buffer of the first read byte.
+     * @param length   the number of bytes to read.
+     * @return the number of read bytes, -1 if the position is at or after the end of the file.
+     * @throws IOException if reading from the source is impossible or the source can not reach the position.
+     */
+    int read(long position, byte[] buffer, int offset, int length) throws IOException;
+
+    /**
+     * The function to check if the source can be read at arbitrary positions. Sources that are not random access
+     * can only be read at non-decreasing positions, like an input stream.
+     *
+     * @return true if the source can be read at arbitrary positions.
+     */
+    boolean isRandomAccess();
+}
@@ -0,0 +1,97 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class to store the columns selected for reading, resolved once from their names to the indexes of the columns
+ * in the file. Rows read with a projection contain the cells of the selected columns in the order of the names,
+ * the other columns are not decoded. A projection must be used with the file whose columns it was created for.
+ */
+public final class Projection {
+    /**
+     * The index of the source column by the position in the projection, -1 if the position has no source column.
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * The constructor that resolves the names of the selected columns. As with the lists of column names accepted
+     * by {@link SasFileReader#readNext(List)}, a name that does not match any column and a repeated name are read
+     * as null. If several columns have the same name, the last of them is selected.
+     *
+     * @param columns     the columns of the file, as returned by {@link SasFileReader#getColumns()}.
+     * @param columnNames the names of the selected columns.
+     */
+    public Projection(List<Column> columns, List<String> columnNames) {
+        Map<String, Integer> indexesByName = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexesByName.put(columns.get(i).getName(), i);
+        }
+        columnIndexes = new int[columnNames.size()];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            Integer index = indexesByName.remove(columnNames.get(i));
+            columnIndexes[i] = index == null ? -1 : index;
+        }
+    }
+
+    /**
+     * The function to get the number of selected columns.
+     *
+     * @return the number of cells of the rows read with the projection.
+     */
+    public int size() {
+        return columnIndexes.length;
+    }
+
+    /**
+     * The function to get the index of the column read at the specified position.
+     *
+     * @param position the position of the cell in the rows read with the projection.
+     * @return the index of the column in the file, -1 if the cell is always null.
+     */
+    public int getColumnIndex(int position) {
+        return columnIndexes[position];
+    }
+
+    /**
+     * Projections are equal if they select the same columns in the same order.
+     *
+     * @param o the object to compare with.
+     * @return true if the object is a projection selecting the same columns.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Projection && Arrays.equals(columnIndexes, ((Projection) o).columnIndexes);
+    }
+
+    /**
+     * The function to get the hash code of the selected column indexes.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(columnIndexes);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.io.IOException;
+
+/**
+ * A cursor over the rows of a sas7bdat file, returned by {@link SasFileReader#cursor()}. The cursor is moved with
+ * {@link RowCursor#next()} and its accessors decode the cells of the current row straight from the page that stores
+ * it, so reading numeric cells does not create objects. Deleted rows are skipped, rows are counted the same way as
+ * {@link SasFileReader#getRowOffset()} counts them.
+ * <p>
+ * Numeric cells are not converted, so the cells of columns with date, time or datetime formats keep the SAS numbers
+ * of days or seconds since 1960-01-01, as in {@link ColumnBatch}. Character cells are trimmed the same way as
+ * {@link SasFileReader#readNext()} trims them. The cells are valid until the next call of {@link RowCursor#next()}
+ * or of any other reading method of the reader. A cursor is not thread-safe.
+ */
+public interface RowCursor {
+    /**
+     * Moves the cursor to the next row that is not deleted.
+     *
+     * @return true if the cursor is at a row, false if there are no more rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    boolean next() throws IOException;
+
+    /**
+     * Checks if a cell of the current row is null, that is if {@link SasFileReader#readNext()} returns it as null.
+     *
+     * @param column the index of the column.
+     * @return true if the cell is null.
+     */
+    boolean isNull(int column);
+
+    /**
+     * Gets the value of a numeric cell of the current row.
+     *
+     * @param column the index of the numeric column.
+     * @return the value of the cell, {@link Double#NaN} if the cell is null.
+     */
+    double getDouble(int column);
+
+    /**
+     * Gets the value of a numeric cell of the current row rounded to the nearest long number.
+     *
+     * @param column the index of the numeric column.
+     * @return the value of the cell, 0 if the cell is null.
+     */
+    long getLong(int column);
+
+    /**
+     * Decodes a character cell of the current row into a string with the encoding of the file.
+     *
+     * @param column the index of the character column.
+     * @return the value of the cell, null if the cell is null.
+     */
+    String getString(int column);
+
+    /**
+     * Gets the bytes of a character cell of the current row as a new array.
+     *
+     * @param column the index of the character column.
+     * @return the bytes of the cell, null if the cell is null.
+     */
+    byte[] getBytes(int column);
+}
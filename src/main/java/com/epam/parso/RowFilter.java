@@ -0,0 +1,356 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A class to store the condition the rows read with {@link SasFileReader#readNext(Projection, RowFilter)} must meet.
+ * The condition is checked against the bytes of a row before the row is decoded, the rows that do not meet it are
+ * skipped without creating objects for their cells.
+ * <p>
+ * Conditions on a column compare its cells with values: the values of numeric columns are numbers compared with
+ * the numbers stored in the file, so the values of columns with date, time and datetime formats are the numbers
+ * of days or seconds elapsed from 01/01/1960. The values of character columns are strings compared with the cells
+ * with trailing spaces removed. As with the cells read by {@link SasFileReader#readNext()}, empty character cells and
+ * missing numeric cells are null, a null cell meets only {@link RowFilter#isNull(String)}.
+ * <p>
+ * The columns are found by their names when the filter is first used with a file, if several columns have the same
+ * name, the last of them is used. A filter can be reused with any file that has its columns.
+ */
+public final class RowFilter {
+    /**
+     * The operator of the filter.
+     */
+    private final Operator operator;
+
+    /**
+     * The name of the column the condition is on, null for {@link Operator#AND} and {@link Operator#OR}.
+     */
+    private final String columnName;
+
+    /**
+     * The values the cells are compared with.
+     */
+    private final List<Object> values;
+
+    /**
+     * The filters combined by {@link Operator#AND} and {@link Operator#OR}.
+     */
+    private final List<RowFilter> operands;
+
+    /**
+     * The constructor of a condition on a column.
+     *
+     * @param operator   the operator.
+     * @param columnName the name of the column.
+     * @param values     the values the cells are compared with.
+     */
+    private RowFilter(Operator operator, String columnName, Collection<?> values) {
+        if (columnName == null) {
+            throw new IllegalArgumentException("The column name of the filter is null");
+        }
+        List<Object> checkedValues = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (!(value instanceof Number) && !(value instanceof String)) {
+                throw new IllegalArgumentException("The value " + value + " of the filter on the column "
+                        + columnName + " is neither a number nor a string");
+            }
+            checkedValues.add(value);
+        }
+        this.operator = operator;
+        this.columnName = columnName;
+        this.values = Collections.unmodifiableList(checkedValues);
+        this.operands = Collections.emptyList();
+    }
+
+    /**
+     * The constructor of a combination of filters.
+     *
+     * @param operator the operator, {@link Operator#AND} or {@link Operator#OR}.
+     * @param operands the combined filters.
+     */
+    private RowFilter(Operator operator, RowFilter[] operands) {
+        for (RowFilter operand : operands) {
+            if (operand == null) {
+                throw new IllegalArgumentException("The operand of the filter is null");
+            }
+        }
+        this.operator = operator;
+        this.columnName = null;
+        this.values = Collections.emptyList();
+        this.operands = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(operands)));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell equals the value.
+     *
+     * @param columnName the name of the column.
+     * @param value      the number or the string.
+     * @return the filter.
+     */
+    public static RowFilter equalTo(String columnName, Object value) {
+        return new RowFilter(Operator.EQUAL, columnName, Collections.singletonList(value));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is not null and does not equal the value.
+     *
+     * @param columnName the name of the column.
+     * @param value      the number or the string.
+     * @return the filter.
+     */
+    public static RowFilter notEqualTo(String columnName, Object value) {
+        return new RowFilter(Operator.NOT_EQUAL, columnName, Collections.singletonList(value));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is less than the value.
+     *
+     * @param columnName the name of the column.
+     * @param value      the number or the string.
+     * @return the filter.
+     */
+    public static RowFilter lessThan(String columnName, Object value) {
+        return new RowFilter(Operator.LESS, columnName, Collections.singletonList(value));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is less than or equal to the value.
+     *
+     * @param columnName the name of the column.
+     * @param value      the number or the string.
+     * @return the filter.
+     */
+    public static RowFilter lessThanOrEqualTo(String columnName, Object value) {
+        return new RowFilter(Operator.LESS_OR_EQUAL, columnName, Collections.singletonList(value));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is greater than the value.
+     *
+     * @param columnName the name of the column.
+     * @param value      the number or the string.
+     * @return the filter.
+     */
+    public static RowFilter greaterThan(String columnName, Object value) {
+        return new RowFilter(Operator.GREATER, columnName, Collections.singletonList(value));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is greater than or equal to the value.
+     *
+     * @param columnName the name of the column.
+     * @param value      the number or the string.
+     * @return the filter.
+     */
+    public static RowFilter greaterThanOrEqualTo(String columnName, Object value) {
+        return new RowFilter(Operator.GREATER_OR_EQUAL, columnName, Collections.singletonList(value));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell equals one of the values.
+     *
+     * @param columnName the name of the column.
+     * @param values     the numbers or the strings.
+     * @return the filter.
+     */
+    public static RowFilter in(String columnName, Collection<?> values) {
+        return new RowFilter(Operator.IN, columnName, values);
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell equals one of the values.
+     *
+     * @param columnName the name of the column.
+     * @param values     the numbers or the strings.
+     * @return the filter.
+     */
+    public static RowFilter in(String columnName, Object... values) {
+        return in(columnName, Arrays.asList(values));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is in the range, the bounds are included.
+     *
+     * @param columnName the name of the column.
+     * @param from       the lower bound, a number or a string.
+     * @param to         the upper bound, a number or a string.
+     * @return the filter.
+     */
+    public static RowFilter between(String columnName, Object from, Object to) {
+        return new RowFilter(Operator.BETWEEN, columnName, Arrays.asList(from, to));
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is null.
+     *
+     * @param columnName the name of the column.
+     * @return the filter.
+     */
+    public static RowFilter isNull(String columnName) {
+        return new RowFilter(Operator.IS_NULL, columnName, Collections.emptyList());
+    }
+
+    /**
+     * The function to create the filter of the rows whose cell is not null.
+     *
+     * @param columnName the name of the column.
+     * @return the filter.
+     */
+    public static RowFilter isNotNull(String columnName) {
+        return new RowFilter(Operator.IS_NOT_NULL, columnName, Collections.emptyList());
+    }
+
+    /**
+     * The function to create the filter of the rows that pass all filters, the filters are checked in order
+     * until one of them fails.
+     *
+     * @param operands the filters.
+     * @return the filter, it passes all rows if there are no operands.
+     */
+    public static RowFilter and(RowFilter... operands) {
+        return new RowFilter(Operator.AND, operands);
+    }
+
+    /**
+     * The function to create the filter of the rows that pass any of the filters, the filters are checked in order
+     * until one of them passes.
+     *
+     * @param operands the filters.
+     * @return the filter, it passes no rows if there are no operands.
+     */
+    public static RowFilter or(RowFilter... operands) {
+        return new RowFilter(Operator.OR, operands);
+    }
+
+    /**
+     * The function to get the operator of the filter.
+     *
+     * @return the operator.
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * The function to get the name of the column the condition is on.
+     *
+     * @return the name of the column, null for {@link Operator#AND} and {@link Operator#OR}.
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * The function to get the values the cells are compared with.
+     *
+     * @return the values, the lower and the upper bounds for {@link Operator#BETWEEN}.
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * The function to get the filters combined by {@link Operator#AND} and {@link Operator#OR}.
+     *
+     * @return the combined filters, empty for the conditions on a column.
+     */
+    public List<RowFilter> getOperands() {
+        return operands;
+    }
+
+    @Override
+    public String toString() {
+        if (operator == Operator.AND || operator == Operator.OR) {
+            return operator + operands.toString();
+        }
+        return columnName + " " + operator + (values.isEmpty() ? "" : " " + values);
+    }
+
+    /**
+     * The operators of the filters.
+     */
+    public enum Operator {
+        /**
+         * The cell equals the value.
+         */
+        EQUAL,
+
+        /**
+         * The cell is not null and does not equal the value.
+         */
+        NOT_EQUAL,
+
+        /**
+         * The cell is less than the value.
+         */
+        LESS,
+
+        /**
+         * The cell is less than or equal to the value.
+         */
+        LESS_OR_EQUAL,
+
+        /**
+         * The cell is greater than the value.
+         */
+        GREATER,
+
+        /**
+         * The cell is greater than or equal to the value.
+         */
+        GREATER_OR_EQUAL,
+
+        /**
+         * The cell equals one of the values.
+         */
+        IN,
+
+        /**
+         * The cell is in the range of the values, the bounds are included.
+         */
+        BETWEEN,
+
+        /**
+         * The cell is null.
+         */
+        IS_NULL,
+
+        /**
+         * The cell is not null.
+         */
+        IS_NOT_NULL,
+
+        /**
+         * All operands pass.
+         */
+        AND,
+
+        /**
+         * Any of the operands passes.
+         */
+        OR
+    }
+}
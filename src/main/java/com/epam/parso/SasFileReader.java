@@ -20,7 +20,10 @@
 package com.epam.parso;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Main interface for working with library.
@@ -59,6 +62,18 @@ public interface SasFileReader {
      */
     Object[][] readAll(List<String> columnNames);
 
+    /**
+     * Reads all rows from the sas7bdat file. For each row, only the columns selected by the projection are read.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param projection the columns which should be processed.
+     * @return an array of array objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Object[][] readAll(Projection projection) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Reads rows one by one from the sas7bdat file.
      *
@@ -78,6 +93,327 @@ public interface SasFileReader {
      */
     Object[] readNext(List<String> columnNames) throws IOException;
 
+    /**
+     * Reads rows one by one from the sas7bdat file. For each row, only the columns selected by the projection
+     * are read, the names of the columns are not looked up again for every row.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param projection the columns which should be processed.
+     * @return an array of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     * @throws IOException if reading input stream is impossible.
+     */
+    default Object[] readNext(Projection projection) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads the next row that passes the filter. The rows are checked against the filter before their cells
+     * are converted into objects, so the rows that do not pass it are skipped at the cost of reading the cells
+     * the filter is on, see {@link RowFilter}. Skipped and deleted rows are counted the same way as
+     * {@link SasFileReader#getRowOffset()} counts them.
+     * The default implementation calls {@link SasFileReader#readNext(Projection, RowFilter)} with no projection.
+     *
+     * @param filter the condition the row must meet, null if all rows pass.
+     * @return an array of objects storing the cells of all columns, null if there are no more rows passing
+     * the filter.
+     * @throws IOException if reading input stream is impossible.
+     */
+    default Object[] readNext(RowFilter filter) throws IOException {
+        return readNext(null, filter);
+    }
+
+    /**
+     * Reads the columns selected by the projection of the next row that passes the filter, see
+     * {@link SasFileReader#readNext(RowFilter)}. The filter can be on columns that are not selected.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @param filter     the condition the row must meet, null if all rows pass.
+     * @return an array of objects storing the cells of the selected columns, null if there are no more rows
+     * passing the filter.
+     * @throws IOException if reading input stream is impossible.
+     */
+    default Object[] readNext(Projection projection, RowFilter filter) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads the rows following the current row into the batch, replacing its previous content. Rows are counted
+     * the same way as {@link SasFileReader#getRowOffset()} counts them, deleted rows are skipped. The cells are copied
+     * into the primitive arrays of the batch without creating an object per cell, see {@link ColumnBatch}.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param batch   the batch created for the columns returned by {@link SasFileReader#getColumns()}.
+     * @param maxRows the maximum number of rows to read, the batch capacity is used if it is smaller.
+     * @return the number of rows in the batch, 0 if there are no more rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    default int readBatch(ColumnBatch batch, int maxRows) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads the rows following the current row into a new array, the rows are converted into arrays of objects
+     * the same way as {@link SasFileReader#readNext()} converts them. Rows are counted the same way as
+     * {@link SasFileReader#getRowOffset()} counts them, deleted rows are skipped. Unlike
+     * {@link SasFileReader#readAll()}, the method reads a bounded number of rows, so a file of any size can be read
+     * in a bounded amount of memory.
+     * Fewer rows are read if maxRows rows do not fit into the {@link MemoryBudget} of the reader.
+     * The default implementation reads the rows with {@link SasFileReader#readBatch(Object[][], Projection)}.
+     *
+     * @param maxRows the maximum number of rows to read.
+     * @return the array of the read rows, empty if there are no more rows.
+     * @throws IOException              if reading the file is impossible.
+     * @throws IllegalArgumentException if maxRows is not positive.
+     */
+    default Object[][] readBatch(int maxRows) throws IOException {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("The number of rows must be positive: " + maxRows);
+        }
+        Object[][] rows = new Object[maxRows][];
+        return Arrays.copyOf(rows, readBatch(rows, null));
+    }
+
+    /**
+     * Reads the columns selected by the projection of the rows following the current row into the array, replacing
+     * its previous content. The rows are read the same way as {@link SasFileReader#readBatch(int)} reads them,
+     * the arrays of the previously read rows stored in the array are reused.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param rows       the array to store the rows into, its length is the maximum number of rows to read.
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return the number of rows stored at the beginning of the array, 0 if there are no more rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    default int readBatch(Object[][] rows, Projection projection) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the chunks of the rows following the current row, every chunk is read with
+     * {@link SasFileReader#readBatch(Object[][], Projection)} and stores chunkSize rows except the last one,
+     * fewer rows if chunkSize rows do not fit into the {@link MemoryBudget} of the reader.
+     * The array of a chunk and the arrays of its rows are reused by the next chunk, so they have to be copied
+     * to be kept. Iterating moves the reader, a new iterator continues from the current row. Exceptions thrown
+     * while reading are wrapped into {@link java.io.UncheckedIOException}.
+     * The default implementation calls {@link SasFileReader#chunks(int, Projection)} with no projection.
+     *
+     * @param chunkSize the maximum number of rows of a chunk.
+     * @return the chunks of rows.
+     * @throws IllegalArgumentException if chunkSize is not positive.
+     */
+    default Iterable<Object[][]> chunks(int chunkSize) {
+        return chunks(chunkSize, null);
+    }
+
+    /**
+     * Returns the chunks of the rows following the current row, for each row only the columns selected by
+     * the projection are read, see {@link SasFileReader#chunks(int)}.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param chunkSize  the maximum number of rows of a chunk.
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return the chunks of rows.
+     * @throws IllegalArgumentException if chunkSize is not positive.
+     */
+    default Iterable<Object[][]> chunks(int chunkSize, Projection projection) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the rows following the current row and moves the reader
+     * to the end of the file, deleted rows are skipped. The cells are read from the pages into the primitive
+     * fields of the statistics without being converted into objects. If the file is read from a random access page
+     * source and a pool is set with
+     * {@link com.epam.parso.impl.SasFileParser.Builder#forkJoinPool(java.util.concurrent.ForkJoinPool)},
+     * all pages are indexed and ranges of pages are aggregated in parallel in the pool, otherwise the rows are
+     * aggregated one by one on the calling thread.
+     * The default implementation calls {@link SasFileReader#aggregate(List, RowFilter)} with no filter.
+     *
+     * @param columnNames the names of the numeric columns, if several columns have the same name, the last of them
+     *                    is aggregated.
+     * @return the statistics of the columns in the order of their names.
+     * @throws IOException              if reading the file is impossible.
+     * @throws IllegalArgumentException if a column is not in the file or is not numeric.
+     */
+    default List<ColumnStatistics> aggregate(List<String> columnNames) throws IOException {
+        return aggregate(columnNames, null);
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the rows following the current row that pass the filter,
+     * see {@link SasFileReader#aggregate(List)}. The filter can be on columns that are not aggregated.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param columnNames the names of the numeric columns.
+     * @param filter      the condition the aggregated rows must meet, null if all rows are aggregated.
+     * @return the statistics of the columns in the order of their names.
+     * @throws IOException              if reading the file is impossible.
+     * @throws IllegalArgumentException if a column is not in the file or is not numeric.
+     */
+    default List<ColumnStatistics> aggregate(List<String> columnNames, RowFilter filter) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the groups of the rows following the current row that
+     * have the same cells in the key columns, and moves the reader to the end of the file, deleted rows are
+     * skipped. The rows are grouped by the bytes of their key cells, the keys are decoded once per group, see
+     * {@link GroupStatistics#getKey()}. The rows are aggregated the same way as by
+     * {@link SasFileReader#aggregate(List)}, in parallel only if a pool is set for the reader.
+     * The default implementation calls {@link SasFileReader#groupBy(List, List, RowFilter)} with no filter.
+     *
+     * @param keyColumnNames the names of the columns the rows are grouped by, if several columns have the same
+     *                       name, the last of them is used.
+     * @param columnNames    the names of the numeric columns to aggregate.
+     * @return the statistics of the groups in the order of their first rows.
+     * @throws IOException              if reading the file is impossible.
+     * @throws IllegalArgumentException if a column is not in the file or an aggregated column is not numeric.
+     */
+    default List<GroupStatistics> groupBy(List<String> keyColumnNames, List<String> columnNames) throws IOException {
+        return groupBy(keyColumnNames, columnNames, null);
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the groups of the rows following the current row that
+     * pass the filter, see {@link SasFileReader#groupBy(List, List)}.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param keyColumnNames the names of the columns the rows are grouped by.
+     * @param columnNames    the names of the numeric columns to aggregate.
+     * @param filter         the condition the aggregated rows must meet, null if all rows are aggregated.
+     * @return the statistics of the groups in the order of their first rows.
+     * @throws IOException              if reading the file is impossible.
+     * @throws IllegalArgumentException if a column is not in the file or an aggregated column is not numeric.
+     */
+    default List<GroupStatistics> groupBy(List<String> keyColumnNames, List<String> columnNames,
+                                          RowFilter filter) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a cursor over the rows following the current row. The accessors of the cursor decode the cells
+     * of the current row from the page storing it, so reading numeric cells does not create objects, see
+     * {@link RowCursor}. Moving the cursor moves the reader, so {@link SasFileReader#getRowOffset()} counts the rows
+     * read by the cursor.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return the cursor.
+     */
+    default RowCursor cursor() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Skips the deleted rows following the current row, so the next call of {@link SasFileReader#readNext()}
+     * returns a row that is not deleted. The deleted rows are found by the bitmap of their page without
+     * being read, and are counted the same way as {@link SasFileReader#getRowOffset()} counts them.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return the number of skipped rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    default long skipDeletedRows() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Indexes all pages of the file and writes the index into the page index file. When the file is opened with
+     * {@link com.epam.parso.impl.SasFileParser.Builder#pageIndexFile(Path)}, the rows are found by the index without
+     * reading the pages that precede them. The next row returned by {@link SasFileReader#readNext()} is not changed.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param path the path of the page index file, an existing file is replaced.
+     * @throws IOException if reading the file or writing the index is impossible, or the file is read from
+     *                     an input stream.
+     */
+    default void writePageIndex(Path path) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a sequential stream of the rows following the current row. Deleted rows are skipped. If the file is
+     * read from a random access source and a pool is set with
+     * {@link com.epam.parso.impl.SasFileParser.Builder#forkJoinPool(java.util.concurrent.ForkJoinPool)},
+     * the rows are decoded independently of {@link SasFileReader#readNext()} and the reader is moved to the end
+     * of the file, otherwise the stream reads the rows with {@link SasFileReader#readNext()}. I/O errors are thrown
+     * as {@link java.io.UncheckedIOException}.
+     * The default implementation calls {@link SasFileReader#stream(Projection)} with no projection.
+     *
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Stream<Object[]> stream() {
+        return stream((Projection) null);
+    }
+
+    /**
+     * Returns a sequential stream of the rows following the current row, see {@link SasFileReader#stream()}.
+     * For each row, only the columns defined in the list are read.
+     * The default implementation calls {@link SasFileReader#stream(Projection)}.
+     *
+     * @param columnNames list of column names which should be processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Stream<Object[]> stream(List<String> columnNames) {
+        return stream(new Projection(getColumns(), columnNames));
+    }
+
+    /**
+     * Returns a sequential stream of the rows following the current row, see {@link SasFileReader#stream()}.
+     * For each row, only the columns selected by the projection are read.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Stream<Object[]> stream(Projection projection) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a parallel stream of the rows following the current row, see {@link SasFileReader#stream()}.
+     * If the file is read from a random access source, the stream is split by ranges of pages which are decoded
+     * on different threads. The buffers of the ranges which are not read to the end, for example with
+     * {@link Stream#findFirst()}, are released when the stream is closed.
+     * The default implementation calls {@link SasFileReader#parallelStream(Projection)} with no projection.
+     *
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Stream<Object[]> parallelStream() {
+        return parallelStream((Projection) null);
+    }
+
+    /**
+     * Returns a parallel stream of the rows following the current row, see {@link SasFileReader#parallelStream()}.
+     * For each row, only the columns defined in the list are read.
+     * The default implementation calls {@link SasFileReader#parallelStream(Projection)}.
+     *
+     * @param columnNames list of column names which should be processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Stream<Object[]> parallelStream(List<String> columnNames) {
+        return parallelStream(new Projection(getColumns(), columnNames));
+    }
+
+    /**
+     * Returns a parallel stream of the rows following the current row, see {@link SasFileReader#parallelStream()}.
+     * For each row, only the columns selected by the projection are read.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    default Stream<Object[]> parallelStream(Projection projection) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * The function to get sas file properties.
      *
@@ -86,9 +422,56 @@ public interface SasFileReader {
     SasFileProperties getSasFileProperties();
 
     /**
-     * The function to return the index of the current row when reading the sas7bdat file.
+     * The function to return the index of the current row when reading the sas7bdat file. The index is truncated
+     * to an int for the files with more rows than {@link Integer#MAX_VALUE}, it is kept for compatibility,
+     * see {@link SasFileReader#getRowOffset()}.
      *
      * @return current row index
      */
     Integer getOffset();
+
+    /**
+     * The function to return the index of the current row when reading the sas7bdat file, deleted rows are counted.
+     * The default implementation returns {@link SasFileReader#getOffset()}.
+     *
+     * @return current row index
+     */
+    default long getRowOffset() {
+        return getOffset();
+    }
+
+    /**
+     * Releases the page and row buffers of the reader, they are returned to the {@link BufferPool} of
+     * the {@link MemoryBudget} set for the reader if there is one. The reader is moved to the end of the file,
+     * the buffers are allocated again if a row is sought with {@link SasFileReader#seek(long)}.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     */
+    default void releaseBuffers() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the peak number of bytes of the page and row buffers used at the same time by the reader, the buffers
+     * of the pages decoded in parallel included.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return the number of bytes.
+     */
+    default long getPeakBufferUsage() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Moves to the row with the specified index, the next call of {@link SasFileReader#readNext()} returns this row.
+     * Rows are counted the same way as {@link SasFileReader#getRowOffset()} counts them. The page storing the row is
+     * read directly, the preceding pages are not decoded. If the file is read from an input stream, only the rows
+     * of the current and the following pages can be reached.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param row the index of the row, if it is not less than the number of rows, no more rows are read.
+     * @throws IOException if reading the file is impossible or the row can not be reached.
+     */
+    default void seek(long row) throws IOException {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -3,6 +3,7 @@ package com.epam.parso.date;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import static com.epam.parso.date.OutputDateType.*;
@@ -176,6 +177,79 @@ public class SasTemporalFormatter {
         }
     }
 
+    /**
+     * Create function formatting SAS dates of a column the same way as
+     * {@link #formatSasDate(Double, OutputDateType, String, int, int)} does.
+     * The format of the column is resolved once instead of on every call.
+     *
+     * @param dateFormatType type of output date
+     * @param sasFormatName  date column format name
+     * @param width          date column format width
+     * @param precision      date column format precision
+     * @return function converting days since 1960-01-01 to date representation
+     */
+    public Function<Double, Object> getDateFormatFunction(OutputDateType dateFormatType,
+                                                          String sasFormatName, int width, int precision) {
+        if (dateFormatType == SAS_FORMAT_EXPERIMENTAL || dateFormatType == SAS_FORMAT_TRIM_EXPERIMENTAL) {
+            return sasFormatFunction(SasDateFormat.valueOf(sasFormatName).getFormatFunction(width, precision,
+                    dateFormatType == SAS_FORMAT_TRIM_EXPERIMENTAL), SasTemporalUtils::sasLeapDaysFix);
+        }
+        return sasDays -> formatSasDate(sasDays, dateFormatType, sasFormatName, width, precision);
+    }
+
+    /**
+     * Create function formatting SAS times of a column the same way as
+     * {@link #formatSasTime(Double, OutputDateType, String, int, int)} does.
+     * The format of the column is resolved once instead of on every call.
+     *
+     * @param dateFormatType type of output date
+     * @param sasFormatName  time column format name
+     * @param width          time column format width
+     * @param precision      time column format precision
+     * @return function converting seconds since midnight to time representation
+     */
+    public Function<Double, Object> getTimeFormatFunction(OutputDateType dateFormatType,
+                                                          String sasFormatName, int width, int precision) {
+        if (dateFormatType == SAS_FORMAT_EXPERIMENTAL || dateFormatType == SAS_FORMAT_TRIM_EXPERIMENTAL) {
+            return sasFormatFunction(SasTimeFormat.valueOf(sasFormatName).getFormatFunction(width, precision,
+                    dateFormatType == SAS_FORMAT_TRIM_EXPERIMENTAL), sasSeconds -> sasSeconds);
+        }
+        return sasSeconds -> formatSasTime(sasSeconds, dateFormatType, sasFormatName, width, precision);
+    }
+
+    /**
+     * Create function formatting SAS date-times of a column the same way as
+     * {@link #formatSasDateTime(Double, OutputDateType, String, int, int)} does.
+     * The format of the column is resolved once instead of on every call.
+     *
+     * @param dateFormatType type of output date
+     * @param sasFormatName  date-time column format name
+     * @param width          date-time column format width
+     * @param precision      date-time column format precision
+     * @return function converting seconds since 1960-01-01 to date-time representation
+     */
+    public Function<Double, Object> getDateTimeFormatFunction(OutputDateType dateFormatType,
+                                                              String sasFormatName, int width, int precision) {
+        if (dateFormatType == SAS_FORMAT_EXPERIMENTAL || dateFormatType == SAS_FORMAT_TRIM_EXPERIMENTAL) {
+            return sasFormatFunction(SasDateTimeFormat.valueOf(sasFormatName).getFormatFunction(width, precision,
+                    dateFormatType == SAS_FORMAT_TRIM_EXPERIMENTAL), SasTemporalUtils::sasLeapSecondsFix);
+        }
+        return sasSeconds -> formatSasDateTime(sasSeconds, dateFormatType, sasFormatName, width, precision);
+    }
+
+    /**
+     * Wrap SAS format function to output "." for missing values.
+     *
+     * @param formatFunction SAS format function
+     * @param leapFix        correction of the value applied before formatting
+     * @return format function
+     */
+    private static Function<Double, Object> sasFormatFunction(Function<Double, String> formatFunction,
+                                                              DoubleUnaryOperator leapFix) {
+        return value -> value == null || Double.isNaN(value) ? "."
+                : formatFunction.apply(leapFix.applyAsDouble(value));
+    }
+
     /**
      * Check if the specified SAS format is type of date.
      *
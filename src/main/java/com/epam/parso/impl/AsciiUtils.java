@@ -0,0 +1,95 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The checks of bytes storing ASCII characters, shared by the string decoders of the reader and
+ * {@link com.epam.parso.ByteCharSequence}. The class is public only to be reachable from that class,
+ * it is not a part of the API.
+ */
+public final class AsciiUtils {
+    /**
+     * The greatest value of a byte storing an ASCII character.
+     */
+    private static final int MAX_ASCII = 0x7F;
+
+    /**
+     * The number of ASCII characters.
+     */
+    private static final int ASCII_COUNT = MAX_ASCII + 1;
+
+    /**
+     * The charsets checked by {@link AsciiUtils#isAsciiCompatible(Charset)} and the results of the checks.
+     */
+    private static final Map<Charset, Boolean> ASCII_COMPATIBLE_CHARSETS = new ConcurrentHashMap<>();
+
+    /**
+     * Disable creation of utility instances.
+     */
+    private AsciiUtils() {
+    }
+
+    /**
+     * The function to check if the bytes are ASCII characters.
+     *
+     * @param bytes  the array storing the bytes.
+     * @param offset the offset of the first byte in bytes.
+     * @param length the number of bytes.
+     * @return true if no byte is greater than 0x7F.
+     */
+    public static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The function to check if a charset decodes every byte not greater than 0x7F into the ASCII character with
+     * the same code. The result is computed once for every charset.
+     *
+     * @param charset the charset.
+     * @return true if the charset is compatible with ASCII.
+     */
+    public static boolean isAsciiCompatible(Charset charset) {
+        return ASCII_COMPATIBLE_CHARSETS.computeIfAbsent(charset, c -> {
+            byte[] asciiBytes = new byte[ASCII_COUNT];
+            for (int i = 0; i < ASCII_COUNT; i++) {
+                asciiBytes[i] = (byte) i;
+            }
+            String decoded = new String(asciiBytes, c);
+            if (decoded.length() != ASCII_COUNT) {
+                return false;
+            }
+            for (int i = 0; i < ASCII_COUNT; i++) {
+                if (decoded.charAt(i) != i) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+}
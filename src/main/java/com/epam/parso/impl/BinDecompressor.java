@@ -48,64 +48,72 @@ final class BinDecompressor implements Decompressor {
      * the block length.
      * <p>
      * Based on http://www.drdobbs.com/a-simple-data-compression-technique/184402606?pgno=2
+     * <p>
+     * Only the <code>srcLength</code> bytes of the row are read from <code>page</code>, an exception is thrown
+     * if the compressed data refer to the bytes following them.
      *
      * @param pageoffset   the offset of bytes array in <code>page</code> that contains compressed data.
      * @param srcLength    the length of bytes array that contains compressed data.
      * @param resultLength the length of bytes array that contains decompressed data.
      * @param page         an array of bytes with compressed data.
-     * @return decompressed row
+     * @param outRow       an array to store decompressed row.
+     * @throws ArrayIndexOutOfBoundsException if the compressed data of the row are truncated.
      */
     @Override
-    public byte[] decompressRow(final int pageoffset, final int srcLength, final int resultLength, final byte[] page) {
-
-        byte[] srcRow = Arrays.copyOfRange(page, pageoffset, srcLength + pageoffset);
-        byte[] outRow = new byte[resultLength];
-        int srcOffset = 0;
+    public void decompressRow(final int pageoffset, final int srcLength, final int resultLength, final byte[] page,
+                              final byte[] outRow) {
+        final int srcEnd = pageoffset + srcLength;
+        int srcOffset = pageoffset;
         int outOffset = 0;
         int ctrlBits = 0, ctrlMask = 0;
-        while (srcOffset < srcLength) {
+        while (srcOffset < srcEnd) {
 
             ctrlMask >>= 1;
             if (ctrlMask == 0) {
-                ctrlBits = (((srcRow[srcOffset]) & 0xff) << 8) | (srcRow[srcOffset + 1] & 0xff);
+                checkSourceBytes(srcOffset, 2, srcEnd);
+                ctrlBits = (((page[srcOffset]) & 0xff) << 8) | (page[srcOffset + 1] & 0xff);
                 srcOffset += 2;
                 ctrlMask = 0x8000;
             }
 
             // just copy this char if control bit is zero
             if ((ctrlBits & ctrlMask) == 0) {
-                outRow[outOffset++] = srcRow[srcOffset++];
+                checkSourceBytes(srcOffset, 1, srcEnd);
+                outRow[outOffset++] = page[srcOffset++];
                 continue;
             }
 
-            // undo the compression code
-            final int cmd = (srcRow[srcOffset] >> 4) & 0x0F;
-            int cnt = srcRow[srcOffset++] & 0x0F;
+            // undo the compression code, every code has one or two bytes of arguments
+            checkSourceBytes(srcOffset, 2, srcEnd);
+            final int cmd = (page[srcOffset] >> 4) & 0x0F;
+            int cnt = page[srcOffset++] & 0x0F;
 
             switch (cmd) {
                 case 0: // short rle
                     cnt += 3;
                     for (int i = 0; i < cnt; i++) {
-                        outRow[outOffset + i] = srcRow[srcOffset];
+                        outRow[outOffset + i] = page[srcOffset];
                     }
                     srcOffset++;
                     outOffset += cnt;
                     break;
 
                 case 1: // long rle
-                    cnt += ((srcRow[srcOffset++] & 0xff) << 4);
+                    checkSourceBytes(srcOffset, 2, srcEnd);
+                    cnt += ((page[srcOffset++] & 0xff) << 4);
                     cnt += 19;
                     for (int i = 0; i < cnt; i++) {
-                        outRow[outOffset + i] = srcRow[srcOffset];
+                        outRow[outOffset + i] = page[srcOffset];
                     }
                     srcOffset++;
                     outOffset += cnt;
                     break;
 
                 case 2: // long pattern
+                    checkSourceBytes(srcOffset, 2, srcEnd);
                     int ofs = cnt + 3;
-                    ofs += ((srcRow[srcOffset++] & 0xff) << 4);
-                    cnt = srcRow[srcOffset++] & 0xff;
+                    ofs += ((page[srcOffset++] & 0xff) << 4);
+                    cnt = page[srcOffset++] & 0xff;
                     cnt += 16;
                     System.arraycopy(outRow, outOffset - ofs, outRow, outOffset, cnt);
                     outOffset += cnt;
@@ -113,12 +121,27 @@ final class BinDecompressor implements Decompressor {
 
                 default: // short pattern
                     ofs = cnt + 3;
-                    ofs += ((srcRow[srcOffset++] & 0xff) << 4);
+                    ofs += ((page[srcOffset++] & 0xff) << 4);
                     System.arraycopy(outRow, outOffset - ofs, outRow, outOffset, cmd);
                     outOffset += cmd;
                     break;
             }
         }
-        return outRow;
+        Arrays.fill(outRow, Math.min(outOffset, resultLength), resultLength, (byte) 0);
+    }
+
+    /**
+     * The method to check that the bytes to read belong to the compressed data of the row.
+     *
+     * @param srcOffset the offset of the first byte to read.
+     * @param count     the number of bytes to read.
+     * @param srcEnd    the offset of the byte following the compressed data of the row.
+     * @throws ArrayIndexOutOfBoundsException if a byte to read follows the compressed data.
+     */
+    private static void checkSourceBytes(int srcOffset, int count, int srcEnd) {
+        if (srcOffset + count > srcEnd) {
+            throw new ArrayIndexOutOfBoundsException("Compressed row data end at " + srcEnd + ", byte "
+                    + (srcOffset + count - 1) + " is read");
+        }
     }
 }
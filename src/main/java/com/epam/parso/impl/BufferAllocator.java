@@ -0,0 +1,112 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.BufferPool;
+import com.epam.parso.MemoryBudget;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The allocator of the page and row buffers of a parser and of the parsers forked from it, see
+ * {@link SasFileParser#fork()}. The buffers are taken from the {@link BufferPool} of the {@link MemoryBudget}
+ * if there is one, and the allocator counts the bytes of the buffers in use to report their peak. The limit
+ * of the budget bounds the memory used optionally, see {@link BufferAllocator#fit(long, int)}, the buffers a parser
+ * needs to read a page and a row are always allocated. The allocator is thread-safe.
+ */
+final class BufferAllocator {
+    /**
+     * The pool to take the buffers from, null if buffers are created and left to the garbage collector.
+     */
+    private final BufferPool bufferPool;
+
+    /**
+     * The limit of the memory budget in bytes, {@link Long#MAX_VALUE} if there is no budget.
+     */
+    private final long limit;
+
+    /**
+     * The number of bytes of the buffers in use.
+     */
+    private final AtomicLong usage = new AtomicLong();
+
+    /**
+     * The maximum of {@link BufferAllocator#usage}.
+     */
+    private final AtomicLong peakUsage = new AtomicLong();
+
+    /**
+     * The constructor of the allocator.
+     *
+     * @param memoryBudget the memory budget, null if the memory is not limited and the buffers are not pooled.
+     */
+    BufferAllocator(MemoryBudget memoryBudget) {
+        bufferPool = memoryBudget == null ? null : memoryBudget.getBufferPool();
+        limit = memoryBudget == null ? Long.MAX_VALUE : memoryBudget.getLimit();
+    }
+
+    /**
+     * The function to allocate a buffer.
+     *
+     * @param length the length of the buffer.
+     * @return the buffer, its content is not cleared if it is taken from the pool.
+     */
+    byte[] allocate(int length) {
+        peakUsage.accumulateAndGet(usage.addAndGet(length), Math::max);
+        return bufferPool == null ? new byte[length] : bufferPool.acquire(length);
+    }
+
+    /**
+     * The method to release a buffer allocated by {@link BufferAllocator#allocate(int)}, the buffer is returned
+     * to the pool. The buffer must not be used after it is released.
+     *
+     * @param buffer the buffer, null is ignored.
+     */
+    void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        usage.addAndGet(-buffer.length);
+        if (bufferPool != null) {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * The function to get the peak number of bytes of the buffers in use.
+     *
+     * @return the number of bytes.
+     */
+    long getPeakUsage() {
+        return peakUsage.get();
+    }
+
+    /**
+     * The function to get the number of units of the specified size, like rows or pages, that fit into the limit
+     * of the memory budget, at least one unit fits.
+     *
+     * @param unitSize the size of a unit in bytes.
+     * @param maxUnits the maximum number of units to return.
+     * @return the number of units.
+     */
+    int fit(long unitSize, int maxUnits) {
+        return (int) Math.max(1, Math.min(maxUnits, limit / Math.max(unitSize, 1)));
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.CSVDataWriter;
+import com.epam.parso.Column;
+import com.epam.parso.DataWriterUtil;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.Format;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This is a class to export the sas7bdat file data into the CSV format for large files. The output is the same
+ * as the output of {@link CSVDataWriterImpl}, but the values are quoted straight into an internal buffer which is
+ * passed to the writer only when it is full or {@link #flush()} is called, the writer is not flushed after every
+ * row. The data remaining in the buffer must be output by calling {@link #flush()} after the last row.
+ */
+public class BufferedCSVDataWriterImpl extends AbstractCSVWriter implements CSVDataWriter, Flushable {
+    /**
+     * The default size of the buffer in characters.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The map to store (@link Column#id) column identifier and the formatter
+     * for converting locale-sensitive values stored in this column into string.
+     */
+    private final Map<Integer, Format> columnFormatters = new HashMap<>();
+
+    /**
+     * The buffer of the characters not passed to the writer yet.
+     */
+    private final char[] buffer;
+
+    /**
+     * The number of characters in the buffer.
+     */
+    private int bufferLength;
+
+    /**
+     * The constructor that defines writer variable to output result csv file.
+     *
+     * @param writer the writer which is used to output csv file.
+     */
+    public BufferedCSVDataWriterImpl(Writer writer) {
+        super(writer);
+        buffer = new char[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * The constructor that defines writer variable to output result csv file with selected delimiter,
+     * endline and locale.
+     *
+     * @param writer    the writer which is used to output csv file.
+     * @param delimiter separator used in csv file.
+     * @param endline   symbols used in csv file as endline.
+     * @param locale    locale used for dates in csv file.
+     */
+    public BufferedCSVDataWriterImpl(Writer writer, String delimiter, String endline, Locale locale) {
+        this(writer, delimiter, endline, locale, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * The constructor that defines writer variable to output result csv file with selected delimiter,
+     * endline, locale and the size of the buffer.
+     *
+     * @param writer     the writer which is used to output csv file.
+     * @param delimiter  separator used in csv file.
+     * @param endline    symbols used in csv file as endline.
+     * @param locale     locale used for dates in csv file.
+     * @param bufferSize the size of the buffer in characters.
+     */
+    public BufferedCSVDataWriterImpl(Writer writer, String delimiter, String endline, Locale locale,
+                                     int bufferSize) {
+        super(writer, delimiter, endline, locale);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        buffer = new char[bufferSize];
+    }
+
+    /**
+     * The method to export a row from sas7bdat file (stored as an object of the {@link SasFileReaderImpl} class)
+     * into the buffer.
+     *
+     * @param columns the {@link Column} class variables list that stores columns description from the sas7bdat file.
+     * @param row     the Objects arrays that stores data from the sas7bdat file.
+     * @throws java.io.IOException appears if the output into writer is impossible.
+     */
+    @Override
+    public void writeRow(List<Column> columns, Object[] row) throws IOException {
+        if (row == null) {
+            return;
+        }
+        for (int currentColumnIndex = 0; currentColumnIndex < columns.size(); currentColumnIndex++) {
+            if (currentColumnIndex != 0) {
+                append(getDelimiter());
+            }
+            appendQuoted(DataWriterUtil.getValue(columns.get(currentColumnIndex), row[currentColumnIndex],
+                    getLocale(), columnFormatters));
+        }
+        append(getEndline());
+    }
+
+    /**
+     * The method to export a parsed sas7bdat file (stored as an object of the {@link SasFileReaderImpl} class)
+     * into the buffer.
+     *
+     * @param columns the {@link Column} class variables list that stores columns description from the sas7bdat file.
+     * @param rows    the Objects arrays array that stores data from the sas7bdat file.
+     * @throws java.io.IOException appears if the output into writer is impossible.
+     */
+    @Override
+    public void writeRowsArray(List<Column> columns, Object[][] rows) throws IOException {
+        for (Object[] currentRow : rows) {
+            if (currentRow == null) {
+                break;
+            }
+            writeRow(columns, currentRow);
+        }
+    }
+
+    /**
+     * The method to output the column names using the delimiter into the buffer.
+     *
+     * @param columns the list of column names.
+     * @throws IOException appears if the output into writer is impossible.
+     */
+    @Override
+    public void writeColumnNames(List<Column> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i != 0) {
+                append(getDelimiter());
+            }
+            appendQuoted(columns.get(i).getName());
+        }
+        append(getEndline());
+    }
+
+    /**
+     * The method to pass the buffered characters to the writer and flush it.
+     *
+     * @throws IOException appears if the output into writer is impossible.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        getWriter().flush();
+    }
+
+    /**
+     * The method to pass the buffered characters to the writer without flushing it.
+     *
+     * @throws IOException appears if the output into writer is impossible.
+     */
+    private void flushBuffer() throws IOException {
+        if (bufferLength > 0) {
+            getWriter().write(buffer, 0, bufferLength);
+            bufferLength = 0;
+        }
+    }
+
+    /**
+     * The method to add a text to the buffer as is.
+     *
+     * @param text the text.
+     * @throws IOException appears if the output into writer is impossible.
+     */
+    private void append(String text) throws IOException {
+        int length = text.length();
+        int position = 0;
+        while (position < length) {
+            if (bufferLength == buffer.length) {
+                flushBuffer();
+            }
+            int count = Math.min(length - position, buffer.length - bufferLength);
+            text.getChars(position, position + count, buffer, bufferLength);
+            bufferLength += count;
+            position += count;
+        }
+    }
+
+    /**
+     * The method to add a character to the buffer.
+     *
+     * @param c the character.
+     * @throws IOException appears if the output into writer is impossible.
+     */
+    private void append(char c) throws IOException {
+        if (bufferLength == buffer.length) {
+            flushBuffer();
+        }
+        buffer[bufferLength++] = c;
+    }
+
+    /**
+     * The method to add a value to the buffer. If the value contains the delimiter, line breaks, tabulation
+     * characters, or double quotes, it is stropped and its double quotes are doubled, in the same way as
+     * {@link AbstractCSVWriter#checkSurroundByQuotes(String, String)} does.
+     *
+     * @param value the value.
+     * @throws IOException appears if the output into writer is impossible.
+     */
+    private void appendQuoted(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    /**
+     * The function to check if a value must be stropped.
+     *
+     * @param value the value.
+     * @return true if the value is not empty and contains the delimiter, line breaks, tabulation characters,
+     * or double quotes.
+     */
+    private boolean needsQuotes(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\n' || c == '\r' || c == '\t') {
+                return true;
+            }
+        }
+        return value.contains(getDelimiter());
+    }
+}
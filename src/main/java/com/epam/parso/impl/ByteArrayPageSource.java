@@ -0,0 +1,78 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.PageSource;
+
+/**
+ * A random access {@link PageSource} reading the sas7bdat file that is fully loaded into a byte array.
+ */
+public final class ByteArrayPageSource implements PageSource {
+    /**
+     * The content of the sas7bdat file.
+     */
+    private final byte[] data;
+
+    /**
+     * The constructor that defines the content of the sas7bdat file. The array is not copied.
+     *
+     * @param data the content of the sas7bdat file.
+     */
+    public ByteArrayPageSource(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * The function to copy bytes of the sas7bdat file starting from the specified position into the buffer.
+     * Fewer bytes than requested are copied only if the end of the file is reached.
+     *
+     * @param position the position in the file of the first byte to copy.
+     * @param buffer   the buffer to copy bytes into.
+     * @param offset   the offset in the buffer of the first copied byte.
+     * @param length   the number of bytes to copy.
+     * @return the number of copied bytes, -1 if the position is at or after the end of the file.
+     */
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) {
+        if (position >= data.length) {
+            return -1;
+        }
+        int totalBytes = (int) Math.min(length, data.length - position);
+        System.arraycopy(data, (int) position, buffer, offset, totalBytes);
+        return totalBytes;
+    }
+
+    /**
+     * The function to check if the source can be read at arbitrary positions.
+     *
+     * @return true, the array can be read at any position.
+     */
+    @Override
+    public boolean isRandomAccess() {
+        return true;
+    }
+
+    /**
+     * The array does not hold any resources, so there is nothing to close.
+     */
+    @Override
+    public void close() {
+    }
+}
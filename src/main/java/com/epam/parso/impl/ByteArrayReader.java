@@ -0,0 +1,152 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import java.util.BitSet;
+
+import static com.epam.parso.impl.SasFileConstants.BYTES_IN_DOUBLE;
+
+/**
+ * Utility methods to read numbers in the byte order of a sas7bdat file straight from an array of bytes,
+ * without copying the bytes or wrapping them into a {@link java.nio.ByteBuffer}.
+ */
+final class ByteArrayReader {
+    /**
+     * The number of bits in a byte.
+     */
+    private static final int BITS_IN_BYTE = 8;
+
+    /**
+     * The mask of the bits of a byte.
+     */
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * Disable creation of utility instances.
+     */
+    private ByteArrayReader() {
+    }
+
+    /**
+     * The function to read a number stored in one or two bytes.
+     *
+     * @param source       the array of bytes storing the number.
+     * @param offset       the offset of the number in source.
+     * @param length       the length of the number in bytes, 1 or 2.
+     * @param littleEndian true if the number is stored in the little-endian byte order.
+     * @return the number.
+     */
+    static int readShort(byte[] source, int offset, int length, boolean littleEndian) {
+        if (length == 1) {
+            return source[offset];
+        }
+        return littleEndian ? (short) ((source[offset + 1] << BITS_IN_BYTE) | (source[offset] & BYTE_MASK))
+                : (short) ((source[offset] << BITS_IN_BYTE) | (source[offset + 1] & BYTE_MASK));
+    }
+
+    /**
+     * The function to read a number stored in four bytes.
+     *
+     * @param source       the array of bytes storing the number.
+     * @param offset       the offset of the number in source.
+     * @param littleEndian true if the number is stored in the little-endian byte order.
+     * @return the number.
+     */
+    static int readInt(byte[] source, int offset, boolean littleEndian) {
+        if (littleEndian) {
+            return (source[offset + 3] << 24) | ((source[offset + 2] & BYTE_MASK) << 16)
+                    | ((source[offset + 1] & BYTE_MASK) << BITS_IN_BYTE) | (source[offset] & BYTE_MASK);
+        }
+        return (source[offset] << 24) | ((source[offset + 1] & BYTE_MASK) << 16)
+                | ((source[offset + 2] & BYTE_MASK) << BITS_IN_BYTE) | (source[offset + 3] & BYTE_MASK);
+    }
+
+    /**
+     * The function to read a number stored in eight bytes.
+     *
+     * @param source       the array of bytes storing the number.
+     * @param offset       the offset of the number in source.
+     * @param littleEndian true if the number is stored in the little-endian byte order.
+     * @return the number.
+     */
+    static long readLong(byte[] source, int offset, boolean littleEndian) {
+        long high = readInt(source, littleEndian ? offset + 4 : offset, littleEndian);
+        long low = readInt(source, littleEndian ? offset : offset + 4, littleEndian) & 0xFFFFFFFFL;
+        return (high << Integer.SIZE) | low;
+    }
+
+    /**
+     * The function to read a double number that can be truncated to less than eight bytes, the missing
+     * least significant bytes are zeros. Only the first eight bytes of a longer number are read.
+     *
+     * @param source       the array of bytes storing the number.
+     * @param offset       the offset of the number in source.
+     * @param length       the length of the number in bytes.
+     * @param littleEndian true if the number is stored in the little-endian byte order.
+     * @return the number.
+     */
+    static double readDouble(byte[] source, int offset, int length, boolean littleEndian) {
+        int size = Math.min(length, BYTES_IN_DOUBLE);
+        long bits = 0;
+        for (int i = 0; i < size; i++) {
+            bits = (bits << BITS_IN_BYTE) | (source[littleEndian ? offset + size - 1 - i : offset + i] & BYTE_MASK);
+        }
+        return Double.longBitsToDouble(bits << (BITS_IN_BYTE * (BYTES_IN_DOUBLE - size)));
+    }
+
+    /**
+     * The function to get the length of a string without the trailing spaces, tabulation and null characters,
+     * which do not contain useful information.
+     *
+     * @param source the array of bytes storing the string.
+     * @param offset the offset of the string in source.
+     * @param length the length of the string in bytes.
+     * @return the length of the trimmed string, 0 if the string consists of excess symbols only.
+     */
+    static int trimmedLength(byte[] source, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && (source[end - 1] == ' ' || source[end - 1] == '\0' || source[end - 1] == '\t')) {
+            end--;
+        }
+        return end - offset;
+    }
+
+    /**
+     * The function to read a bitmap whose bits are stored from the most significant bit of every byte.
+     *
+     * @param source   the array of bytes storing the bitmap.
+     * @param offset   the offset of the bitmap in source.
+     * @param bitCount the number of bits to read, the bits following the end of source are not set.
+     * @return the set bits of the bitmap by their index.
+     */
+    static BitSet readBitmap(byte[] source, int offset, int bitCount) {
+        BitSet bitmap = new BitSet(bitCount);
+        int end = (int) Math.min(offset + ((long) bitCount + BITS_IN_BYTE - 1) / BITS_IN_BYTE, source.length);
+        for (int i = offset; i < end; i++) {
+            int bits = source[i] & BYTE_MASK;
+            while (bits != 0) {
+                int bit = Integer.numberOfLeadingZeros(bits) - (Integer.SIZE - BITS_IN_BYTE);
+                bitmap.set((i - offset) * BITS_IN_BYTE + bit);
+                bits &= ~(1 << (BITS_IN_BYTE - 1 - bit));
+            }
+        }
+        return bitmap;
+    }
+}
@@ -22,6 +22,8 @@ package com.epam.parso.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 /**
  * Implementation of the CHAR compression algorithm which corresponds to the literal "SASYZCRL".
  * Refer the documentation for further details.
@@ -52,11 +54,10 @@ final class CharDecompressor implements Decompressor {
      * @param length       the length of bytes array that contains compressed data.
      * @param resultLength the length of bytes array that contains decompressed data.
      * @param page         an array of bytes with compressed data.
-     * @return an array of bytes with decompressed data.
+     * @param result       an array to store decompressed data.
      */
     @Override
-    public byte[] decompressRow(int offset, int length, int resultLength, byte[] page) {
-        byte[] resultByteArray = new byte[resultLength];
+    public void decompressRow(int offset, int length, int resultLength, byte[] page, byte[] result) {
         int currentResultArrayIndex = 0;
         int currentByteIndex = 0;
         while (currentByteIndex < length) {
@@ -71,7 +72,7 @@ final class CharDecompressor implements Decompressor {
                     if (currentByteIndex != length - 1) {
                         countOfBytesToCopy = (page[offset + currentByteIndex + 1] & 0xFF) + 64
                            + page[offset + currentByteIndex] * 256;
-                        System.arraycopy(page, offset + currentByteIndex + 2, resultByteArray,
+                        System.arraycopy(page, offset + currentByteIndex + 2, result,
                                 currentResultArrayIndex, countOfBytesToCopy);
                         currentByteIndex += countOfBytesToCopy + 1;
                         currentResultArrayIndex += countOfBytesToCopy;
@@ -80,25 +81,25 @@ final class CharDecompressor implements Decompressor {
                 case 0x40:
                     int copyCounter = endOfFirstByte * 16 + (page[offset + currentByteIndex + 1] & 0xFF);
                     for (int i = 0; i < copyCounter + 18; i++) {
-                        resultByteArray[currentResultArrayIndex++] = page[offset + currentByteIndex + 2];
+                        result[currentResultArrayIndex++] = page[offset + currentByteIndex + 2];
                     }
                     currentByteIndex += 2;
                     break;
                 case 0x50:
                     for (int i = 0; i < endOfFirstByte * 256 + (page[offset + currentByteIndex + 1] & 0xFF) + 17; i++) {
-                        resultByteArray[currentResultArrayIndex++] = 0x40;
+                        result[currentResultArrayIndex++] = 0x40;
                     }
                     currentByteIndex++;
                     break;
                 case 0x60:
                     for (int i = 0; i < endOfFirstByte * 256 + (page[offset + currentByteIndex + 1] & 0xFF) + 17; i++) {
-                        resultByteArray[currentResultArrayIndex++] = 0x20;
+                        result[currentResultArrayIndex++] = 0x20;
                     }
                     currentByteIndex++;
                     break;
                 case 0x70:
                     for (int i = 0; i < endOfFirstByte * 256 + (page[offset + currentByteIndex + 1] & 0xFF) + 17; i++) {
-                        resultByteArray[currentResultArrayIndex++] = 0x00;
+                        result[currentResultArrayIndex++] = 0x00;
                     }
                     currentByteIndex++;
                     break;
@@ -108,30 +109,30 @@ final class CharDecompressor implements Decompressor {
                 case 0xB0:
                     countOfBytesToCopy = Math.min(endOfFirstByte + 1 + (controlByte - 0x80),
                             length - (currentByteIndex + 1));
-                    System.arraycopy(page, offset + currentByteIndex + 1, resultByteArray,
+                    System.arraycopy(page, offset + currentByteIndex + 1, result,
                             currentResultArrayIndex, countOfBytesToCopy);
                     currentByteIndex += countOfBytesToCopy;
                     currentResultArrayIndex += countOfBytesToCopy;
                     break;
                 case 0xC0:
                     for (int i = 0; i < endOfFirstByte + 3; i++) {
-                        resultByteArray[currentResultArrayIndex++] = page[offset + currentByteIndex + 1];
+                        result[currentResultArrayIndex++] = page[offset + currentByteIndex + 1];
                     }
                     currentByteIndex++;
                     break;
                 case 0xD0:
                     for (int i = 0; i < endOfFirstByte + 2; i++) {
-                        resultByteArray[currentResultArrayIndex++] = 0x40;
+                        result[currentResultArrayIndex++] = 0x40;
                     }
                     break;
                 case 0xE0:
                     for (int i = 0; i < endOfFirstByte + 2; i++) {
-                        resultByteArray[currentResultArrayIndex++] = 0x20;
+                        result[currentResultArrayIndex++] = 0x20;
                     }
                     break;
                 case 0xF0:
                     for (int i = 0; i < endOfFirstByte + 2; i++) {
-                        resultByteArray[currentResultArrayIndex++] = 0x00;
+                        result[currentResultArrayIndex++] = 0x00;
                     }
                     break;
                 default:
@@ -140,8 +141,7 @@ final class CharDecompressor implements Decompressor {
             }
             currentByteIndex++;
         }
-
-        return resultByteArray;
+        Arrays.fill(result, Math.min(currentResultArrayIndex, resultLength), resultLength, (byte) 0);
     }
 
 }
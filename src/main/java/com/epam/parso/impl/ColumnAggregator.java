@@ -0,0 +1,384 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Column;
+import com.epam.parso.ColumnStatistics;
+import com.epam.parso.GroupStatistics;
+import com.epam.parso.RowFilter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A class to compute the {@link ColumnStatistics} of numeric columns of the rows following the current row, either
+ * of all rows or of the groups of rows with the same cells in the key columns. The cells are read from the bytes
+ * of the rows into the primitive fields of the statistics without being converted into objects, the rows are
+ * grouped by the bytes of their key cells in a {@link GroupTable}. If the page source of the parser is random
+ * access and a pool is set with {@link SasFileParser.Builder#forkJoinPool(ForkJoinPool)}, all pages are indexed
+ * and split into ranges, every range is aggregated in the pool into its own table by a parser forked from
+ * the parent {@link SasFileParser}, and the tables of the ranges are merged in the file order. The number of pages
+ * per task and of the tasks submitted ahead are bounded by the memory budget of the parser, see
+ * {@link BufferAllocator#fit(long, int)}. Otherwise, the rows are aggregated one by one on the calling thread.
+ */
+final class ColumnAggregator {
+    /**
+     * The approximate number of bytes of pages aggregated by one task.
+     */
+    private static final int TASK_SIZE_IN_BYTES = 1 << 20;
+
+    /**
+     * The maximum number of tasks submitted per thread of the pool before their tables are merged.
+     */
+    private static final int TASKS_PER_THREAD = 2;
+
+    /**
+     * The parser which has read the metadata of the file.
+     */
+    private final SasFileParser parser;
+
+    /**
+     * The names of the aggregated columns.
+     */
+    private final String[] columnNames;
+
+    /**
+     * The offsets of the aggregated columns in a row, -1 for the columns with no data whose cells are null.
+     */
+    private final int[] offsets;
+
+    /**
+     * The lengths of the aggregated columns.
+     */
+    private final int[] lengths;
+
+    /**
+     * The offsets of the key columns in a row, -1 for the columns with no data whose cells are null.
+     */
+    private final int[] keyOffsets;
+
+    /**
+     * The lengths of the key columns.
+     */
+    private final int[] keyLengths;
+
+    /**
+     * True for the numeric key columns.
+     */
+    private final boolean[] numericKeys;
+
+    /**
+     * True if the file stores numbers in the little-endian byte order.
+     */
+    private final boolean littleEndian;
+
+    /**
+     * The condition the aggregated rows must meet, null if all rows are aggregated.
+     */
+    private final RowFilter filter;
+
+    /**
+     * The constructor that resolves the key and the aggregated columns. If several columns have the same name,
+     * the last of them is used.
+     *
+     * @param parser         the parser which has read the metadata of the file.
+     * @param keyColumnNames the names of the columns the rows are grouped by, empty if the rows are not grouped.
+     * @param columnNames    the names of the numeric columns to aggregate.
+     * @param filter         the condition the aggregated rows must meet, null if all rows are aggregated.
+     * @throws IllegalArgumentException if a column is not in the file or an aggregated column is not numeric.
+     */
+    ColumnAggregator(SasFileParser parser, List<String> keyColumnNames, List<String> columnNames,
+                     RowFilter filter) {
+        this.parser = parser;
+        this.filter = filter;
+        List<Column> columns = parser.getColumns();
+        ColumnLayout layout = parser.getConversionPlan().getLayout();
+        Map<String, Integer> indexesByName = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexesByName.put(columns.get(i).getName(), i);
+        }
+        int dataColumnCount = 0;
+        while (dataColumnCount < Math.min(columns.size(), layout.size())
+                && layout.getLength(dataColumnCount) != 0) {
+            dataColumnCount++;
+        }
+        keyOffsets = new int[keyColumnNames.size()];
+        keyLengths = new int[keyColumnNames.size()];
+        numericKeys = new boolean[keyColumnNames.size()];
+        for (int i = 0; i < keyOffsets.length; i++) {
+            int index = findColumn(indexesByName, keyColumnNames.get(i));
+            keyOffsets[i] = index < dataColumnCount ? (int) layout.getOffset(index) : -1;
+            keyLengths[i] = layout.getLength(index);
+            numericKeys[i] = columns.get(index).getType() == Number.class;
+        }
+        this.columnNames = columnNames.toArray(new String[0]);
+        offsets = new int[this.columnNames.length];
+        lengths = new int[this.columnNames.length];
+        for (int i = 0; i < this.columnNames.length; i++) {
+            int index = findColumn(indexesByName, this.columnNames[i]);
+            if (columns.get(index).getType() != Number.class) {
+                throw new IllegalArgumentException("The column " + this.columnNames[i] + " is not numeric");
+            }
+            offsets[i] = index < dataColumnCount ? (int) layout.getOffset(index) : -1;
+            lengths[i] = layout.getLength(index);
+        }
+        littleEndian = parser.getSasFileProperties().getEndianness() == 1;
+    }
+
+    /**
+     * The function to aggregate all rows following the current row without grouping them, the parser is moved
+     * to the end of the file. Deleted rows are skipped.
+     *
+     * @return the statistics of the columns in the order of their names.
+     * @throws IOException if reading from the page source is impossible.
+     */
+    List<ColumnStatistics> aggregate() throws IOException {
+        GroupTable table = aggregateTable();
+        if (table.size() > 0) {
+            return Collections.unmodifiableList(Arrays.asList(table.getStatistics(0)));
+        }
+        List<ColumnStatistics> statistics = new ArrayList<>(columnNames.length);
+        for (String columnName : columnNames) {
+            statistics.add(new ColumnStatistics(columnName));
+        }
+        return Collections.unmodifiableList(statistics);
+    }
+
+    /**
+     * The function to aggregate the groups of the rows following the current row, the parser is moved to the end
+     * of the file. Deleted rows are skipped. The groups whose keys are decoded into the same cells are merged.
+     *
+     * @return the statistics of the groups in the order of their first rows.
+     * @throws IOException if reading from the page source is impossible or the encoding of the character key
+     *                     columns is not supported.
+     */
+    List<GroupStatistics> groupBy() throws IOException {
+        GroupTable table = aggregateTable();
+        StringDecoder stringDecoder = null;
+        for (boolean numericKey : numericKeys) {
+            if (!numericKey && table.size() > 0) {
+                stringDecoder = new StringDecoder(parser.getConversionPlan().getEncoding());
+                break;
+            }
+        }
+        // the keys of several groups can be decoded into the same cells if the charset maps several sequences
+        // of bytes to one character
+        Map<List<Object>, Integer> groupsByKey = new LinkedHashMap<>();
+        long[] rowCounts = new long[table.size()];
+        for (int group = 0; group < table.size(); group++) {
+            rowCounts[group] = table.getRowCount(group);
+            Integer firstGroup = groupsByKey.putIfAbsent(table.getKey(group, stringDecoder), group);
+            if (firstGroup != null) {
+                rowCounts[firstGroup] += rowCounts[group];
+                for (int i = 0; i < columnNames.length; i++) {
+                    table.getStatistics(firstGroup)[i].merge(table.getStatistics(group)[i]);
+                }
+            }
+        }
+        List<GroupStatistics> groups = new ArrayList<>(groupsByKey.size());
+        for (Map.Entry<List<Object>, Integer> entry : groupsByKey.entrySet()) {
+            int group = entry.getValue();
+            groups.add(new GroupStatistics(entry.getKey(), rowCounts[group],
+                    Collections.unmodifiableList(Arrays.asList(table.getStatistics(group)))));
+        }
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * The function to aggregate the rows following the current row into a table of groups.
+     *
+     * @return the table of groups, it has one group with the empty key if the rows are not grouped and there are
+     * rows to aggregate.
+     * @throws IOException if reading from the page source is impossible.
+     */
+    private GroupTable aggregateTable() throws IOException {
+        ForkJoinPool forkJoinPool = parser.getParallelPool(false);
+        GroupTable table = createTable();
+        if (forkJoinPool == null) {
+            while (parser.locateNextRow()) {
+                addRow(parser, table);
+            }
+        } else {
+            aggregatePages(forkJoinPool, table);
+        }
+        return table;
+    }
+
+    /**
+     * The method to aggregate the pages following the current row in parallel.
+     *
+     * @param forkJoinPool the pool to aggregate pages in.
+     * @param table        the table to merge the tables of the ranges of pages into.
+     * @throws IOException if reading from the page source is impossible.
+     */
+    private void aggregatePages(ForkJoinPool forkJoinPool, GroupTable table) throws IOException {
+        long rowCount = parser.getSasFileProperties().getRowCount();
+        long firstRow = Math.min(parser.getOffset(), rowCount);
+        PageIndex pageIndex = parser.indexPages();
+        parser.seek(rowCount);
+        long endRow = Math.min(rowCount, pageIndex.getIndexedRowCount());
+        if (firstRow >= endRow) {
+            return;
+        }
+        int pageLength = parser.getSasFileProperties().getPageLength();
+        BufferAllocator bufferAllocator = parser.getBufferAllocator();
+        int pagesPerTask = bufferAllocator.fit(pageLength, Math.max(1, TASK_SIZE_IN_BYTES / pageLength));
+        int maxPendingTasks = bufferAllocator.fit((long) pageLength * pagesPerTask,
+                forkJoinPool.getParallelism() * TASKS_PER_THREAD);
+        int endPage = pageIndex.findPage(endRow - 1) + 1;
+        Deque<ForkJoinTask<GroupTable>> tasks = new ArrayDeque<>();
+        try {
+            int page = pageIndex.findPage(firstRow);
+            while (page < endPage || !tasks.isEmpty()) {
+                while (page < endPage && tasks.size() < maxPendingTasks) {
+                    int firstPage = page;
+                    int lastPage = Math.min(page + pagesPerTask, endPage);
+                    tasks.addLast(forkJoinPool.submit(() -> aggregatePages(parser.fork(), pageIndex, firstPage,
+                            lastPage, firstRow, endRow)));
+                    page = lastPage;
+                }
+                table.merge(join(tasks.removeFirst()));
+            }
+        } finally {
+            for (ForkJoinTask<GroupTable> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * The function to aggregate the rows of the pages in the specified range that are in the specified range
+     * of rows.
+     *
+     * @param pageParser the parser forked to read the pages, its buffers are released.
+     * @param pageIndex  the index of all pages of the file.
+     * @param firstPage  the index of the first page to aggregate.
+     * @param endPage    the index of the page following the last page to aggregate.
+     * @param firstRow   the index of the first row to aggregate.
+     * @param endRow     the index of the row following the last row to aggregate.
+     * @return the table of the groups of the rows.
+     * @throws IOException if reading from the page source is impossible.
+     */
+    private GroupTable aggregatePages(SasFileParser pageParser, PageIndex pageIndex, int firstPage, int endPage,
+                                      long firstRow, long endRow) throws IOException {
+        GroupTable table = createTable();
+        try {
+            for (int page = firstPage; page < endPage; page++) {
+                long pageFirstRow = pageIndex.getFirstRow(page);
+                int firstRowOnPage = (int) Math.max(0, firstRow - pageFirstRow);
+                int endRowOnPage = (int) Math.min(pageIndex.getRowCount(page), endRow - pageFirstRow);
+                for (int rowOnPage = firstRowOnPage; rowOnPage < endRowOnPage; rowOnPage++) {
+                    if (pageParser.locateRow(page, rowOnPage)) {
+                        addRow(pageParser, table);
+                    }
+                }
+            }
+        } finally {
+            pageParser.releaseBuffers();
+        }
+        return table;
+    }
+
+    /**
+     * The method to add the row found by the parser to its group if the row meets the filter.
+     *
+     * @param rowParser the parser which has found the row.
+     * @param table     the table of the groups.
+     * @throws IOException if the encoding of the character columns of the filter is not supported.
+     */
+    private void addRow(SasFileParser rowParser, GroupTable table) throws IOException {
+        byte[] source = rowParser.getCurrentRowSource();
+        int rowOffset = rowParser.getCurrentRowOffset();
+        if (!rowParser.getConversionPlan().matches(filter, source, rowOffset)) {
+            return;
+        }
+        ColumnStatistics[] statistics = table.addRow(source, rowOffset);
+        for (int i = 0; i < statistics.length; i++) {
+            if (offsets[i] < 0) {
+                statistics[i].addNull();
+            } else {
+                statistics[i].add(RowFilterPlan.readNumber(source, rowOffset + offsets[i], lengths[i], littleEndian));
+            }
+        }
+    }
+
+    /**
+     * The function to create the empty table of the groups.
+     *
+     * @return the table.
+     */
+    private GroupTable createTable() {
+        return new GroupTable(keyOffsets, keyLengths, numericKeys, littleEndian, columnNames);
+    }
+
+    /**
+     * The function to find the index of a column by its name.
+     *
+     * @param indexesByName the indexes of the columns by their names.
+     * @param columnName    the name of the column.
+     * @return the index of the column.
+     * @throws IllegalArgumentException if there is no column with the name.
+     */
+    private static int findColumn(Map<String, Integer> indexesByName, String columnName) {
+        Integer index = indexesByName.get(columnName);
+        if (index == null) {
+            throw new IllegalArgumentException("There is no column " + columnName + " in the file");
+        }
+        return index;
+    }
+
+    /**
+     * The function to wait for the task to complete and to get its result. A worker thread of a pool joins the task
+     * with {@link ForkJoinTask#get()}, so it runs other tasks while it waits instead of blocking the pool.
+     *
+     * @param task the task aggregating a range of pages.
+     * @return the table of the groups of the range.
+     * @throws IOException if the task failed to read the pages.
+     */
+    private static GroupTable join(ForkJoinTask<GroupTable> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new IOException(cause);
+            }
+        }
+    }
+}
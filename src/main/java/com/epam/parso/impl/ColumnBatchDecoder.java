@@ -0,0 +1,112 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Column;
+import com.epam.parso.ColumnBatch;
+
+import java.util.List;
+
+import static com.epam.parso.impl.SasFileConstants.NAN_EPSILON;
+
+/**
+ * The class to decode rows of a sas7bdat file into a {@link ColumnBatch}. The layout of every column is resolved
+ * once, cells are read straight from the bytes of the row with the same rules as
+ * {@link SasFileParser#readNext(List)} uses, but without creating objects.
+ */
+final class ColumnBatchDecoder {
+    /**
+     * The flags of numeric columns by column index.
+     */
+    private final boolean[] numeric;
+
+    /**
+     * The offsets of the columns in a row by column index.
+     */
+    private final int[] offsets;
+
+    /**
+     * The lengths of the columns by column index.
+     */
+    private final int[] lengths;
+
+    /**
+     * The number of decoded columns, rows are decoded up to the first column with no data.
+     */
+    private final int columnCount;
+
+    /**
+     * True if the file stores numbers in the little-endian byte order.
+     */
+    private final boolean littleEndian;
+
+    /**
+     * The constructor that resolves the layout of the columns.
+     *
+     * @param columns      the columns of the file.
+     * @param layout       the offsets and lengths of the columns in a row.
+     * @param littleEndian true if the file stores numbers in the little-endian byte order.
+     */
+    ColumnBatchDecoder(List<Column> columns, ColumnLayout layout, boolean littleEndian) {
+        int count = Math.min(columns.size(), layout.size());
+        numeric = new boolean[count];
+        offsets = new int[count];
+        lengths = new int[count];
+        int decodedCount = 0;
+        while (decodedCount < count && layout.getLength(decodedCount) != 0) {
+            numeric[decodedCount] = layout.isNumeric(decodedCount);
+            offsets[decodedCount] = (int) layout.getOffset(decodedCount);
+            lengths[decodedCount] = layout.getLength(decodedCount);
+            decodedCount++;
+        }
+        columnCount = decodedCount;
+        this.littleEndian = littleEndian;
+    }
+
+    /**
+     * The method to add the row to the batch.
+     *
+     * @param source the array of bytes storing the row.
+     * @param offset the offset of the row in source.
+     * @param batch  the batch to add the row to.
+     */
+    void decode(byte[] source, int offset, ColumnBatch batch) {
+        int row = batch.addRow();
+        for (int column = 0; column < columnCount; column++) {
+            int start = offset + offsets[column];
+            int length = lengths[column];
+            if (numeric[column]) {
+                if (length <= 2) {
+                    batch.setDouble(column, row, ByteArrayReader.readShort(source, start, length, littleEndian));
+                } else {
+                    double value = ByteArrayReader.readDouble(source, start, length, littleEndian);
+                    if (!Double.isNaN(value) && !(value < NAN_EPSILON && value > 0)) {
+                        batch.setDouble(column, row, value);
+                    }
+                }
+            } else {
+                int trimmedLength = ByteArrayReader.trimmedLength(source, start, length);
+                if (trimmedLength > 0) {
+                    batch.setBytes(column, row, source, start, trimmedLength);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import java.util.Arrays;
+
+/**
+ * The layout of the columns in a row read from the ColumnAttributesSubheader subheaders: the offset (in bytes)
+ * of the data of every column from the beginning of the row, its length (in bytes) and whether it is numeric.
+ * The attributes are stored in primitive arrays indexed by the column index, so files with thousands of columns
+ * do not box them.
+ */
+final class ColumnLayout {
+    /**
+     * The initial number of columns the arrays can store.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The offsets of the columns in a row.
+     */
+    private long[] offsets = new long[INITIAL_CAPACITY];
+
+    /**
+     * The lengths of the columns.
+     */
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    /**
+     * True for the numeric columns, false for the character ones.
+     */
+    private boolean[] numeric = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * The number of columns.
+     */
+    private int size;
+
+    /**
+     * The method to add the attributes of the next column.
+     *
+     * @param offset    the offset of the column in a row.
+     * @param length    the length of the column.
+     * @param isNumeric true if the column is numeric.
+     */
+    void add(long offset, int length, boolean isNumeric) {
+        if (size == lengths.length) {
+            int capacity = size * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            numeric = Arrays.copyOf(numeric, capacity);
+        }
+        offsets[size] = offset;
+        lengths[size] = length;
+        numeric[size] = isNumeric;
+        size++;
+    }
+
+    /**
+     * The function to get the number of columns.
+     *
+     * @return the number of columns.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The function to get the offset of a column in a row.
+     *
+     * @param column the index of the column.
+     * @return the offset of the column.
+     */
+    long getOffset(int column) {
+        return offsets[column];
+    }
+
+    /**
+     * The function to get the length of a column.
+     *
+     * @param column the index of the column.
+     * @return the length of the column, 0 if the column has no data.
+     */
+    int getLength(int column) {
+        return lengths[column];
+    }
+
+    /**
+     * The function to check whether a column is numeric.
+     *
+     * @param column the index of the column.
+     * @return true if the column is numeric, false if it is a character column.
+     */
+    boolean isNumeric(int column) {
+        return numeric[column];
+    }
+}
@@ -0,0 +1,387 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.ByteCharSequence;
+import com.epam.parso.Column;
+import com.epam.parso.ColumnFormat;
+import com.epam.parso.Projection;
+import com.epam.parso.RowFilter;
+import com.epam.parso.date.OutputDateType;
+import com.epam.parso.date.SasTemporalFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.epam.parso.impl.SasFileConstants.EPSILON;
+import static com.epam.parso.impl.SasFileConstants.NAN_EPSILON;
+
+/**
+ * The class to convert cells of rows into objects. The type and the format of every column are resolved once
+ * into a converter, so converting a cell is a call of the converter of its column. Rows can be checked against
+ * filters before they are converted, see {@link RowFilterPlan}. The plan is bound to
+ * the metadata it was created from and is not thread-safe.
+ */
+final class ConversionPlan {
+    /**
+     * Object for writing logs.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConversionPlan.class);
+
+    /**
+     * The formatter of the date, time and datetime columns, it is not shared with other plans.
+     */
+    private final SasTemporalFormatter sasTemporalFormatter = new SasTemporalFormatter();
+
+    /**
+     * The converters of the columns by column index.
+     */
+    private final ColumnConverter[] converters;
+
+    /**
+     * The offsets of the columns in a row by column index.
+     */
+    private final int[] offsets;
+
+    /**
+     * The columns of the file.
+     */
+    private final List<Column> columns;
+
+    /**
+     * The offsets and lengths of the columns in a row.
+     */
+    private final ColumnLayout layout;
+
+    /**
+     * True if the file stores numbers in the little-endian byte order.
+     */
+    private final boolean littleEndian;
+
+    /**
+     * The encoding of the character columns.
+     */
+    private final String encoding;
+
+    /**
+     * The plan of the filter the rows were last checked against, null if no rows were checked.
+     */
+    private RowFilterPlan rowFilterPlan;
+
+    /**
+     * The constructor that resolves the converters of the columns.
+     *
+     * @param columns            the columns of the file.
+     * @param layout             the offsets and lengths of the columns in a row, rows are converted up to the first
+     *                           column with no data.
+     * @param littleEndian       true if the file stores numbers in the little-endian byte order.
+     * @param encoding           the encoding of the character columns.
+     * @param byteOutput         true if the character columns are converted into arrays of bytes instead of strings.
+     * @param charSequenceOutput true if the character columns are converted into {@link ByteCharSequence} views
+     *                           instead of strings, ignored if byteOutput is true.
+     * @param outputDateType     the representation of the date, time and datetime columns.
+     */
+    ConversionPlan(List<Column> columns, ColumnLayout layout, boolean littleEndian, String encoding,
+                   boolean byteOutput, boolean charSequenceOutput, OutputDateType outputDateType) {
+        ColumnConverter[] columnConverters = new ColumnConverter[layout.size()];
+        offsets = new int[layout.size()];
+        StringDecoder stringDecoder = byteOutput ? null : createStringDecoder(encoding);
+        int count = 0;
+        while (count < layout.size() && layout.getLength(count) != 0) {
+            int length = layout.getLength(count);
+            Column column = columns.get(count);
+            if (column.getType() != Number.class) {
+                if (byteOutput) {
+                    columnConverters[count] = bytesConverter(length);
+                } else if (charSequenceOutput) {
+                    columnConverters[count] = charSequenceConverter(length, stringDecoder);
+                } else {
+                    columnConverters[count] = stringConverter(length, stringDecoder);
+                }
+            } else if (length <= 2) {
+                columnConverters[count] = (source, offset) -> ByteArrayReader.readShort(source, offset, length,
+                        littleEndian);
+            } else {
+                columnConverters[count] = numberConverter(length, littleEndian, column.getFormat(), outputDateType);
+            }
+            offsets[count] = (int) layout.getOffset(count);
+            count++;
+        }
+        converters = Arrays.copyOf(columnConverters, count);
+        this.columns = columns;
+        this.layout = layout;
+        this.littleEndian = littleEndian;
+        this.encoding = encoding;
+    }
+
+    /**
+     * The function to get the number of converted columns.
+     *
+     * @return the number of columns with data.
+     */
+    int getColumnCount() {
+        return converters.length;
+    }
+
+    /**
+     * The function to convert a cell of the row.
+     *
+     * @param column    the index of the column of the cell.
+     * @param source    the array of bytes storing the row.
+     * @param rowOffset the offset of the row in source.
+     * @return object storing the data of the cell.
+     */
+    Object convert(int column, byte[] source, int rowOffset) {
+        return converters[column].convert(source, rowOffset + offsets[column]);
+    }
+
+    /**
+     * The function to convert the array of bytes that stores the data of a row into an array of objects.
+     * Each object corresponds to a table cell.
+     *
+     * @param source       the array of bytes storing the row.
+     * @param rowOffset    the offset of the row in source.
+     * @param projection   the columns which should be processed, if null then all columns are processed.
+     * @param columnsCount the number of columns of the file.
+     * @return the array of objects storing the data of the row.
+     */
+    Object[] convertRow(byte[] source, int rowOffset, Projection projection, int columnsCount) {
+        return convertRow(source, rowOffset, projection, columnsCount, null);
+    }
+
+    /**
+     * The function to convert the array of bytes that stores the data of a row into an array of objects reusing
+     * the array of a previously converted row if its length is the number of processed columns.
+     *
+     * @param source       the array of bytes storing the row.
+     * @param rowOffset    the offset of the row in source.
+     * @param projection   the columns which should be processed, if null then all columns are processed.
+     * @param columnsCount the number of columns of the file.
+     * @param row          the array to store the objects into, can be null.
+     * @return the array of objects storing the data of the row, row if it was reused.
+     */
+    Object[] convertRow(byte[] source, int rowOffset, Projection projection, int columnsCount, Object[] row) {
+        int columnCount = Math.min(columnsCount, converters.length);
+        int length = projection == null ? columnsCount : projection.size();
+        Object[] rowElements = row != null && row.length == length ? row : new Object[length];
+        if (projection == null) {
+            for (int currentColumnIndex = 0; currentColumnIndex < columnCount; currentColumnIndex++) {
+                rowElements[currentColumnIndex] = convert(currentColumnIndex, source, rowOffset);
+            }
+            if (rowElements == row) {
+                Arrays.fill(rowElements, columnCount, length, null);
+            }
+        } else {
+            for (int i = 0; i < rowElements.length; i++) {
+                int currentColumnIndex = projection.getColumnIndex(i);
+                rowElements[i] = currentColumnIndex >= 0 && currentColumnIndex < columnCount
+                        ? convert(currentColumnIndex, source, rowOffset) : null;
+            }
+        }
+        return rowElements;
+    }
+
+    /**
+     * The function to get the offsets and lengths of the columns in a row the plan is created for.
+     *
+     * @return the layout of the columns.
+     */
+    ColumnLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * The function to get the encoding of the character columns.
+     *
+     * @return the encoding.
+     */
+    String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * The function to check a row against a filter without converting the row, see {@link RowFilterPlan}.
+     * The filter is resolved when the plan first checks a row against it and is kept for the following rows.
+     *
+     * @param filter    the filter, if null then every row passes.
+     * @param source    the array of bytes storing the row.
+     * @param rowOffset the offset of the row in source.
+     * @return true if the row passes the filter.
+     * @throws UnsupportedEncodingException if the encoding of the character columns is not supported.
+     */
+    boolean matches(RowFilter filter, byte[] source, int rowOffset) throws UnsupportedEncodingException {
+        if (filter == null) {
+            return true;
+        }
+        if (rowFilterPlan == null || rowFilterPlan.getFilter() != filter) {
+            rowFilterPlan = new RowFilterPlan(filter, columns, layout, littleEndian, encoding);
+        }
+        return rowFilterPlan.test(source, rowOffset);
+    }
+
+    /**
+     * The function to create the converter of a numeric column. Columns with date, time or datetime formats are
+     * converted according to the output date type, the other columns are converted into long or double numbers.
+     *
+     * @param length         the length of the column.
+     * @param littleEndian   true if the file stores numbers in the little-endian byte order.
+     * @param columnFormat   the format of the column.
+     * @param outputDateType the representation of the date, time and datetime columns.
+     * @return the converter.
+     */
+    private ColumnConverter numberConverter(int length, boolean littleEndian, ColumnFormat columnFormat,
+                                            OutputDateType outputDateType) {
+        Function<Double, Object> temporalFunction = temporalFunction(columnFormat, outputDateType);
+        if (temporalFunction != null) {
+            return (source, offset) -> temporalFunction.apply(ByteArrayReader.readDouble(source, offset, length,
+                    littleEndian));
+        }
+        return (source, offset) -> convertNumber(ByteArrayReader.readDouble(source, offset, length, littleEndian));
+    }
+
+    /**
+     * The function to resolve the function formatting the values of a column with a date, time or datetime format.
+     *
+     * @param columnFormat   the format of the column.
+     * @param outputDateType the representation of the date, time and datetime columns.
+     * @return the format function, null if the format of the column is not a date, time or datetime format.
+     */
+    private Function<Double, Object> temporalFunction(ColumnFormat columnFormat, OutputDateType outputDateType) {
+        String name = columnFormat.getName();
+        if (SasTemporalFormatter.isDateTimeFormat(name)) {
+            return sasTemporalFormatter.getDateTimeFormatFunction(outputDateType, name, columnFormat.getWidth(),
+                    columnFormat.getPrecision());
+        } else if (SasTemporalFormatter.isDateFormat(name)) {
+            return sasTemporalFormatter.getDateFormatFunction(outputDateType, name, columnFormat.getWidth(),
+                    columnFormat.getPrecision());
+        } else if (SasTemporalFormatter.isTimeFormat(name)) {
+            return sasTemporalFormatter.getTimeFormatFunction(outputDateType, name, columnFormat.getWidth(),
+                    columnFormat.getPrecision());
+        }
+        return null;
+    }
+
+    /**
+     * The function to convert a number into a long or double number. A number is considered long if
+     * the difference between the whole number and its integer part is less than {@link SasFileConstants#EPSILON}.
+     *
+     * @param value the number.
+     * @return number of a long or double type, null for missing values.
+     */
+    static Object convertNumber(double value) {
+        if (Double.isNaN(value) || (value < NAN_EPSILON && value > 0)) {
+            return null;
+        }
+        long longValue = Math.round(value);
+        if (Math.abs(value - longValue) >= EPSILON) {
+            return value;
+        } else {
+            return longValue;
+        }
+    }
+
+    /**
+     * The function to create the decoder of the character columns, the error is logged once if the encoding
+     * is not supported.
+     *
+     * @param encoding the encoding of the character columns.
+     * @return the decoder, null if the encoding is not supported.
+     */
+    private static StringDecoder createStringDecoder(String encoding) {
+        try {
+            return new StringDecoder(encoding);
+        } catch (UnsupportedEncodingException e) {
+            LOGGER.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * The function to create the converter of a character column into strings, trailing spaces, tabulation and null
+     * characters are removed.
+     *
+     * @param length        the length of the column.
+     * @param stringDecoder the decoder of the column shared by the converters of the plan, null if the encoding
+     *                      is not supported.
+     * @return the converter.
+     */
+    private static ColumnConverter stringConverter(int length, StringDecoder stringDecoder) {
+        if (stringDecoder == null) {
+            return (source, offset) -> null;
+        }
+        return (source, offset) -> {
+            int trimmedLength = ByteArrayReader.trimmedLength(source, offset, length);
+            return trimmedLength == 0 ? null : stringDecoder.decode(source, offset, trimmedLength);
+        };
+    }
+
+    /**
+     * The function to create the converter of a character column into arrays of bytes, trailing spaces,
+     * tabulation and null characters are removed.
+     *
+     * @param length the length of the column.
+     * @return the converter.
+     */
+    private static ColumnConverter bytesConverter(int length) {
+        return (source, offset) -> {
+            int trimmedLength = ByteArrayReader.trimmedLength(source, offset, length);
+            return trimmedLength == 0 ? null : Arrays.copyOfRange(source, offset, offset + trimmedLength);
+        };
+    }
+
+    /**
+     * The function to create the converter of a character column into {@link ByteCharSequence} views of copies
+     * of the bytes, trailing spaces, tabulation and null characters are removed.
+     *
+     * @param length        the length of the column.
+     * @param stringDecoder the decoder of the column, null if the encoding is not supported.
+     * @return the converter.
+     */
+    private static ColumnConverter charSequenceConverter(int length, StringDecoder stringDecoder) {
+        if (stringDecoder == null) {
+            return (source, offset) -> null;
+        }
+        Charset charset = stringDecoder.getCharset();
+        return (source, offset) -> {
+            int trimmedLength = ByteArrayReader.trimmedLength(source, offset, length);
+            return trimmedLength == 0 ? null : new ByteCharSequence(Arrays.copyOfRange(source, offset,
+                    offset + trimmedLength), 0, trimmedLength, charset);
+        };
+    }
+
+    /**
+     * The interface of the converters of cells of a column.
+     */
+    private interface ColumnConverter {
+        /**
+         * The function to convert a cell.
+         *
+         * @param source the array of bytes storing the row.
+         * @param offset the offset of the cell in source.
+         * @return object storing the data of the cell.
+         */
+        Object convert(byte[] source, int offset);
+    }
+}
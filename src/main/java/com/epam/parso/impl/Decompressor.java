@@ -19,6 +19,9 @@
 
 package com.epam.parso.impl;
 
+import static com.epam.parso.impl.SasFileConstants.COMPRESS_BIN_IDENTIFYING_STRING;
+import static com.epam.parso.impl.SasFileConstants.COMPRESS_CHAR_IDENTIFYING_STRING;
+
 /**
  * Interface which should be implemented in all data decompressors.
  */
@@ -34,5 +37,38 @@ interface Decompressor {
      * @param page         an array of bytes with compressed data.
      * @return an array of bytes with decompressed data.
      */
-    byte[] decompressRow(int offset, int srcLength, int resultLength, byte[] page);
+    default byte[] decompressRow(int offset, int srcLength, int resultLength, byte[] page) {
+        byte[] result = new byte[resultLength];
+        decompressRow(offset, srcLength, resultLength, page, result);
+        return result;
+    }
+
+    /**
+     * The function to decompress data into an existing array, so that the same array can be reused for every row.
+     * The bytes of the result that are not produced by the compressed data are set to zero.
+     *
+     * @param offset       the offset of bytes array in <code>page</code> that contains compressed data.
+     * @param srcLength    the length of bytes array that contains compressed data.
+     * @param resultLength the length of bytes array that contains decompressed data.
+     * @param page         an array of bytes with compressed data.
+     * @param result       an array of at least <code>resultLength</code> bytes to store decompressed data from
+     *                     its beginning.
+     */
+    void decompressRow(int offset, int srcLength, int resultLength, byte[] page, byte[] result);
+
+    /**
+     * The function to find the decompressor of a compression method.
+     *
+     * @param compressionMethod the literal of the compression method stored in the file, like "SASYZCRL".
+     * @return the decompressor, null if the compression method is not supported.
+     */
+    static Decompressor fromCompressionMethod(String compressionMethod) {
+        if (COMPRESS_CHAR_IDENTIFYING_STRING.equals(compressionMethod)) {
+            return CharDecompressor.INSTANCE;
+        }
+        if (COMPRESS_BIN_IDENTIFYING_STRING.equals(compressionMethod)) {
+            return BinDecompressor.INSTANCE;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,89 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.PageSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A random access {@link PageSource} reading the sas7bdat file with positional reads from a {@link FileChannel}.
+ * Positional reads do not change the position of the channel, so the channel can be shared.
+ */
+public final class FileChannelPageSource implements PageSource {
+    /**
+     * The channel through which the sas7bdat is read.
+     */
+    private final FileChannel fileChannel;
+
+    /**
+     * The constructor that defines the channel to read the sas7bdat file from.
+     *
+     * @param fileChannel the channel of the sas7bdat file.
+     */
+    public FileChannelPageSource(FileChannel fileChannel) {
+        this.fileChannel = fileChannel;
+    }
+
+    /**
+     * The function to read bytes of the sas7bdat file starting from the specified position into the buffer.
+     * Fewer bytes than requested are read only if the end of the file is reached.
+     *
+     * @param position the position in the file of the first byte to read.
+     * @param buffer   the buffer to read bytes into.
+     * @param offset   the offset in the buffer of the first read byte.
+     * @param length   the number of bytes to read.
+     * @return the number of read bytes, -1 if the position is at or after the end of the file.
+     * @throws IOException if reading from the channel is impossible.
+     */
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, offset, length);
+        while (byteBuffer.hasRemaining()) {
+            if (fileChannel.read(byteBuffer, position + byteBuffer.position() - offset) < 0) {
+                break;
+            }
+        }
+        int totalBytes = byteBuffer.position() - offset;
+        return totalBytes == 0 && length > 0 ? -1 : totalBytes;
+    }
+
+    /**
+     * The function to check if the source can be read at arbitrary positions.
+     *
+     * @return true, the channel is read with positional reads.
+     */
+    @Override
+    public boolean isRandomAccess() {
+        return true;
+    }
+
+    /**
+     * Closes the file channel.
+     *
+     * @throws IOException if the channel can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+}
@@ -0,0 +1,347 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.ColumnStatistics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The hash table of the groups of rows with the same cells in the key columns, it stores the {@link ColumnStatistics}
+ * of every group. The key of a row is copied from the bytes of its key cells into a key of fixed length without
+ * decoding strings: character cells are stored without the trailing spaces, tabulation and null characters and
+ * padded with zeros, numeric cells are stored as the bits of their numbers rounded the same way {@link ConversionPlan}
+ * rounds them, so missing values and zeros of both signs have one key each. The keys of the groups are stored
+ * one after another in an array of bytes, the groups are found by open addressing with linear probing in an array
+ * of their indexes. The groups are numbered in the order they were added. The table is not thread-safe.
+ */
+final class GroupTable {
+    /**
+     * The initial number of groups the table can store without growing.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The length of the key of a numeric cell in bytes.
+     */
+    private static final int NUMBER_KEY_LENGTH = 8;
+
+    /**
+     * The multiplier mixing the bits of the hash codes of keys, the golden ratio.
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * The offsets of the key columns in a row, -1 for the columns with no data whose cells are null.
+     */
+    private final int[] keyOffsets;
+
+    /**
+     * The lengths of the key columns.
+     */
+    private final int[] keyLengths;
+
+    /**
+     * True for the numeric key columns.
+     */
+    private final boolean[] numericKeys;
+
+    /**
+     * True if the file stores numbers in the little-endian byte order.
+     */
+    private final boolean littleEndian;
+
+    /**
+     * The names of the aggregated columns.
+     */
+    private final String[] columnNames;
+
+    /**
+     * The length of a key in bytes.
+     */
+    private final int keyLength;
+
+    /**
+     * The key of the last added row.
+     */
+    private final byte[] rowKey;
+
+    /**
+     * The keys of the groups in the order of the groups.
+     */
+    private byte[] keys;
+
+    /**
+     * The hash codes of the keys of the groups.
+     */
+    private int[] hashes;
+
+    /**
+     * The numbers of rows of the groups.
+     */
+    private long[] rowCounts;
+
+    /**
+     * The statistics of the aggregated columns of the groups.
+     */
+    private ColumnStatistics[][] statistics;
+
+    /**
+     * The slots of the hash table storing the indexes of the groups increased by one, 0 for empty slots.
+     * The number of slots is a power of two and at least twice the number of groups.
+     */
+    private int[] slots;
+
+    /**
+     * The number of groups.
+     */
+    private int size;
+
+    /**
+     * The constructor of the empty table.
+     *
+     * @param keyOffsets   the offsets of the key columns in a row, -1 for the columns with no data.
+     * @param keyLengths   the lengths of the key columns.
+     * @param numericKeys  true for the numeric key columns.
+     * @param littleEndian true if the file stores numbers in the little-endian byte order.
+     * @param columnNames  the names of the aggregated columns.
+     */
+    GroupTable(int[] keyOffsets, int[] keyLengths, boolean[] numericKeys, boolean littleEndian,
+               String[] columnNames) {
+        this.keyOffsets = keyOffsets;
+        this.keyLengths = keyLengths;
+        this.numericKeys = numericKeys;
+        this.littleEndian = littleEndian;
+        this.columnNames = columnNames;
+        int length = 0;
+        for (int i = 0; i < keyOffsets.length; i++) {
+            length += numericKeys[i] ? NUMBER_KEY_LENGTH : keyLengths[i];
+        }
+        keyLength = length;
+        rowKey = new byte[keyLength];
+        keys = new byte[keyLength * INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        rowCounts = new long[INITIAL_CAPACITY];
+        statistics = new ColumnStatistics[INITIAL_CAPACITY][];
+        slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * The function to add a row to its group, the group is added if the table does not have it.
+     *
+     * @param source    the array of bytes storing the row.
+     * @param rowOffset the offset of the row in source.
+     * @return the statistics of the aggregated columns of the group to add the cells of the row to.
+     */
+    ColumnStatistics[] addRow(byte[] source, int rowOffset) {
+        int position = 0;
+        for (int i = 0; i < keyOffsets.length; i++) {
+            if (numericKeys[i]) {
+                double value = keyOffsets[i] < 0 ? Double.NaN
+                        : RowFilterPlan.readNumber(source, rowOffset + keyOffsets[i], keyLengths[i], littleEndian);
+                // adding the positive zero turns the negative zero into the positive one
+                long bits = Double.doubleToLongBits(value + 0.0);
+                for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                    rowKey[position++] = (byte) (bits >>> shift);
+                }
+            } else {
+                int length = keyOffsets[i] < 0 ? 0
+                        : ByteArrayReader.trimmedLength(source, rowOffset + keyOffsets[i], keyLengths[i]);
+                if (length > 0) {
+                    System.arraycopy(source, rowOffset + keyOffsets[i], rowKey, position, length);
+                }
+                Arrays.fill(rowKey, position + length, position + keyLengths[i], (byte) 0);
+                position += keyLengths[i];
+            }
+        }
+        int group = findOrAddGroup(rowKey, 0, hash(rowKey, 0));
+        rowCounts[group]++;
+        return statistics[group];
+    }
+
+    /**
+     * The method to add the groups of another table with the same columns to this table, the groups this table
+     * does not have are added in their order.
+     *
+     * @param other the other table.
+     */
+    void merge(GroupTable other) {
+        for (int otherGroup = 0; otherGroup < other.size; otherGroup++) {
+            int group = findOrAddGroup(other.keys, otherGroup * keyLength, other.hashes[otherGroup]);
+            rowCounts[group] += other.rowCounts[otherGroup];
+            for (int i = 0; i < columnNames.length; i++) {
+                statistics[group][i].merge(other.statistics[otherGroup][i]);
+            }
+        }
+    }
+
+    /**
+     * The function to get the number of groups.
+     *
+     * @return the number of groups.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The function to get the number of rows of a group.
+     *
+     * @param group the index of the group.
+     * @return the number of rows.
+     */
+    long getRowCount(int group) {
+        return rowCounts[group];
+    }
+
+    /**
+     * The function to get the statistics of the aggregated columns of a group.
+     *
+     * @param group the index of the group.
+     * @return the statistics in the order of the names of the columns.
+     */
+    ColumnStatistics[] getStatistics(int group) {
+        return statistics[group];
+    }
+
+    /**
+     * The function to decode the key of a group into the cells of the key columns. As with the cells read by
+     * {@link SasFileReaderImpl#readNext()}, numbers are int, long or double numbers, empty strings and missing
+     * numbers are null, but the numbers of the columns with date, time and datetime formats are not converted
+     * into dates.
+     *
+     * @param group         the index of the group.
+     * @param stringDecoder the decoder of the character cells, can be null if there are no character key columns.
+     * @return the cells of the key columns.
+     */
+    List<Object> getKey(int group, StringDecoder stringDecoder) {
+        Object[] key = new Object[keyOffsets.length];
+        int position = group * keyLength;
+        for (int i = 0; i < key.length; i++) {
+            if (numericKeys[i]) {
+                long bits = 0;
+                for (int j = 0; j < NUMBER_KEY_LENGTH; j++) {
+                    bits = (bits << Byte.SIZE) | (keys[position++] & 0xFF);
+                }
+                double value = Double.longBitsToDouble(bits);
+                if (Double.isNaN(value)) {
+                    key[i] = null;
+                } else {
+                    key[i] = keyLengths[i] <= 2 ? (Object) (int) value : ConversionPlan.convertNumber(value);
+                }
+            } else {
+                int length = ByteArrayReader.trimmedLength(keys, position, keyLengths[i]);
+                key[i] = length == 0 ? null : stringDecoder.decode(keys, position, length);
+                position += keyLengths[i];
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(key));
+    }
+
+    /**
+     * The function to find the group with the specified key, the group is added if the table does not have it.
+     *
+     * @param key       the array of bytes storing the key.
+     * @param keyOffset the offset of the key in the array.
+     * @param hash      the hash code of the key.
+     * @return the index of the group.
+     */
+    private int findOrAddGroup(byte[] key, int keyOffset, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int group = slots[slot] - 1;
+            if (hashes[group] == hash && equalKeys(key, keyOffset, group * keyLength)) {
+                return group;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == hashes.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, keyLength * capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            rowCounts = Arrays.copyOf(rowCounts, capacity);
+            statistics = Arrays.copyOf(statistics, capacity);
+        }
+        int group = size++;
+        System.arraycopy(key, keyOffset, keys, group * keyLength, keyLength);
+        hashes[group] = hash;
+        statistics[group] = new ColumnStatistics[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            statistics[group][i] = new ColumnStatistics(columnNames[i]);
+        }
+        if (size * 2 > slots.length) {
+            rehash();
+        } else {
+            slots[slot] = group + 1;
+        }
+        return group;
+    }
+
+    /**
+     * The method to double the number of slots and to put the groups into the new slots.
+     */
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int group = 0; group < size; group++) {
+            int slot = hashes[group] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group + 1;
+        }
+    }
+
+    /**
+     * The function to compare a key with the key of a group.
+     *
+     * @param key         the array of bytes storing the key.
+     * @param keyOffset   the offset of the key in the array.
+     * @param groupOffset the offset of the key of the group in {@link GroupTable#keys}.
+     * @return true if the keys are equal.
+     */
+    private boolean equalKeys(byte[] key, int keyOffset, int groupOffset) {
+        for (int i = 0; i < keyLength; i++) {
+            if (key[keyOffset + i] != keys[groupOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The function to compute the hash code of a key.
+     *
+     * @param key       the array of bytes storing the key.
+     * @param keyOffset the offset of the key in the array.
+     * @return the hash code.
+     */
+    private int hash(byte[] key, int keyOffset) {
+        int hash = 1;
+        for (int i = keyOffset; i < keyOffset + keyLength; i++) {
+            hash = 31 * hash + key[i];
+        }
+        hash *= HASH_MULTIPLIER;
+        return hash ^ (hash >>> (Integer.SIZE / 2));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.PageSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.epam.parso.impl.ParserMessageConstants.EMPTY_INPUT_STREAM;
+
+/**
+ * A sequential {@link PageSource} reading the sas7bdat file from an input stream. Positions must not decrease
+ * between reads, the bytes between two reads are skipped.
+ */
+public final class InputStreamPageSource implements PageSource {
+    /**
+     * Byte buffer used for skip operations.
+     * Actually the data containing in this buffer is ignored,
+     * because it only used for dummy reads.
+     */
+    private static final byte[] SKIP_BYTE_BUFFER = new byte[4096];
+
+    /**
+     * The input stream through which the sas7bdat is read.
+     */
+    private final InputStream inputStream;
+
+    /**
+     * The position in the file of the next byte of {@link InputStreamPageSource#inputStream}.
+     */
+    private long currentPosition;
+
+    /**
+     * The constructor that defines the stream to read the sas7bdat file from.
+     *
+     * @param inputStream the stream positioned at the beginning of the sas7bdat file.
+     */
+    public InputStreamPageSource(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * The function to read bytes of the sas7bdat file starting from the specified position into the buffer.
+     * Fewer bytes than requested are read only if the end of the stream is reached.
+     *
+     * @param position the position in the file of the first byte to read, must not be less than the position
+     *                 following the previously read byte.
+     * @param buffer   the buffer to read bytes into.
+     * @param offset   the offset in the buffer of the first read byte.
+     * @param length   the number of bytes to read.
+     * @return the number of read bytes, -1 if the end of the stream is reached.
+     * @throws IOException if reading from the stream is impossible or the position was already passed.
+     */
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+        if (position < currentPosition) {
+            throw new IOException("Can not read position " + position + " of the input stream which is already at "
+                    + currentPosition);
+        }
+        if (!skipBytes(position - currentPosition)) {
+            return -1;
+        }
+        int totalBytes = 0;
+        while (totalBytes < length) {
+            int readBytes = inputStream.read(buffer, offset + totalBytes, length - totalBytes);
+            if (readBytes < 0) {
+                break;
+            }
+            totalBytes += readBytes;
+        }
+        currentPosition += totalBytes;
+        return totalBytes == 0 && length > 0 ? -1 : totalBytes;
+    }
+
+    /**
+     * Skip specified number of bytes of data from the input stream.
+     *
+     * @param numberOfBytesToSkip the number of bytes to skip
+     * @return false if the end of the stream was reached before the bytes were skipped.
+     * @throws IOException if reading from the stream is impossible.
+     */
+    private boolean skipBytes(long numberOfBytesToSkip) throws IOException {
+        long remainBytes = numberOfBytesToSkip;
+        while (remainBytes > 0) {
+            int readBytes;
+            try {
+                readBytes = inputStream.read(SKIP_BYTE_BUFFER, 0,
+                        (int) Math.min(remainBytes, SKIP_BYTE_BUFFER.length));
+            } catch (IOException e) {
+                throw new IOException(EMPTY_INPUT_STREAM, e);
+            }
+            if (readBytes < 0) {
+                break;
+            }
+            remainBytes -= readBytes;
+            currentPosition += readBytes;
+        }
+        return remainBytes == 0;
+    }
+
+    /**
+     * The function to check if the source can be read at arbitrary positions.
+     *
+     * @return false, the stream can only be read forward.
+     */
+    @Override
+    public boolean isRandomAccess() {
+        return false;
+    }
+
+    /**
+     * Closes the input stream.
+     *
+     * @throws IOException if the stream can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.PageSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A random access {@link PageSource} backed by memory-mapped regions of a {@link FileChannel}. Pages are copied
+ * straight out of the OS page cache, without read system calls or intermediate stream buffers.
+ * A single {@link MappedByteBuffer} cannot address more than {@link Integer#MAX_VALUE} bytes, so files
+ * that are larger than that are mapped as a sequence of consecutive regions.
+ * The mapping stays valid after the channel it was created from is closed.
+ */
+public final class MappedPageSource implements PageSource {
+    /**
+     * The maximum size of a single mapped region.
+     */
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * The mapped regions of the file, in file order. Every region but the last is
+     * {@link MappedPageSource#MAX_REGION_SIZE} bytes long.
+     */
+    private final MappedByteBuffer[] regions;
+
+    /**
+     * The size of the mapped file in bytes.
+     */
+    private final long size;
+
+    /**
+     * The constructor that maps the whole content of the channel in read-only mode.
+     *
+     * @param channel the channel of the sas7bdat file.
+     * @throws IOException if the channel can not be mapped.
+     */
+    public MappedPageSource(FileChannel channel) throws IOException {
+        size = channel.size();
+        regions = new MappedByteBuffer[(int) ((size + MAX_REGION_SIZE - 1) / MAX_REGION_SIZE)];
+        for (int i = 0; i < regions.length; i++) {
+            long regionStart = i * MAX_REGION_SIZE;
+            regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                    Math.min(MAX_REGION_SIZE, size - regionStart));
+        }
+    }
+
+    /**
+     * The function to map the file located at the path. The channel used for the mapping is closed
+     * before the function returns.
+     *
+     * @param path the path of the sas7bdat file.
+     * @return the source of the file bytes.
+     * @throws IOException if the file can not be opened or mapped.
+     */
+    public static MappedPageSource open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedPageSource(channel);
+        }
+    }
+
+    /**
+     * The function to copy bytes of the file starting from the specified position into the buffer.
+     * Fewer bytes than requested are copied only if the end of the file is reached.
+     *
+     * @param position the position in the file of the first byte to copy.
+     * @param buffer   the buffer to copy bytes into.
+     * @param offset   the offset in the buffer of the first copied byte.
+     * @param length   the number of bytes to copy.
+     * @return the number of copied bytes, -1 if the position is at or after the end of the file.
+     */
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) {
+        if (position >= size) {
+            return -1;
+        }
+        int total = (int) Math.min(length, size - position);
+        int copied = 0;
+        while (copied < total) {
+            long currentPosition = position + copied;
+            ByteBuffer region = regions[(int) (currentPosition / MAX_REGION_SIZE)].duplicate();
+            region.position((int) (currentPosition % MAX_REGION_SIZE));
+            int chunk = Math.min(total - copied, region.remaining());
+            region.get(buffer, offset + copied, chunk);
+            copied += chunk;
+        }
+        return total;
+    }
+
+    /**
+     * The function to check if the source can be read at arbitrary positions.
+     *
+     * @return true, the mapping can be read at any position.
+     */
+    @Override
+    public boolean isRandomAccess() {
+        return true;
+    }
+
+    /**
+     * The mapping is released when it is garbage collected, so there is nothing to close.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The index of the pages of the sas7bdat file which stores the type of every page and the range of rows it holds.
+ * Rows are numbered the same way as {@link SasFileParser#readNext()} counts them, deleted rows included.
+ * The index is filled page by page in the file order while the file is being read, or loaded from
+ * a {@link PageIndexFile}.
+ */
+final class PageIndex {
+    /**
+     * The initial number of pages the index has room for.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The types of the indexed pages.
+     */
+    private int[] pageTypes = new int[INITIAL_CAPACITY];
+
+    /**
+     * The indexes of the first rows of the indexed pages.
+     */
+    private long[] firstRows = new long[INITIAL_CAPACITY];
+
+    /**
+     * The numbers of rows stored on the indexed pages.
+     */
+    private int[] rowCounts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The numbers of deleted rows of the indexed pages, -1 if the number is not known.
+     */
+    private int[] deletedRowCounts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The pages storing metadata subheaders, set for the pages whose metadata was processed or which are
+     * known to store metadata from a {@link PageIndexFile}.
+     */
+    private final BitSet metadataPages = new BitSet();
+
+    /**
+     * The number of indexed pages.
+     */
+    private int size;
+
+    /**
+     * The function to get the number of indexed pages, the pages from zero to size - 1 are indexed.
+     *
+     * @return the number of indexed pages.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The method to add the page following the last indexed page to the index.
+     *
+     * @param pageType the type of the page.
+     * @param rowCount the number of rows stored on the page.
+     */
+    void add(int pageType, int rowCount) {
+        if (size == pageTypes.length) {
+            int capacity = size * 2;
+            pageTypes = Arrays.copyOf(pageTypes, capacity);
+            firstRows = Arrays.copyOf(firstRows, capacity);
+            rowCounts = Arrays.copyOf(rowCounts, capacity);
+            deletedRowCounts = Arrays.copyOf(deletedRowCounts, capacity);
+        }
+        pageTypes[size] = pageType;
+        firstRows[size] = getIndexedRowCount();
+        rowCounts[size] = rowCount;
+        deletedRowCounts[size] = -1;
+        size++;
+    }
+
+    /**
+     * The method to set the number of deleted rows of the indexed page.
+     *
+     * @param page            the index of the page.
+     * @param deletedRowCount the number of deleted rows stored on the page.
+     */
+    void setDeletedRowCount(int page, int deletedRowCount) {
+        deletedRowCounts[page] = deletedRowCount;
+    }
+
+    /**
+     * The function to get the number of deleted rows of the indexed page.
+     *
+     * @param page the index of the page.
+     * @return the number of deleted rows stored on the page, -1 if it is not known.
+     */
+    int getDeletedRowCount(int page) {
+        return deletedRowCounts[page];
+    }
+
+    /**
+     * The method to mark the page as storing metadata subheaders.
+     *
+     * @param page the index of the page.
+     */
+    void markMetadataPage(int page) {
+        metadataPages.set(page);
+    }
+
+    /**
+     * The function to check if the page stores metadata subheaders.
+     *
+     * @param page the index of the page.
+     * @return true if the page is marked as storing metadata.
+     */
+    boolean isMetadataPage(int page) {
+        return metadataPages.get(page);
+    }
+
+    /**
+     * The function to find the first page storing metadata subheaders in the range of pages.
+     *
+     * @param firstPage the index of the first page of the range.
+     * @param endPage   the index of the page following the last page of the range.
+     * @return the index of the page or -1 if no page of the range stores metadata.
+     */
+    int nextMetadataPage(long firstPage, int endPage) {
+        if (firstPage >= endPage) {
+            return -1;
+        }
+        int page = metadataPages.nextSetBit((int) Math.max(firstPage, 0));
+        return page >= 0 && page < endPage ? page : -1;
+    }
+
+    /**
+     * The function to get the number of rows stored on all indexed pages.
+     *
+     * @return the number of indexed rows.
+     */
+    long getIndexedRowCount() {
+        return size == 0 ? 0 : firstRows[size - 1] + rowCounts[size - 1];
+    }
+
+    /**
+     * The function to get the type of the indexed page.
+     *
+     * @param page the index of the page.
+     * @return the page type.
+     */
+    int getPageType(int page) {
+        return pageTypes[page];
+    }
+
+    /**
+     * The function to get the index of the first row of the indexed page.
+     *
+     * @param page the index of the page.
+     * @return the index of the first row stored on the page.
+     */
+    long getFirstRow(int page) {
+        return firstRows[page];
+    }
+
+    /**
+     * The function to get the number of rows of the indexed page.
+     *
+     * @param page the index of the page.
+     * @return the number of rows stored on the page.
+     */
+    int getRowCount(int page) {
+        return rowCounts[page];
+    }
+
+    /**
+     * The function to find the indexed page that stores the row. The last page whose first row does not follow
+     * the row is the one, pages without rows share their first row with the next page and are never returned.
+     *
+     * @param row the index of the row.
+     * @return the index of the page or -1 if the row is not stored on the indexed pages.
+     */
+    int findPage(long row) {
+        if (row < 0 || row >= getIndexedRowCount()) {
+            return -1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (firstRows[middle] <= row) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Projection;
+import com.epam.parso.SasFileProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static com.epam.parso.impl.SasFileConstants.PAGE_AMD_TYPE;
+import static com.epam.parso.impl.SasFileConstants.PAGE_DATA_TYPE_2;
+import static com.epam.parso.impl.SasFileConstants.PAGE_MIX_TYPE_2;
+
+/**
+ * The page index file of a sas7bdat file, stored next to it to find rows without reading the pages that precede
+ * them. The file starts with the properties of the sas7bdat file it was written for, the index is used only if they
+ * match the properties of the file being read. They are followed by the description of every page: its type,
+ * the numbers of its rows and deleted rows, and whether it stores metadata. The offset of a page in the sas7bdat
+ * file and its first row are derived from the descriptions of the preceding pages.
+ */
+final class PageIndexFile {
+    /**
+     * Object for writing logs.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageIndexFile.class);
+
+    /**
+     * The first bytes of a page index file, "PIDX".
+     */
+    private static final int MAGIC_NUMBER = 0x50494458;
+
+    /**
+     * The version of the format of page index files.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The flag of the pages storing metadata subheaders.
+     */
+    private static final int METADATA_PAGE_FLAG = 1;
+
+    /**
+     * Disable creation of utility instances.
+     */
+    private PageIndexFile() {
+    }
+
+    /**
+     * The method to index all pages of the file read by the parser and to write the index. The metadata of all
+     * pages is processed and the pages that can store deleted rows are read to count them, the next row the parser
+     * reads is not changed.
+     *
+     * @param parser the parser of the file, its page source must be random access.
+     * @param path   the path of the page index file, an existing file is replaced.
+     * @throws IOException if reading the file or writing the index is impossible.
+     */
+    static void write(SasFileParser parser, Path path) throws IOException {
+        long row = parser.getOffset();
+        PageIndex pageIndex = parser.indexPages();
+        parser.seek(row);
+        SasFileParser pageParser = parser.fork();
+        Projection noColumns = new Projection(parser.getColumns(), Collections.<String>emptyList());
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            for (int page = 0; page < pageIndex.size(); page++) {
+                int pageType = pageIndex.getPageType(page);
+                if (pageIndex.getDeletedRowCount(page) < 0) {
+                    int deletedRowCount = 0;
+                    if (pageType == PAGE_DATA_TYPE_2 || pageType == PAGE_MIX_TYPE_2) {
+                        rows.clear();
+                        pageParser.readPages(page, page + 1, noColumns, rows);
+                        deletedRowCount = Collections.frequency(rows, null);
+                    }
+                    pageIndex.setDeletedRowCount(page, deletedRowCount);
+                }
+            }
+        } finally {
+            pageParser.releaseBuffers();
+        }
+
+        SasFileProperties properties = parser.getSasFileProperties();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(VERSION);
+            writeProperties(out, properties);
+            out.writeInt(pageIndex.size());
+            for (int page = 0; page < pageIndex.size(); page++) {
+                boolean metadataPage = pageIndex.isMetadataPage(page) || pageIndex.getPageType(page) == PAGE_AMD_TYPE;
+                out.writeShort(pageIndex.getPageType(page));
+                out.writeInt(pageIndex.getRowCount(page));
+                out.writeInt(pageIndex.getDeletedRowCount(page));
+                out.writeByte(metadataPage ? METADATA_PAGE_FLAG : 0);
+            }
+        }
+    }
+
+    /**
+     * The function to read the page index file and to add the pages it describes to the page index. The pages
+     * already in the index must match their descriptions. The index is not changed if the page index file
+     * does not exist, is written for another file or is broken.
+     *
+     * @param path       the path of the page index file.
+     * @param properties the properties of the file being read.
+     * @param pageIndex  the index of the pages of the file being read.
+     * @return true if the pages are added to the index.
+     * @throws IOException if reading the page index file is impossible.
+     */
+    static boolean read(Path path, SasFileProperties properties, PageIndex pageIndex) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != VERSION || !readProperties(in, properties)) {
+                LOGGER.warn("The page index file {} is not written for the file, it is ignored", path);
+                return false;
+            }
+            int pageCount = in.readInt();
+            if (pageCount < 0 || pageCount > properties.getPageCount()) {
+                LOGGER.warn("The page index file {} is broken, it is ignored", path);
+                return false;
+            }
+            int[] pageTypes = new int[pageCount];
+            int[] rowCounts = new int[pageCount];
+            int[] deletedRowCounts = new int[pageCount];
+            boolean[] metadataPages = new boolean[pageCount];
+            for (int page = 0; page < pageCount; page++) {
+                pageTypes[page] = in.readShort();
+                rowCounts[page] = in.readInt();
+                deletedRowCounts[page] = in.readInt();
+                metadataPages[page] = (in.readByte() & METADATA_PAGE_FLAG) != 0;
+                if (page < pageIndex.size() && (pageTypes[page] != pageIndex.getPageType(page)
+                        || rowCounts[page] != pageIndex.getRowCount(page))) {
+                    LOGGER.warn("The page index file {} does not match page {} of the file, it is ignored", path, page);
+                    return false;
+                }
+            }
+            for (int page = 0; page < pageCount; page++) {
+                if (page >= pageIndex.size()) {
+                    pageIndex.add(pageTypes[page], rowCounts[page]);
+                }
+                pageIndex.setDeletedRowCount(page, deletedRowCounts[page]);
+                if (metadataPages[page]) {
+                    pageIndex.markMetadataPage(page);
+                }
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("There is no page index file {}", path);
+            return false;
+        } catch (EOFException e) {
+            LOGGER.warn("The page index file {} is broken, it is ignored", path);
+            return false;
+        }
+    }
+
+    /**
+     * The method to write the properties of the file that identify it.
+     *
+     * @param out        the stream of the page index file.
+     * @param properties the properties of the file.
+     * @throws IOException if writing is impossible.
+     */
+    private static void writeProperties(DataOutputStream out, SasFileProperties properties) throws IOException {
+        out.writeBoolean(properties.isU64());
+        out.writeByte(properties.getEndianness());
+        out.writeInt(properties.getHeaderLength());
+        out.writeInt(properties.getPageLength());
+        out.writeLong(properties.getPageCount());
+        out.writeLong(properties.getRowLength());
+        out.writeLong(properties.getRowCount());
+        out.writeLong(getTime(properties.getDateCreated()));
+        out.writeLong(getTime(properties.getDateModified()));
+        out.writeLong(properties.getHeaderLength() + properties.getPageCount() * properties.getPageLength());
+    }
+
+    /**
+     * The function to read the properties of the file the page index file is written for and to compare them
+     * with the properties of the file being read.
+     *
+     * @param in         the stream of the page index file.
+     * @param properties the properties of the file being read.
+     * @return true if the properties match.
+     * @throws IOException if reading is impossible.
+     */
+    private static boolean readProperties(DataInputStream in, SasFileProperties properties) throws IOException {
+        // the non-short-circuit operator reads all properties even if the first ones do not match
+        return in.readBoolean() == properties.isU64()
+                & in.readByte() == properties.getEndianness()
+                & in.readInt() == properties.getHeaderLength()
+                & in.readInt() == properties.getPageLength()
+                & in.readLong() == properties.getPageCount()
+                & in.readLong() == properties.getRowLength()
+                & in.readLong() == properties.getRowCount()
+                & in.readLong() == getTime(properties.getDateCreated())
+                & in.readLong() == getTime(properties.getDateModified())
+                & in.readLong() == properties.getHeaderLength() + properties.getPageCount()
+                * properties.getPageLength();
+    }
+
+    /**
+     * The function to get the time of the date in milliseconds.
+     *
+     * @param date the date, can be null.
+     * @return the time of the date, 0 if the date is null.
+     */
+    private static long getTime(Date date) {
+        return date == null ? 0 : date.getTime();
+    }
+}
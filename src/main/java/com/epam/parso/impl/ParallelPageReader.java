@@ -0,0 +1,249 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Projection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A class to read rows of the sas7bdat file decoded in parallel. The pages following the current row are split
+ * into batches, every batch is decoded in the {@link ForkJoinPool} by a parser forked from the parent
+ * {@link SasFileParser}, so decoding and decompression run concurrently. A limited number of batches is decoded
+ * ahead of the row being returned, the pages of the batches fit into the memory budget of the parser, see
+ * {@link BufferAllocator#fit(long, int)}. Rows are returned in the file order.
+ */
+final class ParallelPageReader {
+    /**
+     * The approximate number of bytes of pages decoded by one task.
+     */
+    private static final int TASK_SIZE_IN_BYTES = 1 << 20;
+
+    /**
+     * The number of tasks per thread of the pool that are decoded ahead of the returned rows.
+     */
+    private static final int TASKS_PER_THREAD = 2;
+
+    /**
+     * The parser whose metadata is used to decode pages.
+     */
+    private final SasFileParser parser;
+
+    /**
+     * The pool that decodes pages.
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * The columns which are processed, null if all columns are processed.
+     */
+    private final Projection projection;
+
+    /**
+     * The number of pages decoded by one task.
+     */
+    private final int pagesPerTask;
+
+    /**
+     * The maximum number of tasks decoded at the same time.
+     */
+    private final int maxPendingTasks;
+
+    /**
+     * The tasks which are submitted to the pool, in the file order.
+     */
+    private final Deque<ForkJoinTask<PageBatch>> pendingTasks = new ArrayDeque<>();
+
+    /**
+     * The index of the first page of the next task to submit.
+     */
+    private long nextPage;
+
+    /**
+     * True if a decoded batch has reached the end of file, no more tasks are submitted then.
+     */
+    private boolean endOfFile;
+
+    /**
+     * The rows of the batch being returned.
+     */
+    private List<Object[]> currentRows = new ArrayList<>();
+
+    /**
+     * The index of the next row to return from {@link ParallelPageReader#currentRows}.
+     */
+    private int currentRowIndex;
+
+    /**
+     * The constructor that starts decoding of pages from the specified row.
+     *
+     * @param parser        the parser which has read the metadata of the file.
+     * @param forkJoinPool  the pool to decode pages in.
+     * @param projection    the columns which should be processed, if null then all columns are processed.
+     * @param firstPage     the index of the page storing the first row to return.
+     * @param rowOnPage     the index of the first row to return on the first page.
+     */
+    ParallelPageReader(SasFileParser parser, ForkJoinPool forkJoinPool, Projection projection, long firstPage,
+                       int rowOnPage) {
+        this.parser = parser;
+        this.forkJoinPool = forkJoinPool;
+        this.projection = projection;
+        int pageLength = parser.getSasFileProperties().getPageLength();
+        BufferAllocator bufferAllocator = parser.getBufferAllocator();
+        pagesPerTask = bufferAllocator.fit(pageLength, Math.max(1, TASK_SIZE_IN_BYTES / pageLength));
+        maxPendingTasks = bufferAllocator.fit((long) pageLength * pagesPerTask,
+                forkJoinPool.getParallelism() * TASKS_PER_THREAD);
+        nextPage = firstPage;
+        submitTasks();
+        currentRowIndex = rowOnPage;
+    }
+
+    /**
+     * The function to check if the rows are read with the specified columns.
+     *
+     * @param other the columns which should be processed, if null then all columns are processed.
+     * @return true if the rows are decoded with the same columns.
+     */
+    boolean isReading(Projection other) {
+        return Objects.equals(projection, other);
+    }
+
+    /**
+     * The function to check if there are more rows in the file. Waits for the next batch of pages
+     * to be decoded if needed.
+     *
+     * @return true if there are more rows.
+     * @throws IOException if reading from the page source is impossible.
+     */
+    boolean hasNext() throws IOException {
+        while (currentRowIndex >= currentRows.size()) {
+            if (pendingTasks.isEmpty()) {
+                return false;
+            }
+            currentRowIndex -= currentRows.size();
+            PageBatch batch = join(pendingTasks.removeFirst());
+            currentRows = batch.rows;
+            if (batch.endOfFile) {
+                endOfFile = true;
+                close();
+            }
+            submitTasks();
+        }
+        return true;
+    }
+
+    /**
+     * The function to return the next row, {@link ParallelPageReader#hasNext()} must be checked before.
+     *
+     * @return the object array containing elements of the row, null if the row is deleted.
+     */
+    Object[] next() {
+        return currentRows.get(currentRowIndex++);
+    }
+
+    /**
+     * The method to submit tasks decoding the following pages until the limit of pending tasks is reached.
+     */
+    private void submitTasks() {
+        while (!endOfFile && pendingTasks.size() < maxPendingTasks) {
+            final long firstPage = nextPage;
+            nextPage += pagesPerTask;
+            pendingTasks.addLast(forkJoinPool.submit(new Callable<PageBatch>() {
+                @Override
+                public PageBatch call() throws IOException {
+                    PageBatch batch = new PageBatch();
+                    SasFileParser pageParser = parser.fork();
+                    try {
+                        batch.endOfFile = !pageParser.readPages(firstPage, firstPage + pagesPerTask, projection,
+                                batch.rows);
+                    } finally {
+                        pageParser.releaseBuffers();
+                    }
+                    return batch;
+                }
+            }));
+        }
+    }
+
+    /**
+     * The method to stop the reading: the tasks decoding pages which have not started are cancelled and no more
+     * tasks are submitted. Called after the end of file, on errors and when the parser drops the reader, the tasks
+     * which are already running release the buffers of their parsers when they finish.
+     */
+    void close() {
+        endOfFile = true;
+        for (ForkJoinTask<PageBatch> task : pendingTasks) {
+            task.cancel(false);
+        }
+        pendingTasks.clear();
+    }
+
+    /**
+     * The function to wait for the task to complete and to get its result.
+     *
+     * @param task the task decoding a batch of pages.
+     * @return the decoded batch.
+     * @throws IOException if the task failed to read the pages.
+     */
+    private PageBatch join(ForkJoinTask<PageBatch> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    /**
+     * The rows of a decoded batch of pages.
+     */
+    private static final class PageBatch {
+        /**
+         * The rows of the pages in the file order, deleted rows are null.
+         */
+        private final List<Object[]> rows = new ArrayList<>();
+
+        /**
+         * True if the end of file was reached while reading the pages.
+         */
+        private boolean endOfFile;
+    }
+}
@@ -68,4 +68,29 @@ interface ParserMessageConstants {
      * Debug info. Column format.
      */
     String COLUMN_FORMAT = "Column format: {}";
+
+    /**
+     * Error string if the row to seek to has a negative index.
+     */
+    String NEGATIVE_ROW_INDEX = "Row index must not be negative: ";
+
+    /**
+     * Error string if the row to seek to is stored on a page that a sequential source has already passed.
+     */
+    String SEEK_BEFORE_CURRENT_PAGE = "Can not seek to a page that precedes the current page of a sequential source.";
+
+    /**
+     * Error string if the pages of a sequential source are requested to be indexed.
+     */
+    String SEQUENTIAL_SOURCE_NOT_INDEXED = "Can not index all pages of a sequential source.";
+
+    /**
+     * Error string if the number of rows to read at once is not positive.
+     */
+    String NON_POSITIVE_ROW_COUNT = "Number of rows to read must be positive: ";
+
+    /**
+     * Error string if all rows of a file are requested to be read into an array that can not store them.
+     */
+    String TOO_MANY_ROWS = "Can not read all rows into one array, use readBatch or chunks instead. Row count: ";
 }
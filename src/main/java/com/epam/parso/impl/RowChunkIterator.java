@@ -0,0 +1,91 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Projection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The iterator over the chunks of rows following the current row of a reader, the chunks are read with
+ * {@link SasFileReaderImpl#readBatch(Object[][], Projection)}. The array of a chunk and the arrays of its rows are
+ * reused by the next chunk, so the memory used by the iteration does not depend on the number of rows of the file.
+ * The last chunk is trimmed to the number of rows it stores. The iterator moves the reader.
+ */
+final class RowChunkIterator implements Iterator<Object[][]> {
+    /**
+     * The reader of the file.
+     */
+    private final SasFileReaderImpl reader;
+
+    /**
+     * The columns which should be processed, if null then all columns are processed.
+     */
+    private final Projection projection;
+
+    /**
+     * The array storing the rows of the current chunk.
+     */
+    private Object[][] chunk;
+
+    /**
+     * The number of rows of the chunk that has been read but not returned, -1 if the next chunk is not read yet.
+     */
+    private int rowCount = -1;
+
+    /**
+     * The constructor of the iterator.
+     *
+     * @param reader     the reader of the file.
+     * @param chunkSize  the maximum number of rows of a chunk.
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     */
+    RowChunkIterator(SasFileReaderImpl reader, int chunkSize, Projection projection) {
+        this.reader = reader;
+        this.projection = projection;
+        chunk = new Object[chunkSize][];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (rowCount < 0) {
+            try {
+                rowCount = reader.readBatch(chunk, projection);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return rowCount > 0;
+    }
+
+    @Override
+    public Object[][] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[][] result = rowCount == chunk.length ? chunk : Arrays.copyOf(chunk, rowCount);
+        rowCount = -1;
+        return result;
+    }
+}
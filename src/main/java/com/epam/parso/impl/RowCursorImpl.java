@@ -0,0 +1,215 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Column;
+import com.epam.parso.RowCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.epam.parso.impl.SasFileConstants.NAN_EPSILON;
+
+/**
+ * The implementation of {@link RowCursor} that moves the parser to the next row with
+ * {@link SasFileParser#locateNextRow()} and decodes the cells from the array of bytes storing the row.
+ */
+final class RowCursorImpl implements RowCursor {
+    /**
+     * Object for writing logs.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowCursorImpl.class);
+
+    /**
+     * The parser of the file.
+     */
+    private final SasFileParser parser;
+
+    /**
+     * True for the numeric columns by column index.
+     */
+    private final boolean[] numeric;
+
+    /**
+     * The offsets of the columns in a row by column index.
+     */
+    private final int[] offsets;
+
+    /**
+     * The lengths of the columns by column index.
+     */
+    private final int[] lengths;
+
+    /**
+     * The number of columns with data, the cells of the following columns are null.
+     */
+    private final int columnCount;
+
+    /**
+     * True if the file stores numbers in the little-endian byte order.
+     */
+    private final boolean littleEndian;
+
+    /**
+     * The decoder of the character columns, null if their encoding is not supported.
+     */
+    private final StringDecoder stringDecoder;
+
+    /**
+     * The array of bytes storing the current row, null if the cursor is not at a row.
+     */
+    private byte[] source;
+
+    /**
+     * The offset of the current row in {@link RowCursorImpl#source}.
+     */
+    private int rowOffset;
+
+    /**
+     * The constructor that resolves the layout of the columns.
+     *
+     * @param parser       the parser of the file.
+     * @param columns      the columns of the file.
+     * @param layout       the offsets and lengths of the columns in a row.
+     * @param littleEndian true if the file stores numbers in the little-endian byte order.
+     * @param encoding     the encoding of the character columns.
+     */
+    RowCursorImpl(SasFileParser parser, List<Column> columns, ColumnLayout layout, boolean littleEndian,
+                  String encoding) {
+        this.parser = parser;
+        int count = Math.min(columns.size(), layout.size());
+        numeric = new boolean[count];
+        offsets = new int[count];
+        lengths = new int[count];
+        int decodedCount = 0;
+        while (decodedCount < count && layout.getLength(decodedCount) != 0) {
+            numeric[decodedCount] = layout.isNumeric(decodedCount);
+            offsets[decodedCount] = (int) layout.getOffset(decodedCount);
+            lengths[decodedCount] = layout.getLength(decodedCount);
+            decodedCount++;
+        }
+        columnCount = decodedCount;
+        this.littleEndian = littleEndian;
+        StringDecoder decoder = null;
+        try {
+            decoder = new StringDecoder(encoding);
+        } catch (UnsupportedEncodingException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        stringDecoder = decoder;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (parser.locateNextRow()) {
+            source = parser.getCurrentRowSource();
+            rowOffset = parser.getCurrentRowOffset();
+            return true;
+        }
+        source = null;
+        return false;
+    }
+
+    @Override
+    public boolean isNull(int column) {
+        checkRow();
+        if (column >= columnCount) {
+            return true;
+        }
+        if (numeric[column]) {
+            return Double.isNaN(readNumber(column));
+        }
+        return ByteArrayReader.trimmedLength(source, rowOffset + offsets[column], lengths[column]) == 0;
+    }
+
+    @Override
+    public double getDouble(int column) {
+        checkRow();
+        return column < columnCount ? readNumber(column) : Double.NaN;
+    }
+
+    @Override
+    public long getLong(int column) {
+        return Math.round(getDouble(column));
+    }
+
+    @Override
+    public String getString(int column) {
+        int length = getTrimmedLength(column);
+        if (length == 0 || stringDecoder == null) {
+            return null;
+        }
+        return stringDecoder.decode(source, rowOffset + offsets[column], length);
+    }
+
+    @Override
+    public byte[] getBytes(int column) {
+        int length = getTrimmedLength(column);
+        if (length == 0) {
+            return null;
+        }
+        int offset = rowOffset + offsets[column];
+        return Arrays.copyOfRange(source, offset, offset + length);
+    }
+
+    /**
+     * The function to read a numeric cell of the current row, missing values are read as {@link Double#NaN}.
+     *
+     * @param column the index of the numeric column with data.
+     * @return the value of the cell.
+     */
+    private double readNumber(int column) {
+        int offset = rowOffset + offsets[column];
+        int length = lengths[column];
+        if (length <= 2) {
+            return ByteArrayReader.readShort(source, offset, length, littleEndian);
+        }
+        double value = ByteArrayReader.readDouble(source, offset, length, littleEndian);
+        return value < NAN_EPSILON && value > 0 ? Double.NaN : value;
+    }
+
+    /**
+     * The function to get the length of a character cell of the current row without the trailing spaces, tabulation
+     * and null characters.
+     *
+     * @param column the index of the character column.
+     * @return the length of the trimmed cell, 0 if the cell is null.
+     */
+    private int getTrimmedLength(int column) {
+        checkRow();
+        if (column >= columnCount) {
+            return 0;
+        }
+        return ByteArrayReader.trimmedLength(source, rowOffset + offsets[column], lengths[column]);
+    }
+
+    /**
+     * The method to check that the cursor is at a row.
+     */
+    private void checkRow() {
+        if (source == null) {
+            throw new IllegalStateException("The cursor is not at a row");
+        }
+    }
+}
@@ -0,0 +1,391 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Column;
+import com.epam.parso.RowFilter;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.epam.parso.impl.SasFileConstants.EPSILON;
+import static com.epam.parso.impl.SasFileConstants.NAN_EPSILON;
+
+/**
+ * The class to check rows against a {@link RowFilter} without converting them into objects. The filter is resolved
+ * once into predicates on the bytes of the cells: numbers are read from the bytes and rounded the same way
+ * {@link ConversionPlan} rounds them, strings of ASCII characters are compared with the values without being
+ * decoded. The plan is bound to the metadata it was created from and is not thread-safe.
+ */
+final class RowFilterPlan {
+    /**
+     * The filter the plan is created for.
+     */
+    private final RowFilter filter;
+
+    /**
+     * True if the file stores numbers in the little-endian byte order.
+     */
+    private final boolean littleEndian;
+
+    /**
+     * The decoder of the character cells that are not strings of ASCII characters.
+     */
+    private final StringDecoder stringDecoder;
+
+    /**
+     * The predicate of the filter.
+     */
+    private final RowPredicate predicate;
+
+    /**
+     * The constructor that resolves the columns of the filter and creates its predicate.
+     *
+     * @param filter       the filter.
+     * @param columns      the columns of the file.
+     * @param layout       the offsets and lengths of the columns in a row, the cells of the columns following
+     *                     the first column with no data are null.
+     * @param littleEndian true if the file stores numbers in the little-endian byte order.
+     * @param encoding     the encoding of the character columns.
+     * @throws UnsupportedEncodingException if the encoding is not supported.
+     * @throws IllegalArgumentException     if the filter has a column that is not in the file or its values
+     *                                      do not match the type of its column.
+     */
+    RowFilterPlan(RowFilter filter, List<Column> columns, ColumnLayout layout, boolean littleEndian,
+                  String encoding) throws UnsupportedEncodingException {
+        this.filter = filter;
+        this.littleEndian = littleEndian;
+        stringDecoder = new StringDecoder(encoding);
+        Map<String, Integer> indexesByName = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexesByName.put(columns.get(i).getName(), i);
+        }
+        int dataColumnCount = 0;
+        while (dataColumnCount < Math.min(columns.size(), layout.size())
+                && layout.getLength(dataColumnCount) != 0) {
+            dataColumnCount++;
+        }
+        predicate = createPredicate(filter, columns, layout, indexesByName, dataColumnCount);
+    }
+
+    /**
+     * The function to get the filter the plan is created for.
+     *
+     * @return the filter.
+     */
+    RowFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * The function to check a row against the filter.
+     *
+     * @param source    the array of bytes storing the row.
+     * @param rowOffset the offset of the row in source.
+     * @return true if the row passes the filter.
+     */
+    boolean test(byte[] source, int rowOffset) {
+        return predicate.test(source, rowOffset);
+    }
+
+    /**
+     * The function to create the predicate of a filter and its operands.
+     *
+     * @param filter          the filter.
+     * @param columns         the columns of the file.
+     * @param layout          the offsets and lengths of the columns in a row.
+     * @param indexesByName   the indexes of the columns by their names.
+     * @param dataColumnCount the number of columns with data.
+     * @return the predicate.
+     */
+    private RowPredicate createPredicate(RowFilter filter, List<Column> columns, ColumnLayout layout,
+                                         Map<String, Integer> indexesByName, int dataColumnCount) {
+        RowFilter.Operator operator = filter.getOperator();
+        if (operator == RowFilter.Operator.AND || operator == RowFilter.Operator.OR) {
+            RowPredicate[] operands = new RowPredicate[filter.getOperands().size()];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = createPredicate(filter.getOperands().get(i), columns, layout, indexesByName,
+                        dataColumnCount);
+            }
+            boolean and = operator == RowFilter.Operator.AND;
+            return (source, rowOffset) -> {
+                for (RowPredicate operand : operands) {
+                    if (operand.test(source, rowOffset) != and) {
+                        return !and;
+                    }
+                }
+                return and;
+            };
+        }
+        Integer index = indexesByName.get(filter.getColumnName());
+        if (index == null) {
+            throw new IllegalArgumentException("There is no column " + filter.getColumnName() + " in the file");
+        }
+        boolean numeric = columns.get(index).getType() == Number.class;
+        for (Object value : filter.getValues()) {
+            if (numeric != (value instanceof Number)) {
+                throw new IllegalArgumentException("The value " + value + " of the filter on the column "
+                        + filter.getColumnName() + " does not match the type of the column");
+            }
+        }
+        if (index >= dataColumnCount) {
+            boolean isNull = operator == RowFilter.Operator.IS_NULL;
+            return (source, rowOffset) -> isNull;
+        }
+        int offset = (int) layout.getOffset(index);
+        int length = layout.getLength(index);
+        return numeric ? numberPredicate(operator, filter.getValues(), offset, length)
+                : stringPredicate(operator, filter.getValues(), offset, length);
+    }
+
+    /**
+     * The function to create the predicate of a condition on a numeric column, null cells pass only
+     * {@link RowFilter.Operator#IS_NULL}.
+     *
+     * @param operator the operator of the condition.
+     * @param values   the numbers the cells are compared with.
+     * @param offset   the offset of the column in a row.
+     * @param length   the length of the column.
+     * @return the predicate.
+     */
+    private RowPredicate numberPredicate(RowFilter.Operator operator, List<Object> values, int offset, int length) {
+        double[] numbers = new double[values.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            // cells equal to zero are read as positive zeros, so that the binary search finds them
+            numbers[i] = ((Number) values.get(i)).doubleValue() + 0.0;
+        }
+        double value = numbers.length > 0 ? numbers[0] : Double.NaN;
+        switch (operator) {
+            case EQUAL:
+                return (source, rowOffset) -> readNumber(source, rowOffset + offset, length) == value;
+            case NOT_EQUAL:
+                return (source, rowOffset) -> {
+                    double cell = readNumber(source, rowOffset + offset, length);
+                    return !Double.isNaN(cell) && cell != value;
+                };
+            case LESS:
+                return (source, rowOffset) -> readNumber(source, rowOffset + offset, length) < value;
+            case LESS_OR_EQUAL:
+                return (source, rowOffset) -> readNumber(source, rowOffset + offset, length) <= value;
+            case GREATER:
+                return (source, rowOffset) -> readNumber(source, rowOffset + offset, length) > value;
+            case GREATER_OR_EQUAL:
+                return (source, rowOffset) -> readNumber(source, rowOffset + offset, length) >= value;
+            case IN:
+                Arrays.sort(numbers);
+                return (source, rowOffset) -> {
+                    double cell = readNumber(source, rowOffset + offset, length);
+                    return !Double.isNaN(cell) && Arrays.binarySearch(numbers, cell) >= 0;
+                };
+            case BETWEEN:
+                return (source, rowOffset) -> {
+                    double cell = readNumber(source, rowOffset + offset, length);
+                    return cell >= numbers[0] && cell <= numbers[1];
+                };
+            case IS_NULL:
+                return (source, rowOffset) -> Double.isNaN(readNumber(source, rowOffset + offset, length));
+            case IS_NOT_NULL:
+                return (source, rowOffset) -> !Double.isNaN(readNumber(source, rowOffset + offset, length));
+            default:
+                throw new IllegalArgumentException("Unknown operator " + operator);
+        }
+    }
+
+    /**
+     * The function to create the predicate of a condition on a character column, empty cells are null and pass
+     * only {@link RowFilter.Operator#IS_NULL}. The cells are compared with the strings without trailing spaces,
+     * tabulation and null characters, the same way {@link String#compareTo(String)} compares strings.
+     *
+     * @param operator the operator of the condition.
+     * @param values   the strings the cells are compared with.
+     * @param offset   the offset of the column in a row.
+     * @param length   the length of the column.
+     * @return the predicate.
+     */
+    private RowPredicate stringPredicate(RowFilter.Operator operator, List<Object> values, int offset, int length) {
+        String[] strings = values.toArray(new String[0]);
+        String value = strings.length > 0 ? strings[0] : null;
+        switch (operator) {
+            case EQUAL:
+                return (source, rowOffset) -> compareString(source, rowOffset + offset, length, value) == 0;
+            case NOT_EQUAL:
+                return (source, rowOffset) -> {
+                    int comparison = compareString(source, rowOffset + offset, length, value);
+                    return comparison != 0 && comparison != Integer.MIN_VALUE;
+                };
+            case LESS:
+                return (source, rowOffset) -> {
+                    int comparison = compareString(source, rowOffset + offset, length, value);
+                    return comparison < 0 && comparison != Integer.MIN_VALUE;
+                };
+            case LESS_OR_EQUAL:
+                return (source, rowOffset) -> {
+                    int comparison = compareString(source, rowOffset + offset, length, value);
+                    return comparison <= 0 && comparison != Integer.MIN_VALUE;
+                };
+            case GREATER:
+                return (source, rowOffset) -> compareString(source, rowOffset + offset, length, value) > 0;
+            case GREATER_OR_EQUAL:
+                return (source, rowOffset) -> compareString(source, rowOffset + offset, length, value) >= 0;
+            case IN:
+                Arrays.sort(strings);
+                return (source, rowOffset) -> containsString(source, rowOffset + offset, length, strings);
+            case BETWEEN:
+                return (source, rowOffset) -> {
+                    int comparison = compareString(source, rowOffset + offset, length, strings[0]);
+                    return comparison >= 0 && compareString(source, rowOffset + offset, length, strings[1]) <= 0;
+                };
+            case IS_NULL:
+                return (source, rowOffset) -> ByteArrayReader.trimmedLength(source, rowOffset + offset, length) == 0;
+            case IS_NOT_NULL:
+                return (source, rowOffset) -> ByteArrayReader.trimmedLength(source, rowOffset + offset, length) != 0;
+            default:
+                throw new IllegalArgumentException("Unknown operator " + operator);
+        }
+    }
+
+    /**
+     * The function to read the number stored in a numeric cell of the file, see
+     * {@link RowFilterPlan#readNumber(byte[], int, int, boolean)}.
+     *
+     * @param source the array of bytes storing the row.
+     * @param offset the offset of the cell in source.
+     * @param length the length of the column.
+     * @return the number, NaN if the cell is null.
+     */
+    private double readNumber(byte[] source, int offset, int length) {
+        return readNumber(source, offset, length, littleEndian);
+    }
+
+    /**
+     * The function to read the number stored in a numeric cell. The numbers that differ from a whole number
+     * by less than {@link SasFileConstants#EPSILON} are rounded, like {@link ConversionPlan} rounds them.
+     *
+     * @param source       the array of bytes storing the row.
+     * @param offset       the offset of the cell in source.
+     * @param length       the length of the column.
+     * @param littleEndian true if the file stores numbers in the little-endian byte order.
+     * @return the number, NaN if the cell is null.
+     */
+    static double readNumber(byte[] source, int offset, int length, boolean littleEndian) {
+        if (length <= 2) {
+            return ByteArrayReader.readShort(source, offset, length, littleEndian);
+        }
+        double value = ByteArrayReader.readDouble(source, offset, length, littleEndian);
+        if (Double.isNaN(value) || (value < NAN_EPSILON && value > 0)) {
+            return Double.NaN;
+        }
+        long longValue = Math.round(value);
+        return Math.abs(value - longValue) < EPSILON ? longValue : value;
+    }
+
+    /**
+     * The function to compare a character cell with a string.
+     *
+     * @param source the array of bytes storing the row.
+     * @param offset the offset of the cell in source.
+     * @param length the length of the column.
+     * @param value  the string.
+     * @return the result of the comparison of the cell with the string as in {@link String#compareTo(String)},
+     * {@link Integer#MIN_VALUE} if the cell is null.
+     */
+    private int compareString(byte[] source, int offset, int length, String value) {
+        int trimmedLength = ByteArrayReader.trimmedLength(source, offset, length);
+        if (trimmedLength == 0) {
+            return Integer.MIN_VALUE;
+        }
+        if (stringDecoder.isAsciiCompatible() && AsciiUtils.isAscii(source, offset, trimmedLength)) {
+            return compareAscii(source, offset, trimmedLength, value);
+        }
+        return stringDecoder.decode(source, offset, trimmedLength).compareTo(value);
+    }
+
+    /**
+     * The function to check if a character cell equals one of the strings.
+     *
+     * @param source  the array of bytes storing the row.
+     * @param offset  the offset of the cell in source.
+     * @param length  the length of the column.
+     * @param strings the sorted strings.
+     * @return true if the cell is not null and equals one of the strings.
+     */
+    private boolean containsString(byte[] source, int offset, int length, String[] strings) {
+        int trimmedLength = ByteArrayReader.trimmedLength(source, offset, length);
+        if (trimmedLength == 0) {
+            return false;
+        }
+        if (!stringDecoder.isAsciiCompatible() || !AsciiUtils.isAscii(source, offset, trimmedLength)) {
+            return Arrays.binarySearch(strings, stringDecoder.decode(source, offset, trimmedLength)) >= 0;
+        }
+        int low = 0;
+        int high = strings.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareAscii(source, offset, trimmedLength, strings[middle]);
+            if (comparison == 0) {
+                return true;
+            } else if (comparison < 0) {
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The function to compare a string of ASCII characters stored in an array of bytes with a string, the same way
+     * {@link String#compareTo(String)} compares strings.
+     *
+     * @param source the array of bytes storing the string of ASCII characters.
+     * @param offset the offset of the string in source.
+     * @param length the length of the string.
+     * @param value  the string.
+     * @return a negative number, zero or a positive number if the string of ASCII characters is less than, equal to
+     * or greater than the string.
+     */
+    private static int compareAscii(byte[] source, int offset, int length, String value) {
+        int commonLength = Math.min(length, value.length());
+        for (int i = 0; i < commonLength; i++) {
+            int difference = source[offset + i] - value.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - value.length();
+    }
+
+    /**
+     * The interface of the predicates on the bytes of a row.
+     */
+    private interface RowPredicate {
+        /**
+         * The function to check a row.
+         *
+         * @param source    the array of bytes storing the row.
+         * @param rowOffset the offset of the row in source.
+         * @return true if the row passes the predicate.
+         */
+        boolean test(byte[] source, int rowOffset);
+    }
+}
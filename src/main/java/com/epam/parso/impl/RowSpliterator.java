@@ -0,0 +1,340 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import com.epam.parso.Projection;
+import com.epam.parso.SasFileProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.epam.parso.impl.SasFileConstants.PAGE_DATA_TYPE_2;
+import static com.epam.parso.impl.SasFileConstants.PAGE_MIX_TYPE_2;
+
+/**
+ * A spliterator over a range of rows of the sas7bdat file read from a random access page source. Rows are decoded
+ * by a parser forked from the parent {@link SasFileParser}, so spliterators produced by splitting can be traversed
+ * on different threads. The range is split at page boundaries found with the {@link PageIndex} of all pages
+ * of the file. Deleted rows are skipped. The buffers of a forked parser are released when its range is read, the
+ * parsers of the ranges which are not read to the end, like with {@link java.util.stream.Stream#findFirst()}, are
+ * released by {@link RowSpliterator#close()}. The number of ranges is bounded by the memory budget of the parser.
+ */
+final class RowSpliterator implements Spliterator<Object[]> {
+    /**
+     * The parser which has read the metadata of the file.
+     */
+    private final SasFileParser parser;
+
+    /**
+     * The index of all pages of the file.
+     */
+    private final PageIndex pageIndex;
+
+    /**
+     * The columns which should be processed, if null then all columns are processed.
+     */
+    private final Projection projection;
+
+    /**
+     * The characteristics of the spliterator, the size is known only if the file has no deleted rows.
+     */
+    private final int characteristics;
+
+    /**
+     * The index of the row following the last row of the range.
+     */
+    private final long endRow;
+
+    /**
+     * The index of the next row to read.
+     */
+    private long currentRow;
+
+    /**
+     * The index of the page which stores the last read row, -1 if no rows were read.
+     */
+    private int currentPage = -1;
+
+    /**
+     * The parser that decodes rows of the range, created when the first row is read and released after
+     * the last one.
+     */
+    private SasFileParser pageParser;
+
+    /**
+     * The forked parsers whose buffers are not released yet, shared by the spliterators produced by splitting.
+     */
+    private final Set<SasFileParser> pageParsers;
+
+    /**
+     * The number of the ranges produced by splitting, shared by the spliterators produced by splitting.
+     */
+    private final AtomicInteger rangeCount;
+
+    /**
+     * The maximum number of the ranges, every range can hold the buffers of a forked parser, so ranges are
+     * not split if their parsers would not fit into the memory budget, see {@link BufferAllocator#fit(long, int)}.
+     */
+    private final int maxRangeCount;
+
+    /**
+     * The constructor of the spliterator over the rows in the specified range.
+     *
+     * @param parser      the parser which has read the metadata of the file.
+     * @param pageIndex   the index of all pages of the file.
+     * @param projection  the columns which should be processed, if null then all columns are processed.
+     * @param firstRow    the index of the first row of the range.
+     * @param endRow      the index of the row following the last row of the range.
+     */
+    RowSpliterator(SasFileParser parser, PageIndex pageIndex, Projection projection, long firstRow,
+                   long endRow) {
+        this.parser = parser;
+        this.pageIndex = pageIndex;
+        this.projection = projection;
+        characteristics = ORDERED | NONNULL | (hasDeletedRows(pageIndex) ? 0 : SIZED | SUBSIZED);
+        this.endRow = endRow;
+        pageParsers = ConcurrentHashMap.newKeySet();
+        rangeCount = new AtomicInteger(1);
+        SasFileProperties properties = parser.getSasFileProperties();
+        maxRangeCount = parser.getBufferAllocator().fit(properties.getPageLength() + properties.getRowLength(),
+                Integer.MAX_VALUE);
+        currentRow = firstRow;
+    }
+
+    /**
+     * The constructor of the spliterator over the first rows of the range of the specified spliterator.
+     *
+     * @param suffix the spliterator which is split.
+     * @param endRow the index of the row following the last row of the range.
+     */
+    private RowSpliterator(RowSpliterator suffix, long endRow) {
+        parser = suffix.parser;
+        pageIndex = suffix.pageIndex;
+        projection = suffix.projection;
+        characteristics = suffix.characteristics;
+        this.endRow = endRow;
+        pageParsers = suffix.pageParsers;
+        rangeCount = suffix.rangeCount;
+        maxRangeCount = suffix.maxRangeCount;
+        currentRow = suffix.currentRow;
+    }
+
+    /**
+     * The function to create a spliterator over the rows following the current row of the parser, deleted rows are
+     * skipped. If the page source of the parser is random access and the spliterator is created for a parallel
+     * stream or the parser has a pool set by the builder, all pages are indexed and rows are decoded by forked
+     * parsers, so the spliterator is split by page ranges, the parser itself is moved to the end of the file.
+     * Otherwise, rows are read one by one with {@link SasFileParser#locateNextRow()}.
+     *
+     * @param parser     the parser which has read the metadata of the file.
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @param parallel   true if the spliterator is created for a parallel stream.
+     * @return the spliterator over the rows.
+     * @throws IOException if reading from the page source is impossible.
+     */
+    static Spliterator<Object[]> create(SasFileParser parser, Projection projection, boolean parallel)
+            throws IOException {
+        long rowCount = parser.getSasFileProperties().getRowCount();
+        long firstRow = Math.min(parser.getOffset(), rowCount);
+        if (parser.getParallelPool(parallel) == null) {
+            int columnsCount = (int) parser.getSasFileProperties().getColumnsCount();
+            return new Spliterators.AbstractSpliterator<Object[]>(rowCount - firstRow, ORDERED | NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Object[]> action) {
+                    try {
+                        if (!parser.locateNextRow()) {
+                            return false;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    action.accept(parser.getConversionPlan().convertRow(parser.getCurrentRowSource(),
+                            parser.getCurrentRowOffset(), projection, columnsCount));
+                    return true;
+                }
+            };
+        }
+        if (firstRow == rowCount) {
+            return Spliterators.emptySpliterator();
+        }
+        PageIndex pageIndex = parser.indexPages();
+        parser.seek(rowCount);
+        return new RowSpliterator(parser, pageIndex, projection, firstRow,
+                Math.min(rowCount, pageIndex.getIndexedRowCount()));
+    }
+
+    /**
+     * The function to check if there are pages that can contain deleted rows in the file. Pages whose number
+     * of deleted rows is known to be zero, see {@link PageIndexFile}, are not counted.
+     *
+     * @param pageIndex the index of all pages of the file.
+     * @return true if some pages can contain deleted rows.
+     */
+    private static boolean hasDeletedRows(PageIndex pageIndex) {
+        for (int page = 0; page < pageIndex.size(); page++) {
+            if ((pageIndex.getPageType(page) == PAGE_DATA_TYPE_2 || pageIndex.getPageType(page) == PAGE_MIX_TYPE_2)
+                    && pageIndex.getDeletedRowCount(page) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The function to read the next row of the range that is not deleted.
+     *
+     * @param action the action to perform on the row.
+     * @return false if there are no more rows in the range.
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super Object[]> action) {
+        while (currentRow < endRow) {
+            if (currentPage < 0 || currentRow >= pageIndex.getFirstRow(currentPage)
+                    + pageIndex.getRowCount(currentPage)) {
+                currentPage = pageIndex.findPage(currentRow);
+            }
+            if (pageParser == null) {
+                pageParser = parser.fork();
+                pageParsers.add(pageParser);
+            }
+            Object[] row;
+            try {
+                row = pageParser.readRow(currentPage, (int) (currentRow - pageIndex.getFirstRow(currentPage)),
+                        projection);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            currentRow++;
+            if (row != null) {
+                action.accept(row);
+                return true;
+            }
+        }
+        releasePageParser();
+        return false;
+    }
+
+    /**
+     * The method to read the remaining rows of the range that are not deleted, the buffers of the parser that
+     * decodes them are released afterwards.
+     *
+     * @param action the action to perform on the rows.
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super Object[]> action) {
+        try {
+            boolean advanced = true;
+            while (advanced) {
+                advanced = tryAdvance(action);
+            }
+        } finally {
+            releasePageParser();
+        }
+    }
+
+    /**
+     * The method to release the buffers of the forked parsers of this spliterator and of the spliterators produced
+     * by splitting which have not read their ranges to the end. Called when the stream is closed.
+     */
+    void close() {
+        for (SasFileParser forkedParser : new ArrayList<>(pageParsers)) {
+            if (pageParsers.remove(forkedParser)) {
+                forkedParser.releaseBuffers();
+            }
+        }
+        pageParser = null;
+    }
+
+    /**
+     * The method to release the buffers of the parser that decodes the rows of the range.
+     */
+    private void releasePageParser() {
+        if (pageParser != null && pageParsers.remove(pageParser)) {
+            pageParser.releaseBuffers();
+        }
+        pageParser = null;
+    }
+
+    /**
+     * The function to split off the rows of the first half of the remaining pages.
+     *
+     * @return the spliterator over the rows of the first half of the pages, null if the remaining rows are stored
+     * on one page.
+     */
+    @Override
+    public Spliterator<Object[]> trySplit() {
+        if (currentRow >= endRow) {
+            return null;
+        }
+        int firstPage = pageIndex.findPage(currentRow);
+        int lastPage = pageIndex.findPage(endRow - 1);
+        if (lastPage <= firstPage || !reserveRange()) {
+            return null;
+        }
+        long splitRow = pageIndex.getFirstRow((firstPage + lastPage + 1) >>> 1);
+        Spliterator<Object[]> prefix = new RowSpliterator(this, splitRow);
+        currentRow = splitRow;
+        return prefix;
+    }
+
+    /**
+     * The function to count one more range if the number of the ranges is less than its maximum.
+     *
+     * @return true if the range is counted.
+     */
+    private boolean reserveRange() {
+        int count = rangeCount.get();
+        while (count < maxRangeCount) {
+            if (rangeCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+            count = rangeCount.get();
+        }
+        return false;
+    }
+
+    /**
+     * The function to estimate the number of remaining rows, it is exact if the file has no deleted rows.
+     *
+     * @return the number of remaining rows, deleted rows included.
+     */
+    @Override
+    public long estimateSize() {
+        return endRow - currentRow;
+    }
+
+    /**
+     * The function to get the characteristics of the spliterator.
+     *
+     * @return {@link Spliterator#ORDERED} and {@link Spliterator#NONNULL} characteristics,
+     * {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} if the file has no deleted rows.
+     */
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -479,13 +479,13 @@ public interface SasFileConstants {
     int PAGE_BIT_OFFSET_X64 = 32;
 
     /**
-     * The length in bytes of one subheader pointer ({@link SasFileParser.SubheaderPointer}) of a sas7bdat file
+     * The length in bytes of one subheader pointer ({@link SubheaderPointer}) of a sas7bdat file
      * created in the 32-bit version of SAS (see {@link SasFileConstants#ALIGN_2_VALUE}).
      */
     int SUBHEADER_POINTER_LENGTH_X86 = 12;
 
     /**
-     * The length in bytes of one subheader pointer ({@link SasFileParser.SubheaderPointer}) of a sas7bdat file
+     * The length in bytes of one subheader pointer ({@link SubheaderPointer}) of a sas7bdat file
      * created in the 64-bit version of SAS (see {@link SasFileConstants#ALIGN_2_VALUE}).
      */
     int SUBHEADER_POINTER_LENGTH_X64 = 24;
@@ -592,29 +592,29 @@ public interface SasFileConstants {
     int PAGE_AMD_TYPE = 1024;
 
     /**
-     * The sas7bdat file stores the array of subheader pointers ({@link SasFileParser.SubheaderPointer}) at this
+     * The sas7bdat file stores the array of subheader pointers ({@link SubheaderPointer}) at this
      * offset (adding {@link SasFileConstants#PAGE_BIT_OFFSET_X86} or {@link SasFileConstants#PAGE_BIT_OFFSET_X64})
      * from the beginning of the page.
      */
     int SUBHEADER_POINTERS_OFFSET = 8;
 
     /**
-     * If the {@link SasFileParser.SubheaderPointer#compression} value of a subheader equals to TRUNCATED_SUBHEADER_ID
+     * If the {@link SubheaderPointer#compression} value of a subheader equals to TRUNCATED_SUBHEADER_ID
      * then it does not contain useful information.
      */
     int TRUNCATED_SUBHEADER_ID = 1;
 
     /**
      * A subheader with compressed data has two parameters:
-     * its {@link SasFileParser.SubheaderPointer#compression} should equal to COMPRESSED_SUBHEADER_ID and its
-     * {@link SasFileParser.SubheaderPointer#type} should equal to {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}.
+     * its {@link SubheaderPointer#compression} should equal to COMPRESSED_SUBHEADER_ID and its
+     * {@link SubheaderPointer#type} should equal to {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}.
      */
     int COMPRESSED_SUBHEADER_ID = 4;
 
     /**
      * A Subheader with compressed data has two parameters:
-     * its {@link SasFileParser.SubheaderPointer#compression} should equal to
-     * {@link SasFileConstants#COMPRESSED_SUBHEADER_ID} and its {@link SasFileParser.SubheaderPointer#type}
+     * its {@link SubheaderPointer#compression} should equal to
+     * {@link SasFileConstants#COMPRESSED_SUBHEADER_ID} and its {@link SubheaderPointer#type}
      * should equal to COMPRESSED_SUBHEADER_TYPE.
      */
     int COMPRESSED_SUBHEADER_TYPE = 1;
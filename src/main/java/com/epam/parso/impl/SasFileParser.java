@@ -20,30 +20,38 @@
 package com.epam.parso.impl;
 
 import com.epam.parso.Column;
+import com.epam.parso.ColumnBatch;
 import com.epam.parso.ColumnFormat;
 import com.epam.parso.ColumnMissingInfo;
+import com.epam.parso.MemoryBudget;
+import com.epam.parso.PageSource;
+import com.epam.parso.Projection;
+import com.epam.parso.RowCursor;
+import com.epam.parso.RowFilter;
 import com.epam.parso.SasFileProperties;
 import com.epam.parso.date.OutputDateType;
 import com.epam.parso.date.SasTemporalFormatter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.DataInputStream;
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.epam.parso.impl.ParserMessageConstants.BLOCK_COUNT;
 import static com.epam.parso.impl.ParserMessageConstants.COLUMN_FORMAT;
 import static com.epam.parso.impl.ParserMessageConstants.EMPTY_INPUT_STREAM;
 import static com.epam.parso.impl.ParserMessageConstants.FILE_NOT_VALID;
+import static com.epam.parso.impl.ParserMessageConstants.NEGATIVE_ROW_INDEX;
 import static com.epam.parso.impl.ParserMessageConstants.NO_SUPPORTED_COMPRESSION_LITERAL;
 import static com.epam.parso.impl.ParserMessageConstants.NULL_COMPRESSION_LITERAL;
 import static com.epam.parso.impl.ParserMessageConstants.PAGE_TYPE;
+import static com.epam.parso.impl.ParserMessageConstants.SEEK_BEFORE_CURRENT_PAGE;
+import static com.epam.parso.impl.ParserMessageConstants.SEQUENTIAL_SOURCE_NOT_INDEXED;
 import static com.epam.parso.impl.ParserMessageConstants.SUBHEADER_COUNT;
 import static com.epam.parso.impl.ParserMessageConstants.SUBHEADER_PROCESS_FUNCTION_NAME;
 import static com.epam.parso.impl.ParserMessageConstants.UNKNOWN_SUBHEADER_SIGNATURE;
@@ -62,71 +70,49 @@ public final class SasFileParser {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(SasFileParser.class);
     /**
-     * The mapping of subheader signatures to the corresponding elements in {@link SubheaderIndexes}.
-     * Depending on the value at the {@link SasFileConstants#ALIGN_2_OFFSET} offset, signatures take 4 bytes
-     * for 32-bit version sas7bdat files and 8 bytes for the 64-bit version files.
+     * Sanity check on maximum page length.
      */
-    private static final Map<Long, SubheaderIndexes> SUBHEADER_SIGNATURE_TO_INDEX;
+    private static final int MAX_PAGE_LENGTH = 10000000;
+
     /**
-     * The mapping of the supported string literals to the compression method they mean.
+     * The source through which the sas7bdat is read.
      */
-    private static final Map<String, Decompressor> LITERALS_TO_DECOMPRESSOR = new HashMap<>();
-
+    private final PageSource pageSource;
     /**
-     * Sanity check on maximum page length.
+     * The flag of data output in binary or string format.
      */
-    private static final int MAX_PAGE_LENGTH = 10000000;
+    private final Boolean byteOutput;
 
     /**
-     * Byte buffer used for skip operations.
-     * Actually the data containing in this buffer is ignored,
-     * because it only used for dummy reads.
+     * The flag of the output of character data as {@link com.epam.parso.ByteCharSequence} views.
      */
-    private static final byte[] SKIP_BYTE_BUFFER = new byte[4096];
+    private final boolean charSequenceOutput;
 
-    static {
-        Map<Long, SubheaderIndexes> tmpMap = new HashMap<>();
-        tmpMap.put((long) 0xF7F7F7F7, SubheaderIndexes.ROW_SIZE_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xF6F6F6F6, SubheaderIndexes.COLUMN_SIZE_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xFFFFFC00, SubheaderIndexes.SUBHEADER_COUNTS_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xFFFFFFFD, SubheaderIndexes.COLUMN_TEXT_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xFFFFFFFF, SubheaderIndexes.COLUMN_NAME_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xFFFFFFFC, SubheaderIndexes.COLUMN_ATTRIBUTES_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xFFFFFBFE, SubheaderIndexes.FORMAT_AND_LABEL_SUBHEADER_INDEX);
-        tmpMap.put((long) 0xFFFFFFFE, SubheaderIndexes.COLUMN_LIST_SUBHEADER_INDEX);
-        tmpMap.put(0x00000000F7F7F7F7L, SubheaderIndexes.ROW_SIZE_SUBHEADER_INDEX);
-        tmpMap.put(0x00000000F6F6F6F6L, SubheaderIndexes.COLUMN_SIZE_SUBHEADER_INDEX);
-        tmpMap.put(0xF7F7F7F700000000L, SubheaderIndexes.ROW_SIZE_SUBHEADER_INDEX);
-        tmpMap.put(0xF6F6F6F600000000L, SubheaderIndexes.COLUMN_SIZE_SUBHEADER_INDEX);
-        tmpMap.put(0xF7F7F7F7FFFFFBFEL, SubheaderIndexes.ROW_SIZE_SUBHEADER_INDEX);
-        tmpMap.put(0xF6F6F6F6FFFFFBFEL, SubheaderIndexes.COLUMN_SIZE_SUBHEADER_INDEX);
-        tmpMap.put(0x00FCFFFFFFFFFFFFL, SubheaderIndexes.SUBHEADER_COUNTS_SUBHEADER_INDEX);
-        tmpMap.put(0xFDFFFFFFFFFFFFFFL, SubheaderIndexes.COLUMN_TEXT_SUBHEADER_INDEX);
-        tmpMap.put(0xFFFFFFFFFFFFFFFFL, SubheaderIndexes.COLUMN_NAME_SUBHEADER_INDEX);
-        tmpMap.put(0xFCFFFFFFFFFFFFFFL, SubheaderIndexes.COLUMN_ATTRIBUTES_SUBHEADER_INDEX);
-        tmpMap.put(0xFEFBFFFFFFFFFFFFL, SubheaderIndexes.FORMAT_AND_LABEL_SUBHEADER_INDEX);
-        tmpMap.put(0xFEFFFFFFFFFFFFFFL, SubheaderIndexes.COLUMN_LIST_SUBHEADER_INDEX);
-        SUBHEADER_SIGNATURE_TO_INDEX = Collections.unmodifiableMap(tmpMap);
-    }
+    /**
+     * Output date type.
+     */
+    private final OutputDateType outputDateType;
 
-    static {
-        LITERALS_TO_DECOMPRESSOR.put(COMPRESS_CHAR_IDENTIFYING_STRING, CharDecompressor.INSTANCE);
-        LITERALS_TO_DECOMPRESSOR.put(COMPRESS_BIN_IDENTIFYING_STRING, BinDecompressor.INSTANCE);
-    }
+    /**
+     * The pool that decodes pages in parallel, null if rows are decoded one by one on the calling thread.
+     */
+    private final ForkJoinPool forkJoinPool;
 
     /**
-     * The input stream through which the sas7bdat is read.
+     * The allocator of the page and row buffers, shared with the forked parsers.
      */
-    private final DataInputStream sasFileStream;
+    private final BufferAllocator bufferAllocator;
+
     /**
-     * The flag of data output in binary or string format.
+     * True if only the metadata of the file is read, see {@link SasFileParser.Builder#metadataOnly(Boolean)}.
      */
-    private final Boolean byteOutput;
+    private final boolean metadataOnly;
 
     /**
-     * Output date type.
+     * The reader of rows decoded in parallel by {@link SasFileParser#forkJoinPool}, null if the parallel
+     * reading has not started yet or has to be restarted from {@link SasFileParser#currentRowInFileIndex}.
      */
-    private final OutputDateType outputDateType;
+    private ParallelPageReader parallelPageReader;
 
     /**
      * The list of current page data subheaders.
@@ -135,33 +121,26 @@ public final class SasFileParser {
     /**
      * The variable to store all the properties from the sas7bdat file.
      */
-    private final SasFileProperties sasFileProperties = new SasFileProperties();
+    private final SasFileProperties sasFileProperties;
     /**
      * The list of text blocks with information about file compression and table columns (name, label, format).
      * Every element corresponds to a {@link SasFileParser.ColumnTextSubheader}. The first text block includes
      * the information about compression.
      */
-    private final List<byte[]> columnsNamesBytes = new ArrayList<>();
+    private final List<byte[]> columnsNamesBytes;
     /**
      * The list of column names.
      */
-    private final List<String> columnsNamesList = new ArrayList<>();
-    /**
-     * The list of column types. There can be {@link Number} and {@link String} types.
-     */
-    private final List<Class<?>> columnsTypesList = new ArrayList<>();
-    /**
-     * The list of offsets of data in every column inside a row. Used to locate the left border of a cell.
-     */
-    private final List<Long> columnsDataOffset = new ArrayList<>();
+    private final List<String> columnsNamesList;
     /**
-     * The list of data lengths of every column inside a row. Used to locate the right border of a cell.
+     * The offsets and lengths of data in every column inside a row and the column types. Used to locate the borders
+     * of a cell. There can be {@link Number} and {@link String} types.
      */
-    private final List<Integer> columnsDataLength = new ArrayList<>();
+    private final ColumnLayout columnLayout;
     /**
      * The list of table columns to store their name, label, and format.
      */
-    private final List<Column> columns = new ArrayList<>();
+    private final List<Column> columns;
     /**
      * The mapping between elements from {@link SubheaderIndexes} and classes corresponding
      * to each subheader. This is necessary because defining the subheader type being processed is dynamic.
@@ -172,11 +151,30 @@ public final class SasFileParser {
      * Default encoding for output strings.
      */
     private String encoding = "US-ASCII";
+
+    /**
+     * The decoder of the strings in {@link SasFileParser#encoding}, created when the first string is decoded.
+     */
+    private StringDecoder stringDecoder;
     /**
      * A cache to store the current page of the sas7bdat file. Used to avoid posing buffering requirements
-     * to {@link SasFileParser#sasFileStream}.
+     * to {@link SasFileParser#pageSource}.
      */
     private byte[] cachedPage;
+    /**
+     * The index of the page stored in {@link SasFileParser#cachedPage}, the first page after the header has
+     * the zero index.
+     */
+    private long currentPageIndex = -1;
+    /**
+     * The index of the last page whose metadata subheaders were processed. Pages can be read again after
+     * {@link SasFileParser#seek(long)}, their metadata must be processed only once.
+     */
+    private long lastMetadataPageIndex = -1;
+    /**
+     * The index of the pages read so far, used to find the page that stores a row.
+     */
+    private final PageIndex pageIndex = new PageIndex();
     /**
      * The type of the current page when reading the file. If it is other than
      * {@link PageType#PAGE_TYPE_META}, {@link PageType#PAGE_TYPE_MIX}, {@link PageType#PAGE_TYPE_DATA}
@@ -191,10 +189,6 @@ public final class SasFileParser {
      * Number current page subheaders.
      */
     private int currentPageSubheadersCount;
-    /**
-     * The index of the current byte when reading the file.
-     */
-    private int currentFilePosition;
     /**
      * The index of the current column when reading the file.
      */
@@ -202,7 +196,7 @@ public final class SasFileParser {
     /**
      * The index of the current row when reading the file.
      */
-    private int currentRowInFileIndex;
+    private long currentRowInFileIndex;
     /**
      * The index of the current row when reading the page.
      */
@@ -211,6 +205,38 @@ public final class SasFileParser {
      * Last read row from sas7bdat file.
      */
     private Object[] currentRow;
+    /**
+     * The array of bytes storing the row found by {@link SasFileParser#locateCurrentPageRow()}, either
+     * {@link SasFileParser#cachedPage} or {@link SasFileParser#decompressedRow}.
+     */
+    private byte[] currentRowSource;
+    /**
+     * The buffer for decompressed rows, allocated with the first compressed row and reused for all following rows.
+     */
+    private byte[] decompressedRow;
+    /**
+     * The offset of the row found by {@link SasFileParser#locateCurrentPageRow()} in
+     * {@link SasFileParser#currentRowSource}.
+     */
+    private int currentRowOffset;
+    /**
+     * The converters of the columns resolved from the metadata, created by the first converted row and dropped
+     * when metadata subheaders are processed.
+     */
+    private ConversionPlan conversionPlan;
+    /**
+     * The projection returned by the last call of {@link SasFileParser#getProjection(List)}.
+     */
+    private Projection projection;
+    /**
+     * The column names {@link SasFileParser#projection} was created from.
+     */
+    private List<String> projectionColumnNames;
+    /**
+     * The decoder of rows into {@link ColumnBatch} objects, created by the first decoded row and dropped
+     * when metadata subheaders are processed.
+     */
+    private ColumnBatchDecoder columnBatchDecoder;
     /**
      * True if stream is at the end of file.
      */
@@ -243,12 +269,13 @@ public final class SasFileParser {
     /**
      * The list of missing column information.
      */
-    private final List<ColumnMissingInfo> columnMissingInfoList = new ArrayList<>();
+    private final List<ColumnMissingInfo> columnMissingInfoList;
 
     /**
-     * An bit representation in String marking deleted records.
+     * The rows of the current page marked as deleted, the bit of a row is set if the row is deleted. It is read
+     * by {@link SasFileParser#getDeletedRows()} when a row of a page that can store deleted rows is read first.
      */
-    private String deletedMarkers = "";
+    private BitSet deletedRows;
 
     /**
      * Instance of SasDateFormatter.
@@ -262,58 +289,145 @@ public final class SasFileParser {
      * @param builder the container with properties information.
      */
     private SasFileParser(Builder builder) {
-        sasFileStream = new DataInputStream(builder.sasFileStream);
+        pageSource = builder.pageSource;
         byteOutput = builder.byteOutput;
+        charSequenceOutput = Boolean.TRUE.equals(builder.charSequenceOutput);
         outputDateType = builder.outputDateType;
+        forkJoinPool = builder.forkJoinPool;
+        bufferAllocator = new BufferAllocator(builder.memoryBudget);
+        metadataOnly = Boolean.TRUE.equals(builder.metadataOnly);
+        sasFileProperties = new SasFileProperties();
+        columnsNamesBytes = new ArrayList<>();
+        columnsNamesList = new ArrayList<>();
+        columnLayout = new ColumnLayout();
+        columns = new ArrayList<>();
+        columnMissingInfoList = new ArrayList<>();
+        subheaderIndexToClass = createSubheaderProcessors();
+
+        try {
+            getMetadataFromSasFile(builder.encoding);
+            if (builder.pageIndexFile != null && !metadataOnly) {
+                PageIndexFile.read(builder.pageIndexFile, sasFileProperties, pageIndex);
+            }
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
 
+    /**
+     * The constructor of a parser that decodes pages of the same file independently of the parent parser.
+     * The metadata of the file is shared with the parent and never changed, the page cache and the state
+     * of reading are separate, so the parser can be used on another thread than the parent.
+     *
+     * @param parent the parser which has read the metadata of the file.
+     */
+    private SasFileParser(SasFileParser parent) {
+        pageSource = parent.pageSource;
+        byteOutput = parent.byteOutput;
+        charSequenceOutput = parent.charSequenceOutput;
+        outputDateType = parent.outputDateType;
+        forkJoinPool = null;
+        bufferAllocator = parent.bufferAllocator;
+        metadataOnly = false;
+        sasFileProperties = parent.sasFileProperties;
+        columnsNamesBytes = parent.columnsNamesBytes;
+        columnsNamesList = parent.columnsNamesList;
+        columnLayout = parent.columnLayout;
+        columns = parent.columns;
+        columnMissingInfoList = parent.columnMissingInfoList;
+        subheaderIndexToClass = createSubheaderProcessors();
+        encoding = parent.encoding;
+        cachedPage = bufferAllocator.allocate(sasFileProperties.getPageLength());
+        lastMetadataPageIndex = Long.MAX_VALUE;
+    }
+
+    /**
+     * The function to create the processors of all subheader types bound to this parser.
+     *
+     * @return the mapping between elements from {@link SubheaderIndexes} and their processors.
+     */
+    private Map<SubheaderIndexes, ProcessingSubheader> createSubheaderProcessors() {
         Map<SubheaderIndexes, ProcessingSubheader> tmpMap = new HashMap<>();
+        // the subheader counts and the column list subheaders do not store information used by the parser
+        ProcessingSubheader ignoredSubheader = (subheaderOffset, subheaderLength) -> { };
         tmpMap.put(SubheaderIndexes.ROW_SIZE_SUBHEADER_INDEX, new RowSizeSubheader());
         tmpMap.put(SubheaderIndexes.COLUMN_SIZE_SUBHEADER_INDEX, new ColumnSizeSubheader());
-        tmpMap.put(SubheaderIndexes.SUBHEADER_COUNTS_SUBHEADER_INDEX, new SubheaderCountsSubheader());
+        tmpMap.put(SubheaderIndexes.SUBHEADER_COUNTS_SUBHEADER_INDEX, ignoredSubheader);
         tmpMap.put(SubheaderIndexes.COLUMN_TEXT_SUBHEADER_INDEX, new ColumnTextSubheader());
         tmpMap.put(SubheaderIndexes.COLUMN_NAME_SUBHEADER_INDEX, new ColumnNameSubheader());
         tmpMap.put(SubheaderIndexes.COLUMN_ATTRIBUTES_SUBHEADER_INDEX, new ColumnAttributesSubheader());
         tmpMap.put(SubheaderIndexes.FORMAT_AND_LABEL_SUBHEADER_INDEX, new FormatAndLabelSubheader());
-        tmpMap.put(SubheaderIndexes.COLUMN_LIST_SUBHEADER_INDEX, new ColumnListSubheader());
-        tmpMap.put(SubheaderIndexes.DATA_SUBHEADER_INDEX, new DataSubheader());
-        subheaderIndexToClass = Collections.unmodifiableMap(tmpMap);
+        tmpMap.put(SubheaderIndexes.COLUMN_LIST_SUBHEADER_INDEX, ignoredSubheader);
+        return Collections.unmodifiableMap(tmpMap);
+    }
 
-        try {
-            getMetadataFromSasFile(builder.encoding);
-        } catch (IOException e) {
-            LOGGER.error(e.getMessage(), e);
-        }
+    /**
+     * The function to create a parser that decodes pages of the file on another thread, see
+     * {@link SasFileParser#SasFileParser(SasFileParser)}.
+     *
+     * @return the parser sharing the metadata with this parser.
+     */
+    SasFileParser fork() {
+        return new SasFileParser(this);
     }
 
     /**
      * The method that reads and parses metadata from the sas7bdat and puts the results in
-     * {@link SasFileParser#sasFileProperties}.
+     * {@link SasFileParser#sasFileProperties}. If {@link SasFileParser#metadataOnly} is true, reading stops
+     * as soon as all columns are described and the page buffer is released, no rows can be read then.
      *
      * @param encoding - builder variable for {@link SasFileParser#encoding} variable.
-     * @throws IOException - appears if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException - appears if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private void getMetadataFromSasFile(String encoding) throws IOException {
         boolean endOfMetadata = false;
         processSasFileHeader(encoding);
-        cachedPage = new byte[sasFileProperties.getPageLength()];
+        cachedPage = bufferAllocator.allocate(sasFileProperties.getPageLength());
         while (!endOfMetadata) {
-            try {
-                sasFileStream.readFully(cachedPage, 0, sasFileProperties.getPageLength());
-            } catch (EOFException ex) {
-                eof = true;
+            if (!readPage(currentPageIndex + 1)) {
                 break;
             }
-            endOfMetadata = processSasFilePageMeta();
+            endOfMetadata = processSasFilePageMeta() || metadataOnly && sasFileProperties.getColumnsCount() > 0
+                    && columns.size() >= sasFileProperties.getColumnsCount();
+        }
+        if (metadataOnly) {
+            bufferAllocator.release(cachedPage);
+            cachedPage = null;
+            currentRowInFileIndex = sasFileProperties.getRowCount();
         }
     }
 
+    /**
+     * The method to read the page with the specified index from {@link SasFileParser#pageSource}
+     * into {@link SasFileParser#cachedPage}. Pages follow the header, whose length is stored
+     * at the {@link SasFileConstants#HEADER_SIZE_OFFSET} offset.
+     *
+     * @param pageIndex the index of the page, the first page after the header has the zero index.
+     * @return false if the page could not be read completely because the end of file was reached or the page length
+     * is not positive.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private boolean readPage(long pageIndex) throws IOException {
+        int pageLength = sasFileProperties.getPageLength();
+        long pagePosition = sasFileProperties.getHeaderLength() + pageIndex * pageLength;
+        if (cachedPage == null) {
+            cachedPage = bufferAllocator.allocate(pageLength);
+        }
+        if (pageLength <= 0 || pageSource.read(pagePosition, cachedPage, 0, pageLength) < pageLength) {
+            eof = true;
+            return false;
+        }
+        currentPageIndex = pageIndex;
+        return true;
+    }
+
     /**
      * The method to read and parse metadata from the sas7bdat file`s header in {@link SasFileParser#sasFileProperties}.
-     * After reading is complete, {@link SasFileParser#currentFilePosition} is set to the end of the header whose length
-     * is stored at the {@link SasFileConstants#HEADER_SIZE_OFFSET} offset.
+     * The length of the header is stored at the {@link SasFileConstants#HEADER_SIZE_OFFSET} offset, pages of the file
+     * follow it.
      *
      * @param builderEncoding - builder variable for {@link SasFileParser#encoding} variable.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private void processSasFileHeader(String builderEncoding) throws IOException {
         int align1 = 0;
@@ -360,8 +474,8 @@ public final class SasFileParser {
         sasFileProperties.setFileType(bytesToString(vars.get(3)).trim());
         sasFileProperties.setDateCreated(bytesToDateTime(vars.get(4)));
         sasFileProperties.setDateModified(bytesToDateTime(vars.get(5)));
-        sasFileProperties.setHeaderLength(bytesToInt(vars.get(6)));
-        int pageLength = bytesToInt(vars.get(7));
+        sasFileProperties.setHeaderLength((int) bytesToLong(vars.get(6), 0, BYTES_IN_INT));
+        int pageLength = (int) bytesToLong(vars.get(7), 0, BYTES_IN_INT);
         if (pageLength > MAX_PAGE_LENGTH) {
             throw new IOException("Page limit ("
                     + pageLength + ") exceeds maximum: " + MAX_PAGE_LENGTH);
@@ -377,41 +491,10 @@ public final class SasFileParser {
             sasFileProperties.setOsName(bytesToString(vars.get(12)).trim());
         }
 
-        if (sasFileStream != null) {
-            skipBytes(sasFileProperties.getHeaderLength() - currentFilePosition);
-            currentFilePosition = 0;
-        }
-    }
-
-    /**
-     * Skip specified number of bytes of data from the input stream,
-     * or fail if there are not enough left.
-     *
-     * @param numberOfBytesToSkip the number of bytes to skip
-     * @throws IOException if the number of bytes skipped was incorrect
-     */
-    private void skipBytes(long numberOfBytesToSkip) throws IOException {
-
-        long remainBytes = numberOfBytesToSkip;
-        long readBytes;
-        while (remainBytes > 0) {
-            try {
-                readBytes = sasFileStream.read(SKIP_BYTE_BUFFER, 0,
-                        (int) Math.min(remainBytes, SKIP_BYTE_BUFFER.length));
-                if (readBytes < 0) { // EOF
-                    break;
-                }
-            } catch (IOException e) {
-                throw new IOException(EMPTY_INPUT_STREAM);
-            }
-            remainBytes -= readBytes;
-        }
-
-        long actuallySkipped = numberOfBytesToSkip - remainBytes;
-
-        if (actuallySkipped != numberOfBytesToSkip) {
-            throw new IOException("Expected to skip " + numberOfBytesToSkip
-                    + " to the end of the header, but skipped " + actuallySkipped + " instead.");
+        long headerLength = sasFileProperties.getHeaderLength();
+        if (headerLength < 1 || pageSource.read(headerLength - 1, new byte[1], 0, 1) < 1) {
+            throw new IOException("Expected the header to end at " + headerLength
+                    + ", but the end of the file was reached before.");
         }
     }
 
@@ -436,15 +519,16 @@ public final class SasFileParser {
      * the method calls the function to process the page.
      *
      * @return true if all metadata is read.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private boolean processSasFilePageMeta() throws IOException {
         int bitOffset = sasFileProperties.isU64() ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
         readPageHeader();
         List<SubheaderPointer> subheaderPointers = new ArrayList<>();
         if (PageType.PAGE_TYPE_META.contains(currentPageType) || PageType.PAGE_TYPE_MIX.contains(currentPageType)) {
-            processPageMetadata(bitOffset, subheaderPointers);
+            processPageMetadata(bitOffset, subheaderPointers, true);
         }
+        registerCurrentPage();
         return PageType.PAGE_TYPE_DATA.contains(currentPageType) || PageType.PAGE_TYPE_MIX.contains(currentPageType)
                 || currentPageDataSubheaderPointers.size() != 0;
     }
@@ -456,10 +540,11 @@ public final class SasFileParser {
      *
      * @param bitOffset         the offset from the beginning of the page at which the page stores its metadata.
      * @param subheaderPointers the number of subheaders on the page.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} string is impossible.
+     * @param processSubheaders false if only data subheaders must be collected, because the page was read before.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
-    private void processPageMetadata(int bitOffset, List<SubheaderPointer> subheaderPointers)
-            throws IOException {
+    private void processPageMetadata(int bitOffset, List<SubheaderPointer> subheaderPointers,
+                                     boolean processSubheaders) throws IOException {
         subheaderPointers.clear();
         for (int subheaderPointerIndex = 0; subheaderPointerIndex < currentPageSubheadersCount;
              subheaderPointerIndex++) {
@@ -467,16 +552,20 @@ public final class SasFileParser {
                 SubheaderPointer currentSubheaderPointer = processSubheaderPointers((long) bitOffset
                         + SUBHEADER_POINTERS_OFFSET, subheaderPointerIndex);
                 subheaderPointers.add(currentSubheaderPointer);
-                if (currentSubheaderPointer.compression != TRUNCATED_SUBHEADER_ID) {
-                    long subheaderSignature = readSubheaderSignature(currentSubheaderPointer.offset);
-                    SubheaderIndexes subheaderIndex = chooseSubheaderClass(subheaderSignature,
-                            currentSubheaderPointer.compression, currentSubheaderPointer.type);
+                if (currentSubheaderPointer.getCompression() != TRUNCATED_SUBHEADER_ID) {
+                    long subheaderSignature = readSubheaderSignature(currentSubheaderPointer.getOffset());
+                    SubheaderIndexes subheaderIndex = SubheaderIndexes.fromPointer(subheaderSignature,
+                            sasFileProperties.isCompressed(), currentSubheaderPointer);
                     if (subheaderIndex != null) {
                         if (subheaderIndex != SubheaderIndexes.DATA_SUBHEADER_INDEX) {
+                            pageIndex.markMetadataPage((int) currentPageIndex);
+                            if (!processSubheaders) {
+                                continue;
+                            }
                             LOGGER.debug(SUBHEADER_PROCESS_FUNCTION_NAME, subheaderIndex);
                             subheaderIndexToClass.get(subheaderIndex).processSubheader(
-                                    subheaderPointers.get(subheaderPointerIndex).offset,
-                                    subheaderPointers.get(subheaderPointerIndex).length);
+                                    subheaderPointers.get(subheaderPointerIndex).getOffset(),
+                                    subheaderPointers.get(subheaderPointerIndex).getLength());
                         } else {
                             currentPageDataSubheaderPointers.add(subheaderPointers.get(subheaderPointerIndex));
                         }
@@ -494,37 +583,11 @@ public final class SasFileParser {
      * The function to read a subheader signature at the offset known from its ({@link SubheaderPointer}).
      *
      * @param subheaderPointerOffset the offset at which the subheader is located.
-     * @return - the subheader signature to search for in the {@link SasFileParser#SUBHEADER_SIGNATURE_TO_INDEX}
-     * mapping later.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @return - the subheader signature to search for with {@link SubheaderIndexes#fromSignature(long)} later.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
-    private long readSubheaderSignature(Long subheaderPointerOffset) throws IOException {
-        int intOrLongLength = sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT;
-        Long[] subheaderOffsetMass = {subheaderPointerOffset};
-        Integer[] subheaderLengthMass = {intOrLongLength};
-        List<byte[]> subheaderSignatureMass = getBytesFromFile(subheaderOffsetMass,
-                subheaderLengthMass);
-        return bytesToLong(subheaderSignatureMass.get(0));
-    }
-
-    /**
-     * The function to determine the subheader type by its signature, {@link SubheaderPointer#compression},
-     * and {@link SubheaderPointer#type}.
-     *
-     * @param subheaderSignature the subheader signature to search for in the
-     *                           {@link SasFileParser#SUBHEADER_SIGNATURE_TO_INDEX} mapping
-     * @param compression        the type of subheader compression ({@link SubheaderPointer#compression})
-     * @param type               the subheader type ({@link SubheaderPointer#type})
-     * @return an element from the  {@link SubheaderIndexes} enumeration that defines the type of
-     * the current subheader
-     */
-    private SubheaderIndexes chooseSubheaderClass(long subheaderSignature, int compression, int type) {
-        SubheaderIndexes subheaderIndex = SUBHEADER_SIGNATURE_TO_INDEX.get(subheaderSignature);
-        if (sasFileProperties.isCompressed() && subheaderIndex == null && (compression == COMPRESSED_SUBHEADER_ID
-                || compression == 0) && type == COMPRESSED_SUBHEADER_TYPE) {
-            subheaderIndex = SubheaderIndexes.DATA_SUBHEADER_INDEX;
-        }
-        return subheaderIndex;
+    private long readSubheaderSignature(long subheaderPointerOffset) throws IOException {
+        return readPageNumber(subheaderPointerOffset, sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT);
     }
 
     /**
@@ -534,7 +597,7 @@ public final class SasFileParser {
      * @param subheaderPointerOffset the offset before the list of {@link SubheaderPointer}.
      * @param subheaderPointerIndex  the index of the subheader pointer being read.
      * @return the subheader pointer.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private SubheaderPointer processSubheaderPointers(long subheaderPointerOffset, int subheaderPointerIndex)
             throws IOException {
@@ -542,15 +605,14 @@ public final class SasFileParser {
         int subheaderPointerLength = sasFileProperties.isU64() ? SUBHEADER_POINTER_LENGTH_X64
                 : SUBHEADER_POINTER_LENGTH_X86;
         long totalOffset = subheaderPointerOffset + subheaderPointerLength * ((long) subheaderPointerIndex);
-        Long[] offset = {totalOffset, totalOffset + intOrLongLength, totalOffset + 2L * intOrLongLength,
-                totalOffset + 2L * intOrLongLength + 1};
-        Integer[] length = {intOrLongLength, intOrLongLength, 1, 1};
-        List<byte[]> vars = getBytesFromFile(offset, length);
-
-        long subheaderOffset = bytesToLong(vars.get(0));
-        long subheaderLength = bytesToLong(vars.get(1));
-        byte subheaderCompression = vars.get(2)[0];
-        byte subheaderType = vars.get(3)[0];
+        long subheaderOffset = readPageNumber(totalOffset, intOrLongLength);
+        long subheaderLength = readPageNumber(totalOffset + intOrLongLength, intOrLongLength);
+        int flagsOffset = (int) (totalOffset + 2L * intOrLongLength);
+        if (flagsOffset + 2 > cachedPage.length) {
+            throw new IOException(EMPTY_INPUT_STREAM);
+        }
+        byte subheaderCompression = cachedPage[flagsOffset];
+        byte subheaderType = cachedPage[flagsOffset + 1];
 
         return new SubheaderPointer(subheaderOffset, subheaderLength, subheaderCompression, subheaderType);
     }
@@ -566,7 +628,7 @@ public final class SasFileParser {
             LOGGER.warn(NULL_COMPRESSION_LITERAL);
             return false;
         }
-        if (LITERALS_TO_DECOMPRESSOR.containsKey(compressionMethod)) {
+        if (Decompressor.fromCompressionMethod(compressionMethod) != null) {
             return true;
         }
         LOGGER.debug(NO_SUPPORTED_COMPRESSION_LITERAL);
@@ -578,7 +640,7 @@ public final class SasFileParser {
      *
      * @return current row index
      */
-    Integer getOffset() {
+    long getOffset() {
       return currentRowInFileIndex;
     }
 
@@ -586,10 +648,10 @@ public final class SasFileParser {
      * The function to read and process all columns of next row from current sas7bdat file.
      *
      * @return the object array containing elements of current row.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     public Object[] readNext() throws IOException {
-        return readNext(null);
+        return readNext((Projection) null);
     }
 
     /**
@@ -597,108 +659,367 @@ public final class SasFileParser {
      *
      * @param columnNames list of column names which should be processed, if null then all columns are processed.
      * @return the object array containing elements of current row.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     public Object[] readNext(List<String> columnNames) throws IOException {
+        return readNext(getProjection(columnNames));
+    }
+
+    /**
+     * The function to read and process the columns selected by the projection of next row from current
+     * sas7bdat file.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return the object array containing elements of current row.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    public Object[] readNext(Projection projection) throws IOException {
+        if (forkJoinPool != null && pageSource.isRandomAccess()) {
+            return readNextInParallel(projection);
+        }
+        if (currentRowInFileIndex++ >= sasFileProperties.getRowCount() || eof) {
+            return null;
+        }
+        if (currentPageType == PAGE_CMETA_TYPE && currentPageDataSubheaderPointers.size() == 0) {
+            readNextPage();
+            currentRowOnPageIndex = 0;
+        }
+        readCurrentPageRow(projection);
+        moveToNextPageIfRead();
+        if (currentRow == null) {
+            return null;
+        }
+        return Arrays.copyOf(currentRow, currentRow.length);
+    }
+
+    /**
+     * The function to read the columns selected by the projection of the next row that passes the filter.
+     * The rows are checked against the filter before they are converted, rows are counted the same way as
+     * {@link SasFileParser#readNext(List)} counts them, deleted rows are skipped and the parallel reading is stopped.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @param filter     the filter, see {@link RowFilter}, if null then every row passes.
+     * @return the object array containing elements of the row, null if there are no more rows passing the filter.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    public Object[] readNext(Projection projection, RowFilter filter) throws IOException {
+        while (locateNextRow()) {
+            if (getConversionPlan().matches(filter, currentRowSource, currentRowOffset)) {
+                return getConversionPlan().convertRow(currentRowSource, currentRowOffset, projection,
+                        (int) sasFileProperties.getColumnsCount());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The function to read the next row from {@link SasFileParser#parallelPageReader}. The parallel reading starts
+     * from the current row and is restarted if the processed columns change.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return the object array containing elements of current row.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private Object[] readNextInParallel(Projection projection) throws IOException {
+        if (parallelPageReader != null && !parallelPageReader.isReading(projection)) {
+            seek(currentRowInFileIndex);
+        }
         if (currentRowInFileIndex++ >= sasFileProperties.getRowCount() || eof) {
             return null;
         }
+        if (parallelPageReader == null) {
+            parallelPageReader = new ParallelPageReader(this, forkJoinPool, projection, currentPageIndex,
+                    currentRowOnPageIndex);
+        }
+        if (!parallelPageReader.hasNext()) {
+            eof = true;
+            return null;
+        }
+        return parallelPageReader.next();
+    }
+
+    /**
+     * The function to decode the rows following the current row into the batch. Rows are counted the same way as
+     * {@link SasFileParser#readNext(List)} counts them, deleted rows are counted but not added to the batch.
+     * Cells are copied from the page without creating objects, see {@link ColumnBatch}.
+     *
+     * @param batch   the batch to clear and fill, created for the columns of the file.
+     * @param maxRows the maximum number of rows to read, the batch capacity is used if it is smaller.
+     * @return the number of rows added to the batch, 0 if there are no more rows.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    public int readBatch(ColumnBatch batch, int maxRows) throws IOException {
+        batch.clear();
+        int rowLimit = Math.min(maxRows, batch.getCapacity());
+        while (batch.getRowCount() < rowLimit && locateNextRow()) {
+            if (columnBatchDecoder == null) {
+                columnBatchDecoder = new ColumnBatchDecoder(columns, columnLayout,
+                        sasFileProperties.getEndianness() == 1);
+            }
+            columnBatchDecoder.decode(currentRowSource, currentRowOffset, batch);
+        }
+        return batch.getRowCount();
+    }
+
+    /**
+     * The function to create a cursor over the rows following the current row, see {@link RowCursor}.
+     *
+     * @return the cursor.
+     */
+    public RowCursor cursor() {
+        return new RowCursorImpl(this, columns, columnLayout, sasFileProperties.getEndianness() == 1, encoding);
+    }
+
+    /**
+     * The function to find the bytes of the next row that is not deleted, rows are counted the same way as
+     * {@link SasFileParser#readNext(List)} counts them, the parallel reading is stopped. The row starts at
+     * {@link SasFileParser#getCurrentRowOffset()}
+     * in {@link SasFileParser#getCurrentRowSource()} and stays there until the parser reads another row: the last row
+     * of a page is copied into {@link SasFileParser#decompressedRow} before the next page is read.
+     *
+     * @return false if there are no more rows.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    boolean locateNextRow() throws IOException {
+        while (true) {
+            skipDeletedRows();
+            if (currentRowInFileIndex >= sasFileProperties.getRowCount() || eof) {
+                return false;
+            }
+            currentRowInFileIndex++;
+            if (currentPageType == PAGE_CMETA_TYPE && currentPageDataSubheaderPointers.size() == 0) {
+                readNextPage();
+                currentRowOnPageIndex = 0;
+            }
+            boolean located = locateCurrentPageRow();
+            if (located && currentRowSource == cachedPage && currentRowOnPageIndex == getCurrentPageRowCount()) {
+                int rowLength = (int) sasFileProperties.getRowLength();
+                if (decompressedRow == null) {
+                    decompressedRow = bufferAllocator.allocate(rowLength);
+                }
+                System.arraycopy(cachedPage, currentRowOffset, decompressedRow, 0, rowLength);
+                currentRowSource = decompressedRow;
+                currentRowOffset = 0;
+            }
+            moveToNextPageIfRead();
+            if (located) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The function to get {@link SasFileParser#currentRowSource}.
+     *
+     * @return the array of bytes storing the row found by {@link SasFileParser#locateNextRow()}.
+     */
+    byte[] getCurrentRowSource() {
+        return currentRowSource;
+    }
+
+    /**
+     * The function to get {@link SasFileParser#currentRowOffset}.
+     *
+     * @return the offset of the row found by {@link SasFileParser#locateNextRow()}.
+     */
+    int getCurrentRowOffset() {
+        return currentRowOffset;
+    }
+
+    /**
+     * The function to skip the deleted rows following the current row, the next call of
+     * {@link SasFileParser#readNext(List)} returns the first row that is not deleted. The skipped rows are found
+     * in the bitmap of deleted rows of the page without decoding them, and are counted the same way as
+     * {@link SasFileParser#readNext(List)} counts them.
+     *
+     * @return the number of skipped rows.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    public long skipDeletedRows() throws IOException {
+        if (parallelPageReader != null) {
+            seek(currentRowInFileIndex);
+        }
+        long skippedRowCount = 0;
+        while (currentRowInFileIndex < sasFileProperties.getRowCount() && !eof) {
+            if (currentPageType == PAGE_CMETA_TYPE && currentPageDataSubheaderPointers.size() == 0) {
+                readNextPage();
+                currentRowOnPageIndex = 0;
+            }
+            if (currentPageType != PAGE_MIX_TYPE_2 && currentPageType != PAGE_DATA_TYPE_2) {
+                break;
+            }
+            long nextRowOnPageIndex = Math.min(Math.min(getDeletedRows().nextClearBit(currentRowOnPageIndex),
+                    getCurrentPageRowCount()),
+                    currentRowOnPageIndex + sasFileProperties.getRowCount() - currentRowInFileIndex);
+            if (nextRowOnPageIndex <= currentRowOnPageIndex) {
+                break;
+            }
+            skippedRowCount += nextRowOnPageIndex - currentRowOnPageIndex;
+            currentRowInFileIndex += nextRowOnPageIndex - currentRowOnPageIndex;
+            currentRowOnPageIndex = (int) nextRowOnPageIndex;
+            moveToNextPageIfRead();
+        }
+        return skippedRowCount;
+    }
+
+    /**
+     * The method to read the next page if all rows of the current page are read.
+     *
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private void moveToNextPageIfRead() throws IOException {
+        if ((PageType.PAGE_TYPE_META.contains(currentPageType) || PageType.PAGE_TYPE_MIX.contains(currentPageType)
+                || PageType.PAGE_TYPE_DATA.contains(currentPageType))
+                && currentRowOnPageIndex == getCurrentPageRowCount()) {
+            readNextPage();
+            currentRowOnPageIndex = 0;
+        }
+    }
+
+    /**
+     * The function to read all rows of the pages in the specified range, the rows are read the same way as
+     * {@link SasFileParser#readNext(List)} reads them, deleted rows are read as null.
+     *
+     * @param firstPage   the index of the first page to read.
+     * @param endPage     the index of the page following the last page to read.
+     * @param projection  the columns which should be processed, if null then all columns are processed.
+     * @param rows        the list to add the read rows to.
+     * @return false if the end of file was reached before the end of the range.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    boolean readPages(long firstPage, long endPage, Projection projection, List<Object[]> rows)
+            throws IOException {
+        for (long page = firstPage; page < endPage; page++) {
+            if (!processPage(page)) {
+                return false;
+            }
+            int pageRowCount = getCurrentPageRowCount();
+            for (currentRowOnPageIndex = 0; currentRowOnPageIndex < pageRowCount;) {
+                readCurrentPageRow(projection);
+                rows.add(currentRow);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The function to read the row stored on the specified page, the page is read if it is not the current page.
+     * Used by forked parsers, see {@link SasFileParser#fork()}.
+     *
+     * @param page        the index of the page.
+     * @param rowOnPage   the index of the row on the page.
+     * @param projection  the columns which should be processed, if null then all columns are processed.
+     * @return the object array containing elements of the row, null if the row is deleted.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    Object[] readRow(long page, int rowOnPage, Projection projection) throws IOException {
+        if (page != currentPageIndex && !processPage(page)) {
+            throw new IOException(EMPTY_INPUT_STREAM);
+        }
+        currentRowOnPageIndex = rowOnPage;
+        readCurrentPageRow(projection);
+        return currentRow;
+    }
+
+    /**
+     * The function to find the bytes of the row stored on the specified page, the page is read if it is not
+     * the current page. The row starts at {@link SasFileParser#getCurrentRowOffset()} in
+     * {@link SasFileParser#getCurrentRowSource()}. Used by forked parsers, see {@link SasFileParser#fork()}.
+     *
+     * @param page        the index of the page.
+     * @param rowOnPage   the index of the row on the page.
+     * @return false if the row is deleted or the page does not store data.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    boolean locateRow(long page, int rowOnPage) throws IOException {
+        if (page != currentPageIndex && !processPage(page)) {
+            throw new IOException(EMPTY_INPUT_STREAM);
+        }
+        currentRowOnPageIndex = rowOnPage;
+        return locateCurrentPageRow();
+    }
+
+    /**
+     * The function to get the pool that decodes pages in parallel, pages are decoded in parallel only if
+     * {@link SasFileParser#pageSource} is random access.
+     *
+     * @param useCommonPool true if the common pool should be used when no pool is set by the builder.
+     * @return the pool set by the builder or the common pool, null if the page source is not random access.
+     */
+    ForkJoinPool getParallelPool(boolean useCommonPool) {
+        if (!pageSource.isRandomAccess() || forkJoinPool == null && !useCommonPool) {
+            return null;
+        }
+        return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * The method to read the row with the {@link SasFileParser#currentRowOnPageIndex} index from the current page
+     * into {@link SasFileParser#currentRow} and to move to the next row of the page. Deleted rows and rows
+     * of pages without data are read as null.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private void readCurrentPageRow(Projection projection) throws IOException {
+        currentRow = locateCurrentPageRow() ? getConversionPlan().convertRow(currentRowSource, currentRowOffset,
+                projection, (int) sasFileProperties.getColumnsCount()) : null;
+    }
+
+    /**
+     * The function to find the bytes of the row with the {@link SasFileParser#currentRowOnPageIndex} index
+     * on the current page and to move to the next row of the page. Compressed rows are decompressed. The row starts
+     * at {@link SasFileParser#currentRowOffset} in {@link SasFileParser#currentRowSource}.
+     *
+     * @return false if the row is deleted or the current page does not store data.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private boolean locateCurrentPageRow() throws IOException {
         int bitOffset = sasFileProperties.isU64() ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
-        currentRow = null;
+        long rowOffset;
+        long rowLength = sasFileProperties.getRowLength();
         switch (currentPageType) {
             case PAGE_META_TYPE_1:
             case PAGE_META_TYPE_2:
             case PAGE_CMETA_TYPE:
-                if (currentPageDataSubheaderPointers.size() == 0 && currentPageType == PAGE_CMETA_TYPE) {
-                    readNextPage();
-                    currentRowOnPageIndex = 0;
-                }
-                SubheaderPointer currentSubheaderPointer =
-                        currentPageDataSubheaderPointers.get(currentRowOnPageIndex++);
-                ((ProcessingDataSubheader) subheaderIndexToClass.get(SubheaderIndexes.DATA_SUBHEADER_INDEX))
-                        .processSubheader(currentSubheaderPointer.offset, currentSubheaderPointer.length, columnNames);
-                if (currentRowOnPageIndex == currentPageDataSubheaderPointers.size()) {
-                    readNextPage();
-                    currentRowOnPageIndex = 0;
-                }
+                SubheaderPointer currentSubheaderPointer = currentPageDataSubheaderPointers.get(currentRowOnPageIndex);
+                rowOffset = currentSubheaderPointer.getOffset();
+                rowLength = currentSubheaderPointer.getLength();
                 break;
             case PAGE_MIX_TYPE_1:
-                // Mix pages that contain all valid records
+            case PAGE_MIX_TYPE_2:
+                // Mix pages store records after the subheader pointers
                 int subheaderPointerLength = sasFileProperties.isU64() ? SUBHEADER_POINTER_LENGTH_X64
                         : SUBHEADER_POINTER_LENGTH_X86;
                 int alignCorrection = (bitOffset + SUBHEADER_POINTERS_OFFSET + currentPageSubheadersCount
                         * subheaderPointerLength) % BITS_IN_BYTE;
-
-                currentRow = processByteArrayWithData(bitOffset + SUBHEADER_POINTERS_OFFSET + alignCorrection
-                        + currentPageSubheadersCount * subheaderPointerLength + currentRowOnPageIndex++
-                        * sasFileProperties.getRowLength(), sasFileProperties.getRowLength(), columnNames);
-
-                if (currentRowOnPageIndex == Math.min(sasFileProperties.getRowCount(),
-                        sasFileProperties.getMixPageRowCount())) {
-                    readNextPage();
-                    currentRowOnPageIndex = 0;
-                }
-                break;
-            case PAGE_MIX_TYPE_2:
-                // Mix pages that contain valid and deleted records
-                if (Objects.equals(deletedMarkers, "")) {
-                    readDeletedInfo();
-                    LOGGER.info(deletedMarkers);
-                }
-                subheaderPointerLength = sasFileProperties.isU64() ? SUBHEADER_POINTER_LENGTH_X64
-                        : SUBHEADER_POINTER_LENGTH_X86;
-                alignCorrection = (bitOffset + SUBHEADER_POINTERS_OFFSET + currentPageSubheadersCount
-                        * subheaderPointerLength) % BITS_IN_BYTE;
-
-                if (deletedMarkers.charAt(currentRowOnPageIndex) == '0') {
-                    currentRow = processByteArrayWithData(bitOffset + SUBHEADER_POINTERS_OFFSET + alignCorrection
-                            + currentPageSubheadersCount * subheaderPointerLength + currentRowOnPageIndex++
-                            * sasFileProperties.getRowLength(), sasFileProperties.getRowLength(), columnNames);
-                } else {
-                    currentRowOnPageIndex++;
-                }
-                if (currentRowOnPageIndex == Math.min(sasFileProperties.getRowCount(),
-                        sasFileProperties.getMixPageRowCount())) {
-                    readNextPage();
-                    currentRowOnPageIndex = 0;
-                }
+                rowOffset = bitOffset + SUBHEADER_POINTERS_OFFSET + alignCorrection
+                        + currentPageSubheadersCount * subheaderPointerLength + currentRowOnPageIndex * rowLength;
                 break;
             case PAGE_DATA_TYPE:
-                // Data pages that contain all valid records
-                currentRow = processByteArrayWithData(bitOffset + SUBHEADER_POINTERS_OFFSET + currentRowOnPageIndex++
-                        * sasFileProperties.getRowLength(), sasFileProperties.getRowLength(), columnNames);
-                if (currentRowOnPageIndex == currentPageBlockCount) {
-                    readNextPage();
-                    currentRowOnPageIndex = 0;
-                }
-                break;
             case PAGE_DATA_TYPE_2:
-                // Data pages that contain valid and deleted records
-                if (Objects.equals(deletedMarkers, "")) {
-                    readDeletedInfo();
-                    LOGGER.info(deletedMarkers);
-                    LOGGER.info(Integer.toString(deletedMarkers.length()));
-                    LOGGER.info(Integer.toString(currentPageBlockCount));
-                }
-                if (deletedMarkers.charAt(currentRowOnPageIndex) == '0') {
-                    currentRow = processByteArrayWithData(bitOffset + SUBHEADER_POINTERS_OFFSET
-                            + currentRowOnPageIndex++
-                            * sasFileProperties.getRowLength(), sasFileProperties.getRowLength(), columnNames);
-                } else {
-                    currentRowOnPageIndex++;
-                }
-                if (currentRowOnPageIndex == currentPageBlockCount) {
-                    readNextPage();
-                    currentRowOnPageIndex = 0;
-                }
+                rowOffset = bitOffset + SUBHEADER_POINTERS_OFFSET + currentRowOnPageIndex * rowLength;
                 break;
             default:
-                break;
+                return false;
         }
-        if (currentRow == null) {
-            return null;
+        if (getDeletedRows().get(currentRowOnPageIndex++)) {
+            return false;
         }
-        return Arrays.copyOf(currentRow, currentRow.length);
+        if (sasFileProperties.isCompressed() && rowLength < sasFileProperties.getRowLength()) {
+            Decompressor decompressor = Decompressor.fromCompressionMethod(sasFileProperties.getCompressionMethod());
+            if (decompressedRow == null) {
+                decompressedRow = bufferAllocator.allocate((int) sasFileProperties.getRowLength());
+            }
+            decompressor.decompressRow((int) rowOffset, (int) rowLength, decompressedRow.length, cachedPage,
+                    decompressedRow);
+            currentRowSource = decompressedRow;
+            currentRowOffset = 0;
+        } else {
+            currentRowSource = cachedPage;
+            currentRowOffset = (int) rowOffset;
+        }
+        return true;
     }
 
     /**
@@ -707,46 +1028,184 @@ public final class SasFileParser {
      * than {@link PageType#PAGE_TYPE_META}, {@link PageType#PAGE_TYPE_MIX} or {@link PageType#PAGE_TYPE_DATA}
      * and reads next.
      *
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private void readNextPage() throws IOException {
-        deletedMarkers = "";
-        processNextPage();
+        processPage(currentPageIndex + 1);
         while (!PageType.PAGE_TYPE_META.contains(currentPageType) && !PageType.PAGE_TYPE_MIX.contains(currentPageType)
                 && !PageType.PAGE_TYPE_DATA.contains(currentPageType)) {
             if (eof) {
                 return;
             }
-            processNextPage();
+            processPage(currentPageIndex + 1);
         }
     }
 
     /**
-     * Put next page to cache and read it's header.
+     * Put the page with the specified index to cache and read it's header. Metadata subheaders of the page
+     * are processed only the first time the page is read.
      *
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} string is impossible.
+     * @param index the index of the page.
+     * @return false if the page could not be read because the end of file was reached.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
-    private void processNextPage() throws IOException {
+    private boolean processPage(long index) throws IOException {
         int bitOffset = sasFileProperties.isU64() ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
+        deletedRows = null;
         currentPageDataSubheaderPointers.clear();
 
-        try {
-            sasFileStream.readFully(cachedPage, 0, sasFileProperties.getPageLength());
-        } catch (EOFException ex) {
-            eof = true;
-            return;
+        if (!readPage(index)) {
+            return false;
         }
 
         readPageHeader();
         if (PageType.PAGE_TYPE_META.contains(currentPageType) || PageType.PAGE_TYPE_AMD.contains(currentPageType)
                 || PageType.PAGE_TYPE_MIX.contains(currentPageType)) {
+            boolean processSubheaders = currentPageIndex > lastMetadataPageIndex;
+            if (processSubheaders) {
+                conversionPlan = null;
+                projectionColumnNames = null;
+                columnBatchDecoder = null;
+            }
             List<SubheaderPointer> subheaderPointers = new ArrayList<>();
-            processPageMetadata(bitOffset, subheaderPointers);
-            readDeletedInfo();
-            if (PageType.PAGE_TYPE_AMD.contains(currentPageType)) {
+            processPageMetadata(bitOffset, subheaderPointers, processSubheaders);
+            if (processSubheaders && PageType.PAGE_TYPE_AMD.contains(currentPageType)) {
                 processMissingColumnInfo();
             }
         }
+        registerCurrentPage();
+        return true;
+    }
+
+    /**
+     * The method to mark metadata of the current page as processed and to add the page to
+     * {@link SasFileParser#pageIndex} if it is the first page that is not indexed yet.
+     */
+    private void registerCurrentPage() {
+        lastMetadataPageIndex = Math.max(lastMetadataPageIndex, currentPageIndex);
+        if (currentPageIndex == pageIndex.size()) {
+            pageIndex.add(currentPageType, getCurrentPageRowCount());
+        }
+    }
+
+    /**
+     * The function to get the number of rows {@link SasFileParser#readNext(List)} reads from the current page.
+     *
+     * @return the number of rows of the current page.
+     */
+    private int getCurrentPageRowCount() {
+        if (PageType.PAGE_TYPE_DATA.contains(currentPageType)) {
+            return currentPageBlockCount;
+        } else if (PageType.PAGE_TYPE_MIX.contains(currentPageType)) {
+            return (int) Math.min(sasFileProperties.getRowCount(), sasFileProperties.getMixPageRowCount());
+        } else if (PageType.PAGE_TYPE_META.contains(currentPageType)) {
+            return currentPageDataSubheaderPointers.size();
+        }
+        return 0;
+    }
+
+    /**
+     * The method to move to the row with the specified index, the next call of {@link SasFileParser#readNext(List)}
+     * returns this row. Rows are counted the same way as {@link SasFileParser#readNext(List)} counts them,
+     * deleted rows included. The page storing the row is found with {@link SasFileParser#pageIndex}, the pages which
+     * are not indexed yet are indexed by their headers, only the pages that can store metadata are read completely.
+     * If {@link SasFileParser#pageSource} is not random access, only the current and the following pages can be
+     * reached.
+     *
+     * @param row the index of the row, if it is not less than the number of rows, no more rows are read.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible or
+     *                     the page storing the row can not be reached.
+     */
+    public void seek(long row) throws IOException {
+        if (row < 0) {
+            throw new IllegalArgumentException(NEGATIVE_ROW_INDEX + row);
+        }
+        closeParallelPageReader();
+        if (metadataOnly || row >= sasFileProperties.getRowCount()) {
+            currentRowInFileIndex = sasFileProperties.getRowCount();
+            return;
+        }
+        int page = pageIndex.findPage(row);
+        while (page < 0 && indexNextPage()) {
+            page = pageIndex.findPage(row);
+        }
+        currentRowInFileIndex = row;
+        if (page < 0) {
+            eof = true;
+            return;
+        }
+        if (page != currentPageIndex || cachedPage == null || eof && pageSource.isRandomAccess()) {
+            if (!pageSource.isRandomAccess() && page < currentPageIndex) {
+                throw new IOException(SEEK_BEFORE_CURRENT_PAGE);
+            }
+            processIndexedMetadataPages(page);
+            if (!processPage(page)) {
+                return;
+            }
+        }
+        eof = false;
+        currentRowOnPageIndex = (int) (row - pageIndex.getFirstRow(page));
+    }
+
+    /**
+     * The function to add all pages of the file to {@link SasFileParser#pageIndex}, the current page changes.
+     *
+     * @return the index of all pages of the file.
+     * @throws IOException if reading is impossible or {@link SasFileParser#pageSource} is not random access.
+     */
+    PageIndex indexPages() throws IOException {
+        if (!pageSource.isRandomAccess()) {
+            throw new IOException(SEQUENTIAL_SOURCE_NOT_INDEXED);
+        }
+        boolean indexed = true;
+        while (indexed) {
+            indexed = indexNextPage();
+        }
+        processIndexedMetadataPages(pageIndex.size());
+        return pageIndex;
+    }
+
+    /**
+     * The method to process the metadata of the pages preceding the specified page which are not processed yet
+     * but are known to store metadata from the {@link PageIndexFile} loaded into {@link SasFileParser#pageIndex}.
+     *
+     * @param endPage the index of the page following the last page to process.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private void processIndexedMetadataPages(int endPage) throws IOException {
+        int page = pageIndex.nextMetadataPage(lastMetadataPageIndex + 1, endPage);
+        while (page >= 0 && processPage(page)) {
+            page = pageIndex.nextMetadataPage(page + 1, endPage);
+        }
+    }
+
+    /**
+     * The function to add the page following the last indexed page to {@link SasFileParser#pageIndex}.
+     * If {@link SasFileParser#pageSource} is random access, only headers of data pages are read, the other pages
+     * are processed completely to collect their metadata and data subheaders.
+     *
+     * @return false if the page could not be read because the end of file was reached.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
+     */
+    private boolean indexNextPage() throws IOException {
+        int index = pageIndex.size();
+        if (pageSource.isRandomAccess()) {
+            int bitOffset = sasFileProperties.isU64() ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
+            int headerLength = (int) SUBHEADER_COUNT_OFFSET + SUBHEADER_COUNT_LENGTH;
+            byte[] header = new byte[headerLength];
+            long pagePosition = sasFileProperties.getHeaderLength() + index * (long) sasFileProperties.getPageLength()
+                    + bitOffset;
+            if (sasFileProperties.getPageLength() <= 0
+                    || pageSource.read(pagePosition, header, 0, headerLength) < headerLength) {
+                return false;
+            }
+            int pageType = (int) bytesToLong(header, (int) PAGE_TYPE_OFFSET, PAGE_TYPE_LENGTH);
+            if (PageType.PAGE_TYPE_DATA.contains(pageType)) {
+                pageIndex.add(pageType, (int) bytesToLong(header, (int) BLOCK_COUNT_OFFSET, BLOCK_COUNT_LENGTH));
+                return true;
+            }
+        }
+        return processPage(index);
     }
 
     /**
@@ -779,29 +1238,42 @@ public final class SasFileParser {
      * The method to read page metadata and store it in {@link SasFileParser#currentPageType},
      * {@link SasFileParser#currentPageBlockCount} and {@link SasFileParser#currentPageSubheadersCount}.
      *
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} string is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private void readPageHeader() throws IOException {
         int bitOffset = sasFileProperties.isU64() ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
-        Long[] offset = {bitOffset + PAGE_TYPE_OFFSET, bitOffset + BLOCK_COUNT_OFFSET, bitOffset
-                + SUBHEADER_COUNT_OFFSET};
-        Integer[] length = {PAGE_TYPE_LENGTH, BLOCK_COUNT_LENGTH, SUBHEADER_COUNT_LENGTH};
-        List<byte[]> vars = getBytesFromFile(offset, length);
-
-        currentPageType = bytesToShort(vars.get(0));
+        currentPageType = (int) readPageNumber(bitOffset + PAGE_TYPE_OFFSET, PAGE_TYPE_LENGTH);
         LOGGER.debug(PAGE_TYPE, currentPageType);
-        currentPageBlockCount = bytesToShort(vars.get(1));
+        currentPageBlockCount = (int) readPageNumber(bitOffset + BLOCK_COUNT_OFFSET, BLOCK_COUNT_LENGTH);
         LOGGER.debug(BLOCK_COUNT, currentPageBlockCount);
-        currentPageSubheadersCount = bytesToShort(vars.get(2));
+        currentPageSubheadersCount = (int) readPageNumber(bitOffset + SUBHEADER_COUNT_OFFSET, SUBHEADER_COUNT_LENGTH);
         LOGGER.debug(SUBHEADER_COUNT, currentPageSubheadersCount);
     }
 
     /**
-     * The function to get the deleted record pointers.
+     * The function to get the rows of the current page marked as deleted. Only pages of the
+     * {@link SasFileConstants#PAGE_MIX_TYPE_2} and {@link SasFileConstants#PAGE_DATA_TYPE_2} types store deleted
+     * rows, their bitmap follows the rows and is read on the first call for the page.
+     *
+     * @return the deleted rows of the current page by their index on the page.
+     * @throws IOException if reading the bitmap is impossible.
+     */
+    private BitSet getDeletedRows() throws IOException {
+        if (deletedRows == null) {
+            deletedRows = currentPageType == PAGE_MIX_TYPE_2 || currentPageType == PAGE_DATA_TYPE_2
+                    ? readDeletedInfo() : new BitSet();
+        }
+        return deletedRows;
+    }
+
+    /**
+     * The function to read the bitmap of the deleted rows of the current page. The bits of the bitmap are stored
+     * from the most significant bit of every byte, a set bit marks a deleted row.
      *
+     * @return the deleted rows of the current page by their index on the page.
      * @throws IOException if reading pointers is impossible.
      */
-    private void readDeletedInfo() throws IOException {
+    private BitSet readDeletedInfo() throws IOException {
         long deletedPointerOffset;
         int subheaderPointerLength;
         int bitOffset;
@@ -816,112 +1288,89 @@ public final class SasFileParser {
         }
         int alignCorrection = (bitOffset + SUBHEADER_POINTERS_OFFSET + currentPageSubheadersCount
                 * subheaderPointerLength) % BITS_IN_BYTE;
-        List<byte[]> vars = getBytesFromFile(new Long[] {deletedPointerOffset},
-                new Integer[] {PAGE_DELETED_POINTER_LENGTH});
-
-        long currentPageDeletedPointer = bytesToInt(vars.get(0));
+        long currentPageDeletedPointer = readPageNumber(deletedPointerOffset, PAGE_DELETED_POINTER_LENGTH);
         long deletedMapOffset = bitOffset + currentPageDeletedPointer + alignCorrection
                 + (currentPageSubheadersCount * subheaderPointerLength)
                 + ((currentPageBlockCount - currentPageSubheadersCount) * sasFileProperties.getRowLength());
-        List<byte[]> bytes = getBytesFromFile(new Long[] {deletedMapOffset},
-            new Integer[] {(int) Math.ceil((currentPageBlockCount - currentPageSubheadersCount) / 8.0)});
+        if (deletedMapOffset < 0 || cachedPage.length < deletedMapOffset) {
+            throw new IOException(EMPTY_INPUT_STREAM);
+        }
+        return ByteArrayReader.readBitmap(cachedPage, (int) deletedMapOffset,
+                Math.max(currentPageBlockCount - currentPageSubheadersCount, 0));
+    }
 
-        byte[] x = bytes.get(0);
-        for (byte b : x) {
-            deletedMarkers += String.format("%8s", Integer.toString(b & 0xFF, 2)).replace(" ", "0");
+    /**
+     * The method to stop the parallel reading, see {@link ParallelPageReader#close()}.
+     */
+    private void closeParallelPageReader() {
+        if (parallelPageReader != null) {
+            parallelPageReader.close();
+            parallelPageReader = null;
         }
     }
 
     /**
-     * The function to convert the array of bytes that stores the data of a row into an array of objects.
-     * Each object corresponds to a table cell.
+     * The method to release the page and row buffers of the parser, they are returned to the pool of
+     * the {@link MemoryBudget}. The parser is moved to the end of the file, the buffers are allocated again
+     * if a row is sought with {@link SasFileParser#seek(long)}.
+     */
+    public void releaseBuffers() {
+        closeParallelPageReader();
+        currentRowInFileIndex = sasFileProperties.getRowCount();
+        bufferAllocator.release(cachedPage);
+        bufferAllocator.release(decompressedRow);
+        cachedPage = null;
+        decompressedRow = null;
+    }
+
+    /**
+     * The function to get the peak number of bytes of the page and row buffers used at the same time by the parser
+     * and the parsers forked from it to read pages in parallel.
      *
-     * @param rowOffset   - the offset of the row in cachedPage.
-     * @param rowLength   - the length of the row.
-     * @param columnNames - list of column names which should be processed.
-     * @return the array of objects storing the data of the row.
-     */
-    private Object[] processByteArrayWithData(long rowOffset, long rowLength, List<String> columnNames) {
-        Object[] rowElements;
-        if (columnNames != null) {
-            rowElements = new Object[columnNames.size()];
-        } else {
-            rowElements = new Object[(int) sasFileProperties.getColumnsCount()];
-        }
-        byte[] source;
-        int offset;
-        if (sasFileProperties.isCompressed() && rowLength < sasFileProperties.getRowLength()) {
-            Decompressor decompressor = LITERALS_TO_DECOMPRESSOR.get(sasFileProperties.getCompressionMethod());
-            source = decompressor.decompressRow((int) rowOffset, (int) rowLength,
-                    (int) sasFileProperties.getRowLength(), cachedPage);
-            offset = 0;
-        } else {
-            source = cachedPage;
-            offset = (int) rowOffset;
-        }
+     * @return the number of bytes.
+     */
+    public long getPeakBufferUsage() {
+        return bufferAllocator.getPeakUsage();
+    }
 
-        for (int currentColumnIndex = 0; currentColumnIndex < sasFileProperties.getColumnsCount()
-                && columnsDataLength.get(currentColumnIndex) != 0; currentColumnIndex++) {
-            if (columnNames == null) {
-                rowElements[currentColumnIndex] = processElement(source, offset, currentColumnIndex);
-            } else {
-                String name = columns.get(currentColumnIndex).getName();
-                if (columnNames.contains(name)) {
-                    rowElements[columnNames.indexOf(name)] = processElement(source, offset, currentColumnIndex);
-                }
-            }
-        }
+    /**
+     * The function to get the allocator of the page and row buffers, see {@link BufferAllocator}.
+     *
+     * @return the allocator shared with the forked parsers.
+     */
+    BufferAllocator getBufferAllocator() {
+        return bufferAllocator;
+    }
 
-        return rowElements;
+    /**
+     * The function to get the plan converting the rows into arrays of objects, it is created for the current metadata.
+     *
+     * @return the conversion plan.
+     */
+    ConversionPlan getConversionPlan() {
+        if (conversionPlan == null) {
+            conversionPlan = new ConversionPlan(columns, columnLayout, sasFileProperties.getEndianness() == 1,
+                    encoding, byteOutput, charSequenceOutput, outputDateType);
+        }
+        return conversionPlan;
     }
 
     /**
-     * The function to process element of row.
+     * The function to get the projection selecting the columns with the specified names. The projection of
+     * the previous call is reused if the names are the same.
      *
-     * @param source             an array of bytes containing required data.
-     * @param offset             the offset in source of required data.
-     * @param currentColumnIndex index of the current element.
-     * @return object storing the data of the element.
-     */
-    private Object processElement(byte[] source, int offset, int currentColumnIndex) {
-        byte[] temp;
-        int length = columnsDataLength.get(currentColumnIndex);
-        if (columns.get(currentColumnIndex).getType() == Number.class) {
-            temp = Arrays.copyOfRange(source, offset + (int) (long) columnsDataOffset.get(currentColumnIndex),
-                    offset + (int) (long) columnsDataOffset.get(currentColumnIndex) + length);
-            if (columnsDataLength.get(currentColumnIndex) <= 2) {
-                return bytesToShort(temp);
-            } else {
-                if (columns.get(currentColumnIndex).getFormat().getName().isEmpty()) {
-                    return convertByteArrayToNumber(temp);
-                } else {
-                    ColumnFormat columnFormat = columns.get(currentColumnIndex).getFormat();
-                    String sasDateFormat = columnFormat.getName();
-                    if (SasTemporalFormatter.isDateTimeFormat(sasDateFormat)) {
-                        return bytesToDateTime(temp, outputDateType, columnFormat);
-                    } else if (SasTemporalFormatter.isDateFormat(sasDateFormat)) {
-                        return bytesToDate(temp, outputDateType, columnFormat);
-                    } else if (SasTemporalFormatter.isTimeFormat(sasDateFormat)) {
-                        return bytesToTime(temp, outputDateType, columnFormat);
-                    } else {
-                        return convertByteArrayToNumber(temp);
-                    }
-                }
-            }
-        } else {
-            byte[] bytes = trimBytesArray(source,
-                    offset + columnsDataOffset.get(currentColumnIndex).intValue(), length);
-            if (byteOutput) {
-                return bytes;
-            } else {
-                try {
-                    return (bytes == null ? null : bytesToString(bytes));
-                } catch (UnsupportedEncodingException e) {
-                    LOGGER.error(e.getMessage(), e);
-                }
-            }
+     * @param columnNames list of column names which should be processed.
+     * @return the projection, null if columnNames is null.
+     */
+    Projection getProjection(List<String> columnNames) {
+        if (columnNames == null) {
+            return null;
         }
-        return null;
+        if (!columnNames.equals(projectionColumnNames)) {
+            projection = new Projection(columns, columnNames);
+            projectionColumnNames = new ArrayList<>(columnNames);
+        }
+        return projection;
     }
 
     /**
@@ -931,20 +1380,17 @@ public final class SasFileParser {
      * @param offset the array of offsets.
      * @param length the array of lengths.
      * @return the list of bytes arrays.
-     * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+     * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
      */
     private List<byte[]> getBytesFromFile(Long[] offset, Integer[] length) throws IOException {
         List<byte[]> vars = new ArrayList<>();
         if (cachedPage == null) {
             for (int i = 0; i < offset.length; i++) {
                 byte[] temp = new byte[length[i]];
-                skipBytes(offset[i] - currentFilePosition);
-                try {
-                    sasFileStream.readFully(temp, 0, length[i]);
-                } catch (EOFException e) {
+                if (pageSource.read(offset[i], temp, 0, length[i]) < length[i]) {
                     eof = true;
+                    throw new IOException(EMPTY_INPUT_STREAM);
                 }
-                currentFilePosition = (int) (long) offset[i] + length[i];
                 vars.add(temp);
             }
         } else {
@@ -959,92 +1405,69 @@ public final class SasFileParser {
     }
 
     /**
-     * The function to convert a bytes array into a number (int or long depending on the value located at
-     * the {@link SasFileConstants#ALIGN_2_OFFSET} offset).
+     * The function to read a number straight from {@link SasFileParser#cachedPage} in the byte order of the file,
+     * without copying the bytes. The bytes following the end of the page are read as zeros.
      *
-     * @param byteBuffer the long value represented by a bytes array.
-     * @return a long value. If the number was stored as int, then after conversion it is converted to long
-     * for convenience.
-     */
-    private long correctLongProcess(ByteBuffer byteBuffer) {
-        if (sasFileProperties.isU64()) {
-            return byteBuffer.getLong();
-        } else {
-            return byteBuffer.getInt();
+     * @param offset the offset of the number on the page.
+     * @param length the length of the number in bytes: 2, 4 or 8.
+     * @return the number, converted to long for convenience.
+     * @throws IOException if the number starts after the end of the page.
+     */
+    private long readPageNumber(long offset, int length) throws IOException {
+        if (cachedPage.length < offset) {
+            throw new IOException(EMPTY_INPUT_STREAM);
         }
-    }
-
-    /**
-     * The function to convert an array of bytes with any order of bytes into {@link ByteBuffer}.
-     * {@link ByteBuffer} has the order of bytes defined in the file located at the
-     * {@link SasFileConstants#ALIGN_2_OFFSET} offset.
-     * Later the parser converts result {@link ByteBuffer} into a number.
-     *
-     * @param data the input array of bytes with the little-endian or big-endian order.
-     * @return {@link ByteBuffer} with the order of bytes defined in the file located at
-     * the {@link SasFileConstants#ALIGN_2_OFFSET} offset.
-     */
-    private ByteBuffer byteArrayToByteBuffer(byte[] data) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(data);
-        if (sasFileProperties.getEndianness() == 0) {
-            return byteBuffer;
-        } else {
-            return byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] source = cachedPage;
+        int position = (int) offset;
+        if (position + length > cachedPage.length) {
+            source = Arrays.copyOfRange(cachedPage, position, position + length);
+            position = 0;
         }
+        return bytesToLong(source, position, length);
     }
 
     /**
-     * The function to convert an array of bytes into a number. The result can be double or long values.
-     * The numbers are stored in the IEEE 754 format. A number is considered long if the difference between the whole
-     * number and its integer part is less than {@link SasFileConstants#EPSILON}.
+     * The function to copy bytes from {@link SasFileParser#cachedPage}. The bytes following the end of the page are
+     * read as zeros.
      *
-     * @param mass the number represented by an array of bytes.
-     * @return number of a long or double type.
-     */
-    private Object convertByteArrayToNumber(byte[] mass) {
-        double resultDouble = bytesToDouble(mass);
-
-        if (Double.isNaN(resultDouble) || (resultDouble < NAN_EPSILON && resultDouble > 0)) {
-            return null;
+     * @param offset the offset of the bytes on the page.
+     * @param length the number of bytes.
+     * @return the copy of the bytes.
+     * @throws IOException if the bytes start after the end of the page.
+     */
+    private byte[] readPageBytes(long offset, int length) throws IOException {
+        if (cachedPage.length < offset) {
+            throw new IOException(EMPTY_INPUT_STREAM);
         }
-
-        long resultLong = Math.round(resultDouble);
-        if (Math.abs(resultDouble - resultLong) >= EPSILON) {
-            return resultDouble;
-        } else {
-            return resultLong;
-        }
-    }
-
-    /**
-     * The function to convert an array of bytes into a numeral of the {@link Short} type.
-     * For convenience, the resulting number is converted into the int type.
-     *
-     * @param bytes a long number represented by an array of bytes.
-     * @return a number of the int type that is the conversion result.
-     */
-    private int bytesToShort(byte[] bytes) {
-        return byteArrayToByteBuffer(bytes).getShort();
+        return Arrays.copyOfRange(cachedPage, (int) offset, (int) offset + length);
     }
 
     /**
-     * The function to convert an array of bytes into an int number.
+     * The function to convert a number stored in an array of bytes in the byte order of the file into a long number.
      *
-     * @param bytes a long number represented by an array of bytes.
-     * @return a number of the int type that is the conversion result.
+     * @param bytes  the array of bytes storing the number.
+     * @param offset the offset of the number in the array.
+     * @param length the length of the number in bytes: 2, 4 or 8.
+     * @return a number of the long type that is the conversion result.
      */
-    private int bytesToInt(byte[] bytes) {
-        return byteArrayToByteBuffer(bytes).getInt();
+    private long bytesToLong(byte[] bytes, int offset, int length) {
+        boolean littleEndian = sasFileProperties.getEndianness() == 1;
+        if (length == BYTES_IN_LONG) {
+            return ByteArrayReader.readLong(bytes, offset, littleEndian);
+        }
+        return length == BYTES_IN_INT ? ByteArrayReader.readInt(bytes, offset, littleEndian)
+                : ByteArrayReader.readShort(bytes, offset, length, littleEndian);
     }
 
     /**
-     * The function to convert an array of bytes into a long number.
+     * The function to convert an array of bytes into a number (int or long depending on the value located at
+     * the {@link SasFileConstants#ALIGN_2_OFFSET} offset).
      *
      * @param bytes a long number represented by an array of bytes.
      * @return a number of the long type that is the conversion result.
      */
     private long bytesToLong(byte[] bytes) {
-        return correctLongProcess(byteArrayToByteBuffer(bytes));
+        return bytesToLong(bytes, 0, sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT);
     }
 
     /**
@@ -1055,7 +1478,7 @@ public final class SasFileParser {
      * @throws UnsupportedEncodingException when unknown encoding.
      */
     private String bytesToString(byte[] bytes) throws UnsupportedEncodingException {
-        return new String(bytes, encoding);
+        return bytesToString(bytes, 0, bytes.length);
     }
 
     /**
@@ -1070,7 +1493,10 @@ public final class SasFileParser {
      */
     private String bytesToString(byte[] bytes, int offset, int length)
             throws UnsupportedEncodingException, StringIndexOutOfBoundsException {
-        return new String(bytes, offset, length, encoding);
+        if (stringDecoder == null) {
+            stringDecoder = new StringDecoder(encoding);
+        }
+        return stringDecoder.decode(bytes, offset, length);
     }
 
     /**
@@ -1081,7 +1507,8 @@ public final class SasFileParser {
      * @return a variable of the {@link Date} type.
      */
     private Date bytesToDateTime(byte[] bytes) {
-        double doubleSeconds = bytesToDouble(bytes);
+        double doubleSeconds = ByteArrayReader.readDouble(bytes, 0, bytes.length,
+                sasFileProperties.getEndianness() == 1);
         if (Double.isNaN(doubleSeconds)) {
             return null;
         } else {
@@ -1089,100 +1516,6 @@ public final class SasFileParser {
         }
     }
 
-    /**
-     * The function to convert an array of bytes that stores the number of seconds
-     * elapsed from 01/01/1960 into the date represented according to outputDateType.
-     *
-     * @param bytes          an array of bytes that stores the type.
-     * @param outputDateType type of the date formatting
-     * @param columnFormat   SAS date format
-     * @return datetime representation
-     */
-    private Object bytesToDateTime(byte[] bytes, OutputDateType outputDateType, ColumnFormat columnFormat) {
-        double doubleSeconds = bytesToDouble(bytes);
-        return sasTemporalFormatter.formatSasDateTime(doubleSeconds, outputDateType,
-                columnFormat.getName(), columnFormat.getWidth(), columnFormat.getPrecision());
-    }
-
-    /**
-     * The function to convert an array of bytes that stores the number of seconds
-     * since midnight into the date represented according to outputDateType.
-     *
-     * @param bytes          an array of bytes that stores the type.
-     * @param outputDateType type of the date formatting
-     * @param columnFormat   SAS date format
-     * @return time representation
-     */
-    private Object bytesToTime(byte[] bytes, OutputDateType outputDateType, ColumnFormat columnFormat) {
-        double doubleSeconds = bytesToDouble(bytes);
-        return sasTemporalFormatter.formatSasTime(doubleSeconds, outputDateType,
-                columnFormat.getName(), columnFormat.getWidth(), columnFormat.getPrecision());
-    }
-
-
-    /**
-     * The function to convert an array of bytes that stores the number of days
-     * elapsed from 01/01/1960  into the date represented according to outputDateType.
-     *
-     * @param bytes          the array of bytes that stores the number of days from 01/01/1960.
-     * @param outputDateType type of the date formatting
-     * @param columnFormat   SAS date format
-     * @return date representation
-     */
-    private Object bytesToDate(byte[] bytes, OutputDateType outputDateType, ColumnFormat columnFormat) {
-        double doubleDays = bytesToDouble(bytes);
-        return sasTemporalFormatter.formatSasDate(doubleDays, outputDateType,
-                columnFormat.getName(), columnFormat.getWidth(), columnFormat.getPrecision());
-    }
-
-    /**
-     * The function to convert an array of bytes into a double number.
-     *
-     * @param bytes a double number represented by an array of bytes.
-     * @return a number of the double type that is the conversion result.
-     */
-    private double bytesToDouble(byte[] bytes) {
-        ByteBuffer original = byteArrayToByteBuffer(bytes);
-
-        if (bytes.length < BYTES_IN_DOUBLE) {
-            ByteBuffer byteBuffer = ByteBuffer.allocate(BYTES_IN_DOUBLE);
-            if (sasFileProperties.getEndianness() == 1) {
-                byteBuffer.position(BYTES_IN_DOUBLE - bytes.length);
-            }
-            byteBuffer.put(original);
-            byteBuffer.order(original.order());
-            byteBuffer.position(0);
-            original = byteBuffer;
-        }
-
-        return original.getDouble();
-    }
-
-    /**
-     * The function to remove excess symbols from the end of a bytes array. Excess symbols are line end characters,
-     * tabulation characters, and spaces, which do not contain useful information.
-     *
-     * @param source an array of bytes containing required data.
-     * @param offset the offset in source of required data.
-     * @param length the length of required data.
-     * @return the array of bytes without excess symbols at the end.
-     */
-    private byte[] trimBytesArray(byte[] source, int offset, int length) {
-        int lengthFromBegin;
-        for (lengthFromBegin = offset + length; lengthFromBegin > offset; lengthFromBegin--) {
-            if (source[lengthFromBegin - 1] != ' ' && source[lengthFromBegin - 1] != '\0'
-                    && source[lengthFromBegin - 1] != '\t') {
-                break;
-            }
-        }
-
-        if (lengthFromBegin - offset != 0) {
-            return Arrays.copyOfRange(source, offset, lengthFromBegin);
-        } else {
-            return null;
-        }
-    }
-
     /**
      * Columns getter.
      *
@@ -1202,125 +1535,115 @@ public final class SasFileParser {
     }
 
     /**
-     * Enumeration of all subheader types used in sas7bdat files.
+     * The interface that is implemented by all classes that process subheaders.
      */
-    private enum SubheaderIndexes {
+    private interface ProcessingSubheader {
         /**
-         * Index which define row size subheader, which contains rows size in bytes and the number of rows.
+         * Method which should be overwritten in implementing this interface classes.
+         *
+         * @param subheaderOffset offset in bytes from the beginning of subheader.
+         * @param subheaderLength length of subheader in bytes.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
-        ROW_SIZE_SUBHEADER_INDEX,
+        void processSubheader(long subheaderOffset, long subheaderLength) throws IOException;
+    }
 
-        /**
-         * Index which define column size subheader, which contains columns count.
-         */
-        COLUMN_SIZE_SUBHEADER_INDEX,
+    /**
+     * SasFileParser builder class made using builder pattern.
+     */
+    public static class Builder {
 
         /**
-         * Index which define subheader counts subheader, which contains currently not used data.
+         * Empty private constructor to prevent instantiation without the {@link SasFileParser#pageSource} variable.
          */
-        SUBHEADER_COUNTS_SUBHEADER_INDEX,
+        private Builder() {
 
-        /**
-         * Index which define column text subheader, which contains type of file compression
-         * and info about columns (name, label, format).
-         */
-        COLUMN_TEXT_SUBHEADER_INDEX,
+        }
 
         /**
-         * Index which define column name subheader, which contains column names.
+         * Builder variable for {@link SasFileParser#pageSource} variable.
          */
-        COLUMN_NAME_SUBHEADER_INDEX,
+        private PageSource pageSource;
 
         /**
-         * Index which define column attributes subheader, which contains column attributes, such as type.
+         * Builder variable for {@link SasFileParser#encoding} variable.
          */
-        COLUMN_ATTRIBUTES_SUBHEADER_INDEX,
+        private String encoding;
 
         /**
-         * Index which define format and label subheader, which contains info about format of objects in column
-         * and tooltip text for columns.
+         * Default value for {@link SasFileParser#outputDateType} variable.
          */
-        FORMAT_AND_LABEL_SUBHEADER_INDEX,
+        private OutputDateType outputDateType = OutputDateType.JAVA_DATE_LEGACY;
 
         /**
-         * Index which define column list subheader, which contains currently not used data.
+         * Default value for {@link SasFileParser#byteOutput} variable.
          */
-        COLUMN_LIST_SUBHEADER_INDEX,
+        private Boolean byteOutput = false;
 
         /**
-         * Index which define data subheader, which contains sas7bdat file rows data.
+         * Default value for {@link SasFileParser#charSequenceOutput} variable.
          */
-        DATA_SUBHEADER_INDEX
-    }
+        private Boolean charSequenceOutput = false;
 
-    /**
-     * The interface that is implemented by all classes that process subheaders.
-     */
-    private interface ProcessingSubheader {
         /**
-         * Method which should be overwritten in implementing this interface classes.
-         *
-         * @param subheaderOffset offset in bytes from the beginning of subheader.
-         * @param subheaderLength length of subheader in bytes.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * Default value for {@link SasFileParser#forkJoinPool} variable.
          */
-        void processSubheader(long subheaderOffset, long subheaderLength) throws IOException;
-    }
+        private ForkJoinPool forkJoinPool;
 
-    /**
-     * The interface that is implemented by classes that process data subheader.
-     */
-    private interface ProcessingDataSubheader extends ProcessingSubheader {
         /**
-         * Method which should be overwritten in implementing this interface classes.
-         *
-         * @param subheaderOffset offset in bytes from the beginning of subheader.
-         * @param subheaderLength length of subheader in bytes.
-         * @param columnNames     list of column names which should be processed.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * Default value for {@link SasFileParser#metadataOnly} variable.
          */
-        void processSubheader(long subheaderOffset, long subheaderLength, List<String> columnNames) throws IOException;
-    }
-
-    /**
-     * SasFileParser builder class made using builder pattern.
-     */
-    public static class Builder {
+        private Boolean metadataOnly = false;
 
         /**
-         * Empty private constructor to prevent instantiation without the {@link SasFileParser#sasFileStream} variable.
+         * Builder variable for the page index file read by {@link PageIndexFile#read}.
          */
-        private Builder() {
-
-        }
+        private Path pageIndexFile;
 
         /**
-         * Builder variable for {@link SasFileParser#sasFileStream} variable.
+         * Builder variable for the memory budget of {@link SasFileParser#bufferAllocator}.
          */
-        private InputStream sasFileStream;
+        private MemoryBudget memoryBudget;
 
         /**
-         * Builder variable for {@link SasFileParser#encoding} variable.
+         * The constructor that specifies the input stream to read the sas7bdat file from.
+         *
+         * @param sasFileStream the stream wrapped into the {@link InputStreamPageSource} page source.
          */
-        private String encoding;
+        public Builder(InputStream sasFileStream) {
+            this.pageSource = new InputStreamPageSource(sasFileStream);
+        }
 
         /**
-         * Default value for {@link SasFileParser#outputDateType} variable.
+         * The constructor that specifies builders pageSource variable.
+         *
+         * @param pageSource value for {@link SasFileParser#pageSource} variable.
          */
-        private OutputDateType outputDateType = OutputDateType.JAVA_DATE_LEGACY;
+        public Builder(PageSource pageSource) {
+            this.pageSource = pageSource;
+        }
 
         /**
-         * Default value for {@link SasFileParser#byteOutput} variable.
+         * The constructor that maps the sas7bdat file opened as the channel into memory. Pages of the file
+         * are read directly from the mapping instead of an input stream. The channel is not closed by the parser,
+         * the mapping remains valid after the channel is closed.
+         *
+         * @param sasFileChannel the channel of the sas7bdat file.
+         * @throws IOException if the channel can not be mapped.
          */
-        private Boolean byteOutput = false;
+        public Builder(FileChannel sasFileChannel) throws IOException {
+            this.pageSource = new MappedPageSource(sasFileChannel);
+        }
 
         /**
-         * The constructor that specifies builders sasFileStream variable.
+         * The constructor that maps the sas7bdat file located at the path into memory. Pages of the file
+         * are read directly from the mapping instead of an input stream.
          *
-         * @param sasFileStream value for {@link SasFileParser#sasFileStream} variable.
+         * @param sasFilePath the path of the sas7bdat file.
+         * @throws IOException if the file can not be opened or mapped.
          */
-        public Builder(InputStream sasFileStream) {
-            this.sasFileStream = sasFileStream;
+        public Builder(Path sasFilePath) throws IOException {
+            this.pageSource = MappedPageSource.open(sasFilePath);
         }
 
         /**
@@ -1359,63 +1682,74 @@ public final class SasFileParser {
         }
 
         /**
-         * The function to create variable of SasFileParser class using current builder.
+         * The function to specify the output of character data as {@link com.epam.parso.ByteCharSequence} views
+         * of their bytes, which are decoded only when their string is needed. Ignored if the byte output is on.
          *
-         * @return newly built SasFileParser
+         * @param val value for {@link SasFileParser#charSequenceOutput} variable.
+         * @return result builder.
          */
-        public SasFileParser build() {
-            return new SasFileParser(this);
+        public Builder charSequenceOutput(Boolean val) {
+            charSequenceOutput = val;
+            return this;
         }
-    }
 
-    /**
-     * The class to store subheaders pointers that contain information about the offset, length, type
-     * and compression of subheaders (see {@link SasFileConstants#TRUNCATED_SUBHEADER_ID},
-     * {@link SasFileConstants#COMPRESSED_SUBHEADER_ID}, {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}
-     * for details).
-     */
-    static class SubheaderPointer {
         /**
-         * The offset from the beginning of a page at which a subheader is stored.
+         * The function to specify the pool that decodes pages in parallel. Batches of pages are decoded
+         * concurrently by forked parsers while rows are still returned in the file order. Pages are decoded
+         * in parallel only if the page source is random access, rows of input streams are decoded one by one.
+         *
+         * @param val the pool to decode pages in, null to decode rows on the calling thread.
+         * @return result builder.
          */
-        private final long offset;
+        public Builder forkJoinPool(ForkJoinPool val) {
+            forkJoinPool = val;
+            return this;
+        }
 
         /**
-         * The subheader length.
+         * The function to specify the page index file written by {@link SasFileReaderImpl#writePageIndex(Path)}.
+         * If it exists and matches the file, rows are found without reading the pages that precede them.
+         *
+         * @param val the path of the page index file.
+         * @return result builder.
          */
-        private final long length;
+        public Builder pageIndexFile(Path val) {
+            pageIndexFile = val;
+            return this;
+        }
 
         /**
-         * The type of subheader compression. If the type is {@link SasFileConstants#TRUNCATED_SUBHEADER_ID}
-         * the subheader does not contain information relevant to the current issues. If the type is
-         * {@link SasFileConstants#COMPRESSED_SUBHEADER_ID} the subheader can be compressed
-         * (depends on {@link SubheaderPointer#type}).
+         * The function to specify that only the metadata of the file is read. The header and the pages storing
+         * metadata are read until all columns are described, the data pages are never read and no buffers for rows
+         * are allocated. The parser is positioned after the last row, so no rows are returned.
+         *
+         * @param val true to read only the metadata.
+         * @return result builder.
          */
-        private final byte compression;
+        public Builder metadataOnly(Boolean val) {
+            metadataOnly = val;
+            return this;
+        }
 
         /**
-         * The subheader type. If the type is {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}
-         * the subheader is compressed. Otherwise, there is no compression.
+         * The function to specify the memory budget of the parser, see {@link MemoryBudget}. The buffers are
+         * returned to the pool of the budget by {@link SasFileParser#releaseBuffers()}.
+         *
+         * @param val the memory budget, null to allocate the buffers without a limit and pooling.
+         * @return result builder.
          */
-        private final byte type;
+        public Builder memoryBudget(MemoryBudget val) {
+            memoryBudget = val;
+            return this;
+        }
 
         /**
-         * The constructor of the {@link SubheaderPointer} class that defines values of all its variables.
+         * The function to create variable of SasFileParser class using current builder.
          *
-         * @param offset      the offset of the subheader from the beginning of the page.
-         * @param length      the subheader length.
-         * @param compression the subheader compression type. If the type is
-         *                    {@link SasFileConstants#TRUNCATED_SUBHEADER_ID}, the subheader does not contain useful
-         *                    information. If the type is {@link SasFileConstants#COMPRESSED_SUBHEADER_ID},
-         *                    the subheader can be compressed (depends on {@link SubheaderPointer#type}).
-         * @param type        the subheader type. If the type is {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}
-         *                    the subheader is compressed, otherwise, it is not.
+         * @return newly built SasFileParser
          */
-        SubheaderPointer(long offset, long length, byte compression, byte type) {
-            this.offset = offset;
-            this.length = length;
-            this.compression = compression;
-            this.type = type;
+        public SasFileParser build() {
+            return new SasFileParser(this);
         }
     }
 
@@ -1433,45 +1767,38 @@ public final class SasFileParser {
          *
          * @param subheaderOffset the offset at which the subheader is located.
          * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
         @Override
         public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
             int intOrLongLength = sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT;
-            Long[] offset = {subheaderOffset + ROW_LENGTH_OFFSET_MULTIPLIER * intOrLongLength,
-                    subheaderOffset + ROW_COUNT_OFFSET_MULTIPLIER * intOrLongLength,
-                    subheaderOffset + ROW_COUNT_ON_MIX_PAGE_OFFSET_MULTIPLIER * intOrLongLength,
-                    subheaderOffset + FILE_FORMAT_OFFSET_OFFSET + 82 * intOrLongLength,
-                    subheaderOffset + FILE_FORMAT_LENGTH_OFFSET + 82 * intOrLongLength,
-                    subheaderOffset + DELETED_ROW_COUNT_OFFSET_MULTIPLIER * intOrLongLength,
-                    subheaderOffset + COMPRESSION_METHOD_OFFSET + 82 * intOrLongLength,
-                    subheaderOffset + COMPRESSION_METHOD_LENGTH_OFFSET + 82 * intOrLongLength,
-            };
-            Integer[] length = {intOrLongLength, intOrLongLength, intOrLongLength,
-                    FILE_FORMAT_OFFSET_LENGTH, FILE_FORMAT_LENGTH_LENGTH,
-                    intOrLongLength,
-                    COMPRESSION_METHOD_OFFSET_LENGTH, COMPRESSION_METHOD_LENGTH_LENGTH};
-            List<byte[]> vars = getBytesFromFile(offset, length);
-
             if (sasFileProperties.getRowLength() == 0) {
-                sasFileProperties.setRowLength(bytesToLong(vars.get(0)));
+                sasFileProperties.setRowLength(readPageNumber(subheaderOffset
+                        + ROW_LENGTH_OFFSET_MULTIPLIER * intOrLongLength, intOrLongLength));
             }
             if (sasFileProperties.getRowCount() == 0) {
-                sasFileProperties.setRowCount(bytesToLong(vars.get(1)));
+                sasFileProperties.setRowCount(readPageNumber(subheaderOffset
+                        + ROW_COUNT_OFFSET_MULTIPLIER * intOrLongLength, intOrLongLength));
             }
             if (sasFileProperties.getMixPageRowCount() == 0) {
-                sasFileProperties.setMixPageRowCount(bytesToLong(vars.get(2)));
+                sasFileProperties.setMixPageRowCount(readPageNumber(subheaderOffset
+                        + ROW_COUNT_ON_MIX_PAGE_OFFSET_MULTIPLIER * intOrLongLength, intOrLongLength));
             }
 
-            fileLabelOffset = bytesToShort(vars.get(3));
-            fileLabelLength = bytesToShort(vars.get(4));
+            fileLabelOffset = (int) readPageNumber(subheaderOffset + FILE_FORMAT_OFFSET_OFFSET + 82 * intOrLongLength,
+                    FILE_FORMAT_OFFSET_LENGTH);
+            fileLabelLength = (int) readPageNumber(subheaderOffset + FILE_FORMAT_LENGTH_OFFSET + 82 * intOrLongLength,
+                    FILE_FORMAT_LENGTH_LENGTH);
 
             if (sasFileProperties.getDeletedRowCount() == 0) {
-                sasFileProperties.setDeletedRowCount(bytesToLong(vars.get(5)));
+                sasFileProperties.setDeletedRowCount(readPageNumber(subheaderOffset
+                        + DELETED_ROW_COUNT_OFFSET_MULTIPLIER * intOrLongLength, intOrLongLength));
             }
 
-            compressionMethodOffset = bytesToShort(vars.get(6));
-            compressionMethodLength = bytesToShort(vars.get(7));
+            compressionMethodOffset = (int) readPageNumber(subheaderOffset + COMPRESSION_METHOD_OFFSET
+                    + 82 * intOrLongLength, COMPRESSION_METHOD_OFFSET_LENGTH);
+            compressionMethodLength = (int) readPageNumber(subheaderOffset + COMPRESSION_METHOD_LENGTH_OFFSET
+                    + 82 * intOrLongLength, COMPRESSION_METHOD_LENGTH_LENGTH);
         }
     }
 
@@ -1486,34 +1813,12 @@ public final class SasFileParser {
          *
          * @param subheaderOffset the offset at which the subheader is located.
          * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
         @Override
         public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
             int intOrLongLength = sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT;
-            Long[] offset = {subheaderOffset + intOrLongLength};
-            Integer[] length = {intOrLongLength};
-            List<byte[]> vars = getBytesFromFile(offset, length);
-
-            sasFileProperties.setColumnsCount(bytesToLong(vars.get(0)));
-        }
-    }
-
-    /**
-     * The class to process subheaders of the SubheaderCountsSubheader type that does not contain
-     * any information relevant to the current issues.
-     */
-    static class SubheaderCountsSubheader implements ProcessingSubheader {
-        /**
-         * The function to read metadata. At the moment the function is empty as the information in
-         * SubheaderCountsSubheader is not needed for the current issues.
-         *
-         * @param subheaderOffset the offset at which the subheader is located.
-         * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
-         */
-        @Override
-        public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
+            sasFileProperties.setColumnsCount(readPageNumber(subheaderOffset + intOrLongLength, intOrLongLength));
         }
     }
 
@@ -1530,23 +1835,14 @@ public final class SasFileParser {
          *
          * @param subheaderOffset the offset at which the subheader is located.
          * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
         @Override
         public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
             int intOrLongLength = sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT;
-            int textBlockSize;
-
-            Long[] offset = {subheaderOffset + intOrLongLength};
-            Integer[] length = {TEXT_BLOCK_SIZE_LENGTH};
-            List<byte[]> vars = getBytesFromFile(offset, length);
-            textBlockSize = byteArrayToByteBuffer(vars.get(0)).getShort();
+            int textBlockSize = (int) readPageNumber(subheaderOffset + intOrLongLength, TEXT_BLOCK_SIZE_LENGTH);
 
-            offset[0] = subheaderOffset + intOrLongLength;
-            length[0] = textBlockSize;
-            vars = getBytesFromFile(offset, length);
-
-            columnsNamesBytes.add(vars.get(0));
+            columnsNamesBytes.add(readPageBytes(subheaderOffset + intOrLongLength, textBlockSize));
             if (columnsNamesBytes.size() == 1) {
                 byte[] columnName = columnsNamesBytes.get(0);
                 String compressionMethod = bytesToString(columnName, compressionMethodOffset, compressionMethodLength);
@@ -1574,7 +1870,7 @@ public final class SasFileParser {
          *
          * @param subheaderOffset the offset at which the subheader is located.
          * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
         @Override
         public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
@@ -1582,17 +1878,13 @@ public final class SasFileParser {
             long columnNamePointersCount = (subheaderLength - 2 * intOrLongLength - 12) / 8;
             int i;
             for (i = 0; i < columnNamePointersCount; i++) {
-                Long[] offset = {subheaderOffset + intOrLongLength + COLUMN_NAME_POINTER_LENGTH * (i + 1)
-                        + COLUMN_NAME_TEXT_SUBHEADER_OFFSET, subheaderOffset + intOrLongLength
-                        + COLUMN_NAME_POINTER_LENGTH * (i + 1) + COLUMN_NAME_OFFSET_OFFSET, subheaderOffset
-                        + intOrLongLength + COLUMN_NAME_POINTER_LENGTH * (i + 1) + COLUMN_NAME_LENGTH_OFFSET};
-                Integer[] length = {COLUMN_NAME_TEXT_SUBHEADER_LENGTH, COLUMN_NAME_OFFSET_LENGTH,
-                        COLUMN_NAME_LENGTH_LENGTH};
-                List<byte[]> vars = getBytesFromFile(offset, length);
-
-                int textSubheaderIndex = bytesToShort(vars.get(0));
-                int columnNameOffset = bytesToShort(vars.get(1));
-                int columnNameLength = bytesToShort(vars.get(2));
+                long pointerOffset = subheaderOffset + intOrLongLength + COLUMN_NAME_POINTER_LENGTH * (i + 1);
+                int textSubheaderIndex = (int) readPageNumber(pointerOffset + COLUMN_NAME_TEXT_SUBHEADER_OFFSET,
+                        COLUMN_NAME_TEXT_SUBHEADER_LENGTH);
+                int columnNameOffset = (int) readPageNumber(pointerOffset + COLUMN_NAME_OFFSET_OFFSET,
+                        COLUMN_NAME_OFFSET_LENGTH);
+                int columnNameLength = (int) readPageNumber(pointerOffset + COLUMN_NAME_LENGTH_OFFSET,
+                        COLUMN_NAME_LENGTH_LENGTH);
                 if (textSubheaderIndex < columnsNamesBytes.size()) {
                     columnsNamesList.add(bytesToString(columnsNamesBytes.get(textSubheaderIndex),
                             columnNameOffset, columnNameLength).intern());
@@ -1609,8 +1901,7 @@ public final class SasFileParser {
      * The class to process subheaders of the ColumnAttributesSubheader type that store information about
      * the data length (in bytes) of the current column and about the offset (in bytes) of the current column`s data
      * from the beginning of the row with data. They also store the column`s data type: {@link Number} and
-     * {@link String}. The resulting names are stored in the {@link SasFileParser#columnsDataOffset},
-     * {@link SasFileParser#columnsDataLength}, and{@link SasFileParser#columnsTypesList}.
+     * {@link String}. The results are stored in {@link SasFileParser#columnLayout}.
      */
     class ColumnAttributesSubheader implements ProcessingSubheader {
         /**
@@ -1619,23 +1910,19 @@ public final class SasFileParser {
          *
          * @param subheaderOffset the offset at which the subheader is located.
          * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
         @Override
         public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
             int intOrLongLength = sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT;
             long columnAttributesVectorsCount = (subheaderLength - 2 * intOrLongLength - 12) / (intOrLongLength + 8);
             for (int i = 0; i < columnAttributesVectorsCount; i++) {
-                Long[] offset = {subheaderOffset + intOrLongLength + COLUMN_DATA_OFFSET_OFFSET + i
-                        * (intOrLongLength + 8), subheaderOffset + 2 * intOrLongLength + COLUMN_DATA_LENGTH_OFFSET + i
-                        * (intOrLongLength + 8), subheaderOffset + 2 * intOrLongLength + COLUMN_TYPE_OFFSET + i
-                        * (intOrLongLength + 8)};
-                Integer[] length = {intOrLongLength, COLUMN_DATA_LENGTH_LENGTH, COLUMN_TYPE_LENGTH};
-                List<byte[]> vars = getBytesFromFile(offset, length);
-
-                columnsDataOffset.add(bytesToLong(vars.get(0)));
-                columnsDataLength.add(bytesToInt(vars.get(1)));
-                columnsTypesList.add(vars.get(2)[0] == 1 ? Number.class : String.class);
+                long vectorOffset = subheaderOffset + intOrLongLength + i * (intOrLongLength + 8);
+                long dataOffset = readPageNumber(vectorOffset + COLUMN_DATA_OFFSET_OFFSET, intOrLongLength);
+                int dataLength = (int) readPageNumber(vectorOffset + intOrLongLength + COLUMN_DATA_LENGTH_OFFSET,
+                        COLUMN_DATA_LENGTH_LENGTH);
+                long type = readPageNumber(vectorOffset + intOrLongLength + COLUMN_TYPE_OFFSET, COLUMN_TYPE_LENGTH);
+                columnLayout.add(dataOffset, dataLength, type == 1);
             }
         }
     }
@@ -1661,32 +1948,28 @@ public final class SasFileParser {
          *
          * @param subheaderOffset the offset at which the subheader is located.
          * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
+         * @throws IOException if reading from the {@link SasFileParser#pageSource} source is impossible.
          */
         @Override
         public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
             int intOrLongLength = sasFileProperties.isU64() ? BYTES_IN_LONG : BYTES_IN_INT;
-            Long[] offset = {subheaderOffset + COLUMN_FORMAT_WIDTH_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_FORMAT_PRECISION_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_FORMAT_TEXT_SUBHEADER_INDEX_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_FORMAT_OFFSET_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_FORMAT_LENGTH_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_LABEL_TEXT_SUBHEADER_INDEX_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_LABEL_OFFSET_OFFSET + 3 * intOrLongLength,
-                    subheaderOffset + COLUMN_LABEL_LENGTH_OFFSET + 3 * intOrLongLength};
-            Integer[] length = {COLUMN_FORMAT_WIDTH_OFFSET_LENGTH, COLUMN_FORMAT_PRECISION_OFFSET_LENGTH,
-                    COLUMN_FORMAT_TEXT_SUBHEADER_INDEX_LENGTH, COLUMN_FORMAT_OFFSET_LENGTH, COLUMN_FORMAT_LENGTH_LENGTH,
-                    COLUMN_LABEL_TEXT_SUBHEADER_INDEX_LENGTH, COLUMN_LABEL_OFFSET_LENGTH, COLUMN_LABEL_LENGTH_LENGTH};
-            List<byte[]> vars = getBytesFromFile(offset, length);
-
-            int columnFormatWidth = bytesToShort(vars.get(0));
-            int columnFormatPrecision = bytesToShort(vars.get(1));
-            int textSubheaderIndexForFormat = bytesToShort(vars.get(2));
-            int columnFormatOffset = bytesToShort(vars.get(3));
-            int columnFormatLength = bytesToShort(vars.get(4));
-            int textSubheaderIndexForLabel = bytesToShort(vars.get(5));
-            int columnLabelOffset = bytesToShort(vars.get(6));
-            int columnLabelLength = bytesToShort(vars.get(7));
+            long fieldsOffset = subheaderOffset + 3 * intOrLongLength;
+            int columnFormatWidth = (int) readPageNumber(fieldsOffset + COLUMN_FORMAT_WIDTH_OFFSET,
+                    COLUMN_FORMAT_WIDTH_OFFSET_LENGTH);
+            int columnFormatPrecision = (int) readPageNumber(fieldsOffset + COLUMN_FORMAT_PRECISION_OFFSET,
+                    COLUMN_FORMAT_PRECISION_OFFSET_LENGTH);
+            int textSubheaderIndexForFormat = (int) readPageNumber(fieldsOffset
+                    + COLUMN_FORMAT_TEXT_SUBHEADER_INDEX_OFFSET, COLUMN_FORMAT_TEXT_SUBHEADER_INDEX_LENGTH);
+            int columnFormatOffset = (int) readPageNumber(fieldsOffset + COLUMN_FORMAT_OFFSET_OFFSET,
+                    COLUMN_FORMAT_OFFSET_LENGTH);
+            int columnFormatLength = (int) readPageNumber(fieldsOffset + COLUMN_FORMAT_LENGTH_OFFSET,
+                    COLUMN_FORMAT_LENGTH_LENGTH);
+            int textSubheaderIndexForLabel = (int) readPageNumber(fieldsOffset
+                    + COLUMN_LABEL_TEXT_SUBHEADER_INDEX_OFFSET, COLUMN_LABEL_TEXT_SUBHEADER_INDEX_LENGTH);
+            int columnLabelOffset = (int) readPageNumber(fieldsOffset + COLUMN_LABEL_OFFSET_OFFSET,
+                    COLUMN_LABEL_OFFSET_LENGTH);
+            int columnLabelLength = (int) readPageNumber(fieldsOffset + COLUMN_LABEL_LENGTH_OFFSET,
+                    COLUMN_LABEL_LENGTH_LENGTH);
             String columnLabel = "";
             String columnFormatName = "";
             if (textSubheaderIndexForLabel < columnsNamesBytes.size()) {
@@ -1706,60 +1989,9 @@ public final class SasFileParser {
             LOGGER.debug(COLUMN_FORMAT, columnFormatName);
             ColumnFormat columnFormat = new ColumnFormat(columnFormatName, columnFormatWidth, columnFormatPrecision);
             columns.add(new Column(currentColumnNumber + 1, columnsNamesList.get(columns.size()),
-                    columnLabel, columnFormat, columnsTypesList.get(columns.size()),
-                    columnsDataLength.get(currentColumnNumber++)));
-        }
-    }
-
-    /**
-     * The class to process subheaders of the ColumnListSubheader type that do not store any information relevant
-     * to the current tasks.
-     */
-    static class ColumnListSubheader implements ProcessingSubheader {
-        /**
-         * The method to read metadata. It is empty at the moment because the data stored in ColumnListSubheader
-         * are not used.
-         *
-         * @param subheaderOffset the offset at which the subheader is located.
-         * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
-         */
-        @Override
-        public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
+                    columnLabel, columnFormat, columnLayout.isNumeric(columns.size()) ? Number.class : String.class,
+                    columnLayout.getLength(currentColumnNumber++)));
         }
     }
 
-    /**
-     * The class to process subheaders of the DataSubheader type that keep compressed or uncompressed data.
-     */
-    class DataSubheader implements ProcessingDataSubheader {
-        /**
-         * The method to read compressed or uncompressed data from the subheader. The results are stored as a row
-         * in {@link SasFileParser#currentRow}. The {@link SasFileParser#processByteArrayWithData(long, long, List)}
-         * function converts the array of bytes into a list of objects.
-         *
-         * @param subheaderOffset the offset at which the subheader is located.
-         * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
-         */
-        @Override
-        public void processSubheader(long subheaderOffset, long subheaderLength) throws IOException {
-            currentRow = processByteArrayWithData(subheaderOffset, subheaderLength, null);
-        }
-
-        /**
-         * The method to read compressed or uncompressed data from the subheader. The results are stored as a row
-         * in {@link SasFileParser#currentRow}. The {@link SasFileParser#processByteArrayWithData(long, long, List)}
-         * function converts the array of bytes into a list of objects.
-         *
-         * @param subheaderOffset the offset at which the subheader is located.
-         * @param subheaderLength the subheader length.
-         * @throws IOException if reading from the {@link SasFileParser#sasFileStream} stream is impossible.
-         */
-        @Override
-        public void processSubheader(long subheaderOffset, long subheaderLength,
-                                     List<String> columnNames) throws IOException {
-            currentRow = processByteArrayWithData(subheaderOffset, subheaderLength, columnNames);
-        }
-    }
 }
@@ -20,6 +20,13 @@
 package com.epam.parso.impl;
 
 import com.epam.parso.Column;
+import com.epam.parso.ColumnBatch;
+import com.epam.parso.ColumnStatistics;
+import com.epam.parso.GroupStatistics;
+import com.epam.parso.PageSource;
+import com.epam.parso.Projection;
+import com.epam.parso.RowCursor;
+import com.epam.parso.RowFilter;
 import com.epam.parso.SasFileProperties;
 import com.epam.parso.SasFileReader;
 import com.epam.parso.date.OutputDateType;
@@ -28,12 +35,22 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static com.epam.parso.impl.ParserMessageConstants.NON_POSITIVE_ROW_COUNT;
+import static com.epam.parso.impl.ParserMessageConstants.TOO_MANY_ROWS;
 import static com.epam.parso.impl.ParserMessageConstants.UNKNOWN_COLUMN_NAME;
 
 /**
@@ -54,11 +71,6 @@ public class SasFileReaderImpl implements SasFileReader {
      */
     private final SasFileParser sasFileParser;
 
-    /**
-     * List of columns obtained by names.
-     */
-    private final List<Column> columnsByName = new ArrayList<>();
-
     /**
      * Builds an object of the SasFileReaderImpl class from the file contained in the input stream.
      * Reads only metadata (properties and column information) of the sas7bdat file.
@@ -108,6 +120,51 @@ public class SasFileReaderImpl implements SasFileReader {
         sasFileParser = new SasFileParser.Builder(inputStream).byteOutput(byteOutput).build();
     }
 
+    /**
+     * Builds an object of the SasFileReaderImpl class from the sas7bdat file located at the path. The file is mapped
+     * into memory and its pages are read from the mapping without copying them through an input stream.
+     * Reads only metadata (properties and column information) of the sas7bdat file.
+     *
+     * @param path - the path of a correct sas7bdat file.
+     * @throws IOException if the file can not be opened or mapped.
+     */
+    public SasFileReaderImpl(Path path) throws IOException {
+        sasFileParser = new SasFileParser.Builder(path).build();
+    }
+
+    /**
+     * Builds an object of the SasFileReaderImpl class from the sas7bdat file opened as the channel. The file is mapped
+     * into memory and its pages are read from the mapping without copying them through an input stream.
+     * Reads only metadata (properties and column information) of the sas7bdat file.
+     *
+     * @param fileChannel - the channel of a correct sas7bdat file, it is not closed by the reader.
+     * @throws IOException if the channel can not be mapped.
+     */
+    public SasFileReaderImpl(FileChannel fileChannel) throws IOException {
+        sasFileParser = new SasFileParser.Builder(fileChannel).build();
+    }
+
+    /**
+     * Builds an object of the SasFileReaderImpl class from the sas7bdat file read through the page source.
+     * Reads only metadata (properties and column information) of the sas7bdat file.
+     *
+     * @param pageSource - the source of a correct sas7bdat file, it is not closed by the reader.
+     */
+    public SasFileReaderImpl(PageSource pageSource) {
+        sasFileParser = new SasFileParser.Builder(pageSource).build();
+    }
+
+    /**
+     * Builds an object of the SasFileReaderImpl class with the parser configured by the builder.
+     * Reads only metadata (properties and column information) of the sas7bdat file.
+     *
+     * @param builder - the builder of the parser specifying the source of a correct sas7bdat file and
+     *                parsing options.
+     */
+    public SasFileReaderImpl(SasFileParser.Builder builder) {
+        sasFileParser = builder.build();
+    }
+
     /**
      * The function to get the {@link Column} list from {@link SasFileParser}.
      *
@@ -127,18 +184,17 @@ public class SasFileReaderImpl implements SasFileReader {
      */
     @Override
     public List<Column> getColumns(List<String> columnNames) {
-        if (columnsByName.isEmpty()) {
-            Map<String, Column> columnsMap = new HashMap<>();
-            List<Column> allColumns = sasFileParser.getColumns();
-            for (Column column : allColumns) {
-                columnsMap.put(column.getName(), column);
-            }
-            for (String name : columnNames) {
-                if (columnsMap.containsKey(name)) {
-                    columnsByName.add(columnsMap.get(name));
-                } else {
-                    throw new NoSuchElementException(UNKNOWN_COLUMN_NAME);
-                }
+        Map<String, Column> columnsMap = new HashMap<>();
+        List<Column> allColumns = sasFileParser.getColumns();
+        for (Column column : allColumns) {
+            columnsMap.put(column.getName(), column);
+        }
+        List<Column> columnsByName = new ArrayList<>(columnNames.size());
+        for (String name : columnNames) {
+            if (columnsMap.containsKey(name)) {
+                columnsByName.add(columnsMap.get(name));
+            } else {
+                throw new NoSuchElementException(UNKNOWN_COLUMN_NAME);
             }
         }
         return columnsByName;
@@ -153,11 +209,30 @@ public class SasFileReaderImpl implements SasFileReader {
      */
     @Override
     public Object[][] readAll(List<String> columnNames) {
-        int rowNum = (int) getSasFileProperties().getRowCount();
+        return readAll(sasFileParser.getProjection(columnNames));
+    }
+
+    /**
+     * Reads all rows from the sas7bdat file. For each row, only the columns selected by the projection are read.
+     * Files with more rows than an array can store are read with {@link SasFileReaderImpl#readBatch(int)} or
+     * {@link SasFileReaderImpl#chunks(int)}.
+     *
+     * @param projection the columns which should be processed.
+     * @return an array of array objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     * @throws IllegalStateException if the file has more rows than an array can store.
+     */
+    @Override
+    public Object[][] readAll(Projection projection) {
+        long rowCount = getSasFileProperties().getRowCount();
+        if (rowCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException(TOO_MANY_ROWS + rowCount);
+        }
+        int rowNum = (int) rowCount;
         Object[][] result = new Object[rowNum][];
         for (int i = 0; i < rowNum; i++) {
             try {
-                result[i] = readNext(columnNames);
+                result[i] = readNext(projection);
             } catch (IOException e) {
                 if (LOGGER.isWarnEnabled()) {
                     LOGGER.warn("I/O exception, skipping the rest of the file. "
@@ -182,7 +257,7 @@ public class SasFileReaderImpl implements SasFileReader {
      */
     @Override
     public Object[][] readAll() {
-        return readAll(null);
+        return readAll((Projection) null);
     }
 
     /**
@@ -193,7 +268,7 @@ public class SasFileReaderImpl implements SasFileReader {
      */
     @Override
     public Object[] readNext() throws IOException {
-        return sasFileParser.readNext(null);
+        return sasFileParser.readNext();
     }
 
     /**
@@ -209,13 +284,364 @@ public class SasFileReaderImpl implements SasFileReader {
     }
 
     /**
-     * The function to return the index of the current row when reading the file sas7bdat file.
+     * Reads rows one by one from the sas7bdat file. For each row, only the columns selected by the projection
+     * are read.
+     *
+     * @param projection the columns which should be processed.
+     * @return an array of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     * @throws IOException if reading input stream is impossible.
+     */
+    @Override
+    public Object[] readNext(Projection projection) throws IOException {
+        return sasFileParser.readNext(projection);
+    }
+
+    /**
+     * Reads the next row that passes the filter, the rows are checked before they are converted.
+     *
+     * @param filter the condition the row must meet, null if all rows pass.
+     * @return an array of objects storing the cells of all columns, null if there are no more rows passing
+     * the filter.
+     * @throws IOException if reading input stream is impossible.
+     */
+    @Override
+    public Object[] readNext(RowFilter filter) throws IOException {
+        return sasFileParser.readNext(null, filter);
+    }
+
+    /**
+     * Reads the columns selected by the projection of the next row that passes the filter, the rows are checked
+     * before they are converted.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @param filter     the condition the row must meet, null if all rows pass.
+     * @return an array of objects storing the cells of the selected columns, null if there are no more rows
+     * passing the filter.
+     * @throws IOException if reading input stream is impossible.
+     */
+    @Override
+    public Object[] readNext(Projection projection, RowFilter filter) throws IOException {
+        return sasFileParser.readNext(projection, filter);
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the rows following the current row, see
+     * {@link ColumnAggregator}.
+     *
+     * @param columnNames the names of the numeric columns.
+     * @return the statistics of the columns in the order of their names.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public List<ColumnStatistics> aggregate(List<String> columnNames) throws IOException {
+        return aggregate(columnNames, null);
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the rows following the current row that pass the filter,
+     * see {@link ColumnAggregator}.
+     *
+     * @param columnNames the names of the numeric columns.
+     * @param filter      the condition the aggregated rows must meet, null if all rows are aggregated.
+     * @return the statistics of the columns in the order of their names.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public List<ColumnStatistics> aggregate(List<String> columnNames, RowFilter filter) throws IOException {
+        return new ColumnAggregator(sasFileParser, Collections.<String>emptyList(), columnNames, filter).aggregate();
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the groups of the rows following the current row that
+     * have the same cells in the key columns, see {@link ColumnAggregator}.
+     *
+     * @param keyColumnNames the names of the columns the rows are grouped by.
+     * @param columnNames    the names of the numeric columns to aggregate.
+     * @return the statistics of the groups in the order of their first rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public List<GroupStatistics> groupBy(List<String> keyColumnNames, List<String> columnNames) throws IOException {
+        return groupBy(keyColumnNames, columnNames, null);
+    }
+
+    /**
+     * Computes the statistics of the numeric columns over the groups of the rows following the current row that
+     * pass the filter, see {@link ColumnAggregator}.
+     *
+     * @param keyColumnNames the names of the columns the rows are grouped by.
+     * @param columnNames    the names of the numeric columns to aggregate.
+     * @param filter         the condition the aggregated rows must meet, null if all rows are aggregated.
+     * @return the statistics of the groups in the order of their first rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public List<GroupStatistics> groupBy(List<String> keyColumnNames, List<String> columnNames, RowFilter filter)
+            throws IOException {
+        return new ColumnAggregator(sasFileParser, keyColumnNames, columnNames, filter).groupBy();
+    }
+
+    /**
+     * Returns a sequential stream of the rows following the current row, deleted rows are skipped.
+     *
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    @Override
+    public Stream<Object[]> stream() {
+        return stream((Projection) null);
+    }
+
+    /**
+     * Returns a sequential stream of the rows following the current row, deleted rows are skipped.
+     * For each row, only the columns defined in the list are read.
+     *
+     * @param columnNames list of column names which should be processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    @Override
+    public Stream<Object[]> stream(List<String> columnNames) {
+        return createStream(sasFileParser.getProjection(columnNames), false);
+    }
+
+    /**
+     * Returns a sequential stream of the rows following the current row, deleted rows are skipped.
+     * For each row, only the columns selected by the projection are read.
+     *
+     * @param projection the columns which should be processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    @Override
+    public Stream<Object[]> stream(Projection projection) {
+        return createStream(projection, false);
+    }
+
+    /**
+     * Returns a parallel stream of the rows following the current row, deleted rows are skipped.
+     *
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    @Override
+    public Stream<Object[]> parallelStream() {
+        return parallelStream((Projection) null);
+    }
+
+    /**
+     * Returns a parallel stream of the rows following the current row, deleted rows are skipped.
+     * For each row, only the columns defined in the list are read.
+     *
+     * @param columnNames list of column names which should be processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    @Override
+    public Stream<Object[]> parallelStream(List<String> columnNames) {
+        return createStream(sasFileParser.getProjection(columnNames), true);
+    }
+
+    /**
+     * Returns a parallel stream of the rows following the current row, deleted rows are skipped.
+     * For each row, only the columns selected by the projection are read.
+     *
+     * @param projection the columns which should be processed.
+     * @return a stream of arrays of objects whose elements can be objects of the following classes: double, long,
+     * int, byte[], Date depending on the column they are in.
+     */
+    @Override
+    public Stream<Object[]> parallelStream(Projection projection) {
+        return createStream(projection, true);
+    }
+
+    /**
+     * The function to create a stream over the spliterator of the rows following the current row.
+     *
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @param parallel   true to create a parallel stream.
+     * @return a stream of rows.
+     */
+    private Stream<Object[]> createStream(Projection projection, boolean parallel) {
+        try {
+            Spliterator<Object[]> spliterator = RowSpliterator.create(sasFileParser, projection, parallel);
+            Stream<Object[]> stream = StreamSupport.stream(spliterator, parallel);
+            if (spliterator instanceof RowSpliterator) {
+                stream = stream.onClose(((RowSpliterator) spliterator)::close);
+            }
+            return stream;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The function to return the index of the current row when reading the file sas7bdat file, the index is
+     * truncated to an int, see {@link SasFileReaderImpl#getRowOffset()}.
      *
      * @return current row index
      */
     @Override
     public Integer getOffset() {
-      return sasFileParser.getOffset();
+      return (int) sasFileParser.getOffset();
+    }
+
+    /**
+     * The function to return the index of the current row when reading the sas7bdat file, deleted rows are counted.
+     *
+     * @return current row index
+     */
+    @Override
+    public long getRowOffset() {
+        return sasFileParser.getOffset();
+    }
+
+    /**
+     * Reads the rows following the current row into the batch, replacing its previous content. Rows are counted
+     * the same way as {@link SasFileReader#getRowOffset()} counts them, deleted rows are skipped.
+     *
+     * @param batch   the batch created for the columns returned by {@link SasFileReader#getColumns()}.
+     * @param maxRows the maximum number of rows to read, the batch capacity is used if it is smaller.
+     * @return the number of rows in the batch, 0 if there are no more rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public int readBatch(ColumnBatch batch, int maxRows) throws IOException {
+        return sasFileParser.readBatch(batch, maxRows);
+    }
+
+    /**
+     * Reads the rows following the current row into a new array, deleted rows are skipped. The array is not longer
+     * than the number of rows left in the file, and its rows fit into the memory budget of the parser.
+     *
+     * @param maxRows the maximum number of rows to read.
+     * @return the array of the read rows, empty if there are no more rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public Object[][] readBatch(int maxRows) throws IOException {
+        checkRowCount(maxRows);
+        long rowsLeft = Math.max(getSasFileProperties().getRowCount() - getRowOffset(), 0);
+        int rowLimit = fitRows(maxRows);
+        Object[][] rows = new Object[(int) Math.min(rowLimit, rowsLeft)][];
+        int rowCount = readBatch(rows, null);
+        return rowCount == rows.length ? rows : Arrays.copyOf(rows, rowCount);
+    }
+
+    /**
+     * Reads the columns selected by the projection of the rows following the current row into the array,
+     * deleted rows are skipped. The rows are located with {@link SasFileParser#locateNextRow()} and converted
+     * into the arrays of the previously read rows if their lengths fit.
+     *
+     * @param rows       the array to store the rows into, its length is the maximum number of rows to read.
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return the number of rows stored at the beginning of the array, 0 if there are no more rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public int readBatch(Object[][] rows, Projection projection) throws IOException {
+        int columnsCount = (int) getSasFileProperties().getColumnsCount();
+        int rowCount = 0;
+        while (rowCount < rows.length && sasFileParser.locateNextRow()) {
+            rows[rowCount] = sasFileParser.getConversionPlan().convertRow(sasFileParser.getCurrentRowSource(),
+                    sasFileParser.getCurrentRowOffset(), projection, columnsCount, rows[rowCount]);
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    /**
+     * Returns the chunks of the rows following the current row, see {@link RowChunkIterator}.
+     *
+     * @param chunkSize the maximum number of rows of a chunk.
+     * @return the chunks of rows.
+     */
+    @Override
+    public Iterable<Object[][]> chunks(int chunkSize) {
+        return chunks(chunkSize, null);
+    }
+
+    /**
+     * Returns the chunks of the rows following the current row, for each row only the columns selected by
+     * the projection are read, see {@link RowChunkIterator}. The rows of a chunk fit into the memory budget
+     * of the parser.
+     *
+     * @param chunkSize  the maximum number of rows of a chunk.
+     * @param projection the columns which should be processed, if null then all columns are processed.
+     * @return the chunks of rows.
+     */
+    @Override
+    public Iterable<Object[][]> chunks(int chunkSize, Projection projection) {
+        checkRowCount(chunkSize);
+        int rowLimit = fitRows(chunkSize);
+        return () -> new RowChunkIterator(this, rowLimit, projection);
+    }
+
+    /**
+     * Returns a cursor over the rows following the current row, its accessors decode the cells of the current row
+     * from the page storing it.
+     *
+     * @return the cursor.
+     */
+    @Override
+    public RowCursor cursor() {
+        return sasFileParser.cursor();
+    }
+
+    /**
+     * Skips the deleted rows following the current row, so the next call of {@link SasFileReaderImpl#readNext()}
+     * returns a row that is not deleted.
+     *
+     * @return the number of skipped rows.
+     * @throws IOException if reading the file is impossible.
+     */
+    @Override
+    public long skipDeletedRows() throws IOException {
+        return sasFileParser.skipDeletedRows();
+    }
+
+    /**
+     * Indexes all pages of the file and writes the index into the page index file, see {@link PageIndexFile}.
+     *
+     * @param path the path of the page index file, an existing file is replaced.
+     * @throws IOException if reading the file or writing the index is impossible, or the file is read from
+     *                     an input stream.
+     */
+    @Override
+    public void writePageIndex(Path path) throws IOException {
+        PageIndexFile.write(sasFileParser, path);
+    }
+
+    /**
+     * Releases the page and row buffers of the reader, they are returned to the pool of the memory budget.
+     * The reader is moved to the end of the file.
+     */
+    @Override
+    public void releaseBuffers() {
+        sasFileParser.releaseBuffers();
+    }
+
+    /**
+     * Returns the peak number of bytes of the page and row buffers used at the same time by the reader.
+     *
+     * @return the number of bytes.
+     */
+    @Override
+    public long getPeakBufferUsage() {
+        return sasFileParser.getPeakBufferUsage();
+    }
+
+    /**
+     * Moves to the row with the specified index, the next call of {@link SasFileReaderImpl#readNext()} returns
+     * this row.
+     *
+     * @param row the index of the row.
+     * @throws IOException if reading the file is impossible or the row can not be reached.
+     */
+    @Override
+    public void seek(long row) throws IOException {
+        sasFileParser.seek(row);
     }
 
     /**
@@ -227,4 +653,26 @@ public class SasFileReaderImpl implements SasFileReader {
     public SasFileProperties getSasFileProperties() {
         return sasFileParser.getSasFileProperties();
     }
+
+    /**
+     * The function to limit the number of rows to read at once, so that the rows fit into the memory budget
+     * of the parser, see {@link BufferAllocator#fit(long, int)}.
+     *
+     * @param maxRows the maximum number of rows to read.
+     * @return the number of rows, at least one.
+     */
+    private int fitRows(int maxRows) {
+        return sasFileParser.getBufferAllocator().fit(getSasFileProperties().getRowLength(), maxRows);
+    }
+
+    /**
+     * The method to check that the number of rows to read at once is positive.
+     *
+     * @param rowCount the number of rows.
+     */
+    private static void checkRowCount(int rowCount) {
+        if (rowCount <= 0) {
+            throw new IllegalArgumentException(NON_POSITIVE_ROW_COUNT + rowCount);
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The class to decode strings stored in a file. The charset is resolved once and its decoder and the buffer of
+ * the decoded characters are reused, the result is the same as the result of
+ * {@link String#String(byte[], int, int, String)}. The strings of ASCII characters in the charsets that encode
+ * them as single bytes are not passed to the decoder. The decoder is not thread-safe.
+ */
+final class StringDecoder {
+    /**
+     * The charset of the strings.
+     */
+    private final Charset charset;
+
+    /**
+     * True if the charset is decoded by {@link String} without a {@link CharsetDecoder}.
+     */
+    private final boolean standardCharset;
+
+    /**
+     * True if the charset decodes every byte less than 0x80 into the ASCII character with the same code, see
+     * {@link AsciiUtils#isAsciiCompatible(Charset)}.
+     */
+    private final boolean asciiCompatible;
+
+    /**
+     * The decoder of the charset, malformed and unmappable bytes are replaced like in {@link String}, null if
+     * the charset is decoded by {@link String}.
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * The buffer of the decoded characters, it is created when the first string is passed to the decoder and grows
+     * to fit the longest string.
+     */
+    private CharBuffer charBuffer;
+
+    /**
+     * The constructor that resolves the charset.
+     *
+     * @param encoding the name of the charset.
+     * @throws UnsupportedEncodingException if the charset is not supported.
+     */
+    StringDecoder(String encoding) throws UnsupportedEncodingException {
+        try {
+            charset = Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+        standardCharset = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1)
+                || charset.equals(StandardCharsets.US_ASCII);
+        decoder = standardCharset ? null : charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        asciiCompatible = standardCharset || AsciiUtils.isAsciiCompatible(charset);
+    }
+
+    /**
+     * The function to get the charset of the strings.
+     *
+     * @return the charset.
+     */
+    Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * The function to check if the charset decodes every byte less than 0x80 into the ASCII character with the same
+     * code, so a string of such bytes can be compared with other strings without being decoded.
+     *
+     * @return true if the charset is compatible with ASCII.
+     */
+    boolean isAsciiCompatible() {
+        return asciiCompatible;
+    }
+
+    /**
+     * The function to decode a sub-range of an array of bytes into a string.
+     *
+     * @param bytes  the array of bytes.
+     * @param offset the offset of the string in bytes.
+     * @param length the length of the string in bytes.
+     * @return the decoded string.
+     * @throws StringIndexOutOfBoundsException when invalid offset and/or length.
+     */
+    String decode(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new StringIndexOutOfBoundsException("offset " + offset + ", length " + length
+                    + ", array length " + bytes.length);
+        }
+        if (standardCharset) {
+            return new String(bytes, offset, length, charset);
+        }
+        if (asciiCompatible && AsciiUtils.isAscii(bytes, offset, length)) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        int capacity = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (charBuffer == null || charBuffer.capacity() < capacity) {
+            charBuffer = CharBuffer.allocate(capacity);
+        }
+        charBuffer.clear();
+        decoder.reset();
+        try {
+            CoderResult result = decoder.decode(ByteBuffer.wrap(bytes, offset, length), charBuffer, true);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+            result = decoder.flush(charBuffer);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+        } catch (CharacterCodingException e) {
+            // malformed and unmappable bytes are replaced and the buffer fits the string, so this never happens
+            throw new IllegalStateException(e);
+        }
+        return new String(charBuffer.array(), 0, charBuffer.position());
+    }
+}
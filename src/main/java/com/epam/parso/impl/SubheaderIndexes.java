@@ -0,0 +1,140 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.epam.parso.impl.SasFileConstants.COMPRESSED_SUBHEADER_ID;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSED_SUBHEADER_TYPE;
+
+/**
+ * Enumeration of all subheader types used in sas7bdat files.
+ */
+enum SubheaderIndexes {
+    /**
+     * Index which define row size subheader, which contains rows size in bytes and the number of rows.
+     */
+    ROW_SIZE_SUBHEADER_INDEX,
+
+    /**
+     * Index which define column size subheader, which contains columns count.
+     */
+    COLUMN_SIZE_SUBHEADER_INDEX,
+
+    /**
+     * Index which define subheader counts subheader, which contains currently not used data.
+     */
+    SUBHEADER_COUNTS_SUBHEADER_INDEX,
+
+    /**
+     * Index which define column text subheader, which contains type of file compression
+     * and info about columns (name, label, format).
+     */
+    COLUMN_TEXT_SUBHEADER_INDEX,
+
+    /**
+     * Index which define column name subheader, which contains column names.
+     */
+    COLUMN_NAME_SUBHEADER_INDEX,
+
+    /**
+     * Index which define column attributes subheader, which contains column attributes, such as type.
+     */
+    COLUMN_ATTRIBUTES_SUBHEADER_INDEX,
+
+    /**
+     * Index which define format and label subheader, which contains info about format of objects in column
+     * and tooltip text for columns.
+     */
+    FORMAT_AND_LABEL_SUBHEADER_INDEX,
+
+    /**
+     * Index which define column list subheader, which contains currently not used data.
+     */
+    COLUMN_LIST_SUBHEADER_INDEX,
+
+    /**
+     * Index which define data subheader, which contains sas7bdat file rows data.
+     */
+    DATA_SUBHEADER_INDEX;
+
+    /**
+     * The mapping of subheader signatures to the corresponding elements in {@link SubheaderIndexes}.
+     * Depending on the value at the {@link SasFileConstants#ALIGN_2_OFFSET} offset, signatures take 4 bytes
+     * for 32-bit version sas7bdat files and 8 bytes for the 64-bit version files.
+     */
+    private static final Map<Long, SubheaderIndexes> SIGNATURE_TO_INDEX;
+
+    static {
+        Map<Long, SubheaderIndexes> tmpMap = new HashMap<>();
+        tmpMap.put((long) 0xF7F7F7F7, ROW_SIZE_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xF6F6F6F6, COLUMN_SIZE_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xFFFFFC00, SUBHEADER_COUNTS_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xFFFFFFFD, COLUMN_TEXT_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xFFFFFFFF, COLUMN_NAME_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xFFFFFFFC, COLUMN_ATTRIBUTES_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xFFFFFBFE, FORMAT_AND_LABEL_SUBHEADER_INDEX);
+        tmpMap.put((long) 0xFFFFFFFE, COLUMN_LIST_SUBHEADER_INDEX);
+        tmpMap.put(0x00000000F7F7F7F7L, ROW_SIZE_SUBHEADER_INDEX);
+        tmpMap.put(0x00000000F6F6F6F6L, COLUMN_SIZE_SUBHEADER_INDEX);
+        tmpMap.put(0xF7F7F7F700000000L, ROW_SIZE_SUBHEADER_INDEX);
+        tmpMap.put(0xF6F6F6F600000000L, COLUMN_SIZE_SUBHEADER_INDEX);
+        tmpMap.put(0xF7F7F7F7FFFFFBFEL, ROW_SIZE_SUBHEADER_INDEX);
+        tmpMap.put(0xF6F6F6F6FFFFFBFEL, COLUMN_SIZE_SUBHEADER_INDEX);
+        tmpMap.put(0x00FCFFFFFFFFFFFFL, SUBHEADER_COUNTS_SUBHEADER_INDEX);
+        tmpMap.put(0xFDFFFFFFFFFFFFFFL, COLUMN_TEXT_SUBHEADER_INDEX);
+        tmpMap.put(0xFFFFFFFFFFFFFFFFL, COLUMN_NAME_SUBHEADER_INDEX);
+        tmpMap.put(0xFCFFFFFFFFFFFFFFL, COLUMN_ATTRIBUTES_SUBHEADER_INDEX);
+        tmpMap.put(0xFEFBFFFFFFFFFFFFL, FORMAT_AND_LABEL_SUBHEADER_INDEX);
+        tmpMap.put(0xFEFFFFFFFFFFFFFFL, COLUMN_LIST_SUBHEADER_INDEX);
+        SIGNATURE_TO_INDEX = Collections.unmodifiableMap(tmpMap);
+    }
+
+    /**
+     * The function to find the subheader type by its signature. Data subheaders have no signature.
+     *
+     * @param signature the signature read at the beginning of the subheader.
+     * @return the subheader type or null if the signature is unknown.
+     */
+    static SubheaderIndexes fromSignature(long signature) {
+        return SIGNATURE_TO_INDEX.get(signature);
+    }
+
+    /**
+     * The function to determine the subheader type by its signature, {@link SubheaderPointer#compression},
+     * and {@link SubheaderPointer#type}. The subheaders of compressed files without a known signature are
+     * compressed data subheaders.
+     *
+     * @param signature      the signature read at the beginning of the subheader.
+     * @param compressedFile true if the file is compressed.
+     * @param pointer        the pointer to the subheader.
+     * @return the subheader type or null if it is unknown.
+     */
+    static SubheaderIndexes fromPointer(long signature, boolean compressedFile, SubheaderPointer pointer) {
+        SubheaderIndexes subheaderIndex = fromSignature(signature);
+        if (compressedFile && subheaderIndex == null && (pointer.getCompression() == COMPRESSED_SUBHEADER_ID
+                || pointer.getCompression() == 0) && pointer.getType() == COMPRESSED_SUBHEADER_TYPE) {
+            subheaderIndex = DATA_SUBHEADER_INDEX;
+        }
+        return subheaderIndex;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * *************************************************************************
+ * Copyright (C) 2015 EPAM
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * *************************************************************************
+ */
+
+package com.epam.parso.impl;
+
+/**
+ * The class to store subheaders pointers that contain information about the offset, length, type
+ * and compression of subheaders (see {@link SasFileConstants#TRUNCATED_SUBHEADER_ID},
+ * {@link SasFileConstants#COMPRESSED_SUBHEADER_ID}, {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}
+ * for details).
+ */
+final class SubheaderPointer {
+    /**
+     * The offset from the beginning of a page at which a subheader is stored.
+     */
+    private final long offset;
+
+    /**
+     * The subheader length.
+     */
+    private final long length;
+
+    /**
+     * The type of subheader compression. If the type is {@link SasFileConstants#TRUNCATED_SUBHEADER_ID}
+     * the subheader does not contain information relevant to the current issues. If the type is
+     * {@link SasFileConstants#COMPRESSED_SUBHEADER_ID} the subheader can be compressed
+     * (depends on {@link SubheaderPointer#type}).
+     */
+    private final byte compression;
+
+    /**
+     * The subheader type. If the type is {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}
+     * the subheader is compressed. Otherwise, there is no compression.
+     */
+    private final byte type;
+
+    /**
+     * The constructor of the {@link SubheaderPointer} class that defines values of all its variables.
+     *
+     * @param offset      the offset of the subheader from the beginning of the page.
+     * @param length      the subheader length.
+     * @param compression the subheader compression type. If the type is
+     *                    {@link SasFileConstants#TRUNCATED_SUBHEADER_ID}, the subheader does not contain useful
+     *                    information. If the type is {@link SasFileConstants#COMPRESSED_SUBHEADER_ID},
+     *                    the subheader can be compressed (depends on {@link SubheaderPointer#type}).
+     * @param type        the subheader type. If the type is {@link SasFileConstants#COMPRESSED_SUBHEADER_TYPE}
+     *                    the subheader is compressed, otherwise, it is not.
+     */
+    SubheaderPointer(long offset, long length, byte compression, byte type) {
+        this.offset = offset;
+        this.length = length;
+        this.compression = compression;
+        this.type = type;
+    }
+
+    /**
+     * The function to get the offset of the subheader from the beginning of the page.
+     *
+     * @return the subheader offset.
+     */
+    long getOffset() {
+        return offset;
+    }
+
+    /**
+     * The function to get the subheader length.
+     *
+     * @return the subheader length.
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * The function to get the type of subheader compression.
+     *
+     * @return the subheader compression type.
+     */
+    byte getCompression() {
+        return compression;
+    }
+
+    /**
+     * The function to get the subheader type.
+     *
+     * @return the subheader type.
+     */
+    byte getType() {
+        return type;
+    }
+}
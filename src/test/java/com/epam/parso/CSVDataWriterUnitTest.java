@@ -19,13 +19,22 @@
 
 package com.epam.parso;
 
+import com.epam.parso.impl.BufferedCSVDataWriterImpl;
+import com.epam.parso.impl.CSVDataWriterImpl;
+import com.epam.parso.impl.SasFileReaderImpl;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 import static com.epam.parso.TestUtils.getSas7bdatFilesList;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class CSVDataWriterUnitTest {
     private static final String FOLDER_NAME = "sas7bdat";
@@ -42,4 +51,32 @@ public class CSVDataWriterUnitTest {
             }
         }
     }
+
+    @Test
+    public void testBufferedData() throws IOException {
+        URL resourcesPath = this.getClass().getClassLoader().getResource("");
+        if (resourcesPath != null) {
+            List<File> files = getSas7bdatFilesList(resourcesPath.getFile() + "//" + FOLDER_NAME);
+            for (File currentFile : files) {
+                Path path = currentFile.toPath();
+                List<Column> columns = new SasFileReaderImpl(path).getColumns();
+                Object[][] rows = new SasFileReaderImpl(path).readAll();
+                for (String delimiter : Arrays.asList(",", ";", "")) {
+                    StringWriter expected = new StringWriter();
+                    CSVDataWriter csvDataWriter = new CSVDataWriterImpl(expected, delimiter, "\r\n", Locale.US);
+                    csvDataWriter.writeColumnNames(columns);
+                    csvDataWriter.writeRowsArray(columns, rows);
+                    for (int bufferSize : new int[]{1, 7, 1 << 16}) {
+                        StringWriter actual = new StringWriter();
+                        BufferedCSVDataWriterImpl bufferedWriter = new BufferedCSVDataWriterImpl(actual, delimiter,
+                                "\r\n", Locale.US, bufferSize);
+                        bufferedWriter.writeColumnNames(columns);
+                        bufferedWriter.writeRowsArray(columns, rows);
+                        bufferedWriter.flush();
+                        assertThat(actual.toString()).as(currentFile.getName()).isEqualTo(expected.toString());
+                    }
+                }
+            }
+        }
+    }
 }
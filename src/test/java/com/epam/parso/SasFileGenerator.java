@@ -0,0 +1,834 @@
+package com.epam.parso;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.epam.parso.impl.SasFileConstants.ALIGN_1_CHECKER_VALUE;
+import static com.epam.parso.impl.SasFileConstants.ALIGN_1_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.ALIGN_1_VALUE;
+import static com.epam.parso.impl.SasFileConstants.ALIGN_2_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.BIG_ENDIAN_CHECKER;
+import static com.epam.parso.impl.SasFileConstants.BLOCK_COUNT_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_DATA_LENGTH_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_DATA_OFFSET_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_FORMAT_LENGTH_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_FORMAT_OFFSET_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_FORMAT_PRECISION_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_FORMAT_TEXT_SUBHEADER_INDEX_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_FORMAT_WIDTH_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_LABEL_LENGTH_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_LABEL_OFFSET_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_LABEL_TEXT_SUBHEADER_INDEX_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_NAME_LENGTH_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_NAME_OFFSET_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_NAME_POINTER_LENGTH;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_NAME_TEXT_SUBHEADER_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COLUMN_TYPE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSED_SUBHEADER_ID;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSED_SUBHEADER_TYPE;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSION_METHOD_LENGTH_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSION_METHOD_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.COMPRESS_BIN_IDENTIFYING_STRING;
+import static com.epam.parso.impl.SasFileConstants.COMPRESS_CHAR_IDENTIFYING_STRING;
+import static com.epam.parso.impl.SasFileConstants.DATASET_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.DATE_CREATED_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.DATE_MODIFIED_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.ENCODING_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.ENDIANNESS_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.FILE_TYPE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.HEADER_SIZE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.LITTLE_ENDIAN_CHECKER;
+import static com.epam.parso.impl.SasFileConstants.OS_MAKER_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.OS_NAME_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.PAGE_BIT_OFFSET_X64;
+import static com.epam.parso.impl.SasFileConstants.PAGE_BIT_OFFSET_X86;
+import static com.epam.parso.impl.SasFileConstants.PAGE_COUNT_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.PAGE_DATA_TYPE;
+import static com.epam.parso.impl.SasFileConstants.PAGE_META_TYPE_1;
+import static com.epam.parso.impl.SasFileConstants.PAGE_SIZE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.PAGE_TYPE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.ROW_COUNT_OFFSET_MULTIPLIER;
+import static com.epam.parso.impl.SasFileConstants.ROW_LENGTH_OFFSET_MULTIPLIER;
+import static com.epam.parso.impl.SasFileConstants.SAS_CHARACTER_ENCODINGS;
+import static com.epam.parso.impl.SasFileConstants.SAS_RELEASE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SAS_SERVER_TYPE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_COUNT_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_POINTERS_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_POINTER_LENGTH_X64;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_POINTER_LENGTH_X86;
+import static com.epam.parso.impl.SasFileConstants.U64_BYTE_CHECKER_VALUE;
+
+/**
+ * The generator of synthetic sas7bdat files of any size, used to test and benchmark Parso on inputs larger than
+ * the files stored in the test resources. Files are written page by page, so generating a file takes constant
+ * memory. The layout follows the offsets of {@link com.epam.parso.impl.SasFileConstants}: a header, metadata pages
+ * with the row size, column size, column text, column name, column attributes and format subheaders, then either
+ * data pages or, for compressed files, metadata pages with one compressed row per subheader.
+ * <p>
+ * The cells are computed from the row and column indexes by {@link #numberValue(long, int)},
+ * {@link #dateValue(long, int)}, {@link #dateTimeValue(long, int)} and {@link #stringValue(long, int, int)},
+ * so the data read from a generated file can be checked without storing it.
+ * <p>
+ * To generate a file from the command line, pass the path, the number of rows and optionally "x86" or "x64",
+ * "le" or "be", and "none", "char" or "bin".
+ */
+public final class SasFileGenerator {
+    /**
+     * The kinds of generated columns.
+     */
+    public enum ColumnKind {
+        NUMBER, DATE, DATETIME, STRING
+    }
+
+    /**
+     * The compression methods of generated files.
+     */
+    public enum Compression {
+        NONE, CHAR, BIN
+    }
+
+    private static final byte[] MAGIC_NUMBER = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xC2, (byte) 0xEA,
+            (byte) 0x81, 0x60, (byte) 0xB3, 0x14, 0x11, (byte) 0xCF, (byte) 0xBD, (byte) 0x92, 0x08, 0x00, 0x09,
+            (byte) 0xC7, 0x31, (byte) 0x8C, 0x18, 0x1F, 0x10, 0x11};
+    private static final int HEADER_LENGTH_X86 = 1024;
+    private static final int HEADER_LENGTH_X64 = 8192;
+    private static final int ROW_SIZE_SUBHEADER_LENGTH_X86 = 480;
+    private static final int ROW_SIZE_SUBHEADER_LENGTH_X64 = 808;
+    private static final int FORMAT_SUBHEADER_LENGTH_X86 = 52;
+    private static final int FORMAT_SUBHEADER_LENGTH_X64 = 64;
+    private static final int ROW_SIZE_SIGNATURE = 0xF7F7F7F7;
+    private static final int COLUMN_SIZE_SIGNATURE = 0xF6F6F6F6;
+    private static final int COLUMN_TEXT_SIGNATURE = 0xFFFFFFFD;
+    private static final int COLUMN_NAME_SIGNATURE = 0xFFFFFFFF;
+    private static final int COLUMN_ATTRIBUTES_SIGNATURE = 0xFFFFFFFC;
+    private static final int FORMAT_AND_LABEL_SIGNATURE = 0xFFFFFBFE;
+    private static final int TEXT_BLOCK_HEADER_LENGTH = 8;
+    private static final int MAX_TEXT_BLOCK_LENGTH = 32000;
+    private static final int COLUMNS_PER_SUBHEADER = 1000;
+    private static final double SAS_TIMESTAMP = 1.9e9;
+    private static final int SECONDS_IN_DAY = 86400;
+    private static final byte CHARACTER_COLUMN_TYPE = 2;
+
+    private final List<ColumnKind> columnKinds = new ArrayList<>();
+    private final List<Integer> columnLengths = new ArrayList<>();
+    private long rowCount = 1000;
+    private boolean u64 = true;
+    private boolean littleEndian = true;
+    private Compression compression = Compression.NONE;
+    private int pageLength = 1 << 16;
+    private String name = "generated";
+
+    private int intOrLongLength;
+    private int bitOffset;
+    private int pointerLength;
+    private ByteOrder byteOrder;
+    private int rowLength;
+    private int[] columnOffsets;
+
+    /**
+     * The function to create a generator of files with numeric, date, datetime and character columns of
+     * different lengths.
+     *
+     * @return the generator.
+     */
+    public static SasFileGenerator withDefaultColumns() {
+        return new SasFileGenerator()
+                .addColumn(ColumnKind.NUMBER).addColumn(ColumnKind.NUMBER).addColumn(ColumnKind.NUMBER)
+                .addColumn(ColumnKind.DATE).addColumn(ColumnKind.DATETIME)
+                .addColumn(ColumnKind.STRING, 12).addColumn(ColumnKind.STRING, 64)
+                .addColumn(ColumnKind.NUMBER).addColumn(ColumnKind.STRING, 200);
+    }
+
+    public SasFileGenerator addColumn(ColumnKind kind) {
+        if (kind == ColumnKind.STRING) {
+            throw new IllegalArgumentException("The length of a character column must be set");
+        }
+        return addColumn(kind, 8);
+    }
+
+    public SasFileGenerator addColumn(ColumnKind kind, int length) {
+        columnKinds.add(kind);
+        columnLengths.add(length);
+        return this;
+    }
+
+    public SasFileGenerator rowCount(long rowCount) {
+        this.rowCount = rowCount;
+        return this;
+    }
+
+    public SasFileGenerator u64(boolean u64) {
+        this.u64 = u64;
+        return this;
+    }
+
+    public SasFileGenerator littleEndian(boolean littleEndian) {
+        this.littleEndian = littleEndian;
+        return this;
+    }
+
+    public SasFileGenerator compression(Compression compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    public SasFileGenerator pageLength(int pageLength) {
+        this.pageLength = pageLength;
+        return this;
+    }
+
+    public SasFileGenerator name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isU64() {
+        return u64;
+    }
+
+    public boolean isLittleEndian() {
+        return littleEndian;
+    }
+
+    /**
+     * The function to get the compression literal of generated files.
+     *
+     * @return the literal, null for uncompressed files.
+     */
+    public String getCompressionMethod() {
+        switch (compression) {
+            case CHAR:
+                return COMPRESS_CHAR_IDENTIFYING_STRING;
+            case BIN:
+                return COMPRESS_BIN_IDENTIFYING_STRING;
+            default:
+                return null;
+        }
+    }
+
+    public List<ColumnKind> getColumnKinds() {
+        return columnKinds;
+    }
+
+    public List<Integer> getColumnLengths() {
+        return columnLengths;
+    }
+
+    /**
+     * The function to get the number of a numeric cell.
+     *
+     * @param row    the index of the row.
+     * @param column the index of the column.
+     * @return the number, NaN if the cell is missing.
+     */
+    public static double numberValue(long row, int column) {
+        if ((row + column) % 11 == 0) {
+            return Double.NaN;
+        }
+        return (row % 100000) * 0.25 - column;
+    }
+
+    /**
+     * The function to get the number of days of a date cell.
+     *
+     * @param row    the index of the row.
+     * @param column the index of the column.
+     * @return the number of days since 1960-01-01, NaN if the cell is missing.
+     */
+    public static double dateValue(long row, int column) {
+        if ((row + column) % 13 == 0) {
+            return Double.NaN;
+        }
+        return (row * 7 + column) % 40000 - 10000;
+    }
+
+    /**
+     * The function to get the number of seconds of a datetime cell.
+     *
+     * @param row    the index of the row.
+     * @param column the index of the column.
+     * @return the number of seconds since 1960-01-01 00:00:00, NaN if the cell is missing.
+     */
+    public static double dateTimeValue(long row, int column) {
+        double days = dateValue(row, column);
+        return days * SECONDS_IN_DAY + (row * 37) % SECONDS_IN_DAY;
+    }
+
+    /**
+     * The function to get the text of a character cell.
+     *
+     * @param row    the index of the row.
+     * @param column the index of the column.
+     * @param length the length of the column.
+     * @return the text, null if the cell is missing.
+     */
+    public static String stringValue(long row, int column, int length) {
+        if ((row + column) % 7 == 0) {
+            return null;
+        }
+        int textLength = 1 + (int) ((row * 31 + column) % length);
+        StringBuilder text = new StringBuilder(textLength + 26).append('r').append(row).append("_c")
+                .append(column).append('_');
+        while (text.length() < textLength) {
+            text.append((char) ('a' + text.length() % 26));
+        }
+        text.setLength(textLength);
+        return text.toString();
+    }
+
+    /**
+     * The function to get the value of a cell as {@link SasFileReader} reads it with
+     * {@link com.epam.parso.date.OutputDateType#SAS_VALUE}, numbers of numeric columns are represented as doubles.
+     *
+     * @param row    the index of the row.
+     * @param column the index of the column.
+     * @return the number or the text of the cell, NaN or null if the cell is missing.
+     */
+    public Object value(long row, int column) {
+        switch (columnKinds.get(column)) {
+            case NUMBER:
+                return numberValue(row, column);
+            case DATE:
+                return dateValue(row, column);
+            case DATETIME:
+                return dateTimeValue(row, column);
+            default:
+                return stringValue(row, column, columnLengths.get(column));
+        }
+    }
+
+    /**
+     * The method to write the file.
+     *
+     * @param path the path of the file.
+     * @throws IOException if writing the file is impossible.
+     */
+    public void write(Path path) throws IOException {
+        intOrLongLength = u64 ? 8 : 4;
+        bitOffset = u64 ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
+        pointerLength = u64 ? SUBHEADER_POINTER_LENGTH_X64 : SUBHEADER_POINTER_LENGTH_X86;
+        byteOrder = littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        columnOffsets = new int[columnKinds.size()];
+        rowLength = 0;
+        for (int i = 0; i < columnKinds.size(); i++) {
+            columnOffsets[i] = rowLength;
+            rowLength += columnLengths.get(i);
+        }
+        if (rowLength + pointerLength > pageLength - bitOffset - SUBHEADER_POINTERS_OFFSET) {
+            throw new IllegalArgumentException("A row does not fit into a page");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            int headerLength = u64 ? HEADER_LENGTH_X64 : HEADER_LENGTH_X86;
+            write(channel, header(headerLength));
+            MetaPageWriter metaPages = new MetaPageWriter(channel);
+            for (Subheader subheader : metadataSubheaders()) {
+                metaPages.add(subheader);
+            }
+            byte[] row = new byte[rowLength];
+            if (compression == Compression.NONE) {
+                metaPages.flush();
+                writeDataPages(channel, row);
+            } else {
+                for (long i = 0; i < rowCount; i++) {
+                    metaPages.add(dataSubheader(fillRow(row, i)));
+                }
+                metaPages.flush();
+            }
+            long pageCount = (channel.size() - headerLength) / pageLength;
+            int align1 = u64 ? ALIGN_1_VALUE : 0;
+            ByteBuffer pageCountBuffer = ByteBuffer.allocate(intOrLongLength).order(byteOrder);
+            putWord(pageCountBuffer, 0, pageCount);
+            channel.write(pageCountBuffer, PAGE_COUNT_OFFSET + align1);
+        }
+    }
+
+    private byte[] header(int headerLength) {
+        ByteBuffer header = ByteBuffer.allocate(headerLength).order(byteOrder);
+        int align1 = u64 ? ALIGN_1_VALUE : 0;
+        int totalAlign = align1 + (u64 ? ALIGN_1_VALUE : 0);
+        header.put(MAGIC_NUMBER);
+        header.put((int) ALIGN_1_OFFSET, (byte) (u64 ? U64_BYTE_CHECKER_VALUE : U64_BYTE_CHECKER_VALUE - 1));
+        header.put((int) ALIGN_2_OFFSET, (byte) (u64 ? ALIGN_1_CHECKER_VALUE : ALIGN_1_CHECKER_VALUE - 1));
+        header.put((int) ENDIANNESS_OFFSET, (byte) (littleEndian ? LITTLE_ENDIAN_CHECKER : BIG_ENDIAN_CHECKER));
+        header.put((int) ENCODING_OFFSET, utf8EncodingCode());
+        putText(header, (int) DATASET_OFFSET, name);
+        putText(header, (int) FILE_TYPE_OFFSET, "DATA");
+        header.putDouble((int) DATE_CREATED_OFFSET + align1, SAS_TIMESTAMP);
+        header.putDouble((int) DATE_MODIFIED_OFFSET + align1, SAS_TIMESTAMP);
+        header.putInt((int) HEADER_SIZE_OFFSET + align1, headerLength);
+        header.putInt((int) PAGE_SIZE_OFFSET + align1, pageLength);
+        putText(header, (int) SAS_RELEASE_OFFSET + totalAlign, "9.0401M6");
+        putText(header, (int) SAS_SERVER_TYPE_OFFSET + totalAlign, u64 ? "X64_SRV19" : "W32_7PRO");
+        putText(header, (int) OS_MAKER_OFFSET + totalAlign, "parso");
+        putText(header, (int) OS_NAME_OFFSET + totalAlign, "generated");
+        return header.array();
+    }
+
+    private static byte utf8EncodingCode() {
+        return SAS_CHARACTER_ENCODINGS.entrySet().stream().filter(e -> "UTF-8".equals(e.getValue())).findFirst()
+                .orElseThrow(IllegalStateException::new).getKey();
+    }
+
+    private List<Subheader> metadataSubheaders() {
+        TextBlocks text = new TextBlocks();
+        int[] compressionReference = compression == Compression.NONE ? new int[3]
+                : text.add(getCompressionMethod());
+        int columnCount = columnKinds.size();
+        int[][] names = new int[columnCount][];
+        int[][] formats = new int[columnCount][];
+        int[][] labels = new int[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = text.add(columnKinds.get(i).name().toLowerCase() + (i + 1));
+            formats[i] = text.add(formatName(columnKinds.get(i)));
+            labels[i] = text.add("Column " + (i + 1));
+        }
+
+        List<Subheader> subheaders = new ArrayList<>();
+        ByteBuffer rowSize = subheader(ROW_SIZE_SIGNATURE, u64 ? ROW_SIZE_SUBHEADER_LENGTH_X64
+                : ROW_SIZE_SUBHEADER_LENGTH_X86);
+        putWord(rowSize, ROW_LENGTH_OFFSET_MULTIPLIER * intOrLongLength, rowLength);
+        putWord(rowSize, ROW_COUNT_OFFSET_MULTIPLIER * intOrLongLength, rowCount);
+        rowSize.putShort((int) COMPRESSION_METHOD_OFFSET + 82 * intOrLongLength, (short) compressionReference[1]);
+        rowSize.putShort((int) COMPRESSION_METHOD_LENGTH_OFFSET + 82 * intOrLongLength,
+                (short) compressionReference[2]);
+        subheaders.add(new Subheader(rowSize.array(), 0, 0));
+
+        ByteBuffer columnSize = subheader(COLUMN_SIZE_SIGNATURE, 3 * intOrLongLength);
+        putWord(columnSize, intOrLongLength, columnCount);
+        subheaders.add(new Subheader(columnSize.array(), 0, 0));
+
+        for (byte[] block : text.blocks()) {
+            ByteBuffer columnText = subheader(COLUMN_TEXT_SIGNATURE, intOrLongLength + block.length);
+            columnText.position(intOrLongLength);
+            columnText.put(block);
+            subheaders.add(new Subheader(columnText.array(), 0, 0));
+        }
+
+        for (int first = 0; first < columnCount; first += COLUMNS_PER_SUBHEADER) {
+            int count = Math.min(COLUMNS_PER_SUBHEADER, columnCount - first);
+            ByteBuffer columnName = subheader(COLUMN_NAME_SIGNATURE,
+                    COLUMN_NAME_POINTER_LENGTH * count + 2 * intOrLongLength + 12);
+            for (int i = 0; i < count; i++) {
+                int pointer = intOrLongLength + COLUMN_NAME_POINTER_LENGTH * (i + 1);
+                putReference(columnName, pointer + (int) COLUMN_NAME_TEXT_SUBHEADER_OFFSET,
+                        pointer + (int) COLUMN_NAME_OFFSET_OFFSET, pointer + (int) COLUMN_NAME_LENGTH_OFFSET,
+                        names[first + i]);
+            }
+            subheaders.add(new Subheader(columnName.array(), 0, 0));
+        }
+
+        for (int first = 0; first < columnCount; first += COLUMNS_PER_SUBHEADER) {
+            int count = Math.min(COLUMNS_PER_SUBHEADER, columnCount - first);
+            int vectorLength = intOrLongLength + 8;
+            ByteBuffer columnAttributes = subheader(COLUMN_ATTRIBUTES_SIGNATURE,
+                    vectorLength * count + 2 * intOrLongLength + 12);
+            for (int i = 0; i < count; i++) {
+                int column = first + i;
+                putWord(columnAttributes, intOrLongLength + (int) COLUMN_DATA_OFFSET_OFFSET + i * vectorLength,
+                        columnOffsets[column]);
+                columnAttributes.putInt(2 * intOrLongLength + (int) COLUMN_DATA_LENGTH_OFFSET + i * vectorLength,
+                        columnLengths.get(column));
+                columnAttributes.put(2 * intOrLongLength + (int) COLUMN_TYPE_OFFSET + i * vectorLength,
+                        columnKinds.get(column) == ColumnKind.STRING ? CHARACTER_COLUMN_TYPE : 1);
+            }
+            subheaders.add(new Subheader(columnAttributes.array(), 0, 0));
+        }
+
+        for (int i = 0; i < columnCount; i++) {
+            int base = 3 * intOrLongLength;
+            ByteBuffer format = subheader(FORMAT_AND_LABEL_SIGNATURE, u64 ? FORMAT_SUBHEADER_LENGTH_X64
+                    : FORMAT_SUBHEADER_LENGTH_X86);
+            format.putShort(base + (int) COLUMN_FORMAT_WIDTH_OFFSET, (short) formatWidth(columnKinds.get(i)));
+            format.putShort(base + (int) COLUMN_FORMAT_PRECISION_OFFSET, (short) 0);
+            putReference(format, base + (int) COLUMN_FORMAT_TEXT_SUBHEADER_INDEX_OFFSET,
+                    base + (int) COLUMN_FORMAT_OFFSET_OFFSET, base + (int) COLUMN_FORMAT_LENGTH_OFFSET, formats[i]);
+            putReference(format, base + (int) COLUMN_LABEL_TEXT_SUBHEADER_INDEX_OFFSET,
+                    base + (int) COLUMN_LABEL_OFFSET_OFFSET, base + (int) COLUMN_LABEL_LENGTH_OFFSET, labels[i]);
+            subheaders.add(new Subheader(format.array(), 0, 0));
+        }
+        return subheaders;
+    }
+
+    private static String formatName(ColumnKind kind) {
+        switch (kind) {
+            case DATE:
+                return "DATE";
+            case DATETIME:
+                return "DATETIME";
+            default:
+                return "";
+        }
+    }
+
+    private static int formatWidth(ColumnKind kind) {
+        switch (kind) {
+            case DATE:
+                return 9;
+            case DATETIME:
+                return 20;
+            default:
+                return 0;
+        }
+    }
+
+    private ByteBuffer subheader(int signature, int length) {
+        ByteBuffer subheader = ByteBuffer.allocate(length).order(byteOrder);
+        putWord(subheader, 0, signature);
+        return subheader;
+    }
+
+    private Subheader dataSubheader(byte[] row) {
+        byte[] compressed = compression == Compression.CHAR ? compressChar(row) : compressBin(row);
+        if (compressed.length > 0 && compressed.length < row.length) {
+            return new Subheader(compressed, COMPRESSED_SUBHEADER_ID, COMPRESSED_SUBHEADER_TYPE);
+        }
+        return new Subheader(row, 0, COMPRESSED_SUBHEADER_TYPE);
+    }
+
+    private byte[] fillRow(byte[] row, long index) {
+        ByteBuffer buffer = ByteBuffer.wrap(row).order(byteOrder);
+        for (int column = 0; column < columnKinds.size(); column++) {
+            Object value = value(index, column);
+            int offset = columnOffsets[column];
+            if (columnKinds.get(column) == ColumnKind.STRING) {
+                int length = 0;
+                if (value != null) {
+                    byte[] text = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(text, 0, row, offset, text.length);
+                    length = text.length;
+                }
+                Arrays.fill(row, offset + length, offset + columnLengths.get(column), (byte) ' ');
+            } else {
+                buffer.putDouble(offset, (Double) value);
+            }
+        }
+        return row;
+    }
+
+    private void writeDataPages(FileChannel channel, byte[] row) throws IOException {
+        int rowsPerPage = (pageLength - bitOffset - SUBHEADER_POINTERS_OFFSET) / rowLength;
+        ByteBuffer page = ByteBuffer.allocate(pageLength).order(byteOrder);
+        for (long first = 0; first < rowCount; first += rowsPerPage) {
+            int count = (int) Math.min(rowsPerPage, rowCount - first);
+            Arrays.fill(page.array(), (byte) 0);
+            page.putShort(bitOffset + (int) PAGE_TYPE_OFFSET, (short) PAGE_DATA_TYPE);
+            page.putShort(bitOffset + (int) BLOCK_COUNT_OFFSET, (short) count);
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(fillRow(row, first + i), 0, page.array(),
+                        bitOffset + SUBHEADER_POINTERS_OFFSET + i * rowLength, rowLength);
+            }
+            write(channel, page.array());
+        }
+    }
+
+    private void putWord(ByteBuffer buffer, int offset, long value) {
+        if (u64) {
+            buffer.putLong(offset, value);
+        } else {
+            buffer.putInt(offset, (int) value);
+        }
+    }
+
+    private static void putReference(ByteBuffer buffer, int indexOffset, int offsetOffset, int lengthOffset,
+                                     int[] reference) {
+        buffer.putShort(indexOffset, (short) reference[0]);
+        buffer.putShort(offsetOffset, (short) reference[1]);
+        buffer.putShort(lengthOffset, (short) reference[2]);
+    }
+
+    private static void putText(ByteBuffer buffer, int offset, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(offset + i, bytes[i]);
+        }
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * The function to compress a row with the CHAR (RLE) method: runs of blanks, zeros and other bytes are stored
+     * as repeat commands, the other bytes are copied, the trailing zeros are not stored.
+     *
+     * @param row the row.
+     * @return the compressed row.
+     */
+    static byte[] compressChar(byte[] row) {
+        int end = trimZeros(row);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int literalStart = 0;
+        int i = 0;
+        while (i < end) {
+            byte b = row[i];
+            int run = runLength(row, i, end);
+            boolean blank = b == 0 || b == ' ' || b == '@';
+            if (run < (blank ? 2 : 3)) {
+                i++;
+                continue;
+            }
+            writeCharLiterals(out, row, literalStart, i);
+            int count;
+            if (blank) {
+                int command = b == 0 ? 0x70 : b == ' ' ? 0x60 : 0x50;
+                if (run <= 17) {
+                    count = run;
+                    out.write(command + 0x80 | (count - 2));
+                } else {
+                    count = Math.min(run, 15 * 256 + 255 + 17);
+                    out.write(command | ((count - 17) >> 8));
+                    out.write((count - 17) & 0xFF);
+                }
+            } else if (run <= 18) {
+                count = run;
+                out.write(0xC0 | (count - 3));
+                out.write(b);
+            } else {
+                count = Math.min(run, 15 * 16 + 255 + 18);
+                int counter = count - 18;
+                int high = Math.max(0, (counter - 255 + 15) / 16);
+                out.write(0x40 | high);
+                out.write(counter - high * 16);
+                out.write(b);
+            }
+            i += count;
+            literalStart = i;
+        }
+        writeCharLiterals(out, row, literalStart, end);
+        return out.toByteArray();
+    }
+
+    private static void writeCharLiterals(ByteArrayOutputStream out, byte[] row, int start, int end) {
+        for (int position = start; position < end; position += 64) {
+            int count = Math.min(64, end - position);
+            out.write(0x80 + count - 1);
+            out.write(row, position, count);
+        }
+    }
+
+    /**
+     * The function to compress a row with the BIN (RDC) method: runs are stored as RLE commands, repeated
+     * sequences are stored as references to their previous occurrence, the other bytes are copied, the trailing
+     * zeros are not stored.
+     *
+     * @param row the row.
+     * @return the compressed row.
+     */
+    static byte[] compressBin(byte[] row) {
+        int end = trimZeros(row);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream items = new ByteArrayOutputStream();
+        int[] lastPositions = new int[1 << 12];
+        Arrays.fill(lastPositions, -1);
+        int controlBits = 0;
+        int itemCount = 0;
+        int i = 0;
+        while (i < end) {
+            int run = runLength(row, i, end);
+            int count;
+            boolean command = true;
+            if (run >= 3) {
+                count = Math.min(run, 15 + (255 << 4) + 19);
+                if (count <= 18) {
+                    items.write(count - 3);
+                } else {
+                    items.write(0x10 | ((count - 19) & 0x0F));
+                    items.write((count - 19) >> 4);
+                }
+                items.write(row[i]);
+            } else {
+                int candidate = i + 3 <= end ? lastPositions[hash(row, i)] : -1;
+                int distance = i - candidate;
+                int match = 0;
+                if (candidate >= 0 && distance >= 3 && distance <= 15 + (255 << 4) + 3) {
+                    int limit = Math.min(Math.min(distance, 255 + 16), end - i);
+                    while (match < limit && row[candidate + match] == row[i + match]) {
+                        match++;
+                    }
+                }
+                if (match >= 16) {
+                    count = match;
+                    items.write(0x20 | ((distance - 3) & 0x0F));
+                    items.write((distance - 3) >> 4);
+                    items.write(count - 16);
+                } else if (match >= 3) {
+                    count = match;
+                    items.write((count << 4) | ((distance - 3) & 0x0F));
+                    items.write((distance - 3) >> 4);
+                } else {
+                    count = 1;
+                    command = false;
+                    items.write(row[i]);
+                }
+            }
+            if (command) {
+                controlBits |= 0x8000 >> itemCount;
+            }
+            for (int position = i; position < i + count && position + 3 <= end; position++) {
+                lastPositions[hash(row, position)] = position;
+            }
+            i += count;
+            if (++itemCount == 16 || i >= end) {
+                out.write(controlBits >> 8);
+                out.write(controlBits & 0xFF);
+                byte[] itemBytes = items.toByteArray();
+                out.write(itemBytes, 0, itemBytes.length);
+                items.reset();
+                controlBits = 0;
+                itemCount = 0;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static int hash(byte[] row, int position) {
+        int key = ((row[position] & 0xFF) << 16) | ((row[position + 1] & 0xFF) << 8) | (row[position + 2] & 0xFF);
+        return (key * 0x9E3779B1) >>> 20;
+    }
+
+    private static int trimZeros(byte[] row) {
+        int end = row.length;
+        while (end > 0 && row[end - 1] == 0) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int runLength(byte[] row, int start, int end) {
+        int position = start + 1;
+        while (position < end && row[position] == row[start]) {
+            position++;
+        }
+        return position - start;
+    }
+
+    /**
+     * The subheader stored on a metadata page.
+     */
+    private static final class Subheader {
+        private final byte[] data;
+        private final int compression;
+        private final int type;
+
+        private Subheader(byte[] data, int compression, int type) {
+            this.data = data;
+            this.compression = compression;
+            this.type = type;
+        }
+    }
+
+    /**
+     * The text subheaders storing column names, formats, labels and the compression literal. Every text
+     * is referenced by the index of its block, its offset in the block, and its length.
+     */
+    private final class TextBlocks {
+        private final List<ByteArrayOutputStream> blocks = new ArrayList<>();
+
+        private int[] add(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (block == null || block.size() + bytes.length + 4 > MAX_TEXT_BLOCK_LENGTH) {
+                block = new ByteArrayOutputStream();
+                block.write(new byte[TEXT_BLOCK_HEADER_LENGTH], 0, TEXT_BLOCK_HEADER_LENGTH);
+                blocks.add(block);
+            }
+            int[] reference = {blocks.size() - 1, block.size(), bytes.length};
+            block.write(bytes, 0, bytes.length);
+            while (block.size() % 4 != 0) {
+                block.write(' ');
+            }
+            return reference;
+        }
+
+        private List<byte[]> blocks() {
+            List<byte[]> result = new ArrayList<>();
+            for (ByteArrayOutputStream block : blocks) {
+                ByteBuffer bytes = ByteBuffer.wrap(block.toByteArray()).order(byteOrder);
+                bytes.putShort(0, (short) bytes.capacity());
+                result.add(bytes.array());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The writer of metadata pages, pointers to subheaders are stored from the beginning of a page and
+     * subheaders are stored from its end. A page is written when the next subheader does not fit into it.
+     */
+    private final class MetaPageWriter {
+        private final FileChannel channel;
+        private final ByteBuffer page = ByteBuffer.allocate(pageLength).order(byteOrder);
+        private int subheaderCount;
+        private int dataStart = pageLength;
+
+        private MetaPageWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void add(Subheader subheader) throws IOException {
+            int pointersEnd = bitOffset + SUBHEADER_POINTERS_OFFSET + (subheaderCount + 1) * pointerLength;
+            if (pointersEnd > dataStart - subheader.data.length) {
+                flush();
+                add(subheader);
+                return;
+            }
+            dataStart -= subheader.data.length;
+            System.arraycopy(subheader.data, 0, page.array(), dataStart, subheader.data.length);
+            int pointer = pointersEnd - pointerLength;
+            putWord(page, pointer, dataStart);
+            putWord(page, pointer + intOrLongLength, subheader.data.length);
+            page.put(pointer + 2 * intOrLongLength, (byte) subheader.compression);
+            page.put(pointer + 2 * intOrLongLength + 1, (byte) subheader.type);
+            subheaderCount++;
+        }
+
+        private void flush() throws IOException {
+            if (subheaderCount == 0) {
+                return;
+            }
+            page.putShort(bitOffset + (int) PAGE_TYPE_OFFSET, (short) PAGE_META_TYPE_1);
+            page.putShort(bitOffset + (int) BLOCK_COUNT_OFFSET, (short) subheaderCount);
+            page.putShort(bitOffset + (int) SUBHEADER_COUNT_OFFSET, (short) subheaderCount);
+            write(channel, page.array());
+            Arrays.fill(page.array(), (byte) 0);
+            subheaderCount = 0;
+            dataStart = pageLength;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SasFileGenerator <path> <row count> [x86|x64] [le|be] [none|char|bin]");
+            return;
+        }
+        SasFileGenerator generator = withDefaultColumns().rowCount(Long.parseLong(args[1]));
+        if (args.length > 2) {
+            generator.u64(!"x86".equalsIgnoreCase(args[2]));
+        }
+        if (args.length > 3) {
+            generator.littleEndian(!"be".equalsIgnoreCase(args[3]));
+        }
+        if (args.length > 4) {
+            generator.compression(Compression.valueOf(args[4].toUpperCase()));
+        }
+        generator.write(Paths.get(args[0]));
+    }
+}
@@ -0,0 +1,80 @@
+package com.epam.parso;
+
+import com.epam.parso.date.OutputDateType;
+import com.epam.parso.impl.SasFileReaderImpl;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SasFileGeneratorTest {
+    private static final int ROW_COUNT = 3000;
+    private static final int PAGE_LENGTH = 1 << 13;
+
+    @Test
+    public void testGeneratedFiles() throws IOException {
+        for (boolean u64 : new boolean[]{false, true}) {
+            for (boolean littleEndian : new boolean[]{true, false}) {
+                for (SasFileGenerator.Compression compression : SasFileGenerator.Compression.values()) {
+                    checkGeneratedFile(SasFileGenerator.withDefaultColumns().rowCount(ROW_COUNT).u64(u64)
+                            .littleEndian(littleEndian).compression(compression).pageLength(PAGE_LENGTH));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCompressionRoundTrip() throws IOException {
+        SasFileGenerator generator = new SasFileGenerator().rowCount(200).compression(SasFileGenerator.Compression.BIN)
+                .addColumn(SasFileGenerator.ColumnKind.STRING, 3000).addColumn(SasFileGenerator.ColumnKind.NUMBER);
+        checkGeneratedFile(generator);
+        checkGeneratedFile(generator.compression(SasFileGenerator.Compression.CHAR));
+    }
+
+    private void checkGeneratedFile(SasFileGenerator generator) throws IOException {
+        Path path = Files.createTempFile("generated", ".sas7bdat");
+        try {
+            generator.write(path);
+            SasFileProperties properties;
+            List<Column> columns;
+            try (InputStream is = Files.newInputStream(path)) {
+                SasFileReader reader = new SasFileReaderImpl(is, null, OutputDateType.SAS_VALUE);
+                properties = reader.getSasFileProperties();
+                columns = reader.getColumns();
+                long rowCount = properties.getRowCount();
+                for (long row = 0; row < rowCount; row++) {
+                    Object[] values = reader.readNext();
+                    assertThat(values).hasSize(columns.size());
+                    for (int column = 0; column < columns.size(); column++) {
+                        Object expected = generator.value(row, column);
+                        if (expected instanceof Double) {
+                            double actual = values[column] == null ? Double.NaN
+                                    : ((Number) values[column]).doubleValue();
+                            assertThat(actual).as("row %d column %d", row, column).isEqualTo(expected);
+                        } else {
+                            assertThat(values[column]).as("row %d column %d", row, column).isEqualTo(expected);
+                        }
+                    }
+                }
+                assertThat(reader.readNext()).isNull();
+            }
+            assertThat(properties.getRowCount()).isEqualTo(generator.getRowCount());
+            assertThat(properties.isU64()).isEqualTo(generator.isU64());
+            assertThat(properties.getEndianness()).isEqualTo(generator.isLittleEndian() ? 1 : 0);
+            assertThat(properties.getCompressionMethod()).isEqualTo(generator.getCompressionMethod());
+            assertThat(properties.getColumnsCount()).isEqualTo(generator.getColumnKinds().size());
+            assertThat((Files.size(path) - properties.getHeaderLength()) / properties.getPageLength())
+                    .isEqualTo(properties.getPageCount());
+            for (int i = 0; i < columns.size(); i++) {
+                assertThat(columns.get(i).getLength()).isEqualTo(generator.getColumnLengths().get(i));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
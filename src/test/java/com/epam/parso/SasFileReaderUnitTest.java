@@ -20,8 +20,12 @@
 package com.epam.parso;
 
 import au.com.bytecode.opencsv.CSVReader;
+import com.epam.parso.date.OutputDateType;
+import com.epam.parso.impl.ByteArrayPageSource;
 import com.epam.parso.impl.CSVDataWriterImpl;
 import com.epam.parso.impl.CSVMetadataWriterImpl;
+import com.epam.parso.impl.FileChannelPageSource;
+import com.epam.parso.impl.SasFileParser;
 import com.epam.parso.impl.SasFileReaderImpl;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -35,16 +39,30 @@ import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import static com.epam.parso.TestUtils.getResourceAsStream;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 public class SasFileReaderUnitTest {
     private static final Logger logger = LoggerFactory.getLogger(SasFileReaderUnitTest.class);
@@ -276,6 +294,852 @@ public class SasFileReaderUnitTest {
         assertThat(data.length).isEqualTo(24);
     }
 
+    @Test
+    public void testMemoryMappedFile() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/mix_data_misc.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/charset_zpce.sas7bdat")) {
+            Path path = resourcePath(name);
+            Object[][] expected = readAllRows(name);
+
+            SasFileReader reader = new SasFileReaderImpl(path);
+            assertThat(reader.getSasFileProperties().getRowCount()).isEqualTo(expected.length);
+            assertThat(reader.readAll()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testPageSources() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/all_rand_normal_with_deleted2.sas7bdat")) {
+            Path path = resourcePath(name);
+            Object[][] expected = readAllRows(name);
+
+            try (PageSource pageSource = new FileChannelPageSource(FileChannel.open(path))) {
+                assertThat(new SasFileReaderImpl(pageSource).readAll()).isEqualTo(expected);
+            }
+            try (PageSource pageSource = new ByteArrayPageSource(Files.readAllBytes(path))) {
+                assertThat(new SasFileReaderImpl(pageSource).readAll()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void testSeek() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat")) {
+            Path path = resourcePath(name);
+            Object[][] expected = readAllRows(name);
+
+            SasFileReader reader = new SasFileReaderImpl(path);
+            for (int row = expected.length - 1; row >= 0; row -= 7) {
+                reader.seek(row);
+                assertThat(reader.getRowOffset()).isEqualTo(row);
+                assertThat(reader.readNext()).isEqualTo(expected[row]);
+            }
+            reader.seek(expected.length);
+            assertThat(reader.readNext()).isNull();
+
+            InputStream is = getResourceAsStream(name);
+            reader = new SasFileReaderImpl(is);
+            for (int row = 0; row < expected.length; row += 13) {
+                reader.seek(row);
+                assertThat(reader.readNext()).isEqualTo(expected[row]);
+            }
+            closeInputStream(is);
+        }
+    }
+
+    @Test
+    public void testMetadataOnly() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/mix_data_misc.sas7bdat", "sas7bdat/charset_zpce.sas7bdat")) {
+            InputStream is = getResourceAsStream(name);
+            SasFileReader expected = new SasFileReaderImpl(is);
+            closeInputStream(is);
+
+            is = getResourceAsStream(name);
+            SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(is).metadataOnly(true));
+            closeInputStream(is);
+            assertThat(writeMetadata(reader)).isEqualTo(writeMetadata(expected));
+            assertThat(reader.readNext()).isNull();
+            reader.seek(0);
+            assertThat(reader.readNext()).isNull();
+        }
+    }
+
+    private String writeMetadata(SasFileReader reader) throws IOException {
+        Writer writer = new StringWriter();
+        CSVMetadataWriter csvMetadataWriter = new CSVMetadataWriterImpl(writer);
+        csvMetadataWriter.writeSasFileProperties(reader.getSasFileProperties());
+        csvMetadataWriter.writeMetadata(reader.getColumns());
+        return writer.toString();
+    }
+
+    @Test
+    public void testSkipDeletedRows() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/all_rand_normal_with_deleted.sas7bdat",
+                "sas7bdat/all_rand_normal_with_deleted2.sas7bdat")) {
+            Object[][] expected = readAllRows(name);
+
+            InputStream is = getResourceAsStream(name);
+            SasFileReader reader = new SasFileReaderImpl(is);
+            List<Object[]> rows = new ArrayList<>();
+            long skippedRowCount = 0;
+            while (reader.getRowOffset() < expected.length) {
+                skippedRowCount += reader.skipDeletedRows();
+                Object[] row = reader.readNext();
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            closeInputStream(is);
+
+            List<Object[]> expectedRows = new ArrayList<>();
+            for (Object[] row : expected) {
+                if (row != null) {
+                    expectedRows.add(row);
+                }
+            }
+            assertThat(rows.toArray()).isEqualTo(expectedRows.toArray());
+            assertThat(skippedRowCount).isLessThanOrEqualTo(expected.length - expectedRows.size());
+        }
+    }
+
+    @Test
+    public void testPageIndexFile() throws Exception {
+        Path pageIndexFile = Files.createTempFile("parso", ".pidx");
+        try {
+            for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                    "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_data_misc.sas7bdat")) {
+                Path path = resourcePath(name);
+                Object[][] expected = readAllRows(name);
+
+                SasFileReader reader = new SasFileReaderImpl(path);
+                assertThat(reader.readNext()).isEqualTo(expected[0]);
+                reader.writePageIndex(pageIndexFile);
+                for (int row = 1; row < expected.length; row++) {
+                    assertThat(reader.readNext()).isEqualTo(expected[row]);
+                }
+
+                reader = new SasFileReaderImpl(new SasFileParser.Builder(path).pageIndexFile(pageIndexFile));
+                for (int row = expected.length - 1; row >= 0; row -= 3) {
+                    reader.seek(row);
+                    assertThat(reader.readNext()).isEqualTo(expected[row]);
+                }
+            }
+            Path path = resourcePath(fileName);
+            SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(path).pageIndexFile(pageIndexFile));
+            assertThat(reader.readAll()).isEqualTo(readAllRows(fileName));
+        } finally {
+            Files.delete(pageIndexFile);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testPageIndexFileOfInputStream() throws IOException {
+        InputStream is = getResourceAsStream(fileName);
+        try {
+            new SasFileReaderImpl(is).writePageIndex(Paths.get("never-written.pidx"));
+        } finally {
+            closeInputStream(is);
+        }
+    }
+
+    @Test
+    public void testParallelReading() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                    "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_data_misc.sas7bdat")) {
+                Path path = resourcePath(name);
+                Object[][] expected = readAllRows(name);
+
+                SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool));
+                assertThat(reader.readAll()).isEqualTo(expected);
+                assertThat(reader.readNext()).isNull();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMemoryBudget() throws Exception {
+        BufferPool bufferPool = new BufferPool(1 << 20);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                    "sas7bdat/mix_data_misc.sas7bdat")) {
+                Path path = resourcePath(name);
+                Object[][] expected = readAllRows(name);
+                SasFileProperties properties = new SasFileReaderImpl(path).getSasFileProperties();
+                long bufferLength = properties.getPageLength() + properties.getRowLength();
+                MemoryBudget budget = new MemoryBudget(2 * properties.getPageLength(), bufferPool);
+
+                SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool)
+                        .memoryBudget(budget));
+                assertThat(reader.readAll()).isEqualTo(expected);
+                assertThat(reader.getPeakBufferUsage()).isBetween((long) properties.getPageLength(),
+                        2 * bufferLength);
+                reader.releaseBuffers();
+                assertThat(bufferPool.getPooledBytes()).isGreaterThanOrEqualTo(properties.getPageLength());
+
+                reader = new SasFileReaderImpl(new SasFileParser.Builder(path).memoryBudget(budget));
+                try (Stream<Object[]> stream = reader.parallelStream()) {
+                    assertThat(stream.count()).isEqualTo(expected.length - Collections.frequency(
+                            Arrays.asList(expected), null));
+                }
+                assertThat(reader.getPeakBufferUsage()).isLessThanOrEqualTo(3 * bufferLength);
+
+                reader = new SasFileReaderImpl(new SasFileParser.Builder(path).memoryBudget(budget));
+                long rowLimit = Math.max(1, budget.getLimit() / properties.getRowLength());
+                int rowCount = 0;
+                for (Object[][] chunk : reader.chunks(Integer.MAX_VALUE)) {
+                    assertThat((long) chunk.length).isLessThanOrEqualTo(rowLimit);
+                    rowCount += chunk.length;
+                }
+                assertThat(rowCount).isEqualTo(expected.length - Collections.frequency(Arrays.asList(expected),
+                        null));
+                assertThat(reader.getPeakBufferUsage()).isLessThanOrEqualTo(bufferLength);
+                reader.releaseBuffers();
+                reader.seek(0);
+                assertThat(reader.readNext()).isEqualTo(expected[0]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBufferPool() {
+        BufferPool bufferPool = new BufferPool(100);
+        byte[] buffer = bufferPool.acquire(60);
+        bufferPool.release(buffer);
+        bufferPool.release(new byte[60]);
+        assertThat(bufferPool.getPooledBytes()).isEqualTo(60);
+        assertThat(bufferPool.acquire(40)).hasSize(40).isNotSameAs(buffer);
+        assertThat(bufferPool.acquire(60)).isSameAs(buffer);
+        assertThat(bufferPool.getPooledBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testStreamClose() throws Exception {
+        Path path = resourcePath(fileName);
+        Object[][] expected = readAllRows(fileName);
+
+        SasFileReader reader = new SasFileReaderImpl(path);
+        try (Stream<Object[]> stream = reader.stream()) {
+            assertThat(stream.findFirst().orElse(null)).isEqualTo(expected[0]);
+        }
+        assertThat(reader.readNext()).isEqualTo(expected[1]);
+
+        BufferPool bufferPool = new BufferPool(1 << 20);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            reader = new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool)
+                    .memoryBudget(new MemoryBudget(1 << 20, bufferPool)));
+            long pooledBytes;
+            try (Stream<Object[]> stream = reader.stream()) {
+                assertThat(stream.findFirst().orElse(null)).isEqualTo(expected[0]);
+                pooledBytes = bufferPool.getPooledBytes();
+            }
+            assertThat(bufferPool.getPooledBytes()).isGreaterThan(pooledBytes);
+            assertThat(reader.readNext()).isNull();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreams() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat")) {
+            Path path = resourcePath(name);
+            List<Object[]> rows = new ArrayList<>();
+            for (Object[] row : readAllRows(name)) {
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            Object[][] expected = rows.toArray(new Object[0][]);
+
+            assertThat(new SasFileReaderImpl(path).stream().toArray(Object[][]::new)).isEqualTo(expected);
+            assertThat(new SasFileReaderImpl(path).parallelStream().toArray(Object[][]::new)).isEqualTo(expected);
+            assertThat(new SasFileReaderImpl(path).parallelStream().count()).isEqualTo(expected.length);
+
+            InputStream is = getResourceAsStream(name);
+            SasFileReader reader = new SasFileReaderImpl(is);
+            Object[] first = reader.readNext();
+            assertThat(reader.parallelStream().toArray(Object[][]::new))
+                    .isEqualTo(Arrays.copyOfRange(expected, first == null ? 0 : 1, expected.length));
+            assertThat(reader.readNext()).isNull();
+            closeInputStream(is);
+        }
+    }
+
+    @Test
+    public void testReadBatch() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_and_missing.sas7bdat",
+                "sas7bdat/mix_data_with_longchar.sas7bdat")) {
+            InputStream is = getResourceAsStream(name);
+            List<Object[]> expected = new ArrayList<>();
+            for (Object[] row : new SasFileReaderImpl(is, true).readAll()) {
+                if (row != null) {
+                    expected.add(row);
+                }
+            }
+            closeInputStream(is);
+
+            is = getResourceAsStream(name);
+            SasFileReader reader = new SasFileReaderImpl(is);
+            ColumnBatch batch = new ColumnBatch(reader.getColumns(), 7);
+            int expectedRow = 0;
+            for (int rowCount = reader.readBatch(batch, 100); rowCount > 0; rowCount = reader.readBatch(batch, 100)) {
+                assertThat(rowCount).isEqualTo(batch.getRowCount()).isLessThanOrEqualTo(7);
+                for (int row = 0; row < rowCount; row++, expectedRow++) {
+                    Object[] expectedCells = expected.get(expectedRow);
+                    for (int column = 0; column < expectedCells.length; column++) {
+                        Object cell = expectedCells[column];
+                        assertThat(batch.isNull(column, row)).isEqualTo(cell == null);
+                        if (cell instanceof Number) {
+                            assertThat(batch.getDouble(column, row)).isCloseTo(((Number) cell).doubleValue(),
+                                    within(1e-9));
+                        } else if (cell instanceof byte[]) {
+                            assertThat(batch.getBytes(column, row)).isEqualTo(cell);
+                        }
+                    }
+                }
+            }
+            assertThat(expectedRow).isEqualTo(expected.size());
+            assertThat(reader.readBatch(batch, 100)).isEqualTo(0);
+            closeInputStream(is);
+        }
+    }
+
+    @Test
+    public void testReadBatchOfRows() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_and_missing.sas7bdat")) {
+            List<Object[]> expected = new ArrayList<>();
+            for (Object[] row : readAllRows(name)) {
+                if (row != null) {
+                    expected.add(row);
+                }
+            }
+
+            InputStream is = getResourceAsStream(name);
+            SasFileReader reader = new SasFileReaderImpl(is);
+            List<Object[]> actual = new ArrayList<>();
+            for (Object[][] rows = reader.readBatch(7); rows.length > 0; rows = reader.readBatch(7)) {
+                assertThat(rows.length).isLessThanOrEqualTo(7);
+                actual.addAll(Arrays.asList(rows));
+            }
+            assertThat(actual.toArray()).isEqualTo(expected.toArray());
+            assertThat(reader.readBatch(new Object[3][], null)).isEqualTo(0);
+            closeInputStream(is);
+        }
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        InputStream is = getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat");
+        SasFileReader reader = new SasFileReaderImpl(is);
+        Projection projection = new Projection(reader.getColumns(), Arrays.asList("x3", "x1"));
+        List<Object[]> expected = new ArrayList<>();
+        for (Object[] row : reader.readAll(projection)) {
+            if (row != null) {
+                expected.add(row);
+            }
+        }
+        closeInputStream(is);
+
+        is = getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat");
+        reader = new SasFileReaderImpl(is);
+        List<Object[]> actual = new ArrayList<>();
+        Object[][] firstChunk = null;
+        int chunkCount = 0;
+        for (Object[][] chunk : reader.chunks(10, projection)) {
+            if (firstChunk == null) {
+                firstChunk = chunk;
+            } else if (chunk.length == 10) {
+                assertThat(chunk).isSameAs(firstChunk);
+            }
+            for (Object[] row : chunk) {
+                actual.add(Arrays.copyOf(row, row.length));
+            }
+            chunkCount++;
+        }
+        assertThat(actual.toArray()).isEqualTo(expected.toArray());
+        assertThat(chunkCount).isEqualTo((expected.size() + 9) / 10);
+        assertThat(reader.chunks(10).iterator().hasNext()).isFalse();
+        closeInputStream(is);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunksOfNonPositiveSize() {
+        new SasFileReaderImpl(getResourceAsStream(fileName)).chunks(0);
+    }
+
+    @Test
+    public void testRowCursor() throws Exception {
+        for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_and_missing.sas7bdat",
+                "sas7bdat/mix_data_with_longchar.sas7bdat", "sas7bdat/mix_data_misc.sas7bdat")) {
+            InputStream is = getResourceAsStream(name);
+            List<Object[]> expected = new ArrayList<>();
+            for (Object[] row : new SasFileReaderImpl(is, null, OutputDateType.SAS_VALUE).readAll()) {
+                if (row != null) {
+                    expected.add(row);
+                }
+            }
+            closeInputStream(is);
+
+            is = getResourceAsStream(name);
+            SasFileReader reader = new SasFileReaderImpl(is);
+            RowCursor cursor = reader.cursor();
+            int expectedRow = 0;
+            while (cursor.next()) {
+                Object[] expectedCells = expected.get(expectedRow++);
+                for (int column = 0; column < expectedCells.length; column++) {
+                    Object cell = expectedCells[column];
+                    assertThat(cursor.isNull(column)).isEqualTo(cell == null);
+                    if (cell instanceof Number) {
+                        assertThat(cursor.getDouble(column)).isCloseTo(((Number) cell).doubleValue(), within(1e-9));
+                        assertThat(cursor.getLong(column)).isEqualTo(Math.round(((Number) cell).doubleValue()));
+                    } else if (cell instanceof String) {
+                        assertThat(cursor.getString(column)).isEqualTo(cell);
+                        assertThat(cursor.getBytes(column)).isEqualTo(((String) cell).getBytes(
+                                reader.getSasFileProperties().getEncoding()));
+                    } else if (cell == null && reader.getColumns().get(column).getType() == String.class) {
+                        assertThat(cursor.getString(column)).isNull();
+                    }
+                }
+            }
+            assertThat(expectedRow).isEqualTo(expected.size());
+            assertThat(cursor.next()).isFalse();
+            assertThat(reader.readNext()).isNull();
+            closeInputStream(is);
+        }
+    }
+
+    @Test
+    public void testRowFilter() throws Exception {
+        InputStream is = getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat");
+        SasFileReader reader = new SasFileReaderImpl(is);
+        List<Object[]> expected = new ArrayList<>();
+        Object[] row;
+        while ((row = reader.readNext()) != null) {
+            long x1 = ((Number) row[0]).longValue();
+            if ("CCCC".equals(row[2]) && (x1 < 100 || x1 >= 12000) || row[2] == null && x1 % 1000 == 7) {
+                expected.add(row);
+            }
+        }
+        closeInputStream(is);
+        assertThat(expected).isNotEmpty();
+
+        RowFilter filter = RowFilter.or(
+                RowFilter.and(RowFilter.equalTo("x3", "CCCC"), RowFilter.or(RowFilter.lessThan("x1", 100),
+                        RowFilter.greaterThanOrEqualTo("x1", 12000.0))),
+                RowFilter.and(RowFilter.isNull("x3"), RowFilter.in("x1", 7, 1007, 2007, 3007, 4007, 5007, 6007,
+                        7007, 8007, 9007, 10007, 11007, 12007)));
+        is = getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat");
+        reader = new SasFileReaderImpl(is);
+        Projection projection = new Projection(reader.getColumns(), Arrays.asList("x3", "x1"));
+        for (Object[] expectedRow : expected) {
+            assertThat(reader.readNext(projection, filter)).containsExactly(expectedRow[2], expectedRow[0]);
+        }
+        assertThat(reader.readNext(projection, filter)).isNull();
+        assertThat(reader.getRowOffset()).isEqualTo(reader.getSasFileProperties().getRowCount());
+        closeInputStream(is);
+
+        is = getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat");
+        reader = new SasFileReaderImpl(is);
+        assertThat(reader.readNext(RowFilter.between("x3", "BBBB", "BBBBBBBB"))).isEqualTo(
+                new Object[]{2L, 1.0625, "BBBBBBBB", 1.06640625, 1.066650390625, 1.0666656494140625, 1.125, 1.1875,
+                        1.25, 1.3125, 1.375, 1.4375, 1.5, 1.5625});
+        assertThat(reader.getRowOffset()).isEqualTo(2);
+        closeInputStream(is);
+    }
+
+    @Test
+    public void testNullRowFilter() throws Exception {
+        Object[][] expected = readAllRows("sas7bdat/mix_data_misc.sas7bdat");
+
+        InputStream is = getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat");
+        SasFileReader reader = new SasFileReaderImpl(is);
+        Projection projection = new Projection(reader.getColumns(), Arrays.asList("x3", "x1"));
+        assertThat(reader.readNext((RowFilter) null)).isEqualTo(expected[0]);
+        assertThat(reader.readNext(projection, RowFilter.isNotNull("x3"))).containsExactly(expected[1][2],
+                expected[1][0]);
+        assertThat(reader.readNext(projection, null)).containsExactly(expected[2][2], expected[2][0]);
+        closeInputStream(is);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRowFilterOnUnknownColumn() throws Exception {
+        new SasFileReaderImpl(getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat")).readNext(RowFilter.isNull("x0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRowFilterWithValueOfWrongType() throws Exception {
+        new SasFileReaderImpl(getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat"))
+                .readNext(RowFilter.equalTo("x1", "1"));
+    }
+
+    @Test(timeout = 60000)
+    public void testAggregateInPoolTask() throws Exception {
+        Path path = resourcePath("sas7bdat/mix_data_misc.sas7bdat");
+        List<String> columnNames = Arrays.asList("x1", "x2");
+        List<ColumnStatistics> expected = new SasFileReaderImpl(path).aggregate(columnNames);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool));
+            assertStatistics(pool.submit(() -> reader.aggregate(columnNames)).get(), expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testAggregate() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String name : Arrays.asList(fileName, "sas7bdat/comp_deleted.sas7bdat",
+                    "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_data_misc.sas7bdat",
+                    "sas7bdat/int_only_partmissing.sas7bdat", "sas7bdat/date_formats.sas7bdat")) {
+                Path path = resourcePath(name);
+                InputStream is = getResourceAsStream(name);
+                SasFileReader reader = new SasFileReaderImpl(is);
+                List<String> columnNames = new ArrayList<>();
+                for (Column column : reader.getColumns()) {
+                    if (column.getType() == Number.class) {
+                        columnNames.add(column.getName());
+                    }
+                }
+                reader.seek(3);
+                List<ColumnStatistics> expected = aggregateCursor(reader, columnNames);
+                closeInputStream(is);
+
+                is = getResourceAsStream(name);
+                reader = new SasFileReaderImpl(is);
+                reader.seek(3);
+                assertStatistics(reader.aggregate(columnNames), expected);
+                assertThat(reader.readNext()).isNull();
+                closeInputStream(is);
+
+                int pageLength = reader.getSasFileProperties().getPageLength();
+                for (SasFileReader parallelReader : Arrays.asList(new SasFileReaderImpl(path),
+                        new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool)),
+                        new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool)
+                                .memoryBudget(new MemoryBudget(pageLength))))) {
+                    parallelReader.seek(3);
+                    assertStatistics(parallelReader.aggregate(columnNames), expected);
+                    assertThat(parallelReader.readNext()).isNull();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Path path = resourcePath("sas7bdat/mix_data_misc.sas7bdat");
+        RowFilter filter = RowFilter.or(RowFilter.equalTo("x3", "CCCC"), RowFilter.greaterThan("x1", 12000));
+        List<Double> x1 = new ArrayList<>();
+        SasFileReader reader = new SasFileReaderImpl(path);
+        Object[] row;
+        while ((row = reader.readNext(filter)) != null) {
+            x1.add(((Number) row[0]).doubleValue());
+        }
+        assertThat(x1).isNotEmpty();
+        List<ColumnStatistics> statistics = new SasFileReaderImpl(path).aggregate(Collections.singletonList("x1"),
+                filter);
+        assertThat(statistics.get(0).getCount()).isEqualTo(x1.size());
+        assertThat(statistics.get(0).getNullCount()).isEqualTo(0);
+        assertThat(statistics.get(0).getMin()).isEqualTo(Collections.min(x1));
+        assertThat(statistics.get(0).getMax()).isEqualTo(Collections.max(x1));
+        assertThat(statistics.get(0).getMean()).isCloseTo(x1.stream().mapToDouble(Double::doubleValue).average()
+                .getAsDouble(), within(1e-9));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAggregateOfCharacterColumn() throws Exception {
+        new SasFileReaderImpl(getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat"))
+                .aggregate(Arrays.asList("x1", "x3"));
+    }
+
+    @Test
+    public void testGroupBy() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String name : Arrays.asList("sas7bdat/mix_data_misc.sas7bdat", "sas7bdat/comp_deleted.sas7bdat",
+                    "sas7bdat/data_page_with_deleted.sas7bdat", "sas7bdat/mix_and_missing.sas7bdat",
+                    "sas7bdat/charset_zeuc.sas7bdat")) {
+                Path path = resourcePath(name);
+                InputStream is = getResourceAsStream(name);
+                SasFileReader reader = new SasFileReaderImpl(new SasFileParser.Builder(is)
+                        .outputDateType(OutputDateType.SAS_VALUE));
+                List<Column> columns = reader.getColumns();
+                List<Integer> keyColumns = new ArrayList<>();
+                List<Integer> aggregatedColumns = new ArrayList<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    if (columns.get(i).getType() == Number.class) {
+                        aggregatedColumns.add(i);
+                    }
+                    if (keyColumns.size() < 2 && columns.get(i).getFormat().getName().isEmpty()) {
+                        keyColumns.add(i);
+                    }
+                }
+                List<String> keyColumnNames = new ArrayList<>();
+                for (int column : keyColumns) {
+                    keyColumnNames.add(columns.get(column).getName());
+                }
+                List<String> columnNames = new ArrayList<>();
+                for (int column : aggregatedColumns) {
+                    columnNames.add(columns.get(column).getName());
+                }
+                Map<List<Object>, GroupStatistics> expected = new LinkedHashMap<>();
+                Object[] row;
+                for (long i = 0; i < reader.getSasFileProperties().getRowCount(); i++) {
+                    if ((row = reader.readNext()) == null) {
+                        continue;
+                    }
+                    List<Object> key = new ArrayList<>();
+                    for (int column : keyColumns) {
+                        key.add(row[column]);
+                    }
+                    GroupStatistics group = expected.get(key);
+                    List<ColumnStatistics> statistics = new ArrayList<>();
+                    for (int j = 0; j < aggregatedColumns.size(); j++) {
+                        ColumnStatistics columnStatistics = new ColumnStatistics(columnNames.get(j));
+                        Object cell = row[aggregatedColumns.get(j)];
+                        columnStatistics.add(cell == null ? Double.NaN : ((Number) cell).doubleValue());
+                        if (group != null) {
+                            columnStatistics.merge(group.getStatistics().get(j));
+                        }
+                        statistics.add(columnStatistics);
+                    }
+                    expected.put(key, new GroupStatistics(key, group == null ? 1 : group.getRowCount() + 1,
+                            statistics));
+                }
+                closeInputStream(is);
+
+                is = getResourceAsStream(name);
+                for (SasFileReader groupReader : Arrays.asList(new SasFileReaderImpl(is), new SasFileReaderImpl(path),
+                        new SasFileReaderImpl(new SasFileParser.Builder(path).forkJoinPool(pool)))) {
+                    List<GroupStatistics> groups = groupReader.groupBy(keyColumnNames, columnNames);
+                    assertThat(groups).hasSize(expected.size());
+                    int i = 0;
+                    for (GroupStatistics expectedGroup : expected.values()) {
+                        assertThat(groups.get(i).getKey()).as(name).isEqualTo(expectedGroup.getKey());
+                        assertThat(groups.get(i).getRowCount()).isEqualTo(expectedGroup.getRowCount());
+                        assertStatistics(groups.get(i).getStatistics(), expectedGroup.getStatistics());
+                        i++;
+                    }
+                    assertThat(groupReader.readNext()).isNull();
+                }
+                closeInputStream(is);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Path path = resourcePath("sas7bdat/mix_data_misc.sas7bdat");
+        List<GroupStatistics> groups = new SasFileReaderImpl(path).groupBy(Collections.singletonList("x3"),
+                Collections.singletonList("x1"), RowFilter.lessThan("x1", 100));
+        long rowCount = 0;
+        for (GroupStatistics group : groups) {
+            assertThat(group.getStatistics().get(0).getMax()).isLessThan(100);
+            rowCount += group.getRowCount();
+        }
+        assertThat(rowCount).isEqualTo(new SasFileReaderImpl(path).aggregate(Collections.singletonList("x1"),
+                RowFilter.lessThan("x1", 100)).get(0).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroupByUnknownColumn() throws Exception {
+        new SasFileReaderImpl(getResourceAsStream("sas7bdat/mix_data_misc.sas7bdat"))
+                .groupBy(Collections.singletonList("x0"), Collections.singletonList("x1"));
+    }
+
+    @Test
+    public void testGroupByMissingKey() throws Exception {
+        for (String name : Arrays.asList("sas7bdat/int_only_partmissing.sas7bdat",
+                "sas7bdat/mix_and_missing.sas7bdat")) {
+            Object[][] rows = readAllRows(name);
+            List<Column> columns = new SasFileReaderImpl(resourcePath(name)).getColumns();
+            boolean missingKeys = false;
+            for (int column = 0; column < columns.size(); column++) {
+                if (columns.get(column).getType() != Number.class || !columns.get(column).getFormat().getName()
+                        .isEmpty()) {
+                    continue;
+                }
+                Set<Object> expectedKeys = new HashSet<>();
+                long missingCount = 0;
+                for (Object[] row : rows) {
+                    if (row != null) {
+                        expectedKeys.add(row[column]);
+                        missingCount += row[column] == null ? 1 : 0;
+                    }
+                }
+                List<String> columnNames = Collections.singletonList(columns.get(column).getName());
+                Set<Object> keys = new HashSet<>();
+                for (GroupStatistics group : new SasFileReaderImpl(resourcePath(name)).groupBy(columnNames,
+                        columnNames)) {
+                    Object key = group.getKey().get(0);
+                    keys.add(key);
+                    if (key == null) {
+                        assertThat(group.getRowCount()).isEqualTo(missingCount);
+                        assertThat(group.getStatistics().get(0).getNullCount()).isEqualTo(missingCount);
+                        missingKeys = true;
+                    }
+                }
+                assertThat(keys).isEqualTo(expectedKeys);
+            }
+            assertThat(missingKeys).isTrue();
+        }
+    }
+
+    @Test
+    public void testColumnStatisticsMerge() {
+        ColumnStatistics first = new ColumnStatistics("x");
+        ColumnStatistics second = new ColumnStatistics("x");
+        assertThat(first.getMin()).isNaN();
+        assertThat(first.getMean()).isNaN();
+        first.add(1e16);
+        first.add(1);
+        first.add(Double.NaN);
+        second.add(1);
+        second.add(-1e16);
+        second.addNull();
+        first.merge(second);
+        assertThat(first.getCount()).isEqualTo(4);
+        assertThat(first.getNullCount()).isEqualTo(2);
+        assertThat(first.getSum()).isEqualTo(2);
+        assertThat(first.getMin()).isEqualTo(-1e16);
+        assertThat(first.getMax()).isEqualTo(1e16);
+        assertThat(first.getMean()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void testCharsetDecoding() throws Exception {
+        Path directory = resourcePath("sas7bdat");
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "charset_*.sas7bdat")) {
+            for (Path path : paths) {
+                SasFileReader bytesReader = new SasFileReaderImpl(new SasFileParser.Builder(path).byteOutput(true));
+                SasFileReader stringsReader = new SasFileReaderImpl(path);
+                SasFileReader cursorReader = new SasFileReaderImpl(path);
+                String encoding = bytesReader.getSasFileProperties().getEncoding();
+                RowCursor cursor = cursorReader.cursor();
+                Object[] bytesRow;
+                while ((bytesRow = bytesReader.readNext()) != null) {
+                    Object[] stringsRow = stringsReader.readNext();
+                    assertThat(cursor.next()).isTrue();
+                    for (int column = 0; column < bytesRow.length; column++) {
+                        if (bytesRow[column] instanceof byte[]) {
+                            String expected = new String((byte[]) bytesRow[column], encoding);
+                            assertThat(stringsRow[column]).as("%s column %d", path, column).isEqualTo(expected);
+                            assertThat(cursor.getString(column)).as("%s column %d", path, column)
+                                    .isEqualTo(expected);
+                        }
+                    }
+                }
+                assertThat(cursor.next()).isFalse();
+            }
+        }
+    }
+
+    @Test
+    public void testCharSequenceOutput() throws Exception {
+        for (String name : Arrays.asList("sas7bdat/mix_data_misc.sas7bdat", "sas7bdat/charset_big5.sas7bdat",
+                "sas7bdat/charset_utf8.sas7bdat", "sas7bdat/charset_lat1.sas7bdat")) {
+            Object[][] expected = readAllRows(name);
+
+            InputStream is = getResourceAsStream(name);
+            Object[][] actual = new SasFileReaderImpl(new SasFileParser.Builder(is).charSequenceOutput(true))
+                    .readAll();
+            closeInputStream(is);
+            assertThat(actual.length).isEqualTo(expected.length);
+            for (int row = 0; row < expected.length; row++) {
+                if (expected[row] == null) {
+                    assertThat(actual[row]).isNull();
+                    continue;
+                }
+                for (int column = 0; column < expected[row].length; column++) {
+                    Object cell = expected[row][column];
+                    if (!(cell instanceof String)) {
+                        assertThat(actual[row][column]).isEqualTo(cell);
+                        continue;
+                    }
+                    ByteCharSequence view = (ByteCharSequence) actual[row][column];
+                    String string = (String) cell;
+                    assertThat(view.length()).isEqualTo(string.length());
+                    for (int i = 0; i < string.length(); i++) {
+                        assertThat(view.charAt(i)).isEqualTo(string.charAt(i));
+                    }
+                    assertThat(view.subSequence(0, string.length() / 2).toString())
+                            .isEqualTo(string.substring(0, string.length() / 2));
+                    assertThat(view.toString()).isEqualTo(string);
+                    ByteCharSequence copy = new ByteCharSequence(view.getBytes(), 0, view.getBytes().length,
+                            view.getCharset());
+                    assertThat(copy).isEqualTo(view);
+                    assertThat(copy.hashCode()).isEqualTo(view.hashCode());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+        String name = "sas7bdat/mix_data_misc.sas7bdat";
+        InputStream is = getResourceAsStream(name);
+        SasFileReader reader = new SasFileReaderImpl(is);
+        List<Column> columns = reader.getColumns();
+        List<String> names = Arrays.asList(columns.get(3).getName(), "unknown", columns.get(0).getName(),
+                columns.get(3).getName());
+        Object[][] expected = reader.readAll(names);
+        closeInputStream(is);
+
+        is = getResourceAsStream(name);
+        reader = new SasFileReaderImpl(is);
+        Projection projection = new Projection(reader.getColumns(), names);
+        assertThat(projection).isEqualTo(new Projection(columns, names));
+        assertThat(projection.size()).isEqualTo(4);
+        assertThat(projection.getColumnIndex(1)).isEqualTo(-1);
+        assertThat(projection.getColumnIndex(3)).isEqualTo(-1);
+        for (Object[] expectedRow : expected) {
+            Object[] row = reader.readNext(projection);
+            assertThat(row).isEqualTo(expectedRow);
+            if (row != null) {
+                assertThat(row[1]).isNull();
+                assertThat(row[3]).isNull();
+            }
+        }
+        closeInputStream(is);
+
+        Path path = resourcePath(name);
+        assertThat(new SasFileReaderImpl(path).readAll(projection)).isEqualTo(expected);
+        assertThat(new SasFileReaderImpl(path).parallelStream(projection).count())
+                .isEqualTo(Arrays.stream(expected).filter(row -> row != null).count());
+
+        List<String> firstName = Collections.singletonList(columns.get(0).getName());
+        List<String> secondName = Collections.singletonList(columns.get(1).getName());
+        assertThat(reader.getColumns(firstName).get(0).getName()).isEqualTo(firstName.get(0));
+        assertThat(reader.getColumns(secondName).get(0).getName()).isEqualTo(secondName.get(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSeekBackwardOnInputStream() throws Exception {
+        InputStream is = getResourceAsStream(fileName);
+        try {
+            SasFileReader reader = new SasFileReaderImpl(is);
+            reader.seek(reader.getSasFileProperties().getRowCount() - 1);
+            reader.seek(0);
+        } finally {
+            closeInputStream(is);
+        }
+    }
+
     @Test
     public void testPartialReadingOfColumns() {
         long programStart = System.currentTimeMillis();
@@ -382,6 +1246,60 @@ public class SasFileReaderUnitTest {
         }
     }
 
+    private List<ColumnStatistics> aggregateCursor(SasFileReader reader, List<String> columnNames)
+            throws IOException {
+        List<String> allColumnNames = new ArrayList<>();
+        for (Column column : reader.getColumns()) {
+            allColumnNames.add(column.getName());
+        }
+        List<ColumnStatistics> statistics = new ArrayList<>();
+        for (String columnName : columnNames) {
+            statistics.add(new ColumnStatistics(columnName));
+        }
+        RowCursor cursor = reader.cursor();
+        while (cursor.next()) {
+            for (int i = 0; i < columnNames.size(); i++) {
+                int column = allColumnNames.lastIndexOf(columnNames.get(i));
+                statistics.get(i).add(cursor.isNull(column) ? Double.NaN : cursor.getDouble(column));
+            }
+        }
+        return statistics;
+    }
+
+    private void assertStatistics(List<ColumnStatistics> actual, List<ColumnStatistics> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < actual.size(); i++) {
+            ColumnStatistics actualColumn = actual.get(i);
+            ColumnStatistics expectedColumn = expected.get(i);
+            double tolerance = 1e-9 * Math.max(1, Math.abs(expectedColumn.getMax()) + Math.abs(expectedColumn.getMin()))
+                    * Math.max(1, expectedColumn.getCount());
+            assertThat(actualColumn.getColumnName()).isEqualTo(expectedColumn.getColumnName());
+            assertThat(actualColumn.getCount()).as(actualColumn.getColumnName()).isEqualTo(expectedColumn.getCount());
+            assertThat(actualColumn.getNullCount()).as(actualColumn.getColumnName())
+                    .isEqualTo(expectedColumn.getNullCount());
+            if (expectedColumn.getCount() == 0) {
+                assertThat(actualColumn.getMin()).isNaN();
+                assertThat(actualColumn.getMax()).isNaN();
+                assertThat(actualColumn.getMean()).isNaN();
+            } else {
+                assertThat(actualColumn.getSum()).isCloseTo(expectedColumn.getSum(), within(tolerance));
+                assertThat(actualColumn.getMin()).isCloseTo(expectedColumn.getMin(), within(tolerance));
+                assertThat(actualColumn.getMax()).isCloseTo(expectedColumn.getMax(), within(tolerance));
+                assertThat(actualColumn.getMean()).isCloseTo(expectedColumn.getMean(), within(tolerance));
+            }
+        }
+    }
+
+    private Path resourcePath(String name) throws URISyntaxException {
+        return Paths.get(getClass().getClassLoader().getResource(name).toURI());
+    }
+
+    private Object[][] readAllRows(String name) throws IOException {
+        try (InputStream is = getResourceAsStream(name)) {
+            return new SasFileReaderImpl(is).readAll();
+        }
+    }
+
     private void closeInputStream(InputStream inputStream) {
         try {
             if (inputStream != null) {
@@ -0,0 +1,74 @@
+package com.epam.parso.impl;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteArrayReaderUnitTest {
+    private static final int OFFSET = 3;
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void testReadNumbers() {
+        Random random = new Random(1);
+        byte[] source = new byte[OFFSET + Long.BYTES + OFFSET];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            random.nextBytes(source);
+            for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+                boolean littleEndian = order == ByteOrder.LITTLE_ENDIAN;
+                ByteBuffer buffer = ByteBuffer.wrap(source).order(order);
+                assertThat(ByteArrayReader.readShort(source, OFFSET, 1, littleEndian))
+                        .isEqualTo(buffer.get(OFFSET));
+                assertThat(ByteArrayReader.readShort(source, OFFSET, 2, littleEndian))
+                        .isEqualTo(buffer.getShort(OFFSET));
+                assertThat(ByteArrayReader.readInt(source, OFFSET, littleEndian)).isEqualTo(buffer.getInt(OFFSET));
+                assertThat(ByteArrayReader.readLong(source, OFFSET, littleEndian)).isEqualTo(buffer.getLong(OFFSET));
+                assertThat(Double.doubleToRawLongBits(ByteArrayReader.readDouble(source, OFFSET, Double.BYTES,
+                        littleEndian))).isEqualTo(Double.doubleToRawLongBits(buffer.getDouble(OFFSET)));
+            }
+        }
+    }
+
+    @Test
+    public void testReadTruncatedDoubles() {
+        Random random = new Random(2);
+        byte[] source = new byte[OFFSET + Double.BYTES + OFFSET];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            random.nextBytes(source);
+            for (int length = 3; length < Double.BYTES; length++) {
+                // the stored bytes are the most significant bytes of the number, the missing bytes are zeros
+                byte[] bigEndian = new byte[Double.BYTES];
+                System.arraycopy(source, OFFSET, bigEndian, 0, length);
+                assertThat(Double.doubleToRawLongBits(ByteArrayReader.readDouble(source, OFFSET, length, false)))
+                        .isEqualTo(Double.doubleToRawLongBits(ByteBuffer.wrap(bigEndian).getDouble()));
+
+                byte[] littleEndian = new byte[Double.BYTES];
+                System.arraycopy(source, OFFSET, littleEndian, Double.BYTES - length, length);
+                assertThat(Double.doubleToRawLongBits(ByteArrayReader.readDouble(source, OFFSET, length, true)))
+                        .isEqualTo(Double.doubleToRawLongBits(ByteBuffer.wrap(littleEndian)
+                                .order(ByteOrder.LITTLE_ENDIAN).getDouble()));
+            }
+        }
+    }
+
+    @Test
+    public void testReadBitmap() {
+        byte[] source = {(byte) 0xFF, (byte) 0x80, 0x01, (byte) 0xA0};
+        BitSet bitmap = ByteArrayReader.readBitmap(source, 1, 24);
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(15);
+        expected.set(16);
+        expected.set(18);
+        assertThat(bitmap).isEqualTo(expected);
+
+        // the bits following the end of the array are not set
+        assertThat(ByteArrayReader.readBitmap(source, 2, 64)).isEqualTo(BitSet.valueOf(new long[]{0x580L}));
+        assertThat(ByteArrayReader.readBitmap(source, source.length, 8).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,100 @@
+package com.epam.parso.impl;
+
+import com.epam.parso.SasFileReader;
+import com.epam.parso.date.OutputDateType;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.epam.parso.TestUtils.getResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rows of the conversion resources were read with the per-cell conversion that {@link ConversionPlan}
+ * replaced, one section for every {@link OutputDateType} and one for the byte output.
+ */
+public class ConversionPlanUnitTest {
+    private static final List<String> FILE_NAMES = Arrays.asList("date_formats", "time_formats", "only_datetime",
+            "mix_and_missing");
+    private static final String BYTE_OUTPUT = "BYTE_OUTPUT";
+
+    @Test
+    public void testConvertedRows() throws Exception {
+        for (String name : FILE_NAMES) {
+            Map<String, List<String>> expected = readExpectedRows("conversion/" + name + ".txt");
+            for (OutputDateType outputDateType : OutputDateType.values()) {
+                try (InputStream is = getResourceAsStream("sas7bdat/" + name + ".sas7bdat")) {
+                    assertThat(readRows(new SasFileReaderImpl(is, null, outputDateType)))
+                            .as(name + " " + outputDateType).isEqualTo(expected.get(outputDateType.name()));
+                }
+            }
+            try (InputStream is = getResourceAsStream("sas7bdat/" + name + ".sas7bdat")) {
+                assertThat(readRows(new SasFileReaderImpl(is, true))).as(name + " " + BYTE_OUTPUT)
+                        .isEqualTo(expected.get(BYTE_OUTPUT));
+            }
+        }
+    }
+
+    private static List<String> readRows(SasFileReader reader) throws IOException {
+        List<String> rows = new ArrayList<>();
+        for (long i = 0; i < reader.getSasFileProperties().getRowCount(); i++) {
+            Object[] row = reader.readNext();
+            if (row == null) {
+                rows.add("null");
+                continue;
+            }
+            StringBuilder line = new StringBuilder();
+            for (Object cell : row) {
+                if (line.length() > 0) {
+                    line.append('\t');
+                }
+                line.append(render(cell));
+            }
+            rows.add(line.toString());
+        }
+        return rows;
+    }
+
+    private static String render(Object cell) {
+        if (cell == null) {
+            return "null";
+        }
+        if (cell instanceof byte[]) {
+            StringBuilder hex = new StringBuilder("byte[]:");
+            for (byte b : (byte[]) cell) {
+                hex.append(String.format("%02x", b & 0xFF));
+            }
+            return hex.toString();
+        }
+        String value = cell instanceof Date ? String.valueOf(((Date) cell).getTime()) : cell.toString();
+        return cell.getClass().getSimpleName() + ":" + value.replace("\\", "\\\\").replace("\t", "\\t")
+                .replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private Map<String, List<String>> readExpectedRows(String fileName) throws IOException {
+        Map<String, List<String>> sections = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(getResourceAsStream(fileName),
+                StandardCharsets.UTF_8))) {
+            List<String> rows = null;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    rows = new ArrayList<>();
+                    sections.put(line.substring(1, line.length() - 1), rows);
+                } else {
+                    rows.add(line);
+                }
+            }
+        }
+        return sections;
+    }
+}
@@ -0,0 +1,166 @@
+package com.epam.parso.impl;
+
+import com.epam.parso.SasFileProperties;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static com.epam.parso.TestUtils.getResourceAsStream;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSED_SUBHEADER_ID;
+import static com.epam.parso.impl.SasFileConstants.COMPRESSED_SUBHEADER_TYPE;
+import static com.epam.parso.impl.SasFileConstants.LITTLE_ENDIAN_CHECKER;
+import static com.epam.parso.impl.SasFileConstants.PAGE_BIT_OFFSET_X64;
+import static com.epam.parso.impl.SasFileConstants.PAGE_BIT_OFFSET_X86;
+import static com.epam.parso.impl.SasFileConstants.PAGE_CMETA_TYPE;
+import static com.epam.parso.impl.SasFileConstants.PAGE_META_TYPE_1;
+import static com.epam.parso.impl.SasFileConstants.PAGE_META_TYPE_2;
+import static com.epam.parso.impl.SasFileConstants.PAGE_MIX_TYPE_1;
+import static com.epam.parso.impl.SasFileConstants.PAGE_MIX_TYPE_2;
+import static com.epam.parso.impl.SasFileConstants.PAGE_TYPE_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_COUNT_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_POINTERS_OFFSET;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_POINTER_LENGTH_X64;
+import static com.epam.parso.impl.SasFileConstants.SUBHEADER_POINTER_LENGTH_X86;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecompressorUnitTest {
+    private static final byte DIRTY = 0x7F;
+
+    /**
+     * Literals 'a', 'b', 'c', a short run of 'x', a short pattern copying "abc", a long run of 'y',
+     * a long pattern copying 16 bytes from 20 bytes back and the literal 'z'.
+     */
+    private static final byte[] BIN_ROW = {0x1E, 0x00, 'a', 'b', 'c', 0x00, 'x', 0x33, 0x00, 0x10, 0x00, 'y',
+            0x21, 0x01, 0x00, 'z'};
+    private static final String BIN_RESULT = "abcxxxabcyyyyyyyyyyyyyyyyyyycyyyyyyyyyyyyyyyz";
+
+    /**
+     * Three copied bytes "abc" and a run of four 'x'.
+     */
+    private static final byte[] CHAR_ROW = {(byte) 0x82, 'a', 'b', 'c', (byte) 0xC1, 'x'};
+    private static final String CHAR_RESULT = "abcxxxx";
+
+    /**
+     * The number of the compressed rows of the files and the checksums of their decompressed bytes, computed
+     * with the decompressors that allocated a new array for every row.
+     */
+    private static final long COMP_DELETED_ROWS = 3;
+    private static final long COMP_DELETED_CHECKSUM = 333559174L;
+    private static final long MIX_DATA_MISC_ROWS = 12288;
+    private static final long MIX_DATA_MISC_CHECKSUM = 731404158L;
+
+    @Test
+    public void testDecompressRowIntoDirtyBuffer() {
+        checkDirtyBuffer(BinDecompressor.INSTANCE, BIN_ROW, BIN_RESULT);
+        checkDirtyBuffer(CharDecompressor.INSTANCE, CHAR_ROW, CHAR_RESULT);
+    }
+
+    @Test
+    public void testDecompressRowMatchesNewArray() {
+        for (Decompressor decompressor : new Decompressor[]{BinDecompressor.INSTANCE, CharDecompressor.INSTANCE}) {
+            byte[] row = decompressor == BinDecompressor.INSTANCE ? BIN_ROW : CHAR_ROW;
+            String expected = decompressor == BinDecompressor.INSTANCE ? BIN_RESULT : CHAR_RESULT;
+            byte[] result = decompressor.decompressRow(0, row.length, expected.length(), row);
+            assertThat(new String(result, StandardCharsets.US_ASCII)).isEqualTo(expected);
+        }
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testTruncatedBinRow() {
+        byte[] page = new byte[BIN_ROW.length + 8];
+        System.arraycopy(BIN_ROW, 0, page, 0, BIN_ROW.length);
+        Arrays.fill(page, BIN_ROW.length, page.length, (byte) 'n');
+        // the row ends with the command byte of the long run, its arguments belong to the next row
+        BinDecompressor.INSTANCE.decompressRow(0, 10, BIN_RESULT.length(), page, new byte[BIN_RESULT.length()]);
+    }
+
+    @Test
+    public void testCompressedRowsOfFiles() throws Exception {
+        checkCompressedRows("sas7bdat/comp_deleted.sas7bdat", COMP_DELETED_ROWS, COMP_DELETED_CHECKSUM);
+        checkCompressedRows("sas7bdat/mix_data_misc.sas7bdat", MIX_DATA_MISC_ROWS, MIX_DATA_MISC_CHECKSUM);
+    }
+
+    private void checkDirtyBuffer(Decompressor decompressor, byte[] row, String expected) {
+        int resultLength = expected.length() + 10;
+        byte[] result = new byte[resultLength + 8];
+        Arrays.fill(result, DIRTY);
+        decompressor.decompressRow(0, row.length, resultLength, row, result);
+        assertThat(new String(result, 0, expected.length(), StandardCharsets.US_ASCII)).isEqualTo(expected);
+        for (int i = expected.length(); i < resultLength; i++) {
+            assertThat(result[i]).isEqualTo((byte) 0);
+        }
+        for (int i = resultLength; i < result.length; i++) {
+            assertThat(result[i]).isEqualTo(DIRTY);
+        }
+    }
+
+    /**
+     * The method to decompress every compressed row of a file into a reused buffer and compare the rows with
+     * the rows decompressed into new arrays from copies of their compressed bytes.
+     *
+     * @param fileName         the name of the file resource.
+     * @param expectedRows     the number of the compressed rows.
+     * @param expectedChecksum the checksum of the decompressed rows.
+     * @throws Exception if reading the file is impossible.
+     */
+    private void checkCompressedRows(String fileName, long expectedRows, long expectedChecksum) throws Exception {
+        SasFileProperties properties;
+        try (InputStream is = getResourceAsStream(fileName)) {
+            properties = new SasFileReaderImpl(is).getSasFileProperties();
+        }
+        byte[] file = Files.readAllBytes(Paths.get(getClass().getClassLoader().getResource(fileName).toURI()));
+        Decompressor decompressor = SasFileConstants.COMPRESS_BIN_IDENTIFYING_STRING.equals(
+                properties.getCompressionMethod()) ? BinDecompressor.INSTANCE : CharDecompressor.INSTANCE;
+        ByteOrder order = properties.getEndianness() == LITTLE_ENDIAN_CHECKER ? ByteOrder.LITTLE_ENDIAN
+                : ByteOrder.BIG_ENDIAN;
+        int bitOffset = properties.isU64() ? PAGE_BIT_OFFSET_X64 : PAGE_BIT_OFFSET_X86;
+        int pointerLength = properties.isU64() ? SUBHEADER_POINTER_LENGTH_X64 : SUBHEADER_POINTER_LENGTH_X86;
+        int numberLength = pointerLength / 3;
+        int rowLength = (int) properties.getRowLength();
+        byte[] buffer = new byte[rowLength];
+        CRC32 checksum = new CRC32();
+        long rows = 0;
+        for (long pageIndex = 0; pageIndex < properties.getPageCount(); pageIndex++) {
+            int pageOffset = (int) (properties.getHeaderLength() + pageIndex * properties.getPageLength());
+            ByteBuffer page = ByteBuffer.wrap(file, pageOffset, properties.getPageLength()).slice().order(order);
+            int pageType = page.getShort(bitOffset + (int) PAGE_TYPE_OFFSET);
+            if (pageType != PAGE_META_TYPE_1 && pageType != PAGE_META_TYPE_2 && pageType != PAGE_CMETA_TYPE
+                    && pageType != PAGE_MIX_TYPE_1 && pageType != PAGE_MIX_TYPE_2) {
+                continue;
+            }
+            byte[] pageBytes = Arrays.copyOfRange(file, pageOffset, pageOffset + properties.getPageLength());
+            int subheaderCount = page.getShort(bitOffset + (int) SUBHEADER_COUNT_OFFSET);
+            for (int i = 0; i < subheaderCount; i++) {
+                int pointer = bitOffset + SUBHEADER_POINTERS_OFFSET + i * pointerLength;
+                int offset = (int) readNumber(page, pointer, numberLength);
+                int length = (int) readNumber(page, pointer + numberLength, numberLength);
+                int compression = page.get(pointer + 2 * numberLength);
+                int type = page.get(pointer + 2 * numberLength + 1);
+                if (compression != COMPRESSED_SUBHEADER_ID || type != COMPRESSED_SUBHEADER_TYPE || length == 0
+                        || length >= rowLength) {
+                    continue;
+                }
+                Arrays.fill(buffer, DIRTY);
+                decompressor.decompressRow(offset, length, rowLength, pageBytes, buffer);
+                byte[] expected = decompressor.decompressRow(0, length, rowLength,
+                        Arrays.copyOfRange(pageBytes, offset, offset + length));
+                assertThat(buffer).isEqualTo(expected);
+                checksum.update(buffer);
+                rows++;
+            }
+        }
+        assertThat(rows).isEqualTo(expectedRows);
+        assertThat(checksum.getValue()).isEqualTo(expectedChecksum);
+    }
+
+    private static long readNumber(ByteBuffer page, int offset, int length) {
+        return length == Long.BYTES ? page.getLong(offset) : page.getInt(offset);
+    }
+}